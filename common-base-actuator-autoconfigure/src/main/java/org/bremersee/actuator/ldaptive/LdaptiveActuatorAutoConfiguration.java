@@ -0,0 +1,178 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.actuator.ldaptive;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.bremersee.data.ldaptive.LdaptiveAutoConfiguration;
+import org.bremersee.data.ldaptive.LdaptiveObserver;
+import org.bremersee.data.ldaptive.LdaptiveProperties;
+import org.bremersee.data.ldaptive.LdaptiveReadConnectionFactory;
+import org.bremersee.data.ldaptive.LdaptiveTemplate;
+import org.ldaptive.ConnectionFactory;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.autoconfigure.health.ConditionalOnEnabledHealthIndicator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The ldaptive actuator auto configuration provides the health indicator, the pool endpoint and the pool metrics of
+ * the ldap connection factory and of the read connection factory and the operation metrics of the ldaptive templates.
+ *
+ * @author Christian Bremer
+ */
+@Configuration
+@ConditionalOnClass({
+    ConnectionFactory.class,
+    LdaptiveTemplate.class,
+    LdaptiveProperties.class,
+    HealthIndicator.class
+})
+@ConditionalOnBean({ConnectionFactory.class, LdaptiveProperties.class})
+@AutoConfigureAfter(
+    value = LdaptiveAutoConfiguration.class,
+    name = {
+        "org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration"
+    })
+@Slf4j
+public class LdaptiveActuatorAutoConfiguration {
+
+  /**
+   * Builds the ldaptive health indicator, that executes the search request of the pool validator.
+   *
+   * @param connectionFactory the connection factory
+   * @param readConnectionFactory the read connection factory
+   * @param properties the properties
+   * @return the ldaptive health indicator
+   */
+  @ConditionalOnEnabledHealthIndicator("ldaptive")
+  @ConditionalOnMissingBean(name = "ldaptiveHealthIndicator")
+  @Bean
+  public LdaptiveHealthIndicator ldaptiveHealthIndicator(
+      ConnectionFactory connectionFactory,
+      ObjectProvider<LdaptiveReadConnectionFactory> readConnectionFactory,
+      LdaptiveProperties properties) {
+    log.info("Creating ldaptive health indicator with search validator {}", properties.getSearchValidator());
+    return new LdaptiveHealthIndicator(
+        connectionFactory,
+        readConnectionFactory(readConnectionFactory),
+        properties.getSearchValidator().getSearchRequest().createSearchRequest());
+  }
+
+  /**
+   * Builds the ldaptive pool endpoint.
+   *
+   * @param connectionFactory the connection factory
+   * @param readConnectionFactory the read connection factory
+   * @param properties the properties
+   * @return the ldaptive pool endpoint
+   */
+  @ConditionalOnAvailableEndpoint
+  @ConditionalOnMissingBean
+  @Bean
+  public LdaptivePoolEndpoint ldaptivePoolEndpoint(
+      ConnectionFactory connectionFactory,
+      ObjectProvider<LdaptiveReadConnectionFactory> readConnectionFactory,
+      LdaptiveProperties properties) {
+    return new LdaptivePoolEndpoint(connectionFactory, readConnectionFactory(readConnectionFactory), properties);
+  }
+
+  private static ConnectionFactory readConnectionFactory(ObjectProvider<LdaptiveReadConnectionFactory> provider) {
+    LdaptiveReadConnectionFactory readConnectionFactory = provider.getIfAvailable();
+    return readConnectionFactory != null ? readConnectionFactory.getConnectionFactory() : null;
+  }
+
+  /**
+   * The ldaptive metrics configuration.
+   */
+  @Configuration
+  @ConditionalOnClass(MeterRegistry.class)
+  static class LdaptiveMetricsConfiguration {
+
+    /**
+     * Builds the ldaptive pool metrics of the connection factory, that are tagged with the write role.
+     *
+     * @param connectionFactory the connection factory
+     * @param properties the properties
+     * @return the ldaptive pool metrics
+     */
+    @ConditionalOnMissingBean(name = "ldaptivePoolMetrics")
+    @Bean
+    public LdaptivePoolMetrics ldaptivePoolMetrics(
+        ConnectionFactory connectionFactory,
+        LdaptiveProperties properties) {
+      return new LdaptivePoolMetrics(
+          connectionFactory,
+          properties,
+          Tags.of(LdaptivePoolMetrics.ROLE_TAG, LdaptivePoolMetrics.WRITE_ROLE));
+    }
+
+    /**
+     * Builds the ldaptive pool metrics of the read connection factory, that are tagged with the read role.
+     *
+     * @param readConnectionFactory the read connection factory
+     * @param properties the properties
+     * @return the ldaptive read pool metrics
+     */
+    @ConditionalOnBean(LdaptiveReadConnectionFactory.class)
+    @ConditionalOnMissingBean(name = "ldaptiveReadPoolMetrics")
+    @Bean
+    public LdaptivePoolMetrics ldaptiveReadPoolMetrics(
+        LdaptiveReadConnectionFactory readConnectionFactory,
+        LdaptiveProperties properties) {
+      return new LdaptivePoolMetrics(
+          readConnectionFactory.getConnectionFactory(),
+          properties,
+          Tags.of(LdaptivePoolMetrics.ROLE_TAG, LdaptivePoolMetrics.READ_ROLE));
+    }
+
+    /**
+     * Builds the ldaptive observer, that records the operations of the ldaptive templates.
+     *
+     * @param registry the meter registry
+     * @param properties the properties
+     * @return the ldaptive observer
+     */
+    @ConditionalOnBean(MeterRegistry.class)
+    @ConditionalOnProperty(
+        prefix = "bremersee.ldaptive.metrics",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+    @ConditionalOnMissingBean(LdaptiveObserver.class)
+    @Bean
+    public MicrometerLdaptiveObserver micrometerLdaptiveObserver(
+        MeterRegistry registry,
+        LdaptiveProperties properties) {
+      log.info("Creating micrometer ldaptive observer with metrics properties {}", properties.getMetrics());
+      return new MicrometerLdaptiveObserver(
+          registry,
+          properties.getMetrics().getBaseDns(),
+          properties.getMetrics().isPercentileHistogram());
+    }
+  }
+
+}
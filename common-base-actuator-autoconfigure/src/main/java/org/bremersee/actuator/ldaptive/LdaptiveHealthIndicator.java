@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.actuator.ldaptive;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.bremersee.data.ldaptive.LdaptiveTemplate;
+import org.bremersee.data.ldaptive.MonitoredConnectionFactory;
+import org.bremersee.data.ldaptive.ReconnectCircuitBreaker;
+import org.ldaptive.ConnectionFactory;
+import org.ldaptive.SearchRequest;
+import org.ldaptive.SearchResponse;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health.Builder;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * The ldaptive health indicator executes the search request of the pool validator. If there is a read connection
+ * factory, the search is executed with it, too, and its details are added as {@code read}.
+ *
+ * @author Christian Bremer
+ */
+public class LdaptiveHealthIndicator extends AbstractHealthIndicator {
+
+  private final ConnectionFactory connectionFactory;
+
+  private final LdaptiveTemplate ldaptiveTemplate;
+
+  private final ConnectionFactory readConnectionFactory;
+
+  private final LdaptiveTemplate readLdaptiveTemplate;
+
+  private final SearchRequest searchRequest;
+
+  /**
+   * Instantiates a new ldaptive health indicator.
+   *
+   * @param connectionFactory the connection factory
+   * @param searchRequest the search request of the search validator
+   */
+  public LdaptiveHealthIndicator(ConnectionFactory connectionFactory, SearchRequest searchRequest) {
+    this(connectionFactory, null, searchRequest);
+  }
+
+  /**
+   * Instantiates a new ldaptive health indicator.
+   *
+   * @param connectionFactory the connection factory
+   * @param readConnectionFactory the read connection factory (can be {@code null})
+   * @param searchRequest the search request of the search validator
+   */
+  public LdaptiveHealthIndicator(
+      ConnectionFactory connectionFactory,
+      @Nullable ConnectionFactory readConnectionFactory,
+      SearchRequest searchRequest) {
+    super("Ldap health check failed");
+    Assert.notNull(connectionFactory, "Connection factory must not be null.");
+    Assert.notNull(searchRequest, "Search request must not be null.");
+    this.connectionFactory = connectionFactory;
+    this.ldaptiveTemplate = new LdaptiveTemplate(connectionFactory);
+    this.readConnectionFactory = readConnectionFactory;
+    this.readLdaptiveTemplate = readConnectionFactory != null ? new LdaptiveTemplate(readConnectionFactory) : null;
+    this.searchRequest = searchRequest;
+  }
+
+  @Override
+  protected void doHealthCheck(Builder builder) {
+    Map<String, Object> details = new LinkedHashMap<>();
+    boolean up = check(connectionFactory, ldaptiveTemplate, details);
+    builder.withDetails(details);
+    if (readLdaptiveTemplate != null) {
+      Map<String, Object> readDetails = new LinkedHashMap<>();
+      up = check(readConnectionFactory, readLdaptiveTemplate, readDetails) && up;
+      builder.withDetail("read", readDetails);
+    }
+    builder.status(up ? Status.UP : Status.DOWN);
+  }
+
+  private boolean check(ConnectionFactory factory, LdaptiveTemplate template, Map<String, Object> details) {
+    if (factory.getConnectionConfig().getAutoReconnectCondition() instanceof ReconnectCircuitBreaker) {
+      ReconnectCircuitBreaker circuitBreaker = (ReconnectCircuitBreaker) factory
+          .getConnectionConfig().getAutoReconnectCondition();
+      details.put("reconnectCircuit", circuitBreaker.getState());
+    }
+    if (factory instanceof MonitoredConnectionFactory) {
+      MonitoredConnectionFactory pool = (MonitoredConnectionFactory) factory;
+      details.put("activeConnections", pool.getActiveCount());
+      details.put("availableConnections", pool.getAvailableCount());
+    }
+    SearchResponse response = template.search(searchRequest);
+    details.put("resultCode", response.getResultCode());
+    details.put("entries", response.getEntries().size());
+    return response.isSuccess();
+  }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.actuator.ldaptive;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.bremersee.data.ldaptive.LdaptivePoolStatistics;
+import org.bremersee.data.ldaptive.LdaptiveProperties;
+import org.bremersee.data.ldaptive.MonitoredConnectionFactory;
+import org.bremersee.data.ldaptive.ReconnectCircuitBreaker;
+import org.ldaptive.ConnectionFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * The actuator endpoint {@code ldaptivepool} dumps the configuration, the state and the statistics of the ldap
+ * connection pool. The state and the statistics of the read pool, if there is one, are dumped as {@code read}.
+ *
+ * @author Christian Bremer
+ */
+@Endpoint(id = "ldaptivepool")
+public class LdaptivePoolEndpoint {
+
+  private final ConnectionFactory connectionFactory;
+
+  private final ConnectionFactory readConnectionFactory;
+
+  private final LdaptiveProperties properties;
+
+  /**
+   * Instantiates a new ldaptive pool endpoint.
+   *
+   * @param connectionFactory the connection factory
+   * @param properties the properties
+   */
+  public LdaptivePoolEndpoint(ConnectionFactory connectionFactory, LdaptiveProperties properties) {
+    this(connectionFactory, null, properties);
+  }
+
+  /**
+   * Instantiates a new ldaptive pool endpoint.
+   *
+   * @param connectionFactory the connection factory
+   * @param readConnectionFactory the read connection factory (can be {@code null})
+   * @param properties the properties
+   */
+  public LdaptivePoolEndpoint(
+      ConnectionFactory connectionFactory,
+      @Nullable ConnectionFactory readConnectionFactory,
+      LdaptiveProperties properties) {
+    Assert.notNull(connectionFactory, "Connection factory must not be null.");
+    Assert.notNull(properties, "Ldaptive properties must not be null.");
+    this.connectionFactory = connectionFactory;
+    this.readConnectionFactory = readConnectionFactory;
+    this.properties = properties;
+  }
+
+  /**
+   * Dumps the pool.
+   *
+   * @return the pool state
+   */
+  @ReadOperation
+  public Map<String, Object> pool() {
+    Map<String, Object> pool = new LinkedHashMap<>();
+    pool.put("pooled", connectionFactory instanceof MonitoredConnectionFactory);
+    pool.put("minPoolSize", properties.getMinPoolSize());
+    pool.put("maxPoolSize", properties.getMaxPoolSize());
+    pool.put("blockWaitTime", properties.getBlockWaitTime());
+    pool.put("validateOnCheckIn", properties.isValidateOnCheckIn());
+    pool.put("validateOnCheckOut", properties.isValidateOnCheckOut());
+    pool.put("validatePeriodically", properties.isValidatePeriodically());
+    pool.put("validatePeriod", properties.getValidatePeriod());
+    pool.put("prunePeriod", properties.getPrunePeriod());
+    pool.put("idleTime", properties.getIdleTime());
+    state(connectionFactory, pool);
+    if (readConnectionFactory != null) {
+      Map<String, Object> readPool = new LinkedHashMap<>();
+      readPool.put("pooled", readConnectionFactory instanceof MonitoredConnectionFactory);
+      state(readConnectionFactory, readPool);
+      pool.put("read", readPool);
+    }
+    return pool;
+  }
+
+  private static void state(ConnectionFactory connectionFactory, Map<String, Object> pool) {
+    if (connectionFactory instanceof MonitoredConnectionFactory) {
+      MonitoredConnectionFactory factory = (MonitoredConnectionFactory) connectionFactory;
+      pool.put("activeConnections", factory.getActiveCount());
+      pool.put("availableConnections", factory.getAvailableCount());
+      pool.put("statistics", statistics(factory.getStatistics()));
+    }
+    if (connectionFactory.getConnectionConfig().getAutoReconnectCondition() instanceof ReconnectCircuitBreaker) {
+      ReconnectCircuitBreaker circuitBreaker = (ReconnectCircuitBreaker) connectionFactory
+          .getConnectionConfig().getAutoReconnectCondition();
+      Map<String, Object> circuit = new LinkedHashMap<>();
+      circuit.put("state", circuitBreaker.getState());
+      circuit.put("failures", circuitBreaker.getFailures());
+      pool.put("reconnectCircuit", circuit);
+    }
+  }
+
+  private static Map<String, Object> statistics(LdaptivePoolStatistics statistics) {
+    Map<String, Object> values = new LinkedHashMap<>();
+    long checkouts = statistics.getCheckouts();
+    values.put("checkouts", checkouts);
+    values.put("checkoutFailures", statistics.getCheckoutFailures());
+    values.put("averageCheckoutMillis", checkouts > 0
+        ? TimeUnit.NANOSECONDS.toMillis(statistics.getCheckoutTimeNanos() / checkouts)
+        : 0L);
+    values.put("maxCheckoutMillis", TimeUnit.NANOSECONDS.toMillis(statistics.getMaxCheckoutTimeNanos()));
+    values.put("validations", statistics.getValidations());
+    values.put("validationFailures", statistics.getValidationFailures());
+    values.put("prunes", statistics.getPrunes());
+    return values;
+  }
+
+}
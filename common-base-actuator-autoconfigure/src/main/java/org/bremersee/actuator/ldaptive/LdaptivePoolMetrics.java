@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.actuator.ldaptive;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.bremersee.data.ldaptive.LdaptivePoolStatistics;
+import org.bremersee.data.ldaptive.LdaptiveProperties;
+import org.bremersee.data.ldaptive.MonitoredConnectionFactory;
+import org.bremersee.data.ldaptive.ReconnectCircuitBreaker;
+import org.bremersee.data.ldaptive.ReconnectCircuitBreaker.State;
+import org.ldaptive.ConnectionFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Binds the state and the statistics of the ldap connection pool and the state of the reconnect circuit to the meter
+ * registry. If there are several pools, they are distinguished by the tag {@link #ROLE_TAG}.
+ *
+ * @author Christian Bremer
+ */
+public class LdaptivePoolMetrics implements MeterBinder {
+
+  /**
+   * The tag of the role of the pool ({@link #WRITE_ROLE} or {@link #READ_ROLE}).
+   */
+  public static final String ROLE_TAG = "role";
+
+  /**
+   * The role of the pool of the connection factory bean.
+   */
+  public static final String WRITE_ROLE = "write";
+
+  /**
+   * The role of the pool of the read ldap url.
+   */
+  public static final String READ_ROLE = "read";
+
+  private final ConnectionFactory connectionFactory;
+
+  private final LdaptiveProperties properties;
+
+  private final Iterable<Tag> tags;
+
+  /**
+   * Instantiates new ldaptive pool metrics.
+   *
+   * @param connectionFactory the connection factory
+   * @param properties the properties
+   */
+  public LdaptivePoolMetrics(ConnectionFactory connectionFactory, LdaptiveProperties properties) {
+    this(connectionFactory, properties, Collections.emptyList());
+  }
+
+  /**
+   * Instantiates new ldaptive pool metrics.
+   *
+   * @param connectionFactory the connection factory
+   * @param properties the properties
+   * @param tags the tags
+   */
+  public LdaptivePoolMetrics(ConnectionFactory connectionFactory, LdaptiveProperties properties, Iterable<Tag> tags) {
+    Assert.notNull(connectionFactory, "Connection factory must not be null.");
+    Assert.notNull(properties, "Ldaptive properties must not be null.");
+    this.connectionFactory = connectionFactory;
+    this.properties = properties;
+    this.tags = tags != null ? tags : Collections.emptyList();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    if (connectionFactory.getConnectionConfig().getAutoReconnectCondition() instanceof ReconnectCircuitBreaker) {
+      bindCircuitBreaker(
+          registry,
+          (ReconnectCircuitBreaker) connectionFactory.getConnectionConfig().getAutoReconnectCondition());
+    }
+    if (connectionFactory instanceof MonitoredConnectionFactory) {
+      bindPool(registry, (MonitoredConnectionFactory) connectionFactory);
+    }
+  }
+
+  private void bindCircuitBreaker(MeterRegistry registry, ReconnectCircuitBreaker circuitBreaker) {
+    Gauge.builder("ldaptive.reconnect.circuit.open", circuitBreaker,
+        breaker -> breaker.getState() == State.OPEN ? 1 : 0)
+        .tags(tags)
+        .description("Whether the reconnect circuit is open (1) or not (0)")
+        .register(registry);
+    Gauge.builder("ldaptive.reconnect.failures", circuitBreaker, ReconnectCircuitBreaker::getFailures)
+        .tags(tags)
+        .description("The number of consecutive failed reconnects")
+        .register(registry);
+  }
+
+  private void bindPool(MeterRegistry registry, MonitoredConnectionFactory pool) {
+    Gauge.builder("ldaptive.pool.connections.active", pool, factory -> count(factory.getActiveCount()))
+        .tags(tags)
+        .description("The number of connections, that are checked out of the pool")
+        .register(registry);
+    Gauge.builder("ldaptive.pool.connections.idle", pool, factory -> count(factory.getAvailableCount()))
+        .tags(tags)
+        .description("The number of idle connections in the pool")
+        .register(registry);
+    Gauge.builder("ldaptive.pool.connections.size", pool,
+        factory -> count(factory.getActiveCount()) + count(factory.getAvailableCount()))
+        .tags(tags)
+        .description("The number of connections in the pool")
+        .register(registry);
+    Gauge.builder("ldaptive.pool.connections.min", properties, LdaptiveProperties::getMinPoolSize)
+        .tags(tags)
+        .description("The minimum size of the pool")
+        .register(registry);
+    Gauge.builder("ldaptive.pool.connections.max", properties, LdaptiveProperties::getMaxPoolSize)
+        .tags(tags)
+        .description("The maximum size of the pool")
+        .register(registry);
+
+    LdaptivePoolStatistics statistics = pool.getStatistics();
+    FunctionTimer.builder("ldaptive.pool.checkout", statistics,
+        LdaptivePoolStatistics::getCheckouts,
+        LdaptivePoolStatistics::getCheckoutTimeNanos,
+        TimeUnit.NANOSECONDS)
+        .tags(tags)
+        .description("The time waited for a connection of the pool")
+        .register(registry);
+    TimeGauge.builder("ldaptive.pool.checkout.max", statistics, TimeUnit.NANOSECONDS,
+        LdaptivePoolStatistics::getMaxCheckoutTimeNanos)
+        .tags(tags)
+        .description("The maximum time waited for a connection of the pool")
+        .register(registry);
+    FunctionCounter.builder("ldaptive.pool.checkout.failures", statistics,
+        LdaptivePoolStatistics::getCheckoutFailures)
+        .tags(tags)
+        .description("The number of failed checkouts")
+        .register(registry);
+    FunctionCounter.builder("ldaptive.pool.validations", statistics, LdaptivePoolStatistics::getValidations)
+        .tags(tags)
+        .description("The number of validated connections")
+        .register(registry);
+    FunctionCounter.builder("ldaptive.pool.validation.failures", statistics,
+        LdaptivePoolStatistics::getValidationFailures)
+        .tags(tags)
+        .description("The number of connections, that failed the validation")
+        .register(registry);
+    FunctionCounter.builder("ldaptive.pool.prunes", statistics, LdaptivePoolStatistics::getPrunes)
+        .tags(tags)
+        .description("The number of pruned connections")
+        .register(registry);
+  }
+
+  private static double count(Integer value) {
+    return value != null ? value : 0;
+  }
+
+}
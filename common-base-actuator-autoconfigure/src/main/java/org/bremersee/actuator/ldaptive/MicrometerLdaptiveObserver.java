@@ -0,0 +1,141 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.actuator.ldaptive;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.ToString;
+import org.bremersee.data.ldaptive.LdaptiveObservation;
+import org.bremersee.data.ldaptive.LdaptiveObservation.OperationType;
+import org.bremersee.data.ldaptive.LdaptiveObserver;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * The ldaptive observer, that records the operations of the ldaptive templates with micrometer.
+ *
+ * <p>The latency of every operation is recorded by the timer {@code ldaptive.operations}, the number of entries, that
+ * are returned by a search, is recorded by the distribution summary {@code ldaptive.operations.entries}. Both are
+ * tagged with the operation, the base dn and the result code. The dn of an operation is mapped to the longest
+ * configured base dn, that it ends with, or to {@code other}, because tagging with the full dn would create a time
+ * series per entry.
+ *
+ * @author Christian Bremer
+ */
+@ToString(of = {"baseDns", "percentileHistogram"})
+public class MicrometerLdaptiveObserver implements LdaptiveObserver {
+
+  /**
+   * The name of the operations timer.
+   */
+  public static final String OPERATIONS_METER_NAME = "ldaptive.operations";
+
+  /**
+   * The name of the returned entries summary.
+   */
+  public static final String ENTRIES_METER_NAME = "ldaptive.operations.entries";
+
+  /**
+   * The tag value of a dn, that does not end with a configured base dn.
+   */
+  public static final String OTHER_BASE_DN = "other";
+
+  private final MeterRegistry registry;
+
+  private final List<String> baseDns;
+
+  private final boolean percentileHistogram;
+
+  /**
+   * Instantiates a new micrometer ldaptive observer.
+   *
+   * @param registry the meter registry
+   * @param baseDns the base dns, that are used as tag values
+   * @param percentileHistogram specifies whether percentile histograms should be published
+   */
+  public MicrometerLdaptiveObserver(
+      MeterRegistry registry,
+      Collection<String> baseDns,
+      boolean percentileHistogram) {
+    Assert.notNull(registry, "Meter registry must not be null.");
+    this.registry = registry;
+    this.baseDns = baseDns == null ? Collections.emptyList() : baseDns.stream()
+        .filter(StringUtils::hasText)
+        .map(MicrometerLdaptiveObserver::normalize)
+        .distinct()
+        .sorted(Comparator.comparingInt(String::length).reversed())
+        .collect(Collectors.toList());
+    this.percentileHistogram = percentileHistogram;
+  }
+
+  @Override
+  public void observe(LdaptiveObservation observation) {
+    Tags tags = Tags.of(
+        "operation", observation.getOperation().name().toLowerCase(Locale.ROOT),
+        "base_dn", baseDn(observation.getDn()),
+        "result_code", observation.getResultCode() != null
+            ? observation.getResultCode().name()
+            : "UNKNOWN");
+    Timer.builder(OPERATIONS_METER_NAME)
+        .description("The latency of ldap operations.")
+        .tags(tags)
+        .publishPercentileHistogram(percentileHistogram)
+        .register(registry)
+        .record(observation.getDurationNanos(), TimeUnit.NANOSECONDS);
+    if (observation.getOperation() == OperationType.SEARCH) {
+      DistributionSummary.builder(ENTRIES_METER_NAME)
+          .description("The number of entries returned by ldap searches.")
+          .baseUnit("entries")
+          .tags(tags)
+          .register(registry)
+          .record(observation.getEntries());
+    }
+  }
+
+  /**
+   * Gets the base dn tag value of the given dn.
+   *
+   * @param dn the dn
+   * @return the base dn tag value
+   */
+  String baseDn(String dn) {
+    if (!StringUtils.hasText(dn) || baseDns.isEmpty()) {
+      return OTHER_BASE_DN;
+    }
+    String normalizedDn = normalize(dn);
+    for (String baseDn : baseDns) {
+      if (normalizedDn.equals(baseDn) || normalizedDn.endsWith("," + baseDn)) {
+        return baseDn;
+      }
+    }
+    return OTHER_BASE_DN;
+  }
+
+  private static String normalize(String dn) {
+    return dn.replaceAll("\\s*,\\s*", ",").trim().toLowerCase(Locale.ROOT);
+  }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.actuator.ldaptive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import org.bremersee.data.ldaptive.LdaptivePoolStatistics;
+import org.bremersee.data.ldaptive.LdaptiveProperties;
+import org.bremersee.data.ldaptive.MonitoredConnectionFactory;
+import org.bremersee.data.ldaptive.ReconnectCircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.ldaptive.ConnectionConfig;
+import org.ldaptive.PooledConnectionFactory;
+
+/**
+ * The ldaptive pool metrics and endpoint test.
+ *
+ * @author Christian Bremer
+ */
+class LdaptivePoolMetricsTest {
+
+  private static MonitoredConnectionFactory connectionFactory() {
+    PooledConnectionFactory pooledConnectionFactory = mock(PooledConnectionFactory.class);
+    when(pooledConnectionFactory.activeCount()).thenReturn(2);
+    when(pooledConnectionFactory.availableCount()).thenReturn(3);
+    when(pooledConnectionFactory.getConnectionConfig()).thenReturn(ConnectionConfig.builder()
+        .url("ldap://localhost:12389")
+        .autoReconnectCondition(new ReconnectCircuitBreaker(
+            5, Duration.ofSeconds(1), 2., Duration.ofSeconds(10), Duration.ofSeconds(1), Duration.ofSeconds(1)))
+        .build());
+    LdaptivePoolStatistics statistics = new LdaptivePoolStatistics();
+    statistics.recordCheckout(2000000L, true);
+    statistics.recordCheckout(4000000L, false);
+    statistics.recordValidation(true);
+    statistics.recordValidation(false);
+    statistics.recordPrune();
+    return new MonitoredConnectionFactory(pooledConnectionFactory, statistics);
+  }
+
+  /**
+   * Bind to.
+   */
+  @Test
+  void bindTo() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    new LdaptivePoolMetrics(connectionFactory(), new LdaptiveProperties()).bindTo(registry);
+
+    assertEquals(2., registry.get("ldaptive.pool.connections.active").gauge().value());
+    assertEquals(3., registry.get("ldaptive.pool.connections.idle").gauge().value());
+    assertEquals(5., registry.get("ldaptive.pool.connections.size").gauge().value());
+    assertEquals(2L, (long) registry.get("ldaptive.pool.checkout").functionTimer().count());
+    assertEquals(1., registry.get("ldaptive.pool.checkout.failures").functionCounter().count());
+    assertEquals(1., registry.get("ldaptive.pool.validation.failures").functionCounter().count());
+    assertEquals(1., registry.get("ldaptive.pool.prunes").functionCounter().count());
+    assertEquals(0., registry.get("ldaptive.reconnect.circuit.open").gauge().value());
+  }
+
+  /**
+   * Bind write and read pool to the registry, tagged by role.
+   */
+  @Test
+  void bindToWithRoles() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    MonitoredConnectionFactory readConnectionFactory = connectionFactory();
+    readConnectionFactory.getStatistics().recordPrune();
+    new LdaptivePoolMetrics(connectionFactory(), new LdaptiveProperties(),
+        Tags.of(LdaptivePoolMetrics.ROLE_TAG, LdaptivePoolMetrics.WRITE_ROLE)).bindTo(registry);
+    new LdaptivePoolMetrics(readConnectionFactory, new LdaptiveProperties(),
+        Tags.of(LdaptivePoolMetrics.ROLE_TAG, LdaptivePoolMetrics.READ_ROLE)).bindTo(registry);
+
+    assertEquals(1., registry.get("ldaptive.pool.prunes")
+        .tag(LdaptivePoolMetrics.ROLE_TAG, LdaptivePoolMetrics.WRITE_ROLE).functionCounter().count());
+    assertEquals(2., registry.get("ldaptive.pool.prunes")
+        .tag(LdaptivePoolMetrics.ROLE_TAG, LdaptivePoolMetrics.READ_ROLE).functionCounter().count());
+  }
+
+  /**
+   * Pool endpoint.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  void pool() {
+    Map<String, Object> pool = new LdaptivePoolEndpoint(connectionFactory(), new LdaptiveProperties()).pool();
+    assertEquals(Boolean.TRUE, pool.get("pooled"));
+    assertEquals(2, pool.get("activeConnections"));
+    assertEquals(3, pool.get("availableConnections"));
+    Map<String, Object> statistics = (Map<String, Object>) pool.get("statistics");
+    assertNotNull(statistics);
+    assertEquals(2L, statistics.get("checkouts"));
+    assertEquals(3L, statistics.get("averageCheckoutMillis"));
+    assertEquals(4L, statistics.get("maxCheckoutMillis"));
+    assertTrue(pool.containsKey("reconnectCircuit"));
+  }
+
+  /**
+   * Pool endpoint with read pool.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  void poolWithReadPool() {
+    Map<String, Object> pool = new LdaptivePoolEndpoint(
+        connectionFactory(), connectionFactory(), new LdaptiveProperties()).pool();
+    assertEquals(2, pool.get("activeConnections"));
+    Map<String, Object> readPool = (Map<String, Object>) pool.get("read");
+    assertNotNull(readPool);
+    assertEquals(Boolean.TRUE, readPool.get("pooled"));
+    assertEquals(3, readPool.get("availableConnections"));
+    assertTrue(readPool.containsKey("statistics"));
+    assertTrue(readPool.containsKey("reconnectCircuit"));
+  }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.actuator.ldaptive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import org.bremersee.data.ldaptive.LdaptiveObservation;
+import org.bremersee.data.ldaptive.LdaptiveObservation.OperationType;
+import org.junit.jupiter.api.Test;
+import org.ldaptive.LdapEntry;
+import org.ldaptive.LdapException;
+import org.ldaptive.ResultCode;
+import org.ldaptive.SearchResponse;
+
+/**
+ * The micrometer ldaptive observer test.
+ *
+ * @author Christian Bremer
+ */
+class MicrometerLdaptiveObserverTest {
+
+  private static MicrometerLdaptiveObserver observer(SimpleMeterRegistry registry) {
+    return new MicrometerLdaptiveObserver(
+        registry,
+        Arrays.asList("dc=bremersee,dc=org", "ou=people, dc=bremersee, dc=org"),
+        true);
+  }
+
+  /**
+   * Base dn.
+   */
+  @Test
+  void baseDn() {
+    MicrometerLdaptiveObserver observer = observer(new SimpleMeterRegistry());
+    assertEquals("ou=people,dc=bremersee,dc=org", observer.baseDn("uid=anna,ou=People,dc=bremersee,dc=org"));
+    assertEquals("dc=bremersee,dc=org", observer.baseDn("cn=admins,ou=groups,dc=bremersee,dc=org"));
+    assertEquals("dc=bremersee,dc=org", observer.baseDn("dc=bremersee,dc=org"));
+    assertEquals(MicrometerLdaptiveObserver.OTHER_BASE_DN, observer.baseDn("dc=example,dc=org"));
+    assertEquals(MicrometerLdaptiveObserver.OTHER_BASE_DN, observer.baseDn(null));
+  }
+
+  /**
+   * Observe search.
+   */
+  @Test
+  void observeSearch() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    MicrometerLdaptiveObserver observer = observer(registry);
+    LdaptiveObservation observation = LdaptiveObservation
+        .start(OperationType.SEARCH, "ou=people,dc=bremersee,dc=org");
+    observation.stop(observer, SearchResponse.builder()
+        .resultCode(ResultCode.SUCCESS)
+        .entry(new LdapEntry(), new LdapEntry())
+        .build(), null);
+    observation.stop(observer, null, new LdapException(ResultCode.BUSY, "Second stop is ignored."));
+
+    Timer timer = registry.find(MicrometerLdaptiveObserver.OPERATIONS_METER_NAME)
+        .tag("operation", "search")
+        .tag("base_dn", "ou=people,dc=bremersee,dc=org")
+        .tag("result_code", "SUCCESS")
+        .timer();
+    assertNotNull(timer);
+    assertEquals(1L, timer.count());
+
+    DistributionSummary summary = registry.find(MicrometerLdaptiveObserver.ENTRIES_METER_NAME)
+        .tag("operation", "search")
+        .summary();
+    assertNotNull(summary);
+    assertEquals(2., summary.totalAmount());
+  }
+
+  /**
+   * Observe failed modification.
+   */
+  @Test
+  void observeFailedModification() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    MicrometerLdaptiveObserver observer = observer(registry);
+    LdaptiveObservation observation = LdaptiveObservation
+        .start(OperationType.MODIFY, "cn=test,dc=example,dc=org");
+    observation.stop(observer, null, new LdapException(ResultCode.INSUFFICIENT_ACCESS_RIGHTS, "Not allowed."));
+
+    Timer timer = registry.find(MicrometerLdaptiveObserver.OPERATIONS_METER_NAME)
+        .tag("operation", "modify")
+        .tag("base_dn", MicrometerLdaptiveObserver.OTHER_BASE_DN)
+        .tag("result_code", "INSUFFICIENT_ACCESS_RIGHTS")
+        .timer();
+    assertNotNull(timer);
+    assertEquals(1L, timer.count());
+    assertNull(registry.find(MicrometerLdaptiveObserver.ENTRIES_METER_NAME).summary());
+  }
+
+}
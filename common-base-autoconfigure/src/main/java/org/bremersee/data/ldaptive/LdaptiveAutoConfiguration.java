@@ -16,26 +16,38 @@
 
 package org.bremersee.data.ldaptive;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.bremersee.data.ldaptive.LdaptiveProperties.ConnectionStrategyType;
+import org.bremersee.data.ldaptive.LdaptiveProperties.EntryCacheProperties;
+import org.bremersee.data.ldaptive.reactive.CachingReactiveLdaptiveTemplate;
 import org.bremersee.data.ldaptive.reactive.ReactiveLdaptiveOperations;
 import org.bremersee.data.ldaptive.reactive.ReactiveLdaptiveTemplate;
 import org.bremersee.exception.ServiceException;
+import org.ldaptive.Connection;
+import org.ldaptive.ConnectionConfig;
 import org.ldaptive.ConnectionFactory;
 import org.ldaptive.DefaultConnectionFactory;
+import org.ldaptive.LdapException;
 import org.ldaptive.PooledConnectionFactory;
 import org.ldaptive.SearchRequest;
 import org.ldaptive.SearchResponse;
-import org.ldaptive.pool.IdlePruneStrategy;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.event.EventListener;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
 
 /**
  * The ldaptive configuration.
@@ -107,60 +119,216 @@ public class LdaptiveAutoConfiguration {
    * Builds ldaptive template.
    *
    * @param connectionFactory the connection factory
+   * @param readConnectionFactory the read connection factory
+   * @param observer the operation observer
    * @return the ldaptive template
    */
   @ConditionalOnMissingBean(LdaptiveOperations.class)
   @Bean
-  public LdaptiveTemplate ldaptiveTemplate(ConnectionFactory connectionFactory) {
-    return new LdaptiveTemplate(connectionFactory);
+  public LdaptiveTemplate ldaptiveTemplate(
+      ConnectionFactory connectionFactory,
+      ObjectProvider<LdaptiveReadConnectionFactory> readConnectionFactory,
+      ObjectProvider<LdaptiveObserver> observer) {
+    LdaptiveTemplate ldaptiveTemplate = new LdaptiveTemplate(
+        connectionFactory,
+        readConnectionFactory(readConnectionFactory));
+    ldaptiveTemplate.setObserver(observer.getIfAvailable());
+    return ldaptiveTemplate;
   }
 
   /**
    * Builds reactive ldaptive template.
    *
    * @param connectionFactory the connection factory
+   * @param readConnectionFactory the read connection factory
+   * @param observer the operation observer
    * @return the reactive ldaptive template
    */
   @ConditionalOnClass(name = {"reactor.core.publisher.Mono"})
   @ConditionalOnMissingBean(ReactiveLdaptiveOperations.class)
   @Bean
-  public ReactiveLdaptiveTemplate reactiveLdaptiveTemplate(ConnectionFactory connectionFactory) {
-    return new ReactiveLdaptiveTemplate(connectionFactory);
+  public ReactiveLdaptiveTemplate reactiveLdaptiveTemplate(
+      ConnectionFactory connectionFactory,
+      ObjectProvider<LdaptiveReadConnectionFactory> readConnectionFactory,
+      ObjectProvider<LdaptiveObserver> observer) {
+    ReactiveLdaptiveTemplate reactiveLdaptiveTemplate = new ReactiveLdaptiveTemplate(
+        connectionFactory,
+        readConnectionFactory(readConnectionFactory));
+    reactiveLdaptiveTemplate.setObserver(observer.getIfAvailable());
+    return reactiveLdaptiveTemplate;
   }
 
   /**
-   * Builds connection factory bean.
+   * Builds the ldap entry cache, that is used by the caching ldaptive templates.
+   *
+   * @return the ldaptive entry cache
+   */
+  @ConditionalOnProperty(prefix = "bremersee.ldaptive.entry-cache", name = "enabled", havingValue = "true")
+  @ConditionalOnMissingBean
+  @Bean
+  public LdaptiveEntryCache ldaptiveEntryCache() {
+    EntryCacheProperties cacheProperties = properties.getEntryCache();
+    return new LdaptiveEntryCache(
+        cacheProperties.getTimeToLive(),
+        cacheProperties.getMaxSize(),
+        properties.hasReadLdapUrl() ? cacheProperties.getReplicationDelay() : Duration.ZERO);
+  }
+
+  /**
+   * Builds caching ldaptive template, that decorates the ldaptive operations (the ldaptive template or the ldaptive
+   * operations of the application).
+   *
+   * @param ldaptiveOperations the ldaptive operations
+   * @param ldaptiveEntryCache the ldaptive entry cache
+   * @return the caching ldaptive template
+   */
+  @ConditionalOnProperty(prefix = "bremersee.ldaptive.entry-cache", name = "enabled", havingValue = "true")
+  @ConditionalOnMissingBean
+  @Primary
+  @Bean
+  public CachingLdaptiveTemplate cachingLdaptiveTemplate(
+      ObjectProvider<LdaptiveOperations> ldaptiveOperations,
+      LdaptiveEntryCache ldaptiveEntryCache) {
+    return new CachingLdaptiveTemplate(ldaptiveOperations.getObject(), ldaptiveEntryCache);
+  }
+
+  /**
+   * Builds caching reactive ldaptive template, that decorates the reactive ldaptive operations (the reactive ldaptive
+   * template or the reactive ldaptive operations of the application).
+   *
+   * @param reactiveLdaptiveOperations the reactive ldaptive operations
+   * @param ldaptiveEntryCache the ldaptive entry cache
+   * @return the caching reactive ldaptive template
+   */
+  @ConditionalOnClass(name = {"reactor.core.publisher.Mono"})
+  @ConditionalOnProperty(prefix = "bremersee.ldaptive.entry-cache", name = "enabled", havingValue = "true")
+  @ConditionalOnMissingBean
+  @Primary
+  @Bean
+  public CachingReactiveLdaptiveTemplate cachingReactiveLdaptiveTemplate(
+      ObjectProvider<ReactiveLdaptiveOperations> reactiveLdaptiveOperations,
+      LdaptiveEntryCache ldaptiveEntryCache) {
+    return new CachingReactiveLdaptiveTemplate(reactiveLdaptiveOperations.getObject(), ldaptiveEntryCache);
+  }
+
+  /**
+   * Builds connection factory bean. A pooled connection factory is wrapped into a {@link MonitoredConnectionFactory},
+   * that records the pool statistics. If the connection strategy is least connections and several servers are
+   * specified, there is one pool per server.
    *
    * @return the connection factory bean
    */
   @ConditionalOnMissingBean(ConnectionFactory.class)
   @Bean(destroyMethod = "close")
   public ConnectionFactory connectionFactory() {
-    return properties.isPooled() ? pooledConnectionFactory() : defaultConnectionFactory();
+    return createConnectionFactory(properties.getLdapUrl());
+  }
+
+  /**
+   * Builds the holder of the connection factory of the read ldap url. A pooled connection factory has its own pool
+   * statistics, so that the read pool is monitored separately.
+   *
+   * @return the ldaptive read connection factory
+   */
+  @ConditionalOnExpression("!'${bremersee.ldaptive.read-ldap-url:}'.trim().empty")
+  @ConditionalOnMissingBean
+  @Bean(destroyMethod = "close")
+  public LdaptiveReadConnectionFactory ldaptiveReadConnectionFactory() {
+    log.info("Creating read connection factory with url {}", properties.getReadLdapUrl());
+    return new LdaptiveReadConnectionFactory(createConnectionFactory(properties.getReadLdapUrl()));
+  }
+
+  private static ConnectionFactory readConnectionFactory(ObjectProvider<LdaptiveReadConnectionFactory> provider) {
+    LdaptiveReadConnectionFactory readConnectionFactory = provider.getIfAvailable();
+    return readConnectionFactory != null ? readConnectionFactory.getConnectionFactory() : null;
+  }
+
+  private ConnectionFactory createConnectionFactory(String ldapUrl) {
+    if (!properties.isPooled()) {
+      return defaultConnectionFactory(ldapUrl);
+    }
+    LdaptivePoolStatistics statistics = new LdaptivePoolStatistics();
+    String[] ldapUrls = StringUtils.tokenizeToStringArray(ldapUrl, " ");
+    if (properties.getConnectionStrategy() == ConnectionStrategyType.LEAST_CONNECTIONS && ldapUrls.length > 1) {
+      List<PooledConnectionFactory> pools = Arrays.stream(ldapUrls)
+          .map(url -> pooledConnectionFactory(url, statistics))
+          .collect(Collectors.toList());
+      return new MonitoredConnectionFactory(
+          new LeastConnectionsConnectionFactory(pools, properties.getServerExclusionDuration()),
+          statistics);
+    }
+    return new MonitoredConnectionFactory(pooledConnectionFactory(ldapUrl, statistics), statistics);
   }
 
   private DefaultConnectionFactory defaultConnectionFactory() {
+    return defaultConnectionFactory(properties.getLdapUrl());
+  }
+
+  private DefaultConnectionFactory defaultConnectionFactory(String ldapUrl) {
     return DefaultConnectionFactory.builder()
-        .config(connectionConfigFactory.createConnectionConfig(properties))
+        .config(connectionConfig(ldapUrl))
         .build();
   }
 
-  private PooledConnectionFactory pooledConnectionFactory() {
+  private ConnectionConfig connectionConfig(String ldapUrl) {
+    return connectionConfigFactory.createConnectionConfig(
+        properties,
+        ldapUrl,
+        properties.getBindDn(),
+        properties.getBindCredentials());
+  }
+
+  private PooledConnectionFactory pooledConnectionFactory(String ldapUrl, LdaptivePoolStatistics statistics) {
     PooledConnectionFactory factory = PooledConnectionFactory.builder()
-        .config(connectionConfigFactory.createConnectionConfig(properties))
+        .config(connectionConfig(ldapUrl))
         .blockWaitTime(properties.getBlockWaitTime())
         .connectOnCreate(properties.isConnectOnCreate())
         .failFastInitialize(properties.isFailFastInitialize())
         .max(properties.getMaxPoolSize())
         .min(properties.getMinPoolSize())
-        .pruneStrategy(new IdlePruneStrategy(properties.getPrunePeriod(), properties.getIdleTime()))
+        .pruneStrategy(new MonitoredIdlePruneStrategy(
+            properties.getPrunePeriod(),
+            properties.getIdleTime(),
+            statistics))
         .validateOnCheckIn(properties.isValidateOnCheckIn())
         .validateOnCheckOut(properties.isValidateOnCheckOut())
         .validatePeriodically(properties.isValidatePeriodically())
-        .validator(properties.createSearchConnectionValidator())
+        .validator(new MonitoredSearchConnectionValidator(
+            properties.getValidatePeriod(),
+            properties.getValidateTimeout(),
+            properties.getSearchValidator().getSearchRequest().createSearchRequest(),
+            statistics))
         .build();
     factory.initialize();
+    if (factory.getConnectionConfig().getAutoReconnectCondition() instanceof ReconnectCircuitBreaker) {
+      ((ReconnectCircuitBreaker) factory.getConnectionConfig().getAutoReconnectCondition())
+          .setReconnectAction(() -> reconnect(factory));
+    }
     return factory;
   }
 
+  /**
+   * Checks whether the ldap server of the pool is reachable again and replaces the closed connections of the pool.
+   *
+   * @param pool the connection pool
+   * @return {@code true}, if the ldap server is reachable, otherwise {@code false}
+   */
+  private static boolean reconnect(PooledConnectionFactory pool) {
+    DefaultConnectionFactory probe = new DefaultConnectionFactory(pool.getConnectionConfig());
+    try {
+      Connection connection = probe.getConnection();
+      connection.open();
+      connection.close();
+
+    } catch (LdapException e) {
+      log.debug("Ldap server is not reachable: {}", e.getMessage());
+      return false;
+
+    } finally {
+      probe.close();
+    }
+    pool.validate();
+    return true;
+  }
+
 }
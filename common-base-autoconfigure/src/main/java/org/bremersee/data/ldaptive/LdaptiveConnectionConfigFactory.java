@@ -18,13 +18,19 @@ package org.bremersee.data.ldaptive;
 
 import static org.springframework.util.Assert.notNull;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.function.Predicate;
+import org.ldaptive.AbstractConnectionStrategy;
+import org.ldaptive.ActivePassiveConnectionStrategy;
 import org.ldaptive.BindConnectionInitializer;
-import org.ldaptive.ClosedRetryMetadata;
 import org.ldaptive.ConnectionConfig;
 import org.ldaptive.ConnectionInitializer;
+import org.ldaptive.ConnectionStrategy;
 import org.ldaptive.Credential;
+import org.ldaptive.LdapURL;
 import org.ldaptive.RetryMetadata;
+import org.ldaptive.RoundRobinConnectionStrategy;
 import org.ldaptive.ssl.CredentialConfig;
 import org.ldaptive.ssl.SslConfig;
 import org.ldaptive.ssl.X509CredentialConfig;
@@ -65,6 +71,27 @@ public interface LdaptiveConnectionConfigFactory {
       String bindDn,
       String bindCredential);
 
+  /**
+   * Create connection config for the given ldap url, that may differ from the ldap url of the properties (for
+   * example the url of a read only replica).
+   *
+   * @param properties the properties
+   * @param ldapUrl the (space separated) ldap url
+   * @param bindDn the bind dn
+   * @param bindCredential the bind credential
+   * @return the connection config
+   */
+  default ConnectionConfig createConnectionConfig(
+      LdaptiveProperties properties,
+      String ldapUrl,
+      String bindDn,
+      String bindCredential) {
+    ConnectionConfig connectionConfig = ConnectionConfig.copy(
+        createConnectionConfig(properties, bindDn, bindCredential));
+    connectionConfig.setLdapUrl(ldapUrl);
+    return connectionConfig;
+  }
+
   /**
    * Get default connection config factory.
    *
@@ -85,42 +112,59 @@ public interface LdaptiveConnectionConfigFactory {
         final String bindDn,
         final String bindCredentials) {
 
+      notNull(properties, "Ldaptive properties must not be null.");
+      return createConnectionConfig(properties, properties.getLdapUrl(), bindDn, bindCredentials);
+    }
+
+    @Override
+    public ConnectionConfig createConnectionConfig(
+        final LdaptiveProperties properties,
+        final String ldapUrl,
+        final String bindDn,
+        final String bindCredentials) {
+
       notNull(properties, "Ldaptive properties must not be null.");
       return ConnectionConfig.builder()
           .autoReconnect(properties.isAutoReconnect())
           .autoReconnectCondition(autoReconnectCondition(properties))
           .autoReplay(properties.isAutoReplay())
           .connectionInitializers(connectionInitializers(properties, bindDn, bindCredentials))
+          .connectionStrategy(connectionStrategy(properties))
           .connectTimeout(properties.getConnectTimeout())
           .reconnectTimeout(properties.getReconnectTimeout())
           .responseTimeout(properties.getResponseTimeout())
           .sslConfig(sslConfig(properties))
-          .url(properties.getLdapUrl())
+          .url(ldapUrl)
           .useStartTLS(properties.isUseStartTls())
           .build();
     }
 
     private Predicate<RetryMetadata> autoReconnectCondition(LdaptiveProperties properties) {
-      return metadata -> {
-        if (properties.getReconnectAttempts() > 0 && metadata instanceof ClosedRetryMetadata) {
-          if (metadata.getAttempts() > properties.getReconnectAttempts()) {
-            return false;
-          }
-          if (metadata.getAttempts() > 0) {
-            try {
-              long delay = Math.abs(properties.getReconnectBackoffDelay().toMillis());
-              double multiplier = Math.abs(properties.getReconnectBackoffMultiplier() * metadata.getAttempts());
-              int attempts = metadata.getAttempts();
-              long millis = Math.round(delay * multiplier * attempts);
-              Thread.sleep(millis);
-            } catch (InterruptedException e) {
-              // nothing to do
-            }
-          }
-          return true;
-        }
-        return false;
-      };
+      return new ReconnectCircuitBreaker(
+          properties.getReconnectAttempts(),
+          properties.getReconnectBackoffDelay(),
+          properties.getReconnectBackoffMultiplier(),
+          properties.getReconnectBackoffMaxDelay(),
+          properties.getReconnectCircuitOpenDuration(),
+          properties.getConnectTimeout().plus(properties.getResponseTimeout()));
+    }
+
+    private ConnectionStrategy connectionStrategy(LdaptiveProperties properties) {
+      // least connections is done by the connection factory with one pool per server,
+      // so the servers are used in turn, if there is no pool
+      AbstractConnectionStrategy strategy = properties.getConnectionStrategy()
+          == LdaptiveProperties.ConnectionStrategyType.ACTIVE_PASSIVE
+          ? new ActivePassiveConnectionStrategy()
+          : new RoundRobinConnectionStrategy();
+      strategy.setRetryCondition(exclusionWindow(properties.getServerExclusionDuration()));
+      return strategy;
+    }
+
+    private Predicate<LdapURL> exclusionWindow(Duration exclusionDuration) {
+      // a failed server is activated again, after the exclusion duration is over
+      return ldapUrl -> ldapUrl.getRetryMetadata() == null
+          || ldapUrl.getRetryMetadata().getFailureTime() == null
+          || Instant.now().isAfter(ldapUrl.getRetryMetadata().getFailureTime().plus(exclusionDuration));
     }
 
     private ConnectionInitializer[] connectionInitializers(
@@ -64,10 +64,29 @@ public class LdaptiveProperties {
   private boolean authenticationEnabled = false;
 
   /**
-   * URL to the LDAP(s).
+   * URL to the LDAP(s). Several servers can be specified by space separated URLs.
    */
   private String ldapUrl = "ldap://localhost:12389";
 
+  /**
+   * Space separated URLs of the ldap servers (for example read only replicas), that are used for searches and compare
+   * operations. If it is not specified, all operations are executed with the servers of the ldap url.
+   */
+  private String readLdapUrl;
+
+  /**
+   * The strategy, that selects the server of a new connection, if several servers are specified. Default is
+   * {@code active-passive}.
+   */
+  @NotNull
+  private ConnectionStrategyType connectionStrategy = ConnectionStrategyType.ACTIVE_PASSIVE;
+
+  /**
+   * Duration of time a server, that failed, is excluded from the connection strategy.
+   */
+  @NotNull
+  private Duration serverExclusionDuration = Duration.ofMinutes(1);
+
   /**
    * Duration of time that connects will block.
    */
@@ -91,14 +110,38 @@ public class LdaptiveProperties {
    */
   private boolean autoReconnect = true;
 
+  /**
+   * The number of consecutive failed reconnects, after which the reconnect circuit opens. Zero disables reconnects.
+   */
   @Min(0)
   private int reconnectAttempts = 5;
 
+  /**
+   * The backoff delay after the first failed reconnect. Reconnects are rejected until the (jittered) delay is over,
+   * so operations on the lost connection fail at once; then a timer tries to reconnect the pool.
+   */
   @NotNull
   private Duration reconnectBackoffDelay = Duration.ofSeconds(2);
 
+  /**
+   * The multiplier of the backoff delay for every further failed reconnect. The default of one keeps the delay
+   * constant.
+   */
   private double reconnectBackoffMultiplier = 1.;
 
+  /**
+   * The maximum backoff delay.
+   */
+  @NotNull
+  private Duration reconnectBackoffMaxDelay = Duration.ofMinutes(1);
+
+  /**
+   * Duration of time the reconnect circuit stays open, before a timer makes one trial reconnect. Reconnects are
+   * rejected while the circuit is open.
+   */
+  @NotNull
+  private Duration reconnectCircuitOpenDuration = Duration.ofSeconds(30);
+
   /**
    * Whether pending operations should be replayed after a reconnect. Default is true.
    */
@@ -210,6 +253,12 @@ public class LdaptiveProperties {
   @NotNull
   private UserDetailsProperties userDetails = new UserDetailsProperties();
 
+  @NotNull
+  private EntryCacheProperties entryCache = new EntryCacheProperties();
+
+  @NotNull
+  private MetricsProperties metrics = new MetricsProperties();
+
   /**
    * Create search connection validator search connection validator.
    *
@@ -223,6 +272,37 @@ public class LdaptiveProperties {
         searchValidator.getSearchRequest().createSearchRequest());
   }
 
+  /**
+   * Determines whether a separate read connection factory should be created.
+   *
+   * @return {@code true} if a read ldap url is specified, otherwise {@code false}
+   */
+  public boolean hasReadLdapUrl() {
+    return StringUtils.hasText(readLdapUrl);
+  }
+
+  /**
+   * The connection strategy type.
+   */
+  public enum ConnectionStrategyType {
+
+    /**
+     * All connections are made to the first server, the other servers are only used, if it fails.
+     */
+    ACTIVE_PASSIVE,
+
+    /**
+     * The connections are made to the servers in turn.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Every connection is taken from the pool of the server with the fewest active connections. This requires a
+     * pooled connection, otherwise round robin is used.
+     */
+    LEAST_CONNECTIONS
+  }
+
   /**
    * The search validator properties.
    */
@@ -309,6 +389,74 @@ public class LdaptiveProperties {
     }
   }
 
+  /**
+   * The entry cache properties.
+   */
+  @Getter
+  @Setter
+  @ToString
+  @EqualsAndHashCode
+  @NoArgsConstructor
+  public static class EntryCacheProperties {
+
+    /**
+     * Specifies whether object scope lookups by dn should be cached or not. Default is {@code false}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The time to live of a cached entry.
+     */
+    @NotNull
+    private Duration timeToLive = Duration.ofMinutes(1);
+
+    /**
+     * The maximum number of cached entries.
+     */
+    @Min(1)
+    private int maxSize = 1000;
+
+    /**
+     * The time after a write, within which the read servers (see read ldap url) may still return the old state of the
+     * written entry. Within this time the entry is read from the servers of the ldap url and it is not cached, so that
+     * a lagging replica cannot put a stale entry into the cache for the whole time to live. It is ignored, if there
+     * is no read ldap url.
+     */
+    @NotNull
+    private Duration replicationDelay = Duration.ofSeconds(5);
+
+  }
+
+  /**
+   * The operation metrics properties.
+   */
+  @Getter
+  @Setter
+  @ToString
+  @EqualsAndHashCode
+  @NoArgsConstructor
+  public static class MetricsProperties {
+
+    /**
+     * Specifies whether the operations of the ldaptive templates should be recorded, if a meter registry exists.
+     * Default is {@code true}.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The base dns, that are used as tag values. The dn of an operation is tagged with the longest base dn, that it
+     * ends with, or with {@code other}. This keeps the number of time series small.
+     */
+    private List<String> baseDns = new ArrayList<>();
+
+    /**
+     * Specifies whether percentile histograms of the operation latencies should be published. Default is
+     * {@code true}.
+     */
+    private boolean percentileHistogram = true;
+
+  }
+
   /**
    * The user details properties.
    */
@@ -343,5 +491,144 @@ public class LdaptiveProperties {
 
     private String userPasswordAlgorithm = "SHA";
 
+    @NotNull
+    private UserDetailsCacheProperties cache = new UserDetailsCacheProperties();
+
+    @NotNull
+    private PasswordMatcherProperties passwordMatcher = new PasswordMatcherProperties();
+
+    @NotNull
+    private NestedGroupsProperties nestedGroups = new NestedGroupsProperties();
+
+    /**
+     * The user details cache properties.
+     */
+    @Getter
+    @Setter
+    @ToString
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    public static class UserDetailsCacheProperties {
+
+      /**
+       * Specifies whether loaded user details should be cached or not. Default is {@code false}.
+       */
+      private boolean enabled = false;
+
+      /**
+       * The time to live of cached user details.
+       */
+      @NotNull
+      private Duration timeToLive = Duration.ofMinutes(1);
+
+      /**
+       * The time to live of unknown user names.
+       */
+      @NotNull
+      private Duration notFoundTimeToLive = Duration.ofSeconds(10);
+
+      /**
+       * The maximum number of cached user names.
+       */
+      @Min(1)
+      private int maxSize = 1000;
+
+    }
+
+    /**
+     * The password matcher properties.
+     */
+    @Getter
+    @Setter
+    @ToString
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    public static class PasswordMatcherProperties {
+
+      /**
+       * Specifies whether the password should be checked by a bind with the user dn instead of comparing the user
+       * password attribute. The binds are executed with separate connections. Default is {@code false}.
+       */
+      private boolean bindAuthentication = false;
+
+      /**
+       * The time to live of resolved user dns. Zero disables the dn cache.
+       */
+      @NotNull
+      private Duration dnCacheTimeToLive = Duration.ZERO;
+
+      /**
+       * The time to live of verified credentials. Zero disables the credential cache.
+       */
+      @NotNull
+      private Duration credentialCacheTimeToLive = Duration.ZERO;
+
+      /**
+       * The number of PBKDF2 iterations, that are used to hash verified credentials.
+       */
+      @Min(1)
+      private int credentialHashIterations = 10000;
+
+      /**
+       * The maximum number of cached dns and credentials.
+       */
+      @Min(1)
+      private int cacheMaxSize = 1000;
+
+    }
+
+    /**
+     * The nested groups properties.
+     */
+    @Getter
+    @Setter
+    @ToString
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    public static class NestedGroupsProperties {
+
+      /**
+       * Specifies whether the nested groups of a user should be added to the authorities. This requires, that the
+       * authority attribute contains dns. Default is {@code false}.
+       */
+      private boolean enabled = false;
+
+      /**
+       * Specifies whether the groups are found with one search by the matching rule in chain (active directory only)
+       * or level by level with one search per group (the results are kept in a shared group graph). Default is
+       * {@code true}.
+       */
+      private boolean matchingRuleInChain = true;
+
+      /**
+       * The base dn of the groups.
+       */
+      private String groupBaseDn;
+
+      /**
+       * The search scope of the groups.
+       */
+      @NotNull
+      private SearchScope groupSearchScope = SearchScope.SUBTREE;
+
+      /**
+       * The filter, that finds the groups of a member dn ({0}). If it is not specified, the default of the mode is
+       * used.
+       */
+      private String memberFilter;
+
+      /**
+       * The maximum nesting depth of the breadth first expansion.
+       */
+      @Min(1)
+      private int maxDepth = 10;
+
+      /**
+       * The interval, after which the group graph is cleared and loaded again.
+       */
+      @NotNull
+      private Duration refreshInterval = Duration.ofMinutes(10);
+
+    }
   }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.ldaptive.ConnectionFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Holds the connection factory of the read ldap url (see {@link LdaptiveProperties#getReadLdapUrl()}). It is not a
+ * connection factory itself, so that there is only one connection factory bean, but the read pool can be monitored
+ * like the pool of the connection factory bean.
+ *
+ * @author Christian Bremer
+ */
+@ToString
+public class LdaptiveReadConnectionFactory implements AutoCloseable {
+
+  @Getter
+  private final ConnectionFactory connectionFactory;
+
+  /**
+   * Instantiates a new ldaptive read connection factory.
+   *
+   * @param connectionFactory the connection factory of the read ldap url
+   */
+  public LdaptiveReadConnectionFactory(ConnectionFactory connectionFactory) {
+    Assert.notNull(connectionFactory, "Connection factory must not be null.");
+    this.connectionFactory = connectionFactory;
+  }
+
+  /**
+   * Closes the connection factory.
+   */
+  @Override
+  public void close() {
+    connectionFactory.close();
+  }
+
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.ldaptive.ClosedRetryMetadata;
+import org.ldaptive.RetryMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * The reconnect condition of the ldaptive connection config with a jittered exponential backoff and a circuit
+ * breaker, that never blocks the calling thread.
+ *
+ * <p>Ldaptive calls the condition on the reconnecting thread of a closed connection before every reconnect attempt
+ * and gives up, as soon as it returns {@code false}. The condition returns {@code false} at once, if the backoff
+ * delay after the last failure is not over or if the circuit is open, so the connection stays closed and the
+ * operations fail at once instead of waiting for the reconnect. After the given number of consecutive failures the
+ * circuit of the connection opens for the open duration.
+ *
+ * <p>Because ldaptive gives up, the next attempt is made by the scheduler of this class with the reconnect action
+ * (see {@link #setReconnectAction(BooleanSupplier)}), when the backoff delay or the open duration is over; an open
+ * circuit becomes half open for this trial. If the trial fails, the backoff starts again or the circuit opens again.
+ * If it succeeds, or if an attempt of ldaptive is not followed by a failure within the confirmation delay, the
+ * reconnect is regarded as successful and the circuit is discarded. Without a reconnect action the circuit is
+ * discarded, when the delay is over, and the closed connection is left to the connection pool.
+ *
+ * <p>Every reconnect of a connection has its own circuit, so the failures of one connection never delay the
+ * reconnect of another one, although all connections share the condition of the connection config. The state and
+ * the failures, that are returned by this class, are the worst ones of all reconnecting connections.
+ *
+ * @author Christian Bremer
+ */
+@Slf4j
+@ToString(of = {"maxFailures", "delay", "multiplier", "maxDelay", "openDuration"})
+public class ReconnectCircuitBreaker implements Predicate<RetryMetadata> {
+
+  private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "ldaptive-reconnect-circuit-breaker");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final int maxFailures;
+
+  private final long delay;
+
+  private final double multiplier;
+
+  private final long maxDelay;
+
+  private final long openDuration;
+
+  private final long confirmationDelay;
+
+  private final Map<RetryMetadata, Circuit> circuits = new HashMap<>();
+
+  private volatile BooleanSupplier reconnectAction;
+
+  /**
+   * Instantiates a new reconnect circuit breaker.
+   *
+   * @param maxFailures the number of consecutive failures, after which the circuit opens (if it is zero or less,
+   *     reconnects are disabled)
+   * @param delay the delay after the first failure
+   * @param multiplier the multiplier of the delay for every further failure
+   * @param maxDelay the maximum delay
+   * @param openDuration the duration of the open circuit
+   * @param confirmationDelay the delay after an attempt, within which a failure must be reported; otherwise the
+   *     attempt is regarded as successful
+   */
+  public ReconnectCircuitBreaker(
+      int maxFailures,
+      Duration delay,
+      double multiplier,
+      Duration maxDelay,
+      Duration openDuration,
+      Duration confirmationDelay) {
+    Assert.notNull(delay, "Delay must not be null.");
+    Assert.notNull(maxDelay, "Max delay must not be null.");
+    Assert.notNull(openDuration, "Open duration must not be null.");
+    Assert.notNull(confirmationDelay, "Confirmation delay must not be null.");
+    this.maxFailures = maxFailures;
+    this.delay = Math.abs(delay.toMillis());
+    this.multiplier = Math.max(1., Math.abs(multiplier));
+    this.maxDelay = Math.max(this.delay, Math.abs(maxDelay.toMillis()));
+    this.openDuration = Math.abs(openDuration.toMillis());
+    this.confirmationDelay = Math.abs(confirmationDelay.toMillis());
+  }
+
+  /**
+   * Sets the reconnect action, that is called by the scheduler of this class, when the backoff delay or the open
+   * duration of a rejected reconnect is over. It returns {@code true}, if the server is reachable again, for example
+   * after it has validated the connection pool; it must not throw an exception.
+   *
+   * @param reconnectAction the reconnect action
+   */
+  public void setReconnectAction(@Nullable BooleanSupplier reconnectAction) {
+    this.reconnectAction = reconnectAction;
+  }
+
+  /**
+   * Gets the worst state of the circuits of all reconnecting connections.
+   *
+   * @return the state
+   */
+  public State getState() {
+    State worst = State.CLOSED;
+    for (Circuit circuit : circuits()) {
+      State state = circuit.getState();
+      if (state == State.OPEN) {
+        return State.OPEN;
+      }
+      if (state == State.HALF_OPEN) {
+        worst = State.HALF_OPEN;
+      }
+    }
+    return worst;
+  }
+
+  /**
+   * Gets the maximum number of consecutive failures of all reconnecting connections.
+   *
+   * @return the number of consecutive failures
+   */
+  public int getFailures() {
+    return circuits().stream().mapToInt(Circuit::getFailures).max().orElse(0);
+  }
+
+  private List<Circuit> circuits() {
+    synchronized (circuits) {
+      return new ArrayList<>(circuits.values());
+    }
+  }
+
+  @Override
+  public boolean test(RetryMetadata metadata) {
+    if (maxFailures <= 0 || !(metadata instanceof ClosedRetryMetadata)) {
+      return false;
+    }
+    Circuit circuit;
+    synchronized (circuits) {
+      circuit = circuits.computeIfAbsent(metadata, key -> new Circuit());
+    }
+    int attempts = metadata.getAttempts();
+    long waitMillis = circuit.beforeAttempt(attempts);
+    if (waitMillis > 0L) {
+      log.debug("Reconnect is rejected, the next attempt is made in {} ms.", waitMillis);
+      scheduleTrial(metadata, circuit, waitMillis);
+      return false;
+    }
+    circuit.allowAttempt();
+    scheduler.schedule(() -> confirm(metadata, circuit, attempts), confirmationDelay, TimeUnit.MILLISECONDS);
+    return true;
+  }
+
+  private void scheduleTrial(RetryMetadata metadata, Circuit circuit, long waitMillis) {
+    scheduler.schedule(() -> trial(metadata, circuit), waitMillis, TimeUnit.MILLISECONDS);
+  }
+
+  private void trial(RetryMetadata metadata, Circuit circuit) {
+    BooleanSupplier action = reconnectAction;
+    if (action == null) {
+      remove(metadata, circuit);
+      return;
+    }
+    circuit.allowAttempt();
+    boolean reconnected;
+    try {
+      reconnected = action.getAsBoolean();
+
+    } catch (RuntimeException e) {
+      log.debug("Reconnect action failed.", e);
+      reconnected = false;
+    }
+    if (reconnected) {
+      remove(metadata, circuit);
+    } else {
+      scheduleTrial(metadata, circuit, circuit.failure());
+    }
+  }
+
+  private void confirm(RetryMetadata metadata, Circuit circuit, int attempts) {
+    if (metadata.getAttempts() == attempts) {
+      remove(metadata, circuit);
+    }
+  }
+
+  private void remove(RetryMetadata metadata, Circuit circuit) {
+    boolean removed;
+    synchronized (circuits) {
+      removed = circuits.remove(metadata, circuit);
+    }
+    if (removed && circuit.getFailures() > 0) {
+      log.info("Reconnected to the ldap server after {} failures.", circuit.getFailures());
+    }
+  }
+
+  private long backoff(int count) {
+    double exponential = delay * Math.pow(multiplier, count - 1);
+    long value = (long) Math.min(maxDelay, exponential);
+    long half = value / 2L;
+    return half + ThreadLocalRandom.current().nextLong(half + 1L);
+  }
+
+  /**
+   * The circuit of one reconnecting connection.
+   */
+  private class Circuit {
+
+    private State state = State.CLOSED;
+
+    private int failures;
+
+    private int lastAttempts;
+
+    private long nextAttemptAt;
+
+    /**
+     * Records the failures, that were reported since the last attempt, and returns the time until the next attempt
+     * is allowed.
+     *
+     * @param attempts the number of failed attempts of the retry metadata
+     * @return the time until the next attempt in milliseconds
+     */
+    synchronized long beforeAttempt(int attempts) {
+      if (attempts > lastAttempts) {
+        lastAttempts = attempts;
+        return failure();
+      }
+      return nextAttemptAt - System.currentTimeMillis();
+    }
+
+    /**
+     * Records a failure and returns the time until the next attempt is allowed.
+     *
+     * @return the time until the next attempt in milliseconds
+     */
+    synchronized long failure() {
+      long now = System.currentTimeMillis();
+      failures++;
+      if (failures >= maxFailures || state == State.HALF_OPEN) {
+        if (state != State.OPEN) {
+          log.warn("Reconnecting to the ldap server failed {} times; circuit is open for {} ms.",
+              failures, openDuration);
+        }
+        state = State.OPEN;
+        nextAttemptAt = now + openDuration;
+      } else {
+        nextAttemptAt = now + backoff(failures);
+      }
+      return nextAttemptAt - now;
+    }
+
+    /**
+     * Allows the next attempt; an open circuit becomes half open.
+     */
+    synchronized void allowAttempt() {
+      if (state == State.OPEN) {
+        log.info("Circuit of ldap reconnects is half open, trying to reconnect.");
+        state = State.HALF_OPEN;
+      }
+    }
+
+    synchronized State getState() {
+      return state;
+    }
+
+    synchronized int getFailures() {
+      return failures;
+    }
+  }
+
+  /**
+   * The state of the circuit.
+   */
+  public enum State {
+
+    /**
+     * Reconnects are allowed (respecting the backoff delay).
+     */
+    CLOSED,
+
+    /**
+     * Reconnects are rejected until the open duration is over.
+     */
+    OPEN,
+
+    /**
+     * One trial reconnect is allowed.
+     */
+    HALF_OPEN
+  }
+
+}
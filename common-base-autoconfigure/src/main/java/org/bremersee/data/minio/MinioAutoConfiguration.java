@@ -82,11 +82,11 @@ public class MinioAutoConfiguration {
   @Bean
   public MinioClient minioClient() {
 
-    log.info("Creating {} ...", MinioClient.class.getSimpleName());
-    MinioClient minioClient = MinioClient.builder()
+    log.info("Creating {} ...", MultipartMinioClient.class.getSimpleName());
+    MinioClient minioClient = new MultipartMinioClient(MinioClient.builder()
         .credentials(properties.getAccessKey(), properties.getSecretKey())
         .endpoint(HttpUrl.get(properties.getUrl()))
-        .build();
+        .build());
     minioClient.setTimeout(
         properties.getConnectTimeout().toMillis(),
         properties.getWriteTimeout().toMillis(),
@@ -95,6 +95,22 @@ public class MinioAutoConfiguration {
     return minioClient;
   }
 
+  /**
+   * Creates the executor of concurrent minio calls. It is closed by the application context. The multipart uploader
+   * uses it; it should be passed to the repositories, too (see {@link MinioRepositoryImpl#setExecutor(
+   * java.util.concurrent.Executor)}).
+   *
+   * @return the minio task executor
+   */
+  @ConditionalOnMissingBean
+  @Bean
+  public MinioTaskExecutor minioTaskExecutor() {
+    log.info("Creating {} ...", MinioTaskExecutor.class.getSimpleName());
+    return new MinioTaskExecutor(
+        properties.getExecutor().getPoolSize(),
+        properties.getExecutor().getQueueCapacity());
+  }
+
   /**
    * Creates minio template.
    *
@@ -114,4 +130,25 @@ public class MinioAutoConfiguration {
     return minioTemplate;
   }
 
+  /**
+   * Creates the multipart uploader, that uploads the parts with the minio task executor.
+   *
+   * @param minioOperations the minio operations
+   * @param minioTaskExecutor the minio task executor
+   * @return the multipart uploader
+   */
+  @ConditionalOnMissingBean
+  @Bean
+  public MultipartUploader multipartUploader(
+      MinioOperations minioOperations,
+      MinioTaskExecutor minioTaskExecutor) {
+
+    log.info("Creating {} ...", MultipartUploader.class.getSimpleName());
+    return new MultipartUploader(
+        minioOperations,
+        MultipartUploader.DEFAULT_PART_SIZE,
+        MultipartUploader.DEFAULT_PARALLELISM,
+        minioTaskExecutor);
+  }
+
 }
@@ -73,4 +73,61 @@ public class MinioProperties {
   @NotNull
   private Duration readTimeout = Duration.ofSeconds(10);
 
+  /**
+   * The properties of the reactive minio operations.
+   */
+  @NotNull
+  private ReactiveProperties reactive = new ReactiveProperties();
+
+  /**
+   * The properties of the executor of concurrent minio calls.
+   */
+  @NotNull
+  private ExecutorProperties executor = new ExecutorProperties();
+
+  /**
+   * The properties of the reactive minio operations.
+   */
+  @Getter
+  @Setter
+  @ToString
+  @EqualsAndHashCode
+  @NoArgsConstructor
+  public static class ReactiveProperties {
+
+    /**
+     * The maximum number of threads, that execute the blocking calls of the minio client.
+     */
+    private int threadCap = 10 * Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The maximum number of calls, that are queued, if all threads are busy.
+     */
+    private int queuedTaskCap = 100000;
+
+  }
+
+  /**
+   * The properties of the executor of concurrent minio calls.
+   */
+  @Getter
+  @Setter
+  @ToString
+  @EqualsAndHashCode
+  @NoArgsConstructor
+  public static class ExecutorProperties {
+
+    /**
+     * The maximum number of threads, that execute concurrent minio calls.
+     */
+    private int poolSize = MinioTaskExecutor.DEFAULT_POOL_SIZE;
+
+    /**
+     * The maximum number of calls, that are queued, if all threads are busy; further calls are executed by the
+     * calling thread.
+     */
+    private int queueCapacity = MinioTaskExecutor.DEFAULT_QUEUE_CAPACITY;
+
+  }
+
 }
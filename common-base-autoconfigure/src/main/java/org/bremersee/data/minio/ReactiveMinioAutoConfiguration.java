@@ -0,0 +1,126 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import io.minio.MinioClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.util.ClassUtils;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The reactive minio auto configuration. The blocking calls of the minio client are executed on a bounded elastic
+ * scheduler, that is used only by the reactive minio template and that is disposed, when the application context is
+ * closed.
+ *
+ * @author Christian Bremer
+ */
+@Configuration
+@ConditionalOnClass(name = {
+    "io.minio.MinioClient",
+    "org.bremersee.data.minio.ReactiveMinioTemplate",
+    "reactor.core.publisher.Mono"
+})
+@ConditionalOnProperty(
+    prefix = "bremersee.minio",
+    name = {"url", "access-key", "secret-key"})
+@AutoConfigureAfter(MinioAutoConfiguration.class)
+@EnableConfigurationProperties(MinioProperties.class)
+@Slf4j
+public class ReactiveMinioAutoConfiguration implements DisposableBean {
+
+  private final MinioProperties properties;
+
+  private Scheduler scheduler;
+
+  /**
+   * Instantiates a new reactive minio auto configuration.
+   *
+   * @param properties the properties
+   */
+  public ReactiveMinioAutoConfiguration(MinioProperties properties) {
+    this.properties = properties;
+  }
+
+  /**
+   * Init.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void init() {
+    log.info("\n"
+            + "*********************************************************************************\n"
+            + "* {}\n"
+            + "*********************************************************************************\n"
+            + "* properties = {}\n"
+            + "*********************************************************************************",
+        ClassUtils.getUserClass(getClass()).getSimpleName(),
+        properties.getReactive());
+  }
+
+  /**
+   * Creates reactive minio template.
+   *
+   * @param minioClient the minio client
+   * @param minioOperations the blocking minio operations
+   * @param errorHandlerProvider the error handler provider
+   * @return the reactive minio template
+   */
+  @ConditionalOnMissingBean(ReactiveMinioOperations.class)
+  @Bean
+  public ReactiveMinioTemplate reactiveMinioTemplate(
+      MinioClient minioClient,
+      ObjectProvider<MinioOperations> minioOperations,
+      ObjectProvider<MinioErrorHandler> errorHandlerProvider) {
+
+    log.info("Creating {} ...", ReactiveMinioTemplate.class.getSimpleName());
+    MinioOperations blockingOperations = minioOperations.getIfUnique(() -> {
+      MinioTemplate minioTemplate = new MinioTemplate(minioClient);
+      minioTemplate.setErrorHandler(errorHandlerProvider.getIfAvailable());
+      return minioTemplate;
+    });
+    return new ReactiveMinioTemplate(blockingOperations, scheduler());
+  }
+
+  private synchronized Scheduler scheduler() {
+    if (scheduler == null) {
+      scheduler = Schedulers.newBoundedElastic(
+          properties.getReactive().getThreadCap(),
+          properties.getReactive().getQueuedTaskCap(),
+          "minio");
+    }
+    return scheduler;
+  }
+
+  @Override
+  public void destroy() {
+    if (scheduler != null) {
+      scheduler.dispose();
+    }
+  }
+
+}
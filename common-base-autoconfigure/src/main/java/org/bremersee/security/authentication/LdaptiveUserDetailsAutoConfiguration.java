@@ -18,15 +18,26 @@ package org.bremersee.security.authentication;
 
 import lombok.extern.slf4j.Slf4j;
 import org.bremersee.data.ldaptive.LdaptiveAutoConfiguration;
+import org.bremersee.data.ldaptive.LdaptiveConnectionConfigFactory;
 import org.bremersee.data.ldaptive.LdaptiveOperations;
 import org.bremersee.data.ldaptive.LdaptiveProperties;
 import org.bremersee.data.ldaptive.LdaptiveProperties.UserDetailsProperties;
+import org.bremersee.data.ldaptive.LdaptiveProperties.UserDetailsProperties.NestedGroupsProperties;
+import org.bremersee.data.ldaptive.LdaptiveProperties.UserDetailsProperties.PasswordMatcherProperties;
+import org.bremersee.data.ldaptive.LdaptiveProperties.UserDetailsProperties.UserDetailsCacheProperties;
 import org.bremersee.data.ldaptive.reactive.ReactiveLdaptiveOperations;
 import org.bremersee.security.core.userdetails.LdaptivePasswordEncoder;
 import org.bremersee.security.core.userdetails.LdaptivePasswordMatcher;
 import org.bremersee.security.core.userdetails.LdaptiveUserDetailsService;
+import org.bremersee.security.core.userdetails.NestedGroupResolver;
 import org.bremersee.security.core.userdetails.ReactiveLdaptiveUserDetailsService;
+import org.bremersee.security.core.userdetails.ReactiveUserDetailsCache;
+import org.bremersee.security.core.userdetails.UserDetailsCache;
+import org.ldaptive.ConnectionConfig;
 import org.ldaptive.ConnectionFactory;
+import org.ldaptive.DefaultConnectionFactory;
+import org.ldaptive.PooledConnectionFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
@@ -65,24 +76,35 @@ import org.springframework.util.ClassUtils;
     havingValue = "true")
 @EnableConfigurationProperties(LdaptiveProperties.class)
 @Slf4j
-public class LdaptiveUserDetailsAutoConfiguration {
+public class LdaptiveUserDetailsAutoConfiguration implements DisposableBean {
+
+  private final LdaptiveProperties ldaptiveProperties;
 
   private final UserDetailsProperties properties;
 
   private final LdaptiveOperations ldaptiveOperations;
 
+  private final LdaptiveConnectionConfigFactory connectionConfigFactory;
+
+  private ConnectionFactory bindConnectionFactory;
+
   /**
    * Instantiates a new ldaptive user details auto configuration.
    *
    * @param properties the properties
    * @param ldaptiveOperationsProvider the ldaptive operations provider
+   * @param connectionConfigFactory the connection config factory
    */
   public LdaptiveUserDetailsAutoConfiguration(
       LdaptiveProperties properties,
-      ObjectProvider<LdaptiveOperations> ldaptiveOperationsProvider) {
+      ObjectProvider<LdaptiveOperations> ldaptiveOperationsProvider,
+      ObjectProvider<LdaptiveConnectionConfigFactory> connectionConfigFactory) {
+    this.ldaptiveProperties = properties;
     this.properties = properties.getUserDetails();
     this.ldaptiveOperations = ldaptiveOperationsProvider.getIfAvailable();
     Assert.notNull(this.ldaptiveOperations, "Ldap operations must not be present.");
+    this.connectionConfigFactory = connectionConfigFactory
+        .getIfAvailable(LdaptiveConnectionConfigFactory::defaultFactory);
   }
 
   /**
@@ -102,16 +124,43 @@ public class LdaptiveUserDetailsAutoConfiguration {
     Assert.hasText(properties.getUserFindOneFilter(), "User find one filter must be present.");
   }
 
+  /**
+   * Builds the nested group resolver, that is shared by the user details services.
+   *
+   * @return the nested group resolver
+   */
+  @ConditionalOnProperty(
+      prefix = "bremersee.ldaptive.user-details.nested-groups",
+      name = "enabled",
+      havingValue = "true")
+  @ConditionalOnMissingBean
+  @Bean
+  public NestedGroupResolver nestedGroupResolver() {
+    NestedGroupsProperties nestedGroups = properties.getNestedGroups();
+    log.info("Creating nested group resolver with properties {}", nestedGroups);
+    return new NestedGroupResolver(
+        nestedGroups.isMatchingRuleInChain()
+            ? NestedGroupResolver.Mode.MATCHING_RULE_IN_CHAIN
+            : NestedGroupResolver.Mode.BREADTH_FIRST,
+        nestedGroups.getGroupBaseDn(),
+        nestedGroups.getGroupSearchScope(),
+        nestedGroups.getMemberFilter(),
+        nestedGroups.getMaxDepth(),
+        nestedGroups.getRefreshInterval());
+  }
+
   /**
    * Ldaptive user details service.
    *
+   * @param nestedGroupResolver the nested group resolver
    * @return the ldaptive user details service
    */
   @ConditionalOnWebApplication(type = Type.SERVLET)
   @ConditionalOnMissingBean(value = {UserDetailsService.class})
   @Bean
-  public LdaptiveUserDetailsService ldaptiveUserDetailsService() {
-    return new LdaptiveUserDetailsService(
+  public LdaptiveUserDetailsService ldaptiveUserDetailsService(
+      ObjectProvider<NestedGroupResolver> nestedGroupResolver) {
+    LdaptiveUserDetailsService userDetailsService = new LdaptiveUserDetailsService(
         ldaptiveOperations,
         properties.getUserBaseDn(),
         properties.getUserFindOneFilter(),
@@ -122,22 +171,33 @@ public class LdaptiveUserDetailsAutoConfiguration {
         properties.isAuthorityDn(),
         properties.getAuthorityMap(),
         properties.getAuthorityPrefix());
+    UserDetailsCacheProperties cacheProperties = properties.getCache();
+    if (cacheProperties.isEnabled()) {
+      userDetailsService.setUserDetailsCache(new UserDetailsCache(
+          cacheProperties.getTimeToLive(),
+          cacheProperties.getNotFoundTimeToLive(),
+          cacheProperties.getMaxSize()));
+    }
+    userDetailsService.setNestedGroupResolver(nestedGroupResolver.getIfAvailable());
+    return userDetailsService;
   }
 
   /**
    * Reactive ldaptive user details service.
    *
    * @param reactiveLdaptiveOperationsProvider the reactive ldaptive operations provider
+   * @param nestedGroupResolver the nested group resolver
    * @return the reactive ldaptive user details service
    */
   @ConditionalOnWebApplication(type = Type.REACTIVE)
   @ConditionalOnMissingBean(value = {ReactiveUserDetailsService.class})
   @Bean
   public ReactiveLdaptiveUserDetailsService reactiveLdaptiveUserDetailsService(
-      ObjectProvider<ReactiveLdaptiveOperations> reactiveLdaptiveOperationsProvider) {
+      ObjectProvider<ReactiveLdaptiveOperations> reactiveLdaptiveOperationsProvider,
+      ObjectProvider<NestedGroupResolver> nestedGroupResolver) {
     ReactiveLdaptiveOperations reactiveLdaptiveOperations = reactiveLdaptiveOperationsProvider.getIfAvailable();
     Assert.notNull(reactiveLdaptiveOperations, "Reactive ldap operations must not be present.");
-    return new ReactiveLdaptiveUserDetailsService(
+    ReactiveLdaptiveUserDetailsService userDetailsService = new ReactiveLdaptiveUserDetailsService(
         reactiveLdaptiveOperations,
         properties.getUserBaseDn(),
         properties.getUserFindOneFilter(),
@@ -148,6 +208,15 @@ public class LdaptiveUserDetailsAutoConfiguration {
         properties.isAuthorityDn(),
         properties.getAuthorityMap(),
         properties.getAuthorityPrefix());
+    UserDetailsCacheProperties cacheProperties = properties.getCache();
+    if (cacheProperties.isEnabled()) {
+      userDetailsService.setUserDetailsCache(new ReactiveUserDetailsCache(
+          cacheProperties.getTimeToLive(),
+          cacheProperties.getNotFoundTimeToLive(),
+          cacheProperties.getMaxSize()));
+    }
+    userDetailsService.setNestedGroupResolver(nestedGroupResolver.getIfAvailable());
+    return userDetailsService;
   }
 
   /**
@@ -168,7 +237,52 @@ public class LdaptiveUserDetailsAutoConfiguration {
     matcher.setDelegate(new LdaptivePasswordEncoder(
         properties.getUserPasswordLabel(),
         properties.getUserPasswordAlgorithm()));
+    PasswordMatcherProperties matcherProperties = properties.getPasswordMatcher();
+    if (matcherProperties.isBindAuthentication()) {
+      bindConnectionFactory = bindConnectionFactory();
+      matcher.setBindConnectionFactory(bindConnectionFactory);
+    }
+    matcher.setDnCache(
+        matcherProperties.getDnCacheTimeToLive(),
+        matcherProperties.getCacheMaxSize());
+    matcher.setCredentialCache(
+        matcherProperties.getCredentialCacheTimeToLive(),
+        matcherProperties.getCacheMaxSize(),
+        matcherProperties.getCredentialHashIterations());
     return matcher;
   }
 
+  /**
+   * Creates the connection factory for bind authentication. The connections of this factory are not bound with the
+   * configured bind dn, because they are bound with the dn of the user, whose password is checked.
+   *
+   * @return the bind connection factory
+   */
+  private ConnectionFactory bindConnectionFactory() {
+    ConnectionConfig config = connectionConfigFactory.createConnectionConfig(ldaptiveProperties);
+    config.setConnectionInitializers();
+    if (!ldaptiveProperties.isPooled()) {
+      return DefaultConnectionFactory.builder()
+          .config(config)
+          .build();
+    }
+    PooledConnectionFactory factory = PooledConnectionFactory.builder()
+        .config(config)
+        .blockWaitTime(ldaptiveProperties.getBlockWaitTime())
+        .connectOnCreate(ldaptiveProperties.isConnectOnCreate())
+        .failFastInitialize(ldaptiveProperties.isFailFastInitialize())
+        .max(ldaptiveProperties.getMaxPoolSize())
+        .min(ldaptiveProperties.getMinPoolSize())
+        .build();
+    factory.initialize();
+    return factory;
+  }
+
+  @Override
+  public void destroy() {
+    if (bindConnectionFactory != null) {
+      bindConnectionFactory.close();
+    }
+  }
+
 }
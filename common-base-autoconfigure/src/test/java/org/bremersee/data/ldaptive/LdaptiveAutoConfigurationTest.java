@@ -28,12 +28,31 @@ class LdaptiveAutoConfigurationTest {
    * Ldaptive template.
    */
   @Test
+  @SuppressWarnings("unchecked")
   void ldaptiveTemplate() {
     LdaptiveProperties properties = new LdaptiveProperties();
     properties.setPooled(false);
 
     LdaptiveAutoConfiguration configuration = buildConfiguration(properties);
-    assertNotNull(configuration.ldaptiveTemplate(configuration.connectionFactory()));
+    assertNotNull(configuration.ldaptiveTemplate(
+        configuration.connectionFactory(),
+        mock(ObjectProvider.class),
+        mock(ObjectProvider.class)));
+  }
+
+  /**
+   * Read connection factory.
+   */
+  @Test
+  void readConnectionFactory() {
+    LdaptiveProperties properties = new LdaptiveProperties();
+    properties.setPooled(false);
+    properties.setReadLdapUrl("ldap://localhost:12389");
+
+    LdaptiveAutoConfiguration configuration = buildConfiguration(properties);
+    try (LdaptiveReadConnectionFactory readConnectionFactory = configuration.ldaptiveReadConnectionFactory()) {
+      assertNotNull(readConnectionFactory.getConnectionFactory());
+    }
   }
 
   /**
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import org.bremersee.data.ldaptive.ReconnectCircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+import org.ldaptive.ClosedRetryMetadata;
+import org.ldaptive.RetryMetadata;
+
+/**
+ * The reconnect circuit breaker test.
+ *
+ * @author Christian Bremer
+ */
+class ReconnectCircuitBreakerTest {
+
+  private static RetryMetadata closed(AtomicInteger attempts) {
+    RetryMetadata metadata = mock(ClosedRetryMetadata.class);
+    when(metadata.getAttempts()).thenAnswer(invocation -> attempts.get());
+    return metadata;
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long end = System.currentTimeMillis() + 5000L;
+    while (!condition.getAsBoolean() && System.currentTimeMillis() < end) {
+      Thread.sleep(10L);
+    }
+    assertTrue(condition.getAsBoolean());
+  }
+
+  /**
+   * Reconnects are disabled.
+   */
+  @Test
+  void disabled() {
+    ReconnectCircuitBreaker breaker = new ReconnectCircuitBreaker(
+        0, Duration.ofSeconds(1), 2., Duration.ofSeconds(10), Duration.ofSeconds(1), Duration.ofSeconds(1));
+    assertFalse(breaker.test(closed(new AtomicInteger())));
+    breaker = new ReconnectCircuitBreaker(
+        5, Duration.ofSeconds(1), 2., Duration.ofSeconds(10), Duration.ofSeconds(1), Duration.ofSeconds(1));
+    assertFalse(breaker.test(mock(RetryMetadata.class)));
+  }
+
+  /**
+   * A reconnect within the backoff delay is rejected at once and made by the reconnect action afterwards.
+   *
+   * @throws InterruptedException the interrupted exception
+   */
+  @Test
+  void rejectedDuringBackoff() throws InterruptedException {
+    ReconnectCircuitBreaker breaker = new ReconnectCircuitBreaker(
+        5, Duration.ofMillis(200), 1., Duration.ofMillis(200), Duration.ofMinutes(1), Duration.ofMinutes(1));
+    AtomicInteger reconnects = new AtomicInteger();
+    breaker.setReconnectAction(() -> reconnects.incrementAndGet() > 0);
+    AtomicInteger attempts = new AtomicInteger();
+    RetryMetadata metadata = closed(attempts);
+    assertTrue(breaker.test(metadata));
+
+    // the first attempt fails
+    attempts.incrementAndGet();
+    long start = System.currentTimeMillis();
+    assertFalse(breaker.test(metadata));
+    assertTrue(System.currentTimeMillis() - start < 90L);
+    assertEquals(1, breaker.getFailures());
+    assertEquals(State.CLOSED, breaker.getState());
+    assertEquals(0, reconnects.get());
+
+    await(() -> reconnects.get() == 1);
+    await(() -> breaker.getFailures() == 0);
+  }
+
+  /**
+   * Without reconnect action the circuit is discarded after the backoff delay.
+   *
+   * @throws InterruptedException the interrupted exception
+   */
+  @Test
+  void withoutReconnectAction() throws InterruptedException {
+    ReconnectCircuitBreaker breaker = new ReconnectCircuitBreaker(
+        5, Duration.ofMillis(100), 1., Duration.ofMillis(100), Duration.ofMinutes(1), Duration.ofMinutes(1));
+    assertFalse(breaker.test(closed(new AtomicInteger(1))));
+    assertEquals(1, breaker.getFailures());
+    await(() -> breaker.getFailures() == 0);
+  }
+
+  /**
+   * Circuit opens, half opens and closes.
+   *
+   * @throws InterruptedException the interrupted exception
+   */
+  @Test
+  void openHalfOpenAndClose() throws InterruptedException {
+    ReconnectCircuitBreaker breaker = new ReconnectCircuitBreaker(
+        2, Duration.ZERO, 1., Duration.ZERO, Duration.ofMillis(200), Duration.ofMinutes(1));
+    AtomicBoolean reachable = new AtomicBoolean();
+    AtomicInteger reconnects = new AtomicInteger();
+    AtomicReference<State> trialState = new AtomicReference<>();
+    breaker.setReconnectAction(() -> {
+      trialState.set(breaker.getState());
+      reconnects.incrementAndGet();
+      return reachable.get();
+    });
+    AtomicInteger attempts = new AtomicInteger();
+    RetryMetadata metadata = closed(attempts);
+    assertTrue(breaker.test(metadata));
+    attempts.incrementAndGet();
+    assertTrue(breaker.test(metadata));
+
+    // the second failure opens the circuit
+    attempts.incrementAndGet();
+    long start = System.currentTimeMillis();
+    assertFalse(breaker.test(metadata));
+    assertTrue(System.currentTimeMillis() - start < 100L);
+    assertEquals(State.OPEN, breaker.getState());
+    assertEquals(2, breaker.getFailures());
+
+    // the trial fails and opens the circuit again
+    await(() -> reconnects.get() >= 1);
+    assertEquals(State.HALF_OPEN, trialState.get());
+    await(() -> breaker.getState() == State.OPEN);
+
+    // the next trial succeeds
+    reachable.set(true);
+    await(() -> breaker.getState() == State.CLOSED);
+    assertEquals(0, breaker.getFailures());
+  }
+
+  /**
+   * Every reconnecting connection has its own circuit.
+   */
+  @Test
+  void independentCircuits() {
+    ReconnectCircuitBreaker breaker = new ReconnectCircuitBreaker(
+        1, Duration.ZERO, 1., Duration.ZERO, Duration.ofMinutes(1), Duration.ofMinutes(1));
+    assertFalse(breaker.test(closed(new AtomicInteger(1))));
+    assertEquals(State.OPEN, breaker.getState());
+
+    assertTrue(breaker.test(closed(new AtomicInteger())));
+    assertEquals(State.OPEN, breaker.getState());
+    assertEquals(1, breaker.getFailures());
+  }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.benchmark.ldaptive;
+
+import com.unboundid.ldap.listener.InMemoryDirectoryServer;
+import com.unboundid.ldap.listener.InMemoryDirectoryServerConfig;
+import com.unboundid.ldap.listener.InMemoryListenerConfig;
+import com.unboundid.ldap.sdk.LDAPException;
+import java.time.Duration;
+import org.ldaptive.BindConnectionInitializer;
+import org.ldaptive.ConnectionConfig;
+import org.ldaptive.Credential;
+import org.ldaptive.PooledConnectionFactory;
+
+/**
+ * An embedded in memory ldap server with a fixed number of persons and groups.
+ *
+ * @author Christian Bremer
+ */
+class EmbeddedLdapServer implements AutoCloseable {
+
+  /**
+   * The base dn.
+   */
+  static final String BASE_DN = "dc=bremersee,dc=org";
+
+  /**
+   * The dn of the people.
+   */
+  static final String PEOPLE_DN = "ou=people," + BASE_DN;
+
+  /**
+   * The dn of the groups.
+   */
+  static final String GROUPS_DN = "ou=groups," + BASE_DN;
+
+  private static final String ADMIN_DN = "cn=admin";
+
+  private static final String ADMIN_PASSWORD = "secret";
+
+  private final InMemoryDirectoryServer server;
+
+  private final PooledConnectionFactory connectionFactory;
+
+  /**
+   * Instantiates and starts a new embedded ldap server.
+   *
+   * @param persons the number of persons
+   * @param groups the number of groups (every person is member of every group)
+   * @param poolSize the size of the connection pool
+   * @throws LDAPException if the server can not be started
+   */
+  EmbeddedLdapServer(int persons, int groups, int poolSize) throws LDAPException {
+    InMemoryDirectoryServerConfig config = new InMemoryDirectoryServerConfig(BASE_DN);
+    config.addAdditionalBindCredentials(ADMIN_DN, ADMIN_PASSWORD);
+    config.setListenerConfigs(InMemoryListenerConfig.createLDAPConfig("default", 0));
+    config.setSchema(null);
+    server = new InMemoryDirectoryServer(config);
+    server.add("dn: " + BASE_DN, "objectClass: top", "objectClass: domain", "dc: bremersee");
+    server.add("dn: " + PEOPLE_DN, "objectClass: top", "objectClass: organizationalUnit", "ou: people");
+    server.add("dn: " + GROUPS_DN, "objectClass: top", "objectClass: organizationalUnit", "ou: groups");
+    for (int i = 0; i < persons; i++) {
+      server.add(
+          "dn: " + personDn(i),
+          "objectClass: top",
+          "objectClass: inetOrgPerson",
+          "uid: " + uid(i),
+          "cn: Person " + i,
+          "sn: " + i,
+          "mail: " + uid(i) + "@bremersee.org",
+          "businessCategory: " + page(10, i),
+          "businessCategory: " + page(100, i),
+          "userPassword: " + ADMIN_PASSWORD);
+    }
+    for (int i = 0; i < groups; i++) {
+      String[] ldif = new String[persons + 4];
+      ldif[0] = "dn: cn=group" + i + "," + GROUPS_DN;
+      ldif[1] = "objectClass: top";
+      ldif[2] = "objectClass: groupOfNames";
+      ldif[3] = "cn: group" + i;
+      for (int j = 0; j < persons; j++) {
+        ldif[4 + j] = "member: " + personDn(j);
+      }
+      server.add(ldif);
+    }
+    server.startListening();
+
+    BindConnectionInitializer bindConnectionInitializer = new BindConnectionInitializer();
+    bindConnectionInitializer.setBindDn(ADMIN_DN);
+    bindConnectionInitializer.setBindCredential(new Credential(ADMIN_PASSWORD));
+    connectionFactory = PooledConnectionFactory.builder()
+        .config(ConnectionConfig.builder()
+            .url("ldap://localhost:" + server.getListenPort())
+            .connectionInitializers(bindConnectionInitializer)
+            .responseTimeout(Duration.ofSeconds(10L))
+            .build())
+        .min(poolSize)
+        .max(poolSize)
+        .build();
+    connectionFactory.initialize();
+  }
+
+  /**
+   * Gets the uid of the person with the given number.
+   *
+   * @param number the number
+   * @return the uid
+   */
+  static String uid(int number) {
+    return "user" + number;
+  }
+
+  /**
+   * Gets the page name of the person with the given number. Every person has a page name for the page sizes 10 and
+   * 100 in the attribute {@code businessCategory}.
+   *
+   * @param pageSize the page size (10 or 100)
+   * @param number the number of the person
+   * @return the page name
+   */
+  static String page(int pageSize, int number) {
+    return "page" + pageSize + "-" + (number / pageSize);
+  }
+
+  /**
+   * Gets the dn of the person with the given number.
+   *
+   * @param number the number
+   * @return the dn
+   */
+  static String personDn(int number) {
+    return "uid=" + uid(number) + "," + PEOPLE_DN;
+  }
+
+  /**
+   * Gets the connection factory.
+   *
+   * @return the connection factory
+   */
+  PooledConnectionFactory getConnectionFactory() {
+    return connectionFactory;
+  }
+
+  @Override
+  public void close() {
+    connectionFactory.close();
+    server.shutDown(true);
+  }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.benchmark.ldaptive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.bremersee.data.ldaptive.LdaptiveEntryMapper;
+import org.ldaptive.AttributeModification;
+import org.ldaptive.LdapAttribute;
+import org.ldaptive.LdapEntry;
+import org.ldaptive.transcode.StringValueTranscoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The benchmark of the attribute helpers of the {@link LdaptiveEntryMapper}. Every invocation works on a fresh copy of
+ * an entry, whose attribute has the given number of values; the copy is part of the measurement.
+ *
+ * @author Christian Bremer
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntryMapperBenchmark {
+
+  private static final StringValueTranscoder STRING_TRANSCODER = new StringValueTranscoder();
+
+  private static final String ATTRIBUTE_NAME = "member";
+
+  /**
+   * The number of attribute values.
+   */
+  @Param({"1", "10", "100", "1000"})
+  public int valueCount;
+
+  private List<String> existingValues;
+
+  private List<String> changedValues;
+
+  private List<String> additionalValues;
+
+  private LdapAttribute existingAttribute;
+
+  /**
+   * Creates the attribute values.
+   */
+  @Setup
+  public void setup() {
+    existingValues = values("uid=user", 0, valueCount);
+    changedValues = values("uid=user", valueCount / 2, valueCount);
+    additionalValues = values("uid=other", 0, Math.max(1, valueCount / 10));
+    existingAttribute = new LdapAttribute(ATTRIBUTE_NAME, existingValues.toArray(new String[0]));
+  }
+
+  private static List<String> values(String prefix, int offset, int count) {
+    List<String> values = new ArrayList<>(count);
+    for (int i = offset; i < offset + count; i++) {
+      values.add(prefix + i + ",ou=people,dc=bremersee,dc=org");
+    }
+    return values;
+  }
+
+  private LdapEntry entry() {
+    LdapEntry entry = new LdapEntry();
+    entry.setDn("cn=group,ou=groups,dc=bremersee,dc=org");
+    entry.addAttributes(new LdapAttribute(ATTRIBUTE_NAME, existingAttribute.getStringValues().toArray(new String[0])));
+    return entry;
+  }
+
+  /**
+   * Sets the same values (no modification).
+   *
+   * @return the modifications
+   */
+  @Benchmark
+  public List<AttributeModification> setUnchangedAttributes() {
+    List<AttributeModification> modifications = new ArrayList<>();
+    LdaptiveEntryMapper.setAttributes(
+        entry(), ATTRIBUTE_NAME, existingValues, false, STRING_TRANSCODER, modifications);
+    return modifications;
+  }
+
+  /**
+   * Sets changed values (replace modification).
+   *
+   * @return the modifications
+   */
+  @Benchmark
+  public List<AttributeModification> setChangedAttributes() {
+    List<AttributeModification> modifications = new ArrayList<>();
+    LdaptiveEntryMapper.setAttributes(
+        entry(), ATTRIBUTE_NAME, changedValues, false, STRING_TRANSCODER, modifications);
+    return modifications;
+  }
+
+  /**
+   * Adds values.
+   *
+   * @return the modifications
+   */
+  @Benchmark
+  public List<AttributeModification> addAttributes() {
+    List<AttributeModification> modifications = new ArrayList<>();
+    LdaptiveEntryMapper.addAttributes(
+        entry(), ATTRIBUTE_NAME, additionalValues, false, STRING_TRANSCODER, modifications);
+    return modifications;
+  }
+
+  /**
+   * Removes values.
+   *
+   * @return the modifications
+   */
+  @Benchmark
+  public List<AttributeModification> removeAttributes() {
+    List<AttributeModification> modifications = new ArrayList<>();
+    LdaptiveEntryMapper.removeAttributes(
+        entry(), ATTRIBUTE_NAME, changedValues, STRING_TRANSCODER, modifications);
+    return modifications;
+  }
+
+  /**
+   * Creates the entry copy only (the baseline of the other benchmarks).
+   *
+   * @return the entry
+   */
+  @Benchmark
+  public LdapEntry baseline() {
+    return entry();
+  }
+
+}
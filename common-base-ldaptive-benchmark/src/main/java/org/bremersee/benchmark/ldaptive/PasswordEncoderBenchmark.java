@@ -0,0 +1,87 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.benchmark.ldaptive;
+
+import java.util.concurrent.TimeUnit;
+import org.bremersee.security.core.userdetails.LdaptivePasswordEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The benchmark of the {@link LdaptivePasswordEncoder}.
+ *
+ * @author Christian Bremer
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+  private static final String RAW_PASSWORD = "changeit";
+
+  /**
+   * The algorithm of the password encoder.
+   */
+  @Param({"plain", "SHA", "MD5"})
+  public String algorithm;
+
+  private LdaptivePasswordEncoder passwordEncoder;
+
+  private String encodedPassword;
+
+  /**
+   * Creates the password encoder and the encoded password.
+   */
+  @Setup
+  public void setup() {
+    passwordEncoder = new LdaptivePasswordEncoder(algorithm, algorithm);
+    encodedPassword = passwordEncoder.encode(RAW_PASSWORD);
+  }
+
+  /**
+   * Encodes the password.
+   *
+   * @return the encoded password
+   */
+  @Benchmark
+  public String encode() {
+    return passwordEncoder.encode(RAW_PASSWORD);
+  }
+
+  /**
+   * Matches the password.
+   *
+   * @return whether the password matches
+   */
+  @Benchmark
+  public boolean matches() {
+    return passwordEncoder.matches(RAW_PASSWORD, encodedPassword);
+  }
+
+}
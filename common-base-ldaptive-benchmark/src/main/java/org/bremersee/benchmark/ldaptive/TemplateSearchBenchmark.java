@@ -0,0 +1,183 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.benchmark.ldaptive;
+
+import com.unboundid.ldap.sdk.LDAPException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.bremersee.data.ldaptive.LdaptiveTemplate;
+import org.bremersee.data.ldaptive.reactive.ReactiveLdaptiveTemplate;
+import org.ldaptive.FilterTemplate;
+import org.ldaptive.LdapEntry;
+import org.ldaptive.SearchRequest;
+import org.ldaptive.SearchScope;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The search throughput of the {@link LdaptiveTemplate} and the {@link ReactiveLdaptiveTemplate} against an embedded
+ * in memory server. The numbers include the network stack of the loopback interface and the in memory server, so they
+ * are only comparable between runs on the same machine.
+ *
+ * @author Christian Bremer
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class TemplateSearchBenchmark {
+
+  private static final int PERSONS = 1000;
+
+  private EmbeddedLdapServer server;
+
+  private LdaptiveTemplate template;
+
+  private ReactiveLdaptiveTemplate reactiveTemplate;
+
+  /**
+   * Starts the embedded server.
+   *
+   * @throws LDAPException if the server can not be started
+   */
+  @Setup(Level.Trial)
+  public void setup() throws LDAPException {
+    server = new EmbeddedLdapServer(PERSONS, 0, 8);
+    template = new LdaptiveTemplate(server.getConnectionFactory());
+    reactiveTemplate = new ReactiveLdaptiveTemplate(server.getConnectionFactory());
+  }
+
+  /**
+   * Stops the embedded server.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    server.close();
+  }
+
+  private static SearchRequest findByUidRequest() {
+    return SearchRequest.builder()
+        .dn(EmbeddedLdapServer.PEOPLE_DN)
+        .scope(SearchScope.ONELEVEL)
+        .filter(FilterTemplate.builder()
+            .filter("(&(objectClass=inetOrgPerson)(uid={0}))")
+            .parameters(EmbeddedLdapServer.uid(ThreadLocalRandom.current().nextInt(PERSONS)))
+            .build())
+        .build();
+  }
+
+  /**
+   * Finds one entry with the ldaptive template.
+   *
+   * @return the entry
+   */
+  @Benchmark
+  public Optional<LdapEntry> findOne() {
+    return template.findOne(findByUidRequest());
+  }
+
+  /**
+   * Finds one entry with the reactive ldaptive template.
+   *
+   * @return the entry
+   */
+  @Benchmark
+  public LdapEntry findOneReactive() {
+    return reactiveTemplate.findOne(findByUidRequest()).block();
+  }
+
+  /**
+   * Finds a page of entries with the ldaptive template.
+   *
+   * @param page the page
+   * @return the entries
+   */
+  @Benchmark
+  public Collection<LdapEntry> findAll(Page page) {
+    return template.findAll(page.searchRequest);
+  }
+
+  /**
+   * Finds a page of entries with the reactive ldaptive template.
+   *
+   * @param page the page
+   * @return the entries
+   */
+  @Benchmark
+  public List<LdapEntry> findAllReactive(Page page) {
+    return reactiveTemplate.findAll(page.searchRequest).collectList().block();
+  }
+
+  /**
+   * Checks the existence of an entry with the ldaptive template.
+   *
+   * @return whether the entry exists
+   */
+  @Benchmark
+  public boolean exists() {
+    return template.exists(EmbeddedLdapServer.personDn(ThreadLocalRandom.current().nextInt(PERSONS)));
+  }
+
+  /**
+   * The one level search of the paged benchmarks, so that only they are run with every page size.
+   */
+  @State(Scope.Benchmark)
+  public static class Page {
+
+    /**
+     * The number of entries, that are returned by the one level search.
+     */
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private SearchRequest searchRequest;
+
+    /**
+     * Creates the search request.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+      searchRequest = SearchRequest.builder()
+          .dn(EmbeddedLdapServer.PEOPLE_DN)
+          .scope(SearchScope.ONELEVEL)
+          .filter(FilterTemplate.builder()
+              .filter("(&(objectClass=inetOrgPerson)(businessCategory={0}))")
+              .parameters(EmbeddedLdapServer.page(pageSize, 0))
+              .build())
+          .build();
+    }
+  }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.benchmark.ldaptive;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.bremersee.security.core.userdetails.UserDetailsLdapMapper;
+import org.ldaptive.LdapAttribute;
+import org.ldaptive.LdapEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * The benchmark of the user details mapping.
+ *
+ * @author Christian Bremer
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserDetailsBenchmark {
+
+  /**
+   * The number of groups of the user.
+   */
+  @Param({"1", "10", "100"})
+  public int groupCount;
+
+  private UserDetailsLdapMapper mapper;
+
+  private LdapEntry entry;
+
+  /**
+   * Creates the mapper and the entry.
+   */
+  @Setup
+  public void setup() {
+    mapper = new UserDetailsLdapMapper(
+        "userAccountControl",
+        Arrays.asList("ROLE_USER", "ROLE_LOCAL_USER"),
+        "memberOf",
+        true,
+        Collections.singletonMap("group0", "ROLE_ADMIN"),
+        "ROLE_")
+        .withUserName("user0");
+    String[] groups = new String[groupCount];
+    for (int i = 0; i < groupCount; i++) {
+      groups[i] = "cn=group" + i + "," + EmbeddedLdapServer.GROUPS_DN;
+    }
+    entry = new LdapEntry();
+    entry.setDn(EmbeddedLdapServer.personDn(0));
+    entry.addAttributes(
+        new LdapAttribute("userAccountControl", "66048"),
+        new LdapAttribute("memberOf", groups));
+  }
+
+  /**
+   * Maps the entry to user details.
+   *
+   * @return the user details
+   */
+  @Benchmark
+  public UserDetails mapUserDetails() {
+    return mapper.map(entry);
+  }
+
+}
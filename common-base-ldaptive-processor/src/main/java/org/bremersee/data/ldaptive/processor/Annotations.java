@@ -0,0 +1,132 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+
+/**
+ * Reads the annotations by their mirrors, so that the annotation classes need not to be on the processor path.
+ *
+ * @author Christian Bremer
+ */
+final class Annotations {
+
+  /**
+   * The entry annotation.
+   */
+  static final String ENTRY_ANNOTATION = "org.bremersee.data.ldaptive.annotation.LdaptiveEntry";
+
+  /**
+   * The attribute annotation.
+   */
+  static final String ATTRIBUTE_ANNOTATION = "org.bremersee.data.ldaptive.annotation.LdaptiveAttribute";
+
+  private Annotations() {
+  }
+
+  /**
+   * Finds the annotation with the given type on the element.
+   *
+   * @param element the element
+   * @param annotationType the qualified name of the annotation type
+   * @return the annotation mirror or {@code null}
+   */
+  static AnnotationMirror find(Element element, String annotationType) {
+    for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+      TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+      if (type.getQualifiedName().contentEquals(annotationType)) {
+        return mirror;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Gets the string value.
+   *
+   * @param elements the elements
+   * @param mirror the annotation mirror
+   * @param name the name of the annotation attribute
+   * @return the string value
+   */
+  static String getString(Elements elements, AnnotationMirror mirror, String name) {
+    return (String) getValue(elements, mirror, name);
+  }
+
+  /**
+   * Gets the boolean value.
+   *
+   * @param elements the elements
+   * @param mirror the annotation mirror
+   * @param name the name of the annotation attribute
+   * @return the boolean value
+   */
+  static boolean getBoolean(Elements elements, AnnotationMirror mirror, String name) {
+    return Boolean.TRUE.equals(getValue(elements, mirror, name));
+  }
+
+  /**
+   * Gets the class value.
+   *
+   * @param elements the elements
+   * @param mirror the annotation mirror
+   * @param name the name of the annotation attribute
+   * @return the class value
+   */
+  static TypeMirror getType(Elements elements, AnnotationMirror mirror, String name) {
+    return (TypeMirror) getValue(elements, mirror, name);
+  }
+
+  /**
+   * Gets the string array value.
+   *
+   * @param elements the elements
+   * @param mirror the annotation mirror
+   * @param name the name of the annotation attribute
+   * @return the string array value
+   */
+  static List<String> getStrings(Elements elements, AnnotationMirror mirror, String name) {
+    List<String> values = new ArrayList<>();
+    Object value = getValue(elements, mirror, name);
+    if (value instanceof List) {
+      for (Object item : (List<?>) value) {
+        values.add((String) ((AnnotationValue) item).getValue());
+      }
+    }
+    return values;
+  }
+
+  private static Object getValue(Elements elements, AnnotationMirror mirror, String name) {
+    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements
+        .getElementValuesWithDefaults(mirror).entrySet()) {
+      if (entry.getKey().getSimpleName().contentEquals(name)) {
+        return entry.getValue().getValue();
+      }
+    }
+    return null;
+  }
+
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive.processor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+
+/**
+ * The model of a mapped field.
+ *
+ * @author Christian Bremer
+ */
+class AttributeModel {
+
+  private static final String VALUE_TRANSCODER = "org.ldaptive.transcode.ValueTranscoder";
+
+  private static final Map<String, String> DEFAULT_TRANSCODERS = new HashMap<>();
+
+  static {
+    DEFAULT_TRANSCODERS.put("java.lang.String", "org.ldaptive.transcode.StringValueTranscoder");
+    DEFAULT_TRANSCODERS.put("java.lang.Boolean", "org.ldaptive.transcode.BooleanValueTranscoder");
+    DEFAULT_TRANSCODERS.put("java.lang.Short", "org.ldaptive.transcode.ShortValueTranscoder");
+    DEFAULT_TRANSCODERS.put("java.lang.Integer", "org.ldaptive.transcode.IntegerValueTranscoder");
+    DEFAULT_TRANSCODERS.put("java.lang.Long", "org.ldaptive.transcode.LongValueTranscoder");
+    DEFAULT_TRANSCODERS.put("java.lang.Float", "org.ldaptive.transcode.FloatValueTranscoder");
+    DEFAULT_TRANSCODERS.put("java.lang.Double", "org.ldaptive.transcode.DoubleValueTranscoder");
+    DEFAULT_TRANSCODERS.put("java.math.BigInteger", "org.ldaptive.transcode.BigIntegerValueTranscoder");
+    DEFAULT_TRANSCODERS.put("java.util.UUID", "org.ldaptive.transcode.UUIDValueTranscoder");
+    DEFAULT_TRANSCODERS.put("java.time.ZonedDateTime", "org.ldaptive.transcode.GeneralizedTimeValueTranscoder");
+    DEFAULT_TRANSCODERS.put("byte[]", "org.ldaptive.transcode.ByteArrayValueTranscoder");
+  }
+
+  private final String fieldName;
+
+  private final String attributeName;
+
+  private final boolean rdn;
+
+  private final boolean binary;
+
+  private final boolean readOnly;
+
+  private final boolean delta;
+
+  private final String collectionType;
+
+  private final String valueType;
+
+  private final String primitiveType;
+
+  private final String transcoderType;
+
+  private final boolean directAccess;
+
+  /**
+   * Instantiates a new attribute model from the annotated field.
+   *
+   * @param field the field
+   * @param directAccess specifies whether the field can be accessed directly by the generated mapper
+   * @param processingEnv the processing environment
+   */
+  AttributeModel(VariableElement field, boolean directAccess, ProcessingEnvironment processingEnv) {
+    Elements elements = processingEnv.getElementUtils();
+    AnnotationMirror annotation = Annotations.find(field, Annotations.ATTRIBUTE_ANNOTATION);
+    if (annotation == null) {
+      throw new ProcessingException(field, "Field is not annotated with @LdaptiveAttribute.");
+    }
+    if (field.getModifiers().contains(Modifier.STATIC)) {
+      throw new ProcessingException(field, "Static fields cannot be mapped.");
+    }
+    if (directAccess && field.getModifiers().contains(Modifier.FINAL)) {
+      throw new ProcessingException(field, "Final fields cannot be mapped.");
+    }
+    this.fieldName = field.getSimpleName().toString();
+    String name = Annotations.getString(elements, annotation, "value");
+    this.attributeName = name == null || name.isEmpty() ? fieldName : name;
+    this.rdn = Annotations.getBoolean(elements, annotation, "rdn");
+    this.readOnly = Annotations.getBoolean(elements, annotation, "readOnly");
+    this.delta = Annotations.getBoolean(elements, annotation, "delta");
+    this.directAccess = directAccess;
+
+    TypeMirror type = field.asType();
+    TypeMirror valueTypeMirror = type;
+    if (type.getKind().isPrimitive()) {
+      this.primitiveType = type.toString();
+      this.collectionType = null;
+      valueTypeMirror = processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).asType();
+    } else if (type.getKind() == TypeKind.DECLARED && isCollection((DeclaredType) type)) {
+      this.primitiveType = null;
+      List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+      if (typeArguments.size() != 1 || typeArguments.get(0).getKind() == TypeKind.WILDCARD) {
+        throw new ProcessingException(field, "Collections must have a concrete value type.");
+      }
+      String rawType = ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+      this.collectionType = "java.util.Set".equals(rawType) ? "java.util.LinkedHashSet" : "java.util.ArrayList";
+      valueTypeMirror = typeArguments.get(0);
+    } else {
+      this.primitiveType = null;
+      this.collectionType = null;
+    }
+    if (valueTypeMirror.getKind() != TypeKind.DECLARED && !isByteArray(valueTypeMirror)) {
+      throw new ProcessingException(field, "Type " + valueTypeMirror + " cannot be mapped.");
+    }
+    this.valueType = valueTypeMirror.toString();
+    this.binary = "byte[]".equals(valueType) || Annotations.getBoolean(elements, annotation, "binary");
+    if (delta && collectionType == null) {
+      throw new ProcessingException(field, "Delta modifications require a multi valued attribute.");
+    }
+    if (rdn && collectionType != null) {
+      throw new ProcessingException(field, "The relative distinguished name must be single valued.");
+    }
+
+    TypeMirror transcoder = Annotations.getType(elements, annotation, "transcoder");
+    String transcoderName = transcoder == null ? VALUE_TRANSCODER : transcoder.toString();
+    if (VALUE_TRANSCODER.equals(transcoderName)) {
+      transcoderName = DEFAULT_TRANSCODERS.get(valueType);
+      if (transcoderName == null) {
+        throw new ProcessingException(field, "There is no default value transcoder for type " + valueType
+            + ". Please specify one.");
+      }
+    }
+    this.transcoderType = transcoderName;
+  }
+
+  private static boolean isCollection(DeclaredType type) {
+    String name = ((TypeElement) type.asElement()).getQualifiedName().toString();
+    return "java.util.Collection".equals(name) || "java.util.List".equals(name) || "java.util.Set".equals(name);
+  }
+
+  private static boolean isByteArray(TypeMirror type) {
+    return type.getKind() == TypeKind.ARRAY
+        && ((ArrayType) type).getComponentType().getKind() == TypeKind.BYTE;
+  }
+
+  /**
+   * Gets the attribute name.
+   *
+   * @return the attribute name
+   */
+  String getAttributeName() {
+    return attributeName;
+  }
+
+  /**
+   * Determines whether this attribute is the relative distinguished name.
+   *
+   * @return {@code true} if this attribute is the relative distinguished name, otherwise {@code false}
+   */
+  boolean isRdn() {
+    return rdn;
+  }
+
+  /**
+   * Determines whether this attribute is binary.
+   *
+   * @return {@code true} if this attribute is binary, otherwise {@code false}
+   */
+  boolean isBinary() {
+    return binary;
+  }
+
+  /**
+   * Determines whether this attribute is read only.
+   *
+   * @return {@code true} if this attribute is read only, otherwise {@code false}
+   */
+  boolean isReadOnly() {
+    return readOnly;
+  }
+
+  /**
+   * Determines whether the modifications of this attribute are computed as delta.
+   *
+   * @return {@code true} if the modifications are computed as delta, otherwise {@code false}
+   */
+  boolean isDelta() {
+    return delta;
+  }
+
+  /**
+   * Determines whether this attribute is multi valued.
+   *
+   * @return {@code true} if this attribute is multi valued, otherwise {@code false}
+   */
+  boolean isMultiValued() {
+    return collectionType != null;
+  }
+
+  /**
+   * Gets the implementation type of the collection (only for multi valued attributes).
+   *
+   * @return the collection type
+   */
+  String getCollectionType() {
+    return collectionType;
+  }
+
+  /**
+   * Gets the (boxed) value type.
+   *
+   * @return the value type
+   */
+  String getValueType() {
+    return valueType;
+  }
+
+  /**
+   * Gets the primitive type of the field.
+   *
+   * @return the primitive type or {@code null}, if the field is not primitive
+   */
+  String getPrimitiveType() {
+    return primitiveType;
+  }
+
+  /**
+   * Gets the qualified class name of the value transcoder.
+   *
+   * @return the transcoder type
+   */
+  String getTranscoderType() {
+    return transcoderType;
+  }
+
+  /**
+   * Creates the expression, that reads the field value.
+   *
+   * @param variable the variable name of the domain object
+   * @return the expression
+   */
+  String read(String variable) {
+    if (directAccess) {
+      return variable + "." + fieldName;
+    }
+    String prefix = "boolean".equals(primitiveType) ? "is" : "get";
+    return variable + "." + prefix + capitalize(fieldName) + "()";
+  }
+
+  /**
+   * Creates the statement, that writes the field value.
+   *
+   * @param variable the variable name of the domain object
+   * @param expression the value expression
+   * @return the statement
+   */
+  String write(String variable, String expression) {
+    if (directAccess) {
+      return variable + "." + fieldName + " = " + expression + ";";
+    }
+    return variable + ".set" + capitalize(fieldName) + "(" + expression + ");";
+  }
+
+  private static String capitalize(String value) {
+    return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+  }
+
+}
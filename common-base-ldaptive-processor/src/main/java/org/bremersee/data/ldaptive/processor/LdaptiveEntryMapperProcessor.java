@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive.processor;
+
+import java.io.IOException;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * The annotation processor generates an implementation of the {@code LdaptiveEntryMapper} for every class, that is
+ * annotated with {@code LdaptiveEntry}.
+ *
+ * <p>The generated mappers access the fields directly (or by their getters and setters, if the fields are private),
+ * hold the attribute names and the value transcoders in constants and call the static helpers of the {@code
+ * LdaptiveEntryMapper} to compute the modifications. So there is neither reflection nor any other lookup at runtime.
+ *
+ * @author Christian Bremer
+ */
+@SupportedAnnotationTypes(Annotations.ENTRY_ANNOTATION)
+public class LdaptiveEntryMapperProcessor extends AbstractProcessor {
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    for (TypeElement annotation : annotations) {
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        process(element);
+      }
+    }
+    return true;
+  }
+
+  private void process(Element element) {
+    try {
+      MapperModel model = new MapperModel(element, processingEnv);
+      new MapperSourceWriter(model, processingEnv.getElementUtils()).write(processingEnv.getFiler(), element);
+
+    } catch (ProcessingException e) {
+      processingEnv.getMessager().printMessage(Kind.ERROR, e.getMessage(), e.getElement());
+
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(
+          Kind.ERROR, "Writing ldaptive entry mapper failed: " + e.getMessage(), element);
+    }
+  }
+
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive.processor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+
+/**
+ * The model of a domain class, that is annotated with {@code LdaptiveEntry}.
+ *
+ * @author Christian Bremer
+ */
+class MapperModel {
+
+  /**
+   * The suffix of the generated mapper.
+   */
+  static final String MAPPER_SUFFIX = "LdaptiveEntryMapper";
+
+  private final String packageName;
+
+  private final String domainType;
+
+  private final String mapperName;
+
+  private final List<String> objectClasses;
+
+  private final String baseDn;
+
+  private final List<AttributeModel> attributes = new ArrayList<>();
+
+  private final Map<String, String> transcoders = new LinkedHashMap<>();
+
+  private final int rdnIndex;
+
+  /**
+   * Instantiates a new mapper model from the annotated domain class.
+   *
+   * @param element the annotated element
+   * @param processingEnv the processing environment
+   */
+  MapperModel(Element element, ProcessingEnvironment processingEnv) {
+    if (element.getKind() != ElementKind.CLASS) {
+      throw new ProcessingException(element, "@LdaptiveEntry is only supported on classes.");
+    }
+    TypeElement type = (TypeElement) element;
+    validateType(type);
+    Elements elements = processingEnv.getElementUtils();
+    AnnotationMirror annotation = Annotations.find(type, Annotations.ENTRY_ANNOTATION);
+    this.packageName = elements.getPackageOf(type).getQualifiedName().toString();
+    this.domainType = type.getQualifiedName().toString();
+    this.mapperName = createMapperName(type);
+    this.objectClasses = Annotations.getStrings(elements, annotation, "objectClasses");
+    this.baseDn = Annotations.getString(elements, annotation, "baseDn");
+
+    Set<String> names = new HashSet<>();
+    int rdn = -1;
+    for (TypeElement declaringType : getTypeHierarchy(type)) {
+      boolean samePackage = elements.getPackageOf(declaringType).getQualifiedName().contentEquals(packageName);
+      for (VariableElement field : ElementFilter.fieldsIn(declaringType.getEnclosedElements())) {
+        if (Annotations.find(field, Annotations.ATTRIBUTE_ANNOTATION) == null) {
+          continue;
+        }
+        Set<Modifier> modifiers = field.getModifiers();
+        boolean directAccess = modifiers.contains(Modifier.PUBLIC)
+            || (samePackage && !modifiers.contains(Modifier.PRIVATE));
+        AttributeModel attribute = new AttributeModel(field, directAccess, processingEnv);
+        if (!names.add(attribute.getAttributeName().toLowerCase(Locale.ROOT))) {
+          throw new ProcessingException(field, "Attribute " + attribute.getAttributeName() + " is mapped twice.");
+        }
+        if (attribute.isRdn()) {
+          if (rdn >= 0) {
+            throw new ProcessingException(field, "There must be only one relative distinguished name.");
+          }
+          rdn = attributes.size();
+        }
+        attributes.add(attribute);
+        if (!transcoders.containsKey(attribute.getTranscoderType())) {
+          transcoders.put(attribute.getTranscoderType(), createConstantName(attribute.getTranscoderType()));
+        }
+      }
+    }
+    if (rdn < 0) {
+      throw new ProcessingException(type, "One attribute must be the relative distinguished name (rdn = true).");
+    }
+    this.rdnIndex = rdn;
+  }
+
+  private static void validateType(TypeElement type) {
+    if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+      throw new ProcessingException(type, "Abstract classes cannot be mapped.");
+    }
+    if (!type.getTypeParameters().isEmpty()) {
+      throw new ProcessingException(type, "Generic classes cannot be mapped.");
+    }
+    if (type.getNestingKind().isNested() && !type.getModifiers().contains(Modifier.STATIC)) {
+      throw new ProcessingException(type, "Inner classes must be static.");
+    }
+    for (Element enclosing = type; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+      if (enclosing.getModifiers().contains(Modifier.PRIVATE)) {
+        throw new ProcessingException(type, "Private classes cannot be mapped.");
+      }
+    }
+    boolean hasConstructor = false;
+    for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+      if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+        hasConstructor = true;
+        break;
+      }
+    }
+    if (!hasConstructor) {
+      throw new ProcessingException(type, "A no-argument constructor, that is not private, is required.");
+    }
+  }
+
+  private static String createMapperName(TypeElement type) {
+    Deque<String> names = new ArrayDeque<>();
+    for (Element enclosing = type; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+      names.addFirst(enclosing.getSimpleName().toString());
+    }
+    return String.join("_", names) + MAPPER_SUFFIX;
+  }
+
+  private static List<TypeElement> getTypeHierarchy(TypeElement type) {
+    Deque<TypeElement> hierarchy = new ArrayDeque<>();
+    TypeElement current = type;
+    while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+      hierarchy.addFirst(current);
+      TypeMirror superclass = current.getSuperclass();
+      current = superclass.getKind() == TypeKind.DECLARED
+          ? (TypeElement) ((DeclaredType) superclass).asElement()
+          : null;
+    }
+    return new ArrayList<>(hierarchy);
+  }
+
+  private String createConstantName(String transcoderType) {
+    String simpleName = transcoderType.substring(transcoderType.lastIndexOf('.') + 1);
+    String name = simpleName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+    String constantName = name;
+    for (int i = 2; transcoders.containsValue(constantName); i++) {
+      constantName = name + "_" + i;
+    }
+    return constantName;
+  }
+
+  /**
+   * Gets the package name.
+   *
+   * @return the package name
+   */
+  String getPackageName() {
+    return packageName;
+  }
+
+  /**
+   * Gets the qualified name of the domain class.
+   *
+   * @return the domain type
+   */
+  String getDomainType() {
+    return domainType;
+  }
+
+  /**
+   * Gets the simple name of the generated mapper.
+   *
+   * @return the mapper name
+   */
+  String getMapperName() {
+    return mapperName;
+  }
+
+  /**
+   * Gets the qualified name of the generated mapper.
+   *
+   * @return the qualified mapper name
+   */
+  String getQualifiedMapperName() {
+    return packageName.isEmpty() ? mapperName : packageName + "." + mapperName;
+  }
+
+  /**
+   * Gets the object classes.
+   *
+   * @return the object classes
+   */
+  List<String> getObjectClasses() {
+    return objectClasses;
+  }
+
+  /**
+   * Gets the default base dn.
+   *
+   * @return the base dn (can be empty)
+   */
+  String getBaseDn() {
+    return baseDn;
+  }
+
+  /**
+   * Gets the mapped attributes.
+   *
+   * @return the attributes
+   */
+  List<AttributeModel> getAttributes() {
+    return attributes;
+  }
+
+  /**
+   * Gets the constant names of the value transcoders by their types.
+   *
+   * @return the transcoders
+   */
+  Map<String, String> getTranscoders() {
+    return transcoders;
+  }
+
+  /**
+   * Gets the index of the relative distinguished name in the attributes.
+   *
+   * @return the rdn index
+   */
+  int getRdnIndex() {
+    return rdnIndex;
+  }
+
+}
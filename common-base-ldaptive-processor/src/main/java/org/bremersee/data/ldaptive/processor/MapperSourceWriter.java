@@ -0,0 +1,284 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
+import javax.lang.model.util.Elements;
+
+/**
+ * Writes the source code of the generated mapper. All types are written with their qualified names, so that they
+ * cannot clash with the types of the domain package.
+ *
+ * @author Christian Bremer
+ */
+class MapperSourceWriter {
+
+  private static final String MAPPER = "org.bremersee.data.ldaptive.LdaptiveEntryMapper";
+
+  private static final String LDAP_ENTRY = "org.ldaptive.LdapEntry";
+
+  private static final String LDAP_ATTRIBUTE = "org.ldaptive.LdapAttribute";
+
+  private static final String MODIFICATION = "org.ldaptive.AttributeModification";
+
+  private final MapperModel model;
+
+  private final Elements elements;
+
+  /**
+   * Instantiates a new mapper source writer.
+   *
+   * @param model the model
+   * @param elements the elements
+   */
+  MapperSourceWriter(MapperModel model, Elements elements) {
+    this.model = model;
+    this.elements = elements;
+  }
+
+  /**
+   * Writes the source file of the mapper.
+   *
+   * @param filer the filer
+   * @param originatingElement the domain class
+   * @throws IOException if writing fails
+   */
+  void write(Filer filer, Element originatingElement) throws IOException {
+    try (Writer writer = filer
+        .createSourceFile(model.getQualifiedMapperName(), originatingElement)
+        .openWriter()) {
+      write(new PrintWriter(writer));
+    }
+  }
+
+  /**
+   * Writes the source code of the mapper.
+   *
+   * @param out the output
+   */
+  void write(PrintWriter out) {
+    if (!model.getPackageName().isEmpty()) {
+      out.println("package " + model.getPackageName() + ";");
+      out.println();
+    }
+    out.println("/**");
+    out.println(" * The generated ldaptive entry mapper of {@link " + model.getDomainType() + "}.");
+    out.println(" */");
+    out.println("@javax.annotation.processing.Generated(\"" + LdaptiveEntryMapperProcessor.class.getName() + "\")");
+    out.println("public class " + model.getMapperName() + " implements " + MAPPER + "<" + model.getDomainType()
+        + "> {");
+    out.println();
+    writeConstants(out);
+    writeConstructors(out);
+    writeAccessors(out);
+    writeMapDn(out);
+    writeMapEntry(out);
+    writeMapModifications(out);
+    out.println("}");
+    out.flush();
+  }
+
+  private void writeConstants(PrintWriter out) {
+    out.println("  private static final String[] OBJECT_CLASSES = " + array(model.getObjectClasses()) + ";");
+    out.println();
+    out.println("  private static final String[] ATTRIBUTE_NAMES = " + array(model.getAttributes().stream()
+        .map(AttributeModel::getAttributeName)
+        .collect(Collectors.toList())) + ";");
+    out.println();
+    out.println("  /**");
+    out.println("   * The names of all mapped attributes, that can be used as return attributes of a search request.");
+    out.println("   */");
+    out.println("  public static final java.util.List<String> RETURN_ATTRIBUTES = java.util.Collections");
+    out.println("      .unmodifiableList(java.util.Arrays.asList(ATTRIBUTE_NAMES));");
+    out.println();
+    for (Map.Entry<String, String> transcoder : model.getTranscoders().entrySet()) {
+      out.println("  private static final " + transcoder.getKey() + " " + transcoder.getValue() + " = new "
+          + transcoder.getKey() + "();");
+      out.println();
+    }
+    out.println("  private final String baseDn;");
+    out.println();
+  }
+
+  private void writeConstructors(PrintWriter out) {
+    if (model.getBaseDn() != null && !model.getBaseDn().isEmpty()) {
+      out.println("  /**");
+      out.println("   * Instantiates a new mapper with the default base dn.");
+      out.println("   */");
+      out.println("  public " + model.getMapperName() + "() {");
+      out.println("    this(" + elements.getConstantExpression(model.getBaseDn()) + ");");
+      out.println("  }");
+      out.println();
+    }
+    out.println("  /**");
+    out.println("   * Instantiates a new mapper.");
+    out.println("   *");
+    out.println("   * @param baseDn the base dn");
+    out.println("   */");
+    out.println("  public " + model.getMapperName() + "(String baseDn) {");
+    out.println("    this.baseDn = baseDn;");
+    out.println("  }");
+    out.println();
+  }
+
+  private void writeAccessors(PrintWriter out) {
+    out.println("  /**");
+    out.println("   * Gets the base dn.");
+    out.println("   *");
+    out.println("   * @return the base dn");
+    out.println("   */");
+    out.println("  public String getBaseDn() {");
+    out.println("    return baseDn;");
+    out.println("  }");
+    out.println();
+    out.println("  /**");
+    out.println("   * Gets the names of all mapped attributes.");
+    out.println("   *");
+    out.println("   * @return the return attributes");
+    out.println("   */");
+    out.println("  public String[] getReturnAttributes() {");
+    out.println("    return ATTRIBUTE_NAMES.clone();");
+    out.println("  }");
+    out.println();
+    out.println("  @Override");
+    out.println("  public String[] getObjectClasses() {");
+    out.println("    return OBJECT_CLASSES.clone();");
+    out.println("  }");
+    out.println();
+  }
+
+  private void writeMapDn(PrintWriter out) {
+    int index = model.getRdnIndex();
+    AttributeModel rdn = model.getAttributes().get(index);
+    out.println("  @Override");
+    out.println("  public String mapDn(" + model.getDomainType() + " domainObject) {");
+    out.println("    if (domainObject == null) {");
+    out.println("      return null;");
+    out.println("    }");
+    out.println("    " + rdn.getValueType() + " rdnValue = " + rdn.read("domainObject") + ";");
+    out.println("    String value = rdnValue != null ? " + transcoder(rdn) + ".encodeStringValue(rdnValue) : null;");
+    out.println("    if (value == null || value.isEmpty()) {");
+    out.println("      return null;");
+    out.println("    }");
+    out.println("    return " + MAPPER + ".createDn(ATTRIBUTE_NAMES[" + index + "], value, baseDn);");
+    out.println("  }");
+    out.println();
+  }
+
+  private void writeMapEntry(PrintWriter out) {
+    out.println("  @Override");
+    out.println("  public " + model.getDomainType() + " map(" + LDAP_ENTRY + " ldapEntry) {");
+    out.println("    if (ldapEntry == null) {");
+    out.println("      return null;");
+    out.println("    }");
+    out.println("    " + model.getDomainType() + " domainObject = new " + model.getDomainType() + "();");
+    out.println("    map(ldapEntry, domainObject);");
+    out.println("    return domainObject;");
+    out.println("  }");
+    out.println();
+    out.println("  @Override");
+    out.println("  @SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+    out.println("  public void map(" + LDAP_ENTRY + " source, " + model.getDomainType() + " destination) {");
+    out.println("    " + LDAP_ATTRIBUTE + " attribute;");
+    List<AttributeModel> attributes = model.getAttributes();
+    for (int i = 0; i < attributes.size(); i++) {
+      AttributeModel attribute = attributes.get(i);
+      out.println("    attribute = source.getAttribute(ATTRIBUTE_NAMES[" + i + "]);");
+      if (attribute.isMultiValued()) {
+        String collection = attribute.getCollectionType() + "<" + attribute.getValueType() + ">";
+        out.println("    " + attribute.write("destination", "attribute != null"
+            + System.lineSeparator() + "        ? new " + collection + "(attribute.getValues("
+            + transcoder(attribute) + ".decoder()))"
+            + System.lineSeparator() + "        : new " + collection + "()"));
+        continue;
+      }
+      String decoded = "attribute != null && attribute.size() > 0"
+          + " ? (" + attribute.getValueType() + ") " + transcoder(attribute)
+          + ".decodeBinaryValue(attribute.getBinaryValue()) : null";
+      if (attribute.getPrimitiveType() == null) {
+        out.println("    " + attribute.write("destination", decoded));
+      } else {
+        out.println("    {");
+        out.println("      " + attribute.getValueType() + " value = " + decoded + ";");
+        out.println("      " + attribute.write("destination", "value != null ? value : "
+            + defaultValue(attribute.getPrimitiveType())));
+        out.println("    }");
+      }
+    }
+    out.println("  }");
+    out.println();
+  }
+
+  private void writeMapModifications(PrintWriter out) {
+    out.println("  @Override");
+    out.println("  @SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+    out.println("  public " + MODIFICATION + "[] mapAndComputeModifications(");
+    out.println("      " + model.getDomainType() + " source,");
+    out.println("      " + LDAP_ENTRY + " destination) {");
+    out.println("    java.util.List<" + MODIFICATION + "> modifications = new java.util.ArrayList<>();");
+    List<AttributeModel> attributes = model.getAttributes();
+    for (int i = 0; i < attributes.size(); i++) {
+      AttributeModel attribute = attributes.get(i);
+      if (attribute.isReadOnly()) {
+        continue;
+      }
+      String method;
+      if (attribute.isDelta()) {
+        method = "setAttributesByDelta";
+      } else if (attribute.isMultiValued()) {
+        method = "setAttributes";
+      } else {
+        method = "setAttribute";
+      }
+      out.println("    " + MAPPER + "." + method + "(destination, ATTRIBUTE_NAMES[" + i + "],");
+      out.println("        " + attribute.read("source") + ", " + attribute.isBinary() + ", "
+          + transcoder(attribute) + ", modifications);");
+    }
+    out.println("    return modifications.toArray(new " + MODIFICATION + "[0]);");
+    out.println("  }");
+    out.println();
+  }
+
+  private String transcoder(AttributeModel attribute) {
+    return model.getTranscoders().get(attribute.getTranscoderType());
+  }
+
+  private String array(List<String> values) {
+    return values.stream()
+        .map(elements::getConstantExpression)
+        .collect(Collectors.joining(", ", "{", "}"));
+  }
+
+  private static String defaultValue(String primitiveType) {
+    switch (primitiveType) {
+      case "boolean":
+        return "false";
+      case "char":
+        return "'\\0'";
+      default:
+        return "(" + primitiveType + ") 0";
+    }
+  }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive.processor;
+
+import javax.lang.model.element.Element;
+
+/**
+ * The processing exception is thrown, if a domain class cannot be mapped. It is reported as compile error on the
+ * element.
+ *
+ * @author Christian Bremer
+ */
+class ProcessingException extends RuntimeException {
+
+  private final transient Element element;
+
+  /**
+   * Instantiates a new processing exception.
+   *
+   * @param element the element
+   * @param message the message
+   */
+  ProcessingException(Element element, String message) {
+    super(message);
+    this.element = element;
+  }
+
+  /**
+   * Gets the element.
+   *
+   * @return the element
+   */
+  Element getElement() {
+    return element;
+  }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import org.bremersee.data.ldaptive.LdaptiveEntryMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.ldaptive.AttributeModification;
+import org.ldaptive.LdapAttribute;
+import org.ldaptive.LdapEntry;
+
+/**
+ * The ldaptive entry mapper processor test.
+ *
+ * @author Christian Bremer
+ */
+class LdaptiveEntryMapperProcessorTest {
+
+  private static final String PERSON = String.join("\n",
+      "package org.example;",
+      "import java.util.List;",
+      "import java.util.Set;",
+      "import org.bremersee.data.ldaptive.annotation.LdaptiveAttribute;",
+      "import org.bremersee.data.ldaptive.annotation.LdaptiveEntry;",
+      "@LdaptiveEntry(objectClasses = {\"top\", \"inetOrgPerson\"}, baseDn = \"ou=people,dc=bremersee,dc=org\")",
+      "public class Person {",
+      "  @LdaptiveAttribute(value = \"uid\", rdn = true)",
+      "  String uid;",
+      "  @LdaptiveAttribute(\"sn\")",
+      "  private String lastName;",
+      "  @LdaptiveAttribute(\"uidNumber\")",
+      "  int number;",
+      "  @LdaptiveAttribute(\"mail\")",
+      "  List<String> mails;",
+      "  @LdaptiveAttribute(value = \"memberOf\", readOnly = true)",
+      "  Set<String> groups;",
+      "  public String getLastName() {",
+      "    return lastName;",
+      "  }",
+      "  public void setLastName(String lastName) {",
+      "    this.lastName = lastName;",
+      "  }",
+      "}");
+
+  private static final String WITHOUT_RDN = String.join("\n",
+      "package org.example;",
+      "import org.bremersee.data.ldaptive.annotation.LdaptiveAttribute;",
+      "import org.bremersee.data.ldaptive.annotation.LdaptiveEntry;",
+      "@LdaptiveEntry",
+      "public class Person {",
+      "  @LdaptiveAttribute(\"uid\")",
+      "  String uid;",
+      "}");
+
+  /**
+   * Generated mapper maps and computes modifications.
+   *
+   * @param outputDir the output dir
+   * @throws Exception the exception
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  void generatedMapper(@TempDir Path outputDir) throws Exception {
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    assertTrue(compile(PERSON, outputDir, diagnostics), () -> messages(diagnostics));
+
+    try (URLClassLoader classLoader = new URLClassLoader(
+        new URL[]{outputDir.toUri().toURL()}, getClass().getClassLoader())) {
+
+      LdaptiveEntryMapper<Object> mapper = (LdaptiveEntryMapper<Object>) classLoader
+          .loadClass("org.example.PersonLdaptiveEntryMapper")
+          .getConstructor()
+          .newInstance();
+      assertEquals(Arrays.asList("top", "inetOrgPerson"), Arrays.asList(mapper.getObjectClasses()));
+
+      LdapEntry source = new LdapEntry();
+      source.setDn("uid=anna,ou=people,dc=bremersee,dc=org");
+      source.addAttributes(
+          new LdapAttribute("uid", "anna"),
+          new LdapAttribute("sn", "Livia"),
+          new LdapAttribute("uidNumber", "1001"),
+          new LdapAttribute("mail", "anna@example.org", "livia@example.org"),
+          new LdapAttribute("memberOf", "cn=users,ou=groups,dc=bremersee,dc=org"));
+      Object person = mapper.map(source);
+      assertNotNull(person);
+      assertEquals("uid=anna,ou=people,dc=bremersee,dc=org", mapper.mapDn(person));
+
+      LdapEntry destination = new LdapEntry();
+      AttributeModification[] modifications = mapper.mapAndComputeModifications(person, destination);
+      assertEquals(4, modifications.length);
+      assertEquals("anna", destination.getAttribute("uid").getStringValue());
+      assertEquals("Livia", destination.getAttribute("sn").getStringValue());
+      assertEquals("1001", destination.getAttribute("uidNumber").getStringValue());
+      assertEquals(
+          Arrays.asList("anna@example.org", "livia@example.org"),
+          destination.getAttribute("mail").getStringValues().stream().sorted().collect(Collectors.toList()));
+      assertNull(destination.getAttribute("memberOf"));
+
+      assertEquals(0, mapper.mapAndComputeModifications(person, destination).length);
+      assertNull(mapper.map(null));
+    }
+  }
+
+  /**
+   * Missing rdn is a compile error.
+   *
+   * @param outputDir the output dir
+   */
+  @Test
+  void missingRdn(@TempDir Path outputDir) {
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    assertFalse(compile(WITHOUT_RDN, outputDir, diagnostics));
+    assertTrue(messages(diagnostics).contains("relative distinguished name"), () -> messages(diagnostics));
+  }
+
+  private static boolean compile(
+      String source,
+      Path outputDir,
+      DiagnosticCollector<JavaFileObject> diagnostics) {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    List<String> options = Arrays.asList(
+        "-classpath", System.getProperty("java.class.path"),
+        "-d", outputDir.toString(),
+        "-s", outputDir.toString());
+    JavaFileObject file = new SimpleJavaFileObject(
+        URI.create("string:///org/example/Person.java"), JavaFileObject.Kind.SOURCE) {
+      @Override
+      public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+        return source;
+      }
+    };
+    CompilationTask task = compiler.getTask(
+        null, null, diagnostics, options, null, Collections.singletonList(file));
+    task.setProcessors(Collections.singletonList(new LdaptiveEntryMapperProcessor()));
+    return task.call();
+  }
+
+  private static String messages(DiagnosticCollector<JavaFileObject> diagnostics) {
+    return diagnostics.getDiagnostics().stream()
+        .map(Diagnostic::toString)
+        .collect(Collectors.joining("\n"));
+  }
+
+}
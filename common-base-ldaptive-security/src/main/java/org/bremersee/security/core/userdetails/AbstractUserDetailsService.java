@@ -16,24 +16,34 @@
 
 package org.bremersee.security.core.userdetails;
 
-import java.util.HashSet;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 import org.bremersee.data.ldaptive.LdaptiveEntryMapper;
+import org.ldaptive.FilterTemplate;
+import org.ldaptive.LdapAttribute;
+import org.ldaptive.LdapEntry;
+import org.ldaptive.SearchRequest;
 import org.ldaptive.SearchScope;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
- * The abstract user details service.
+ * The abstract user details service. The user details mapper and the return attributes are created once per service.
  *
  * @author Christian Bremer
  */
-@ToString
+@ToString(exclude = {"userDetailsLdapMapper", "returnAttributes", "returnAttributesOverridden"})
 public abstract class AbstractUserDetailsService {
 
   @Getter(value = AccessLevel.PROTECTED)
@@ -63,6 +73,19 @@ public abstract class AbstractUserDetailsService {
   @Getter(value = AccessLevel.PROTECTED)
   private final String authorityPrefix;
 
+  private final UserDetailsLdapMapper userDetailsLdapMapper;
+
+  private final String[] returnAttributes;
+
+  private final boolean returnAttributesOverridden;
+
+  /**
+   * The optional nested group resolver. It is only used, if the authority attribute contains dns.
+   */
+  @Getter(value = AccessLevel.PROTECTED)
+  @Setter
+  private NestedGroupResolver nestedGroupResolver;
+
   /**
    * Instantiates a new abstract user details service.
    *
@@ -96,39 +119,106 @@ public abstract class AbstractUserDetailsService {
     this.authorityDn = authorityDn;
     this.authorityMap = authorityMap;
     this.authorityPrefix = authorityPrefix;
+    this.userDetailsLdapMapper = new UserDetailsLdapMapper(
+        userAccountControlAttributeName,
+        authorities,
+        authorityAttributeName,
+        authorityDn,
+        authorityMap,
+        authorityPrefix);
+    Set<String> attributes = new LinkedHashSet<>();
+    if (StringUtils.hasText(userAccountControlAttributeName)) {
+      attributes.add(userAccountControlAttributeName);
+    }
+    if (StringUtils.hasText(authorityAttributeName)) {
+      attributes.add(authorityAttributeName);
+    }
+    this.returnAttributes = attributes.toArray(new String[0]);
+    Method method = ReflectionUtils.findMethod(getClass(), "returnAttributes");
+    this.returnAttributesOverridden = method != null
+        && method.getDeclaringClass() != AbstractUserDetailsService.class;
   }
 
   /**
-   * Return attributes.
+   * Return attributes. They are determined once per service; the returned set is a modifiable copy. The search
+   * request of the user only calls this method, if a subclass overrides it; otherwise it uses the determined
+   * attributes without copying them.
    *
    * @return the attributes
    */
   protected Set<String> returnAttributes() {
-    Set<String> attributes = new HashSet<>();
-    if (StringUtils.hasText(userAccountControlAttributeName)) {
-      attributes.add(userAccountControlAttributeName);
-    }
-    if (StringUtils.hasText(authorityAttributeName)) {
-      attributes.add(authorityAttributeName);
+    return new LinkedHashSet<>(Arrays.asList(returnAttributes));
+  }
+
+  /**
+   * Creates the search request, that finds the user.
+   *
+   * @param userName the user name
+   * @return the search request
+   */
+  protected SearchRequest userSearchRequest(String userName) {
+    return SearchRequest.builder()
+        .dn(getUserBaseDn())
+        .filter(FilterTemplate.builder()
+            .filter(getUserFindOneFilter())
+            .parameters(userName)
+            .build())
+        .scope(getUserFindOneSearchScope())
+        .returnAttributes(returnAttributesOverridden ? returnAttributes().toArray(new String[0]) : returnAttributes)
+        .sizeLimit(1)
+        .build();
+  }
+
+  /**
+   * Determines whether nested groups should be resolved.
+   *
+   * @return {@code true} if a nested group resolver is present and the authority attribute contains dns
+   */
+  protected boolean isResolvingNestedGroups() {
+    return nestedGroupResolver != null && authorityDn && StringUtils.hasText(authorityAttributeName);
+  }
+
+  /**
+   * Gets the values of the authority attribute.
+   *
+   * @param ldapEntry the ldap entry
+   * @return the values of the authority attribute
+   */
+  protected Collection<String> getAuthorityValues(LdapEntry ldapEntry) {
+    LdapAttribute attribute = StringUtils.hasText(authorityAttributeName)
+        ? ldapEntry.getAttribute(authorityAttributeName)
+        : null;
+    return attribute != null ? attribute.getStringValues() : Collections.emptyList();
+  }
+
+  /**
+   * Returns a copy of the ldap entry, whose authority attribute has the given values.
+   *
+   * @param ldapEntry the ldap entry
+   * @param values the values of the authority attribute
+   * @return the copy of the ldap entry
+   */
+  protected LdapEntry withAuthorityValues(LdapEntry ldapEntry, Collection<String> values) {
+    LdapEntry copy = new LdapEntry();
+    copy.setDn(ldapEntry.getDn());
+    ldapEntry.getAttributes().stream()
+        .filter(attribute -> !attribute.getName().equalsIgnoreCase(authorityAttributeName))
+        .forEach(copy::addAttributes);
+    if (!values.isEmpty()) {
+      copy.addAttributes(new LdapAttribute(authorityAttributeName, values.toArray(new String[0])));
     }
-    return attributes;
+    return copy;
   }
 
   /**
-   * Gets user details mapper.
+   * Gets user details mapper of the given user. It shares the transcoders and the static authorities with the mapper
+   * of this service.
    *
    * @param userName the user name
    * @return the user details mapper
    */
   protected LdaptiveEntryMapper<UserDetails> getUserDetailsLdapMapper(String userName) {
-    return new UserDetailsLdapMapper(
-        userName,
-        userAccountControlAttributeName,
-        authorities,
-        authorityAttributeName,
-        authorityDn,
-        authorityMap,
-        authorityPrefix);
+    return userDetailsLdapMapper.withUserName(userName);
   }
 
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.security.core.userdetails;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import lombok.ToString;
+import org.springframework.util.Assert;
+
+/**
+ * A small bounded least recently used cache, whose values expire after a time to live. It is the cache of the user
+ * details caches and of the password matcher.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @author Christian Bremer
+ */
+@ToString(of = {"timeToLive", "maxSize"})
+class ExpiringCache<K, V> {
+
+  private final Duration timeToLive;
+
+  private final int maxSize;
+
+  private final Map<K, Expiring<V>> cache;
+
+  /**
+   * Instantiates a new expiring cache.
+   *
+   * @param timeToLive the time to live
+   * @param maxSize the max size
+   */
+  ExpiringCache(Duration timeToLive, int maxSize) {
+    Assert.notNull(timeToLive, "Time to live must not be null.");
+    Assert.isTrue(maxSize > 0, "Max size must be greater than zero.");
+    this.timeToLive = timeToLive;
+    this.maxSize = maxSize;
+    this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, Expiring<V>> eldest) {
+        return size() > ExpiringCache.this.maxSize;
+      }
+    };
+  }
+
+  /**
+   * Gets the value, if it is present and not expired.
+   *
+   * @param key the key
+   * @return the value
+   */
+  Optional<V> get(K key) {
+    synchronized (cache) {
+      Expiring<V> value = cache.get(key);
+      if (value == null) {
+        return Optional.empty();
+      }
+      if (System.currentTimeMillis() > value.expiresAt) {
+        cache.remove(key);
+        return Optional.empty();
+      }
+      return Optional.of(value.value);
+    }
+  }
+
+  /**
+   * Puts the value into the cache.
+   *
+   * @param key the key
+   * @param value the value
+   */
+  void put(K key, V value) {
+    put(key, value, timeToLive);
+  }
+
+  /**
+   * Puts the value with the given time to live into the cache. If the time to live is not positive, the value is
+   * not cached.
+   *
+   * @param key the key
+   * @param value the value
+   * @param timeToLive the time to live of this value
+   */
+  void put(K key, V value, Duration timeToLive) {
+    long ttl = timeToLive.toMillis();
+    if (ttl <= 0L) {
+      return;
+    }
+    Expiring<V> expiring = new Expiring<>(value, System.currentTimeMillis() + ttl);
+    synchronized (cache) {
+      cache.put(key, expiring);
+    }
+  }
+
+  /**
+   * Removes the value.
+   *
+   * @param key the key
+   */
+  void evict(K key) {
+    synchronized (cache) {
+      cache.remove(key);
+    }
+  }
+
+  /**
+   * Removes all values.
+   */
+  void clear() {
+    synchronized (cache) {
+      cache.clear();
+    }
+  }
+
+  /**
+   * Returns the number of cached values (including expired ones, that are not removed yet).
+   *
+   * @return the number of cached values
+   */
+  int size() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  private static class Expiring<V> {
+
+    private final V value;
+
+    private final long expiresAt;
+
+    private Expiring(V value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+}
@@ -16,17 +16,24 @@
 
 package org.bremersee.security.core.userdetails;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.Optional;
+import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.bremersee.data.ldaptive.LdaptiveOperations;
+import org.bremersee.data.ldaptive.LdaptiveTemplate;
 import org.ldaptive.CompareRequest;
+import org.ldaptive.ConnectionFactory;
 import org.ldaptive.FilterTemplate;
 import org.ldaptive.LdapEntry;
 import org.ldaptive.SearchRequest;
 import org.ldaptive.SearchScope;
+import org.ldaptive.SimpleBindRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.util.StringUtils;
 
 /**
@@ -55,6 +62,15 @@ public class LdaptivePasswordMatcher implements PasswordEncoder {
   @Getter(value = AccessLevel.PROTECTED)
   private PasswordEncoder delegate = new LdaptivePasswordEncoder();
 
+  @Getter(value = AccessLevel.PROTECTED)
+  private LdaptiveOperations bindOperations;
+
+  private ExpiringCache<String, String> dnCache;
+
+  private ExpiringCache<String, String> credentialCache;
+
+  private PasswordEncoder credentialHashEncoder;
+
   /**
    * Instantiates a new ldaptive password matcher.
    *
@@ -105,6 +121,53 @@ public class LdaptivePasswordMatcher implements PasswordEncoder {
     }
   }
 
+  /**
+   * Sets the connection factory for bind authentication. If a connection factory is set, the password will be checked
+   * by binding with the dn of the user and the raw password instead of comparing the password attribute. The
+   * connections of this factory must not be used for anything else, because a bind changes the authorization state of
+   * the connection.
+   *
+   * @param bindConnectionFactory the bind connection factory
+   */
+  public void setBindConnectionFactory(ConnectionFactory bindConnectionFactory) {
+    this.bindOperations = bindConnectionFactory != null ? new LdaptiveTemplate(bindConnectionFactory) : null;
+  }
+
+  /**
+   * Enables the cache of resolved user dns. The dn of a user name is removed from the cache, if the password does not
+   * match.
+   *
+   * @param timeToLive the time to live of a resolved dn ({@code null} or zero disables the cache)
+   * @param maxSize the maximum number of cached dns
+   */
+  public void setDnCache(Duration timeToLive, int maxSize) {
+    this.dnCache = isPositive(timeToLive) ? new ExpiringCache<>(timeToLive, maxSize) : null;
+  }
+
+  /**
+   * Enables the cache of verified credentials. After a successful check a salted PBKDF2 hash of the raw password is
+   * kept for the given time to live. Within this time a matching password is accepted without asking the ldap server;
+   * a not matching password is always checked by the ldap server. So a changed password is accepted by the ldap server
+   * and the old password is still accepted until the time to live has elapsed. Keep the time to live short.
+   *
+   * @param timeToLive the time to live of verified credentials ({@code null} or zero disables the cache)
+   * @param maxSize the maximum number of cached credentials
+   * @param iterations the number of PBKDF2 iterations
+   */
+  public void setCredentialCache(Duration timeToLive, int maxSize, int iterations) {
+    if (isPositive(timeToLive)) {
+      this.credentialCache = new ExpiringCache<>(timeToLive, maxSize);
+      this.credentialHashEncoder = new Pbkdf2PasswordEncoder(UUID.randomUUID().toString(), iterations, 256);
+    } else {
+      this.credentialCache = null;
+      this.credentialHashEncoder = null;
+    }
+  }
+
+  private static boolean isPositive(Duration duration) {
+    return duration != null && !duration.isNegative() && !duration.isZero();
+  }
+
   @Override
   public String encode(CharSequence rawPassword) {
     return getDelegate().encode(rawPassword);
@@ -127,7 +190,43 @@ public class LdaptivePasswordMatcher implements PasswordEncoder {
       return false;
     }
     String raw = rawPassword != null ? rawPassword.toString() : "";
-    boolean result = getLdaptiveOperations()
+    if (isVerifiedCredential(userName, raw)) {
+      log.debug("Ldaptive password matcher: password matches verified credential of user ({}).", userName);
+      return true;
+    }
+    boolean result = findDn(userName)
+        .map(dn -> authenticate(dn, raw))
+        .orElse(false);
+    if (result) {
+      if (credentialCache != null) {
+        credentialCache.put(userName, credentialHashEncoder.encode(raw));
+      }
+    } else {
+      if (dnCache != null) {
+        dnCache.evict(userName);
+      }
+      if (credentialCache != null) {
+        credentialCache.evict(userName);
+      }
+    }
+    if (log.isDebugEnabled()) {
+      log.debug("Ldaptive password matcher: password matches for user ({})? {}", userName, result);
+    }
+    return result;
+  }
+
+  private boolean isVerifiedCredential(String userName, String rawPassword) {
+    return credentialCache != null && credentialCache.get(userName)
+        .map(hash -> credentialHashEncoder.matches(rawPassword, hash))
+        .orElse(false);
+  }
+
+  private Optional<String> findDn(String userName) {
+    Optional<String> cachedDn = dnCache != null ? dnCache.get(userName) : Optional.empty();
+    if (cachedDn.isPresent()) {
+      return cachedDn;
+    }
+    Optional<String> dn = getLdaptiveOperations()
         .findOne(SearchRequest.builder()
             .dn(getUserBaseDn())
             .filter(FilterTemplate.builder()
@@ -138,16 +237,21 @@ public class LdaptivePasswordMatcher implements PasswordEncoder {
             .returnAttributes(Collections.emptyList())
             .sizeLimit(1)
             .build())
-        .map(LdapEntry::getDn)
-        .map(dn -> authenticate(dn, raw))
-        .orElse(false);
-    if (log.isDebugEnabled()) {
-      log.debug("Ldaptive password matcher: password matches for user ({})? {}", userName, result);
+        .map(LdapEntry::getDn);
+    if (dnCache != null) {
+      dn.ifPresent(value -> dnCache.put(userName, value));
     }
-    return result;
+    return dn;
   }
 
   private boolean authenticate(String dn, String rawPassword) {
+    if (getBindOperations() != null) {
+      // an empty password would result in an unauthenticated bind, that is successful on most servers
+      return StringUtils.hasText(rawPassword) && getBindOperations().bind(SimpleBindRequest.builder()
+          .dn(dn)
+          .password(rawPassword)
+          .build());
+    }
     return getLdaptiveOperations().compare(CompareRequest.builder()
         .dn(dn)
         .name(getUserPasswordAttributeName())
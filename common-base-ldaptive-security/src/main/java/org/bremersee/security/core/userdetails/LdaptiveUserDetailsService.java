@@ -20,10 +20,9 @@ import java.util.List;
 import java.util.Map;
 import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 import org.bremersee.data.ldaptive.LdaptiveOperations;
-import org.ldaptive.FilterTemplate;
-import org.ldaptive.SearchRequest;
 import org.ldaptive.SearchScope;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -34,12 +33,19 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
  *
  * @author Christian Bremer
  */
-@ToString(callSuper = true, exclude = {"ldaptiveOperations"})
+@ToString(callSuper = true, exclude = {"ldaptiveOperations", "userDetailsCache"})
 public class LdaptiveUserDetailsService extends AbstractUserDetailsService implements UserDetailsService {
 
   @Getter(value = AccessLevel.PROTECTED)
   private final LdaptiveOperations ldaptiveOperations;
 
+  /**
+   * The optional user details cache.
+   */
+  @Getter(value = AccessLevel.PROTECTED)
+  @Setter
+  private UserDetailsCache userDetailsCache;
+
   /**
    * Instantiates a new ldaptive user details service.
    *
@@ -74,20 +80,35 @@ public class LdaptiveUserDetailsService extends AbstractUserDetailsService imple
 
   @Override
   public UserDetails loadUserByUsername(String userName) throws UsernameNotFoundException {
+    UserDetails userDetails = getUserDetailsCache() != null
+        ? getUserDetailsCache().get(userName, this::findUserDetails)
+        : findUserDetails(userName);
+    if (userDetails == null) {
+      throw new UsernameNotFoundException("User '" + userName + "' was not found.");
+    }
+    return userDetails;
+  }
+
+  /**
+   * Finds the user details in the ldap store.
+   *
+   * @param userName the user name
+   * @return the user details or {@code null}, if the user does not exist
+   */
+  protected UserDetails findUserDetails(String userName) {
+    if (!isResolvingNestedGroups()) {
+      return getLdaptiveOperations()
+          .findOne(userSearchRequest(userName), getUserDetailsLdapMapper(userName))
+          .orElse(null);
+    }
     return getLdaptiveOperations()
-        .findOne(
-            SearchRequest.builder()
-                .dn(getUserBaseDn())
-                .filter(FilterTemplate.builder()
-                    .filter(getUserFindOneFilter())
-                    .parameters(userName)
-                    .build())
-                .scope(getUserFindOneSearchScope())
-                .returnAttributes(returnAttributes())
-                .sizeLimit(1)
-                .build(),
-            getUserDetailsLdapMapper(userName))
-        .orElseThrow(() -> new UsernameNotFoundException("User '" + userName + "' was not found."));
+        .findOne(userSearchRequest(userName))
+        .map(ldapEntry -> withAuthorityValues(ldapEntry, getNestedGroupResolver().resolve(
+            getLdaptiveOperations(),
+            ldapEntry.getDn(),
+            getAuthorityValues(ldapEntry))))
+        .map(ldapEntry -> getUserDetailsLdapMapper(userName).map(ldapEntry))
+        .orElse(null);
   }
 
 }
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.security.core.userdetails;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.bremersee.data.ldaptive.LdaptiveOperations;
+import org.bremersee.data.ldaptive.reactive.ReactiveLdaptiveOperations;
+import org.ldaptive.FilterTemplate;
+import org.ldaptive.LdapEntry;
+import org.ldaptive.ReturnAttributes;
+import org.ldaptive.SearchRequest;
+import org.ldaptive.SearchScope;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The nested group resolver finds the transitive groups of a user.
+ *
+ * <p>With the mode {@link Mode#MATCHING_RULE_IN_CHAIN} (active directory) all groups are found with one search by
+ * the matching rule in chain. With the mode {@link Mode#BREADTH_FIRST} (other servers) the parent groups of the
+ * direct groups are searched level by level. The parent groups of every group are kept in a group graph, that is
+ * shared by all users and cleared after the refresh interval.
+ *
+ * @author Christian Bremer
+ */
+@Slf4j
+@ToString(exclude = {"graph"})
+public class NestedGroupResolver {
+
+  /**
+   * The filter of the matching rule in chain, that finds all groups, the given dn is a (nested) member of.
+   */
+  public static final String MATCHING_RULE_IN_CHAIN_FILTER = "(member:1.2.840.113556.1.4.1941:={0})";
+
+  /**
+   * The default member filter, that finds the groups, the given dn is a direct member of.
+   */
+  public static final String DEFAULT_MEMBER_FILTER = "(member={0})";
+
+  private static final int MAX_GRAPH_SIZE = 10000;
+
+  @Getter
+  private final Mode mode;
+
+  @Getter
+  private final String groupBaseDn;
+
+  @Getter
+  private final SearchScope groupSearchScope;
+
+  @Getter
+  private final String memberFilter;
+
+  @Getter
+  private final int maxDepth;
+
+  @Getter
+  private final Duration refreshInterval;
+
+  private final Map<String, Set<String>> graph = new ConcurrentHashMap<>();
+
+  private volatile long nextRefresh;
+
+  /**
+   * Instantiates a new nested group resolver.
+   *
+   * @param mode the mode
+   * @param groupBaseDn the group base dn
+   * @param groupSearchScope the group search scope
+   * @param memberFilter the member filter (if it is {@code null}, the default filter of the mode is used)
+   * @param maxDepth the max depth of the breadth first expansion
+   * @param refreshInterval the refresh interval of the group graph
+   */
+  public NestedGroupResolver(
+      Mode mode,
+      String groupBaseDn,
+      SearchScope groupSearchScope,
+      String memberFilter,
+      int maxDepth,
+      Duration refreshInterval) {
+    Assert.notNull(mode, "Mode must not be null.");
+    Assert.hasText(groupBaseDn, "Group base dn must be present.");
+    Assert.notNull(refreshInterval, "Refresh interval must not be null.");
+    this.mode = mode;
+    this.groupBaseDn = groupBaseDn;
+    this.groupSearchScope = groupSearchScope != null ? groupSearchScope : SearchScope.SUBTREE;
+    if (StringUtils.hasText(memberFilter)) {
+      this.memberFilter = memberFilter;
+    } else {
+      this.memberFilter = mode == Mode.MATCHING_RULE_IN_CHAIN
+          ? MATCHING_RULE_IN_CHAIN_FILTER
+          : DEFAULT_MEMBER_FILTER;
+    }
+    this.maxDepth = Math.max(maxDepth, 1);
+    this.refreshInterval = refreshInterval;
+    this.nextRefresh = System.currentTimeMillis() + refreshInterval.toMillis();
+  }
+
+  /**
+   * Resolves the transitive groups of a user.
+   *
+   * @param ldaptiveOperations the ldaptive operations
+   * @param userDn the user dn
+   * @param directGroupDns the direct group dns of the user
+   * @return the dns of the direct and nested groups
+   */
+  public Set<String> resolve(
+      LdaptiveOperations ldaptiveOperations,
+      String userDn,
+      Collection<String> directGroupDns) {
+
+    if (mode == Mode.MATCHING_RULE_IN_CHAIN) {
+      Set<String> groupDns = new LinkedHashSet<>(directGroupDns);
+      groupDns.addAll(findGroupDns(ldaptiveOperations, userDn));
+      return groupDns;
+    }
+    refreshIfNecessary();
+    Set<String> groupDns = new LinkedHashSet<>();
+    Collection<String> level = directGroupDns;
+    for (int depth = 0; ; depth++) {
+      List<String> unvisited = level.stream()
+          .filter(groupDns::add)
+          .collect(Collectors.toList());
+      if (unvisited.isEmpty() || depth >= maxDepth) {
+        return groupDns;
+      }
+      level = unvisited.stream()
+          .flatMap(groupDn -> parentGroupDns(ldaptiveOperations, groupDn).stream())
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Resolves the transitive groups of a user.
+   *
+   * @param ldaptiveOperations the reactive ldaptive operations
+   * @param userDn the user dn
+   * @param directGroupDns the direct group dns of the user
+   * @return the dns of the direct and nested groups
+   */
+  public Mono<Set<String>> resolve(
+      ReactiveLdaptiveOperations ldaptiveOperations,
+      String userDn,
+      Collection<String> directGroupDns) {
+
+    if (mode == Mode.MATCHING_RULE_IN_CHAIN) {
+      return findGroupDns(ldaptiveOperations, userDn)
+          .map(groupDns -> {
+            Set<String> result = new LinkedHashSet<>(directGroupDns);
+            result.addAll(groupDns);
+            return result;
+          });
+    }
+    refreshIfNecessary();
+    return expand(ldaptiveOperations, new LinkedHashSet<>(), directGroupDns, 0);
+  }
+
+  private Mono<Set<String>> expand(
+      ReactiveLdaptiveOperations ldaptiveOperations,
+      Set<String> groupDns,
+      Collection<String> level,
+      int depth) {
+
+    List<String> unvisited = level.stream()
+        .filter(groupDns::add)
+        .collect(Collectors.toList());
+    if (unvisited.isEmpty() || depth >= maxDepth) {
+      return Mono.just(groupDns);
+    }
+    return Flux.fromIterable(unvisited)
+        .flatMap(groupDn -> parentGroupDns(ldaptiveOperations, groupDn))
+        .collectList()
+        .flatMap(parents -> expand(
+            ldaptiveOperations,
+            groupDns,
+            parents.stream().flatMap(Collection::stream).collect(Collectors.toList()),
+            depth + 1));
+  }
+
+  /**
+   * Clears the group graph.
+   */
+  public void clear() {
+    graph.clear();
+  }
+
+  /**
+   * Returns the number of groups in the group graph.
+   *
+   * @return the number of groups in the group graph
+   */
+  public int size() {
+    return graph.size();
+  }
+
+  private Set<String> parentGroupDns(LdaptiveOperations ldaptiveOperations, String groupDn) {
+    Set<String> parents = graph.get(groupDn);
+    if (parents == null) {
+      parents = findGroupDns(ldaptiveOperations, groupDn);
+      remember(groupDn, parents);
+    }
+    return parents;
+  }
+
+  private Mono<Set<String>> parentGroupDns(ReactiveLdaptiveOperations ldaptiveOperations, String groupDn) {
+    Set<String> parents = graph.get(groupDn);
+    if (parents != null) {
+      return Mono.just(parents);
+    }
+    return findGroupDns(ldaptiveOperations, groupDn)
+        .doOnNext(groupDns -> remember(groupDn, groupDns));
+  }
+
+  private Set<String> findGroupDns(LdaptiveOperations ldaptiveOperations, String memberDn) {
+    return ldaptiveOperations.findAll(searchRequest(memberDn)).stream()
+        .map(LdapEntry::getDn)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  private Mono<Set<String>> findGroupDns(ReactiveLdaptiveOperations ldaptiveOperations, String memberDn) {
+    return ldaptiveOperations.findAll(searchRequest(memberDn))
+        .map(LdapEntry::getDn)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  private SearchRequest searchRequest(String memberDn) {
+    return SearchRequest.builder()
+        .dn(groupBaseDn)
+        .filter(FilterTemplate.builder()
+            .filter(memberFilter)
+            .parameters(memberDn)
+            .build())
+        .scope(groupSearchScope)
+        .returnAttributes(ReturnAttributes.NONE.value())
+        .build();
+  }
+
+  private void remember(String groupDn, Set<String> parents) {
+    if (graph.size() < MAX_GRAPH_SIZE) {
+      graph.put(groupDn, Collections.unmodifiableSet(parents));
+    }
+  }
+
+  private void refreshIfNecessary() {
+    long now = System.currentTimeMillis();
+    if (now >= nextRefresh) {
+      log.debug("Refreshing group graph with {} groups.", graph.size());
+      nextRefresh = now + refreshInterval.toMillis();
+      graph.clear();
+    }
+  }
+
+  /**
+   * The resolve mode.
+   */
+  public enum Mode {
+
+    /**
+     * All groups are found with one search by the matching rule in chain (active directory only).
+     */
+    MATCHING_RULE_IN_CHAIN,
+
+    /**
+     * The parent groups are searched level by level.
+     */
+    BREADTH_FIRST
+  }
+
+}
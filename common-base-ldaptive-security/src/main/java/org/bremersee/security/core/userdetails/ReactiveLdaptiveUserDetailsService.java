@@ -20,11 +20,10 @@ import java.util.List;
 import java.util.Map;
 import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import org.bremersee.data.ldaptive.reactive.ReactiveLdaptiveOperations;
-import org.ldaptive.FilterTemplate;
-import org.ldaptive.SearchRequest;
 import org.ldaptive.SearchScope;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -35,7 +34,7 @@ import reactor.core.publisher.Mono;
  *
  * @author Christian Bremer
  */
-@ToString(callSuper = true, exclude = {"ldaptiveOperations"})
+@ToString(callSuper = true, exclude = {"ldaptiveOperations", "userDetailsCache"})
 @Slf4j
 public class ReactiveLdaptiveUserDetailsService extends AbstractUserDetailsService implements
     ReactiveUserDetailsService {
@@ -43,6 +42,13 @@ public class ReactiveLdaptiveUserDetailsService extends AbstractUserDetailsServi
   @Getter(value = AccessLevel.PROTECTED)
   private final ReactiveLdaptiveOperations ldaptiveOperations;
 
+  /**
+   * The optional user details cache.
+   */
+  @Getter(value = AccessLevel.PROTECTED)
+  @Setter
+  private ReactiveUserDetailsCache userDetailsCache;
+
   /**
    * Instantiates a new reactive ldaptive user details service.
    *
@@ -77,19 +83,28 @@ public class ReactiveLdaptiveUserDetailsService extends AbstractUserDetailsServi
 
   @Override
   public Mono<UserDetails> findByUsername(String userName) {
+    return getUserDetailsCache() != null
+        ? getUserDetailsCache().get(userName, this::findUserDetails)
+        : findUserDetails(userName);
+  }
+
+  /**
+   * Finds the user details in the ldap store.
+   *
+   * @param userName the user name
+   * @return the user details or an empty mono, if the user does not exist
+   */
+  protected Mono<UserDetails> findUserDetails(String userName) {
+    if (!isResolvingNestedGroups()) {
+      return getLdaptiveOperations()
+          .findOne(userSearchRequest(userName), getUserDetailsLdapMapper(userName));
+    }
     return getLdaptiveOperations()
-        .findOne(
-            SearchRequest.builder()
-                .dn(getUserBaseDn())
-                .filter(FilterTemplate.builder()
-                    .filter(getUserFindOneFilter())
-                    .parameters(userName)
-                    .build())
-                .scope(getUserFindOneSearchScope())
-                .returnAttributes(returnAttributes())
-                .sizeLimit(1)
-                .build(),
-            getUserDetailsLdapMapper(userName));
+        .findOne(userSearchRequest(userName))
+        .flatMap(ldapEntry -> getNestedGroupResolver()
+            .resolve(getLdaptiveOperations(), ldapEntry.getDn(), getAuthorityValues(ldapEntry))
+            .map(groupDns -> withAuthorityValues(ldapEntry, groupDns)))
+        .map(ldapEntry -> getUserDetailsLdapMapper(userName).map(ldapEntry));
   }
 
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.security.core.userdetails;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import lombok.ToString;
+import org.bremersee.security.core.userdetails.UserDetailsCache.CachedValue;
+import org.springframework.security.core.userdetails.UserDetails;
+import reactor.core.publisher.Mono;
+
+/**
+ * The reactive counterpart of the {@link UserDetailsCache}. Concurrent subscriptions for the same user name, that is
+ * not cached, share one lookup.
+ *
+ * @author Christian Bremer
+ */
+@ToString(of = {"cache"})
+public class ReactiveUserDetailsCache {
+
+  private final UserDetailsCache cache;
+
+  private final ConcurrentMap<String, Mono<Optional<UserDetails>>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Instantiates a new reactive user details cache.
+   *
+   * @param timeToLive the time to live of found user details
+   * @param notFoundTimeToLive the time to live of unknown user names
+   * @param maxSize the maximum number of cached user names
+   */
+  public ReactiveUserDetailsCache(Duration timeToLive, Duration notFoundTimeToLive, int maxSize) {
+    this.cache = new UserDetailsCache(timeToLive, notFoundTimeToLive, maxSize);
+  }
+
+  /**
+   * Gets the user details from the cache or from the given loader.
+   *
+   * @param userName the user name
+   * @param loader the loader, that returns an empty mono if the user does not exist
+   * @return the user details or an empty mono, if the user does not exist
+   */
+  public Mono<UserDetails> get(String userName, Function<String, Mono<UserDetails>> loader) {
+    return Mono.defer(() -> {
+      CachedValue cachedValue = cache.find(userName);
+      if (cachedValue != null) {
+        return Mono.justOrEmpty(cachedValue.getUserDetails());
+      }
+      return inFlight
+          .computeIfAbsent(userName, key -> loader.apply(key)
+              .map(Optional::of)
+              .defaultIfEmpty(Optional.empty())
+              .doOnNext(result -> cache.put(key, result.orElse(null)))
+              .doFinally(signalType -> inFlight.remove(key))
+              .cache())
+          .flatMap(result -> Mono.justOrEmpty(result.map(UserDetailsCache::copy)));
+    });
+  }
+
+  /**
+   * Removes the user from the cache.
+   *
+   * @param userName the user name
+   */
+  public void evict(String userName) {
+    cache.evict(userName);
+  }
+
+  /**
+   * Removes all users from the cache.
+   */
+  public void clear() {
+    cache.clear();
+  }
+
+  /**
+   * Returns the number of cached user names.
+   *
+   * @return the number of cached user names
+   */
+  public int size() {
+    return cache.size();
+  }
+
+}
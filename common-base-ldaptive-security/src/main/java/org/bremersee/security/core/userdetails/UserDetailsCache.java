@@ -0,0 +1,205 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.security.core.userdetails;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.Assert;
+
+/**
+ * A bounded in memory cache of user details with a time to live. Unknown users are cached, too (with a separate and
+ * normally shorter time to live). Concurrent lookups of the same user name, that are not cached, are executed only
+ * once; all other callers wait for the result of the first one.
+ *
+ * <p>The cache returns copies of the cached user details, because the authentication manager erases the credentials
+ * of the user details after a successful authentication.
+ *
+ * @author Christian Bremer
+ */
+@Slf4j
+@ToString(of = {"timeToLive", "notFoundTimeToLive", "maxSize"})
+public class UserDetailsCache {
+
+  private final Duration timeToLive;
+
+  private final Duration notFoundTimeToLive;
+
+  private final int maxSize;
+
+  private final ExpiringCache<String, CachedValue> cache;
+
+  private final ConcurrentMap<String, CompletableFuture<UserDetails>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Instantiates a new user details cache.
+   *
+   * @param timeToLive the time to live of found user details
+   * @param notFoundTimeToLive the time to live of unknown user names
+   * @param maxSize the maximum number of cached user names
+   */
+  public UserDetailsCache(Duration timeToLive, Duration notFoundTimeToLive, int maxSize) {
+    Assert.notNull(timeToLive, "Time to live must not be null.");
+    Assert.notNull(notFoundTimeToLive, "Not found time to live must not be null.");
+    Assert.isTrue(maxSize > 0, "Max size must be greater than zero.");
+    this.timeToLive = timeToLive;
+    this.notFoundTimeToLive = notFoundTimeToLive;
+    this.maxSize = maxSize;
+    this.cache = new ExpiringCache<>(timeToLive, maxSize);
+  }
+
+  /**
+   * Gets the user details from the cache or from the given loader.
+   *
+   * @param userName the user name
+   * @param loader the loader, that returns {@code null} if the user does not exist
+   * @return the user details or {@code null} if the user does not exist
+   */
+  @Nullable
+  public UserDetails get(String userName, Function<String, UserDetails> loader) {
+    CachedValue cachedValue = find(userName);
+    if (cachedValue != null) {
+      return cachedValue.getUserDetails();
+    }
+    CompletableFuture<UserDetails> future = new CompletableFuture<>();
+    CompletableFuture<UserDetails> existing = inFlight.putIfAbsent(userName, future);
+    if (existing != null) {
+      log.trace("Waiting for concurrent lookup of user {}", userName);
+      return copy(join(existing));
+    }
+    try {
+      UserDetails userDetails = loader.apply(userName);
+      put(userName, userDetails);
+      future.complete(userDetails);
+      return copy(userDetails);
+
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+      throw e;
+
+    } finally {
+      inFlight.remove(userName, future);
+    }
+  }
+
+  /**
+   * Removes the user from the cache.
+   *
+   * @param userName the user name
+   */
+  public void evict(String userName) {
+    cache.evict(userName);
+  }
+
+  /**
+   * Removes all users from the cache.
+   */
+  public void clear() {
+    cache.clear();
+  }
+
+  /**
+   * Returns the number of cached user names (including expired ones, that are not removed yet).
+   *
+   * @return the number of cached user names
+   */
+  public int size() {
+    return cache.size();
+  }
+
+  /**
+   * Finds a cached value, that is not expired.
+   *
+   * @param userName the user name
+   * @return the cached value or {@code null}
+   */
+  @Nullable
+  CachedValue find(String userName) {
+    return cache.get(userName).orElse(null);
+  }
+
+  /**
+   * Puts a copy of the user details into the cache.
+   *
+   * @param userName the user name
+   * @param userDetails the user details (can be {@code null}, if the user does not exist)
+   */
+  void put(String userName, @Nullable UserDetails userDetails) {
+    cache.put(
+        userName,
+        new CachedValue(copy(userDetails)),
+        userDetails != null ? timeToLive : notFoundTimeToLive);
+  }
+
+  /**
+   * Creates a copy of the user details, if the user details contain erasable credentials.
+   *
+   * @param userDetails the user details
+   * @return the copy of the user details
+   */
+  @Nullable
+  static UserDetails copy(@Nullable UserDetails userDetails) {
+    if (userDetails instanceof CredentialsContainer) {
+      return User.withUserDetails(userDetails).build();
+    }
+    return userDetails;
+  }
+
+  private static UserDetails join(CompletableFuture<UserDetails> future) {
+    try {
+      return future.join();
+
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * The cached value.
+   */
+  static class CachedValue {
+
+    private final UserDetails userDetails;
+
+    private CachedValue(UserDetails userDetails) {
+      this.userDetails = userDetails;
+    }
+
+    /**
+     * Gets a copy of the cached user details.
+     *
+     * @return the user details or {@code null}, if the user does not exist
+     */
+    @Nullable
+    UserDetails getUserDetails() {
+      return copy(userDetails);
+    }
+  }
+
+}
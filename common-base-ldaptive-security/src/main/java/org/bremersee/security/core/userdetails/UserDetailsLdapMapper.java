@@ -22,9 +22,12 @@ import static org.bremersee.data.ldaptive.transcoder.UserAccountControlValueTran
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -42,11 +45,12 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.util.StringUtils;
 
 /**
- * The user details mapper.
+ * The user details mapper. The mapper of a user details service is created once without user name; the mapper of a
+ * lookup is created with {@link #withUserName(String)} and shares the transcoders and the static authorities.
  *
  * @author Christian Bremer
  */
-@ToString
+@ToString(exclude = {"staticAuthorities"})
 public class UserDetailsLdapMapper implements LdaptiveEntryMapper<UserDetails> {
 
   @Getter(value = AccessLevel.PROTECTED)
@@ -70,6 +74,31 @@ public class UserDetailsLdapMapper implements LdaptiveEntryMapper<UserDetails> {
   @Getter(value = AccessLevel.PROTECTED)
   private final UserAccountControlValueTranscoder userAccountControlValueTranscoder;
 
+  private final Set<GrantedAuthority> staticAuthorities;
+
+  /**
+   * Instantiates a new user details mapper without user name.
+   *
+   * @param userAccountControlAttributeName the user account control attribute name
+   * @param authorities the authorities
+   * @param authorityAttributeName the authority attribute name
+   * @param authorityDn the authority dn
+   * @param authorityMap the authority map
+   * @param authorityPrefix the authority prefix
+   * @see #withUserName(String)
+   */
+  public UserDetailsLdapMapper(
+      String userAccountControlAttributeName,
+      List<String> authorities,
+      String authorityAttributeName,
+      boolean authorityDn,
+      Map<String, String> authorityMap,
+      String authorityPrefix) {
+    this(
+        null, userAccountControlAttributeName, authorities, authorityAttributeName, authorityDn, authorityMap,
+        authorityPrefix);
+  }
+
   /**
    * Instantiates a new user details mapper.
    *
@@ -101,6 +130,36 @@ public class UserDetailsLdapMapper implements LdaptiveEntryMapper<UserDetails> {
     } else {
       userAccountControlValueTranscoder = null;
     }
+    this.staticAuthorities = Collections.unmodifiableSet(toGrantedAuthorities(this.authorities, authorityPrefix));
+  }
+
+  /**
+   * Instantiates a new user details mapper with the given user name and the transcoders and authorities of the given
+   * mapper.
+   *
+   * @param mapper the mapper
+   * @param userName the user name
+   */
+  protected UserDetailsLdapMapper(UserDetailsLdapMapper mapper, String userName) {
+    this.userName = userName;
+    this.userAccountControlAttributeName = mapper.userAccountControlAttributeName;
+    this.authorities = mapper.authorities;
+    this.authorityAttributeName = mapper.authorityAttributeName;
+    this.authorityPrefix = mapper.authorityPrefix;
+    this.authorityTranscoder = mapper.authorityTranscoder;
+    this.userAccountControlValueTranscoder = mapper.userAccountControlValueTranscoder;
+    this.staticAuthorities = mapper.staticAuthorities;
+  }
+
+  /**
+   * Returns a mapper for the given user name, that shares the transcoders and the static authorities of this mapper.
+   * Subclasses should override this method to return their own type.
+   *
+   * @param userName the user name
+   * @return the mapper of the user
+   */
+  public UserDetailsLdapMapper withUserName(String userName) {
+    return new UserDetailsLdapMapper(this, userName);
   }
 
   @Override
@@ -183,10 +242,7 @@ public class UserDetailsLdapMapper implements LdaptiveEntryMapper<UserDetails> {
    * @return the granted authorities
    */
   protected Collection<? extends GrantedAuthority> getGrantedAuthorities(LdapEntry ldapEntry) {
-    Set<GrantedAuthority> grantedAuthorities = getAuthorities().stream()
-        .map(value -> UserDetailsLdapMapper.prefixAuthority(getAuthorityPrefix(), value))
-        .map(SimpleGrantedAuthority::new)
-        .collect(Collectors.toSet());
+    Set<GrantedAuthority> grantedAuthorities = new HashSet<>(getStaticAuthorities());
     if (StringUtils.hasText(getAuthorityAttributeName())) {
       grantedAuthorities.addAll(
           getAttributeValuesAsSet(ldapEntry, getAuthorityAttributeName(), getAuthorityTranscoder()));
@@ -194,6 +250,28 @@ public class UserDetailsLdapMapper implements LdaptiveEntryMapper<UserDetails> {
     return grantedAuthorities;
   }
 
+  /**
+   * Gets the granted authorities, that every user has. They are created only once, unless a subclass overrides
+   * {@link #getAuthorities()} or {@link #getAuthorityPrefix()}.
+   *
+   * @return the static granted authorities
+   */
+  protected Set<GrantedAuthority> getStaticAuthorities() {
+    List<String> values = getAuthorities();
+    String prefix = getAuthorityPrefix();
+    if (values == authorities && Objects.equals(prefix, authorityPrefix)) {
+      return staticAuthorities;
+    }
+    return toGrantedAuthorities(values != null ? values : Collections.emptyList(), prefix);
+  }
+
+  private static Set<GrantedAuthority> toGrantedAuthorities(Collection<String> values, String prefix) {
+    return values.stream()
+        .map(value -> UserDetailsLdapMapper.prefixAuthority(prefix, value))
+        .map(SimpleGrantedAuthority::new)
+        .collect(Collectors.toSet());
+  }
+
   /**
    * Prefix authority.
    *
@@ -206,13 +284,16 @@ public class UserDetailsLdapMapper implements LdaptiveEntryMapper<UserDetails> {
   }
 
   /**
-   * The granted authority value transcoder.
+   * The granted authority value transcoder. The decoded authorities are cached, because the number of distinct group
+   * values is usually small.
    *
    * @author Christian Bremer
    */
-  @ToString
+  @ToString(exclude = {"cache"})
   protected static class GrantedAuthorityValueTranscoder extends AbstractStringValueTranscoder<GrantedAuthority> {
 
+    private static final int MAX_CACHE_SIZE = 1000;
+
     @Getter(value = AccessLevel.PROTECTED)
     private final boolean authorityDn;
 
@@ -222,6 +303,8 @@ public class UserDetailsLdapMapper implements LdaptiveEntryMapper<UserDetails> {
     @Getter(value = AccessLevel.PROTECTED)
     private final String authorityPrefix;
 
+    private final Map<String, GrantedAuthority> cache = new ConcurrentHashMap<>();
+
     /**
      * Instantiates a new granted authority value transcoder.
      *
@@ -240,6 +323,17 @@ public class UserDetailsLdapMapper implements LdaptiveEntryMapper<UserDetails> {
 
     @Override
     public GrantedAuthority decodeStringValue(String value) {
+      GrantedAuthority authority = cache.get(value);
+      if (authority == null) {
+        authority = decode(value);
+        if (cache.size() < MAX_CACHE_SIZE) {
+          cache.put(value, authority);
+        }
+      }
+      return authority;
+    }
+
+    private GrantedAuthority decode(String value) {
       String ldapValue = isAuthorityDn() ? LdaptiveEntryMapper.getRdn(value) : value;
       String mappedValue = getAuthorityMap().getOrDefault(ldapValue, ldapValue);
       String authorityValue = UserDetailsLdapMapper.prefixAuthority(getAuthorityPrefix(), mappedValue);
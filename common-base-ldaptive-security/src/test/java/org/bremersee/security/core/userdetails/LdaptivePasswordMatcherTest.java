@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.security.core.userdetails;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+import org.bremersee.data.ldaptive.LdaptiveOperations;
+import org.junit.jupiter.api.Test;
+import org.ldaptive.CompareRequest;
+import org.ldaptive.LdapEntry;
+import org.ldaptive.SearchRequest;
+
+/**
+ * The ldaptive password matcher test.
+ *
+ * @author Christian Bremer
+ */
+class LdaptivePasswordMatcherTest {
+
+  private static LdaptiveOperations ldaptiveOperations(boolean compareResult) {
+    LdapEntry entry = new LdapEntry();
+    entry.setDn("uid=anna,ou=people,dc=bremersee,dc=org");
+    LdaptiveOperations ldaptiveOperations = mock(LdaptiveOperations.class);
+    when(ldaptiveOperations.findOne(any(SearchRequest.class))).thenReturn(Optional.of(entry));
+    when(ldaptiveOperations.compare(any(CompareRequest.class))).thenReturn(compareResult);
+    return ldaptiveOperations;
+  }
+
+  /**
+   * Matches without caches.
+   */
+  @Test
+  void matchesWithoutCaches() {
+    LdaptiveOperations ldaptiveOperations = ldaptiveOperations(true);
+    LdaptivePasswordMatcher matcher = new LdaptivePasswordMatcher(
+        ldaptiveOperations, "ou=people,dc=bremersee,dc=org", "(uid={0})");
+    assertTrue(matcher.matches("secret", "anna"));
+    assertTrue(matcher.matches("secret", "anna"));
+    verify(ldaptiveOperations, times(2)).findOne(any(SearchRequest.class));
+    verify(ldaptiveOperations, times(2)).compare(any(CompareRequest.class));
+    assertFalse(matcher.matches("secret", null));
+  }
+
+  /**
+   * Matches with dn cache.
+   */
+  @Test
+  void matchesWithDnCache() {
+    LdaptiveOperations ldaptiveOperations = ldaptiveOperations(true);
+    LdaptivePasswordMatcher matcher = new LdaptivePasswordMatcher(
+        ldaptiveOperations, "ou=people,dc=bremersee,dc=org", "(uid={0})");
+    matcher.setDnCache(Duration.ofMinutes(1), 10);
+    assertTrue(matcher.matches("secret", "anna"));
+    assertTrue(matcher.matches("secret", "anna"));
+    verify(ldaptiveOperations, times(1)).findOne(any(SearchRequest.class));
+    verify(ldaptiveOperations, times(2)).compare(any(CompareRequest.class));
+  }
+
+  /**
+   * Matches with credential cache.
+   */
+  @Test
+  void matchesWithCredentialCache() {
+    LdaptiveOperations ldaptiveOperations = ldaptiveOperations(true);
+    LdaptivePasswordMatcher matcher = new LdaptivePasswordMatcher(
+        ldaptiveOperations, "ou=people,dc=bremersee,dc=org", "(uid={0})");
+    matcher.setCredentialCache(Duration.ofMinutes(1), 10, 1);
+    assertTrue(matcher.matches("secret", "anna"));
+    assertTrue(matcher.matches("secret", "anna"));
+    verify(ldaptiveOperations, times(1)).compare(any(CompareRequest.class));
+  }
+
+  /**
+   * Wrong password is not cached.
+   */
+  @Test
+  void wrongPasswordIsNotCached() {
+    LdaptiveOperations ldaptiveOperations = ldaptiveOperations(false);
+    LdaptivePasswordMatcher matcher = new LdaptivePasswordMatcher(
+        ldaptiveOperations, "ou=people,dc=bremersee,dc=org", "(uid={0})");
+    matcher.setDnCache(Duration.ofMinutes(1), 10);
+    matcher.setCredentialCache(Duration.ofMinutes(1), 10, 1);
+    assertFalse(matcher.matches("wrong", "anna"));
+    assertFalse(matcher.matches("wrong", "anna"));
+    verify(ldaptiveOperations, times(2)).findOne(any(SearchRequest.class));
+    verify(ldaptiveOperations, times(2)).compare(any(CompareRequest.class));
+  }
+
+}
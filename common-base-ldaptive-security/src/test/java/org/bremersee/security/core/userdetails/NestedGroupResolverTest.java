@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.security.core.userdetails;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.bremersee.data.ldaptive.LdaptiveOperations;
+import org.bremersee.data.ldaptive.reactive.ReactiveLdaptiveOperations;
+import org.bremersee.security.core.userdetails.NestedGroupResolver.Mode;
+import org.junit.jupiter.api.Test;
+import org.ldaptive.LdapEntry;
+import org.ldaptive.SearchRequest;
+import org.ldaptive.SearchScope;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+/**
+ * The nested group resolver test.
+ *
+ * @author Christian Bremer
+ */
+class NestedGroupResolverTest {
+
+  private static final String USER = "uid=anna,ou=people,dc=bremersee,dc=org";
+
+  private static final String DEVELOPERS = "cn=developers,ou=groups,dc=bremersee,dc=org";
+
+  private static final String STAFF = "cn=staff,ou=groups,dc=bremersee,dc=org";
+
+  private static final String EVERYONE = "cn=everyone,ou=groups,dc=bremersee,dc=org";
+
+  private static LdapEntry group(String dn) {
+    return LdapEntry.builder().dn(dn).build();
+  }
+
+  private static NestedGroupResolver resolver(Mode mode) {
+    return new NestedGroupResolver(
+        mode, "ou=groups,dc=bremersee,dc=org", SearchScope.SUBTREE, null, 10, Duration.ofMinutes(10));
+  }
+
+  /**
+   * Resolve with matching rule in chain.
+   */
+  @Test
+  void resolveWithMatchingRuleInChain() {
+    LdaptiveOperations ldaptiveOperations = mock(LdaptiveOperations.class);
+    when(ldaptiveOperations.findAll(any(SearchRequest.class)))
+        .thenReturn(Arrays.asList(group(DEVELOPERS), group(STAFF), group(EVERYONE)));
+
+    NestedGroupResolver resolver = resolver(Mode.MATCHING_RULE_IN_CHAIN);
+    assertEquals(NestedGroupResolver.MATCHING_RULE_IN_CHAIN_FILTER, resolver.getMemberFilter());
+    Set<String> groupDns = resolver.resolve(ldaptiveOperations, USER, Collections.singletonList(DEVELOPERS));
+    assertEquals(new LinkedHashSet<>(Arrays.asList(DEVELOPERS, STAFF, EVERYONE)), groupDns);
+    verify(ldaptiveOperations, times(1)).findAll(any(SearchRequest.class));
+  }
+
+  /**
+   * Resolve breadth first.
+   */
+  @Test
+  void resolveBreadthFirst() {
+    LdaptiveOperations ldaptiveOperations = mock(LdaptiveOperations.class);
+    when(ldaptiveOperations.findAll(any(SearchRequest.class)))
+        .thenReturn(Collections.singletonList(group(STAFF)))
+        .thenReturn(Collections.singletonList(group(EVERYONE)))
+        .thenReturn(Collections.singletonList(group(DEVELOPERS))); // cycle
+
+    NestedGroupResolver resolver = resolver(Mode.BREADTH_FIRST);
+    Set<String> groupDns = resolver.resolve(ldaptiveOperations, USER, Collections.singletonList(DEVELOPERS));
+    assertEquals(new LinkedHashSet<>(Arrays.asList(DEVELOPERS, STAFF, EVERYONE)), groupDns);
+    assertEquals(3, resolver.size());
+
+    // the second user is resolved from the group graph
+    groupDns = resolver.resolve(ldaptiveOperations, USER, Collections.singletonList(STAFF));
+    assertEquals(new LinkedHashSet<>(Arrays.asList(STAFF, EVERYONE, DEVELOPERS)), groupDns);
+    verify(ldaptiveOperations, times(3)).findAll(any(SearchRequest.class));
+
+    resolver.clear();
+    assertEquals(0, resolver.size());
+  }
+
+  /**
+   * Resolve breadth first reactive.
+   */
+  @Test
+  void resolveBreadthFirstReactive() {
+    ReactiveLdaptiveOperations ldaptiveOperations = mock(ReactiveLdaptiveOperations.class);
+    when(ldaptiveOperations.findAll(any(SearchRequest.class)))
+        .thenReturn(Flux.just(group(STAFF)))
+        .thenReturn(Flux.just(group(EVERYONE)))
+        .thenReturn(Flux.empty());
+
+    NestedGroupResolver resolver = resolver(Mode.BREADTH_FIRST);
+    StepVerifier.create(resolver.resolve(ldaptiveOperations, USER, Collections.singletonList(DEVELOPERS)))
+        .assertNext(groupDns -> assertEquals(
+            new LinkedHashSet<>(Arrays.asList(DEVELOPERS, STAFF, EVERYONE)),
+            groupDns))
+        .verifyComplete();
+    StepVerifier.create(resolver.resolve(ldaptiveOperations, USER, Collections.singletonList(DEVELOPERS)))
+        .assertNext(groupDns -> assertEquals(3, groupDns.size()))
+        .verifyComplete();
+    verify(ldaptiveOperations, times(3)).findAll(any(SearchRequest.class));
+  }
+
+}
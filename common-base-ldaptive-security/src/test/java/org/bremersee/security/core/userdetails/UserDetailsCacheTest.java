@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.security.core.userdetails;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * The user details cache test.
+ *
+ * @author Christian Bremer
+ */
+class UserDetailsCacheTest {
+
+  private static UserDetails user(String userName) {
+    return User.withUsername(userName).password(userName).authorities("ROLE_USER").build();
+  }
+
+  /**
+   * Get.
+   */
+  @Test
+  void get() {
+    AtomicInteger counter = new AtomicInteger();
+    UserDetailsCache cache = new UserDetailsCache(Duration.ofMinutes(1), Duration.ofMinutes(1), 10);
+    UserDetails first = cache.get("anna", userName -> {
+      counter.incrementAndGet();
+      return user(userName);
+    });
+    assertNotNull(first);
+    ((CredentialsContainer) first).eraseCredentials();
+
+    UserDetails second = cache.get("anna", userName -> {
+      counter.incrementAndGet();
+      return user(userName);
+    });
+    assertNotNull(second);
+    assertEquals("anna", second.getPassword());
+    assertEquals(1, counter.get());
+
+    cache.evict("anna");
+    assertEquals(0, cache.size());
+  }
+
+  /**
+   * Get unknown user.
+   */
+  @Test
+  void getUnknownUser() {
+    AtomicInteger counter = new AtomicInteger();
+    UserDetailsCache cache = new UserDetailsCache(Duration.ofMinutes(1), Duration.ofMinutes(1), 10);
+    assertNull(cache.get("unknown", userName -> {
+      counter.incrementAndGet();
+      return null;
+    }));
+    assertNull(cache.get("unknown", userName -> {
+      counter.incrementAndGet();
+      return null;
+    }));
+    assertEquals(1, counter.get());
+
+    UserDetailsCache noNegativeCache = new UserDetailsCache(Duration.ofMinutes(1), Duration.ZERO, 10);
+    assertNull(noNegativeCache.get("unknown", userName -> null));
+    assertEquals(0, noNegativeCache.size());
+  }
+
+  /**
+   * Get reactive.
+   */
+  @Test
+  void getReactive() {
+    AtomicInteger counter = new AtomicInteger();
+    ReactiveUserDetailsCache cache = new ReactiveUserDetailsCache(Duration.ofMinutes(1), Duration.ofMinutes(1), 10);
+    Mono<UserDetails> mono = cache.get("anna", userName -> Mono.fromCallable(() -> {
+      counter.incrementAndGet();
+      return user(userName);
+    }));
+    StepVerifier.create(Mono.zip(mono, mono))
+        .assertNext(tuple -> assertEquals(tuple.getT1(), tuple.getT2()))
+        .verifyComplete();
+    StepVerifier.create(mono)
+        .assertNext(userDetails -> assertEquals("anna", userDetails.getUsername()))
+        .verifyComplete();
+    assertEquals(1, counter.get());
+
+    StepVerifier.create(cache.get("unknown", userName -> Mono.empty()))
+        .verifyComplete();
+    assertEquals(2, cache.size());
+  }
+
+}
@@ -21,12 +21,15 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import org.bremersee.data.ldaptive.transcoder.UserAccountControlValueTranscoder;
 import org.junit.jupiter.api.BeforeAll;
@@ -200,4 +203,79 @@ class UserDetailsLdapMapperTest {
 
   }
 
-}
\ No newline at end of file
+  /**
+   * With user name.
+   */
+  @Test
+  void withUserName() {
+    UserDetailsLdapMapper serviceMapper = new UserDetailsLdapMapper(
+        null,
+        Collections.singletonList("users"),
+        "memberOf",
+        true,
+        Collections.singletonMap("managers", "superusers"),
+        "ROLE_");
+    UserDetailsLdapMapper userMapper = serviceMapper.withUserName("anna");
+    assertSame(serviceMapper.getAuthorityTranscoder(), userMapper.getAuthorityTranscoder());
+
+    LdapEntry ldapEntry = LdapEntry.builder()
+        .dn("uid=anna,ou=people,dc=localhost")
+        .attributes(LdapAttribute.builder()
+            .name("memberOf")
+            .binary(false)
+            .values("cn=managers,ou=groups,dc=localhost")
+            .build())
+        .build();
+    UserDetails userDetails = userMapper.map(ldapEntry);
+    assertNotNull(userDetails);
+    assertEquals("anna", userDetails.getUsername());
+    assertTrue(userDetails.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_users")));
+    assertTrue(userDetails.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_superusers")));
+    assertEquals(2, userDetails.getAuthorities().size());
+  }
+
+  /**
+   * Overridden authorities and authority prefix are used.
+   */
+  @Test
+  void overriddenAuthorities() {
+    UserDetailsLdapMapper otherMapper = new UserDetailsLdapMapper(
+        "anna",
+        null,
+        Collections.singletonList("users"),
+        null,
+        false,
+        null,
+        null) {
+
+      @Override
+      protected List<String> getAuthorities() {
+        return Collections.singletonList("admins");
+      }
+
+      @Override
+      protected String getAuthorityPrefix() {
+        return "ROLE_";
+      }
+    };
+    UserDetails userDetails = otherMapper.map(LdapEntry.builder()
+        .dn("uid=anna,ou=people,dc=localhost")
+        .build());
+    assertNotNull(userDetails);
+    assertEquals(
+        Collections.singleton(new SimpleGrantedAuthority("ROLE_admins")),
+        new HashSet<>(userDetails.getAuthorities()));
+  }
+
+  /**
+   * Decoded authorities are cached.
+   */
+  @Test
+  void decodedAuthoritiesAreCached() {
+    GrantedAuthority first = mapper.getAuthorityTranscoder().decodeStringValue("managers");
+    GrantedAuthority second = mapper.getAuthorityTranscoder().decodeStringValue("managers");
+    assertEquals(new SimpleGrantedAuthority("superusers"), first);
+    assertSame(first, second);
+  }
+
+}
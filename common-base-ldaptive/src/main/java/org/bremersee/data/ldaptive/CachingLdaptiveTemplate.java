@@ -0,0 +1,195 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+import org.ldaptive.AddRequest;
+import org.ldaptive.BindRequest;
+import org.ldaptive.CompareRequest;
+import org.ldaptive.ConnectionFactory;
+import org.ldaptive.DeleteRequest;
+import org.ldaptive.LdapEntry;
+import org.ldaptive.ModifyDnRequest;
+import org.ldaptive.ModifyRequest;
+import org.ldaptive.ResultCode;
+import org.ldaptive.ReturnAttributes;
+import org.ldaptive.SearchRequest;
+import org.ldaptive.SearchResponse;
+import org.ldaptive.extended.ExtendedRequest;
+import org.ldaptive.extended.ExtendedResponse;
+import org.springframework.util.Assert;
+
+/**
+ * The caching ldaptive template decorates other ldaptive operations with a read through {@link LdaptiveEntryCache}.
+ * Object scope searches (and therefore {@link #exists(String)} and {@code findOne} by dn) are answered from the cache,
+ * all write operations that are executed by this template evict the affected entries.
+ *
+ * <p>Within the replication delay of the cache after a write (see {@link LdaptiveEntryCache#isRecentlyEvicted(
+ * String)}) the written entry is read with the primary connection factory of an {@link LdaptiveTemplate} delegate
+ * and it is not cached, so that a lagging read replica cannot put the old state into the cache.
+ *
+ * <p>Changes that are made by other clients are visible after the time to live of the cache has elapsed.
+ *
+ * @author Christian Bremer
+ */
+@ToString
+public class CachingLdaptiveTemplate implements LdaptiveOperations {
+
+  @Getter(AccessLevel.PROTECTED)
+  private final LdaptiveOperations delegate;
+
+  @Getter
+  private final LdaptiveEntryCache cache;
+
+  /**
+   * Instantiates a new caching ldaptive template.
+   *
+   * @param delegate the ldaptive operations that will be decorated
+   * @param cache the entry cache
+   */
+  public CachingLdaptiveTemplate(LdaptiveOperations delegate, LdaptiveEntryCache cache) {
+    Assert.notNull(delegate, "Ldaptive operations must not be null.");
+    Assert.notNull(cache, "Entry cache must not be null.");
+    this.delegate = delegate;
+    this.cache = cache;
+  }
+
+  @Override
+  public ConnectionFactory getConnectionFactory() {
+    return delegate.getConnectionFactory();
+  }
+
+  @Override
+  public void add(AddRequest addRequest) {
+    try {
+      delegate.add(addRequest);
+    } finally {
+      cache.evict(addRequest.getDn());
+    }
+  }
+
+  @Override
+  public boolean bind(BindRequest request) {
+    return delegate.bind(request);
+  }
+
+  @Override
+  public boolean compare(CompareRequest request) {
+    if (cache.isRecentlyEvicted(request.getDn())) {
+      return primary().compare(request);
+    }
+    return delegate.compare(request);
+  }
+
+  @Override
+  public void delete(DeleteRequest request) {
+    try {
+      delegate.delete(request);
+    } finally {
+      cache.evict(request.getDn());
+    }
+  }
+
+  @Override
+  public ExtendedResponse executeExtension(ExtendedRequest request) {
+    return delegate.executeExtension(request);
+  }
+
+  @Override
+  public void modify(ModifyRequest request) {
+    try {
+      delegate.modify(request);
+    } finally {
+      cache.evict(request.getDn());
+    }
+  }
+
+  @Override
+  public void modifyDn(ModifyDnRequest request) {
+    try {
+      delegate.modifyDn(request);
+    } finally {
+      cache.evict(request.getOldDn());
+    }
+  }
+
+  @Override
+  public SearchResponse search(SearchRequest request) {
+    if (!LdaptiveEntryCache.isCacheable(request)) {
+      return delegate.search(request);
+    }
+    if (cache.isRecentlyEvicted(request.getBaseDn())) {
+      return primary().search(request);
+    }
+    return cache.get(request.getBaseDn(), request.getReturnAttributes())
+        .map(entry -> SearchResponse.builder()
+            .resultCode(ResultCode.SUCCESS)
+            .entry(entry)
+            .build())
+        .orElseGet(() -> {
+          long generation = cache.generation();
+          SearchResponse response = delegate.search(request);
+          if (response != null && response.isSuccess()) {
+            cache.put(request.getReturnAttributes(), response.getEntry(), generation);
+          }
+          return response;
+        });
+  }
+
+  @Override
+  public boolean exists(String dn) {
+    if (cache.isRecentlyEvicted(dn)) {
+      return primary().exists(dn);
+    }
+    String[] returnAttributes = ReturnAttributes.NONE.value();
+    if (cache.get(dn, returnAttributes).isPresent()) {
+      return true;
+    }
+    long generation = cache.generation();
+    boolean exists = delegate.exists(dn);
+    if (exists) {
+      LdapEntry entry = new LdapEntry();
+      entry.setDn(dn);
+      cache.put(returnAttributes, entry, generation);
+    }
+    return exists;
+  }
+
+  /**
+   * Gets the operations, that read from the primary server. These are the operations of the primary connection
+   * factory of an {@link LdaptiveTemplate} delegate, otherwise the delegate itself.
+   *
+   * @return the operations, that read from the primary server
+   */
+  protected LdaptiveOperations primary() {
+    return delegate instanceof LdaptiveTemplate ? ((LdaptiveTemplate) delegate).primary() : delegate;
+  }
+
+  @Override
+  public <T> T save(T domainObject, LdaptiveEntryMapper<T> entryMapper) {
+    // The modifications must be computed against the current entry of the server, so the lookup is not cached.
+    String dn = entryMapper.mapDn(domainObject);
+    try {
+      return delegate.save(domainObject, entryMapper);
+    } finally {
+      cache.evict(dn);
+    }
+  }
+
+}
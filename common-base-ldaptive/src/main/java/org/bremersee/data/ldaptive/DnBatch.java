@@ -0,0 +1,335 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.ToString;
+import org.ldaptive.FilterTemplate;
+import org.ldaptive.SearchRequest;
+import org.ldaptive.SearchScope;
+import org.springframework.lang.Nullable;
+
+/**
+ * A batch of distinguished names with the same parent, that can be looked up with one search. The search is a one
+ * level search under the parent with a filter, that combines the relative distinguished names of the batch. So the
+ * existence of thousands of entries (like the members of a large group) can be checked with a few searches instead of
+ * one search per distinguished name.
+ *
+ * <p>Distinguished names with a multi-valued relative distinguished name or without a parent form a batch of their
+ * own, that is looked up with an object scope search.
+ *
+ * @author Christian Bremer
+ */
+@ToString
+public class DnBatch {
+
+  /**
+   * The default maximum number of distinguished names of a batch.
+   */
+  public static final int DEFAULT_MAX_SIZE = 100;
+
+  /**
+   * The default number of batches, that are searched concurrently by the reactive operations.
+   */
+  public static final int DEFAULT_CONCURRENCY = 4;
+
+  @Getter
+  private final String parentDn;
+
+  private final Map<Rdn, List<String>> dns = new LinkedHashMap<>();
+
+  private DnBatch(@Nullable String parentDn) {
+    this.parentDn = parentDn;
+  }
+
+  /**
+   * Splits the distinguished names into batches.
+   *
+   * @param dns the distinguished names
+   * @param maxSize the maximum number of distinguished names of a batch
+   * @return the batches
+   */
+  public static List<DnBatch> of(@Nullable Collection<String> dns, int maxSize) {
+    if (dns == null || dns.isEmpty()) {
+      return Collections.emptyList();
+    }
+    int size = Math.max(1, maxSize);
+    List<DnBatch> batches = new ArrayList<>();
+    Map<String, DnBatch> openBatches = new LinkedHashMap<>();
+    for (String dn : new LinkedHashSet<>(dns)) {
+      if (dn == null) {
+        continue;
+      }
+      Rdn rdn = Rdn.parse(dn);
+      if (rdn == null) {
+        DnBatch single = new DnBatch(null);
+        single.dns.put(new Rdn(dn.trim(), "", null), Collections.singletonList(dn));
+        batches.add(single);
+        continue;
+      }
+      DnBatch batch = openBatches.computeIfAbsent(rdn.parentKey, key -> {
+        DnBatch newBatch = new DnBatch(rdn.parentDn);
+        batches.add(newBatch);
+        return newBatch;
+      });
+      batch.dns.computeIfAbsent(rdn, key -> new ArrayList<>(1)).add(dn);
+      if (batch.dns.size() >= size) {
+        openBatches.remove(rdn.parentKey);
+      }
+    }
+    return batches;
+  }
+
+  /**
+   * Gets the distinguished names of this batch.
+   *
+   * @return the distinguished names
+   */
+  public List<String> getDns() {
+    List<String> result = new ArrayList<>(dns.size());
+    dns.values().forEach(result::addAll);
+    return result;
+  }
+
+  /**
+   * Creates the search request of this batch.
+   *
+   * @param returnAttributes the return attributes (can be {@code null} to return all attributes)
+   * @return the search request
+   */
+  public SearchRequest toSearchRequest(@Nullable String... returnAttributes) {
+    if (parentDn == null) {
+      return SearchRequest.objectScopeSearchRequest(dns.keySet().iterator().next().name, returnAttributes);
+    }
+    return SearchRequest.builder()
+        .dn(parentDn)
+        .scope(SearchScope.ONELEVEL)
+        .filter(toFilter())
+        .returnAttributes(returnAttributes)
+        .build();
+  }
+
+  /**
+   * Creates the filter, that combines the relative distinguished names of this batch.
+   *
+   * @return the filter
+   */
+  String toFilter() {
+    StringBuilder filter = new StringBuilder(dns.size() * 32 + 3);
+    if (dns.size() > 1) {
+      filter.append("(|");
+    }
+    for (Rdn rdn : dns.keySet()) {
+      filter.append('(')
+          .append(rdn.name)
+          .append('=')
+          .append(FilterTemplate.encodeValue(rdn.value))
+          .append(')');
+    }
+    if (dns.size() > 1) {
+      filter.append(')');
+    }
+    return filter.toString();
+  }
+
+  /**
+   * Gets the requested distinguished names, that match the distinguished name of a found entry. There is more than
+   * one, if the same entry was requested with different spellings of the distinguished name.
+   *
+   * @param foundDn the distinguished name of the found entry
+   * @return the requested distinguished names (empty, if the found entry was not requested)
+   */
+  public List<String> getRequestedDns(@Nullable String foundDn) {
+    if (foundDn == null) {
+      return Collections.emptyList();
+    }
+    if (parentDn == null) {
+      // an object scope search returns only the requested entry
+      return dns.values().iterator().next();
+    }
+    Rdn rdn = Rdn.parse(foundDn);
+    List<String> requestedDns = rdn != null ? dns.get(rdn) : null;
+    return requestedDns != null ? requestedDns : Collections.emptyList();
+  }
+
+  /**
+   * Creates the result map of an existence check of the given distinguished names.
+   *
+   * @param dns the distinguished names
+   * @param foundDns the requested distinguished names, that were found
+   * @return the result map in the order of the given distinguished names
+   */
+  public static Map<String, Boolean> toExistsMap(@Nullable Collection<String> dns, @NotNull Set<String> foundDns) {
+    Map<String, Boolean> result = new LinkedHashMap<>();
+    if (dns != null) {
+      for (String dn : dns) {
+        if (dn != null) {
+          result.put(dn, foundDns.contains(dn));
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Creates the result map of the given distinguished names, that were found.
+   *
+   * @param <T> the type of the found values
+   * @param dns the distinguished names
+   * @param found the found values by the requested distinguished names
+   * @return the result map in the order of the given distinguished names without the ones, that were not found
+   */
+  public static <T> Map<String, T> toResultMap(@Nullable Collection<String> dns, @NotNull Map<String, T> found) {
+    Map<String, T> result = new LinkedHashMap<>();
+    if (dns != null) {
+      for (String dn : dns) {
+        T value = dn != null ? found.get(dn) : null;
+        if (value != null) {
+          result.put(dn, value);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * The relative distinguished name with the normalized parent distinguished name. Equality is determined by the
+   * lower case attribute name, the lower case unescaped value and the normalized parent. Distinguished names, that
+   * can not be parsed, are stored with the whole distinguished name as name.
+   */
+  private static final class Rdn {
+
+    private final String name;
+
+    private final String value;
+
+    private final String parentDn;
+
+    private final String parentKey;
+
+    private final String key;
+
+    private Rdn(String name, String value, @Nullable String parentDn) {
+      this.name = name;
+      this.value = value;
+      this.parentDn = parentDn;
+      this.parentKey = parentDn != null ? normalize(parentDn) : null;
+      this.key = name.toLowerCase(Locale.ROOT) + '=' + value.toLowerCase(Locale.ROOT) + ',' + parentKey;
+    }
+
+    /**
+     * Parses the first relative distinguished name of the given dn.
+     *
+     * @param dn the distinguished name
+     * @return the relative distinguished name or {@code null}, if it is multi-valued, hex encoded or has no parent
+     */
+    @Nullable
+    private static Rdn parse(String dn) {
+      int equalsIndex = -1;
+      StringBuilder value = new StringBuilder();
+      for (int i = 0; i < dn.length(); i++) {
+        char c = dn.charAt(i);
+        if (equalsIndex < 0) {
+          if (c == '=') {
+            equalsIndex = i;
+            if (i + 1 < dn.length() && dn.charAt(i + 1) == '#') {
+              return null;
+            }
+          } else if (c == ',' || c == '+' || c == '\\') {
+            return null;
+          }
+        } else if (c == '\\') {
+          if (i + 1 >= dn.length()) {
+            return null;
+          }
+          char next = dn.charAt(i + 1);
+          if (isHex(next) && i + 2 < dn.length() && isHex(dn.charAt(i + 2))) {
+            // hex escaped (utf-8 encoded) characters are not decoded, those dns are looked up one by one
+            return null;
+          }
+          value.append(next);
+          i++;
+        } else if (c == '+') {
+          return null;
+        } else if (c == ',' || c == ';') {
+          String name = dn.substring(0, equalsIndex).trim();
+          String parentDn = dn.substring(i + 1).trim();
+          String trimmedValue = value.toString().trim();
+          if (name.isEmpty() || trimmedValue.isEmpty() || parentDn.isEmpty()) {
+            return null;
+          }
+          return new Rdn(name, trimmedValue, parentDn);
+        } else {
+          value.append(c);
+        }
+      }
+      return null;
+    }
+
+    private static boolean isHex(char c) {
+      return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static String normalize(String dn) {
+      StringBuilder sb = new StringBuilder(dn.length());
+      boolean escaped = false;
+      for (int i = 0; i < dn.length(); i++) {
+        char c = dn.charAt(i);
+        if (!escaped && (c == ',' || c == '=' || c == '+')) {
+          // remove white spaces around separators
+          while (sb.length() > 0 && sb.charAt(sb.length() - 1) == ' ') {
+            sb.setLength(sb.length() - 1);
+          }
+          sb.append(c);
+          while (i + 1 < dn.length() && dn.charAt(i + 1) == ' ') {
+            i++;
+          }
+        } else {
+          sb.append(Character.toLowerCase(c));
+          escaped = !escaped && c == '\\';
+        }
+      }
+      return sb.toString().trim();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return this == o || (o instanceof Rdn && key.equals(((Rdn) o).key));
+    }
+
+    @Override
+    public int hashCode() {
+      return key.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return key;
+    }
+  }
+
+}
@@ -0,0 +1,372 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.ldaptive.LdapAttribute;
+import org.ldaptive.LdapEntry;
+import org.ldaptive.ReturnAttributes;
+import org.ldaptive.SearchRequest;
+import org.ldaptive.SearchScope;
+import org.ldaptive.filter.Filter;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * A bounded in memory cache of ldap entries. The entries are cached by their dn and the requested return attributes,
+ * so only object scope searches can be answered from this cache. Every entry expires after the configured time to
+ * live; if the cache is full, the least recently used entry is removed.
+ *
+ * <p>A search, that runs concurrently to a write, may return the old state of an entry after the write has already
+ * evicted it. To prevent that such a stale entry is put back, callers take a {@link #generation()} before the search
+ * and pass it to {@link #put(String[], LdapEntry, long)}. The entry is only put, if neither its dn nor one of its
+ * parents was evicted in the meantime.
+ *
+ * <p>If searches are executed with read replicas, a search right after a write may still return the old state of the
+ * entry from a lagging replica. Therefore the cache remembers the time of every eviction: within the replication
+ * delay after the eviction, {@link #isRecentlyEvicted(String)} returns {@code true} and the caching templates read
+ * the entry from the primary server and do not cache it.
+ *
+ * <p>The cache never returns the cached instances but always a copy, so that callers can modify the returned entries
+ * (like {@link LdaptiveOperations#save(Object, LdaptiveEntryMapper)} does) without corrupting the cache.
+ *
+ * @author Christian Bremer
+ */
+@Validated
+@Slf4j
+@ToString(of = {"timeToLive", "maxSize", "replicationDelay"})
+public class LdaptiveEntryCache {
+
+  private static final Filter MATCH_ALL_FILTER = SearchRequest.objectScopeSearchRequest("").getFilter();
+
+  private final Duration timeToLive;
+
+  private final int maxSize;
+
+  private final Duration replicationDelay;
+
+  private final Map<Key, Value> cache;
+
+  private final Map<String, Eviction> evictions;
+
+  private long generation;
+
+  private long forgottenGeneration;
+
+  /**
+   * Instantiates a new ldaptive entry cache.
+   *
+   * @param timeToLive the time to live of a cached entry
+   * @param maxSize the maximum number of cached entries
+   */
+  public LdaptiveEntryCache(Duration timeToLive, int maxSize) {
+    this(timeToLive, maxSize, Duration.ZERO);
+  }
+
+  /**
+   * Instantiates a new ldaptive entry cache.
+   *
+   * @param timeToLive the time to live of a cached entry
+   * @param maxSize the maximum number of cached entries
+   * @param replicationDelay the time after an eviction, within which read replicas may return the old state of the
+   *     entry
+   */
+  public LdaptiveEntryCache(Duration timeToLive, int maxSize, Duration replicationDelay) {
+    Assert.notNull(timeToLive, "Time to live must not be null.");
+    Assert.isTrue(maxSize > 0, "Max size must be greater than zero.");
+    Assert.notNull(replicationDelay, "Replication delay must not be null.");
+    this.timeToLive = timeToLive;
+    this.maxSize = maxSize;
+    this.replicationDelay = replicationDelay;
+    this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Value> eldest) {
+        return size() > LdaptiveEntryCache.this.maxSize;
+      }
+    };
+    this.evictions = new LinkedHashMap<>(16, 0.75f, false) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Eviction> eldest) {
+        if (size() > LdaptiveEntryCache.this.maxSize) {
+          forgottenGeneration = Math.max(forgottenGeneration, eldest.getValue().generation);
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Determines whether the result of the given search request can be cached. This is only the case for object scope
+   * searches without a special filter.
+   *
+   * @param request the search request
+   * @return {@code true} if the result can be cached, otherwise {@code false}
+   */
+  public static boolean isCacheable(@Nullable SearchRequest request) {
+    return request != null
+        && request.getBaseDn() != null
+        && request.getSearchScope() == SearchScope.OBJECT
+        && (request.getFilter() == null || MATCH_ALL_FILTER.equals(request.getFilter()));
+  }
+
+  /**
+   * Gets a copy of the cached entry.
+   *
+   * @param dn the dn
+   * @param returnAttributes the return attributes
+   * @return the cached entry
+   */
+  public Optional<LdapEntry> get(@NotNull String dn, @Nullable String[] returnAttributes) {
+    Key key = new Key(dn, returnAttributes);
+    synchronized (cache) {
+      Value value = cache.get(key);
+      if (value == null) {
+        return Optional.empty();
+      }
+      if (value.isExpired()) {
+        cache.remove(key);
+        return Optional.empty();
+      }
+      log.trace("Ldap entry cache hit for {}", key);
+      return Optional.of(copy(value.entry));
+    }
+  }
+
+  /**
+   * Returns the current eviction generation. It must be taken before the search, whose result is put into the cache
+   * with {@link #put(String[], LdapEntry, long)}.
+   *
+   * @return the current eviction generation
+   */
+  public long generation() {
+    synchronized (cache) {
+      return generation;
+    }
+  }
+
+  /**
+   * Puts a copy of the given entry into the cache regardless of concurrent evictions.
+   *
+   * @param returnAttributes the return attributes of the search request
+   * @param entry the entry
+   */
+  public void put(@Nullable String[] returnAttributes, @Nullable LdapEntry entry) {
+    put(returnAttributes, entry, Long.MAX_VALUE);
+  }
+
+  /**
+   * Puts a copy of the given entry into the cache, if neither its dn nor one of its parents was evicted since the
+   * given generation was taken.
+   *
+   * @param returnAttributes the return attributes of the search request
+   * @param entry the entry
+   * @param generation the generation, that was taken before the search
+   * @return {@code true} if the entry was put into the cache, otherwise {@code false}
+   */
+  public boolean put(@Nullable String[] returnAttributes, @Nullable LdapEntry entry, long generation) {
+    if (entry == null || entry.getDn() == null) {
+      return false;
+    }
+    Key key = new Key(entry.getDn(), returnAttributes);
+    Value value = new Value(copy(entry), System.currentTimeMillis() + timeToLive.toMillis());
+    synchronized (cache) {
+      if (generation != Long.MAX_VALUE && isEvictedSince(key.dn, generation)) {
+        log.trace("Ldap entry {} was evicted concurrently, it is not cached.", key);
+        return false;
+      }
+      cache.put(key, value);
+      return true;
+    }
+  }
+
+  private boolean isEvictedSince(String normalizedDn, long generation) {
+    if (generation < forgottenGeneration) {
+      return true;
+    }
+    return findEviction(normalizedDn, eviction -> eviction.generation > generation);
+  }
+
+  /**
+   * Determines whether the entry with the given dn or one of its parents was evicted within the replication delay.
+   * Read replicas may still return the old state of such an entry, so it should be read from the primary server and
+   * it should not be cached.
+   *
+   * @param dn the dn
+   * @return {@code true} if the entry was evicted within the replication delay, otherwise {@code false}
+   */
+  public boolean isRecentlyEvicted(@Nullable String dn) {
+    if (dn == null || replicationDelay.isZero() || replicationDelay.isNegative()) {
+      return false;
+    }
+    long evictedAfter = System.currentTimeMillis() - replicationDelay.toMillis();
+    synchronized (cache) {
+      return findEviction(normalize(dn), eviction -> eviction.time > evictedAfter);
+    }
+  }
+
+  private boolean findEviction(String normalizedDn, Predicate<Eviction> predicate) {
+    String dn = normalizedDn;
+    while (true) {
+      Eviction eviction = evictions.get(dn);
+      if (eviction != null && predicate.test(eviction)) {
+        return true;
+      }
+      int index = indexOfRdnSeparator(dn);
+      if (index < 0) {
+        return false;
+      }
+      dn = dn.substring(index + 1);
+    }
+  }
+
+  private static int indexOfRdnSeparator(String dn) {
+    for (int i = 0; i < dn.length(); i++) {
+      char c = dn.charAt(i);
+      if (c == '\\') {
+        i++;
+      } else if (c == ',') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Removes all cached entries of the given dn and of all entries below it.
+   *
+   * @param dn the dn
+   */
+  public void evict(@Nullable String dn) {
+    if (dn == null) {
+      return;
+    }
+    String normalizedDn = normalize(dn);
+    String suffix = "," + normalizedDn;
+    synchronized (cache) {
+      generation++;
+      evictions.remove(normalizedDn);
+      evictions.put(normalizedDn, new Eviction(generation, System.currentTimeMillis()));
+      cache.keySet().removeIf(key -> key.dn.equals(normalizedDn) || key.dn.endsWith(suffix));
+    }
+  }
+
+  /**
+   * Removes all entries.
+   */
+  public void clear() {
+    synchronized (cache) {
+      generation++;
+      forgottenGeneration = generation;
+      evictions.clear();
+      cache.clear();
+    }
+  }
+
+  /**
+   * Returns the number of cached entries (including expired ones, that are not removed yet).
+   *
+   * @return the number of cached entries
+   */
+  public int size() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  private static String normalize(String dn) {
+    return dn.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static LdapEntry copy(LdapEntry source) {
+    LdapEntry destination = new LdapEntry();
+    destination.setDn(source.getDn());
+    for (LdapAttribute attr : source.getAttributes()) {
+      LdapAttribute copy = new LdapAttribute(attr.getName());
+      copy.setBinary(attr.isBinary());
+      copy.addBinaryValues(attr.getBinaryValues());
+      destination.addAttributes(copy);
+    }
+    return destination;
+  }
+
+  @EqualsAndHashCode
+  @ToString
+  private static class Key {
+
+    private final String dn;
+
+    private final String returnAttributes;
+
+    private Key(String dn, String[] returnAttributes) {
+      this.dn = normalize(dn);
+      if (returnAttributes == null || returnAttributes.length == 0
+          || ReturnAttributes.ALL_USER.equalsAttributes(returnAttributes)) {
+        this.returnAttributes = "*";
+      } else {
+        TreeSet<String> names = new TreeSet<>();
+        Arrays.stream(returnAttributes)
+            .filter(Objects::nonNull)
+            .map(name -> name.toLowerCase(Locale.ROOT))
+            .forEach(names::add);
+        this.returnAttributes = String.join(",", names);
+      }
+    }
+  }
+
+  private static class Eviction {
+
+    private final long generation;
+
+    private final long time;
+
+    private Eviction(long generation, long time) {
+      this.generation = generation;
+      this.time = time;
+    }
+  }
+
+  private static class Value {
+
+    private final LdapEntry entry;
+
+    private final long expiresAt;
+
+    private Value(LdapEntry entry, long expiresAt) {
+      this.entry = entry;
+      this.expiresAt = expiresAt;
+    }
+
+    private boolean isExpired() {
+      return System.currentTimeMillis() > expiresAt;
+    }
+  }
+
+}
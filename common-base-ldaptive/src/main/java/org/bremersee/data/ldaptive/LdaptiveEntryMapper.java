@@ -16,6 +16,7 @@
 
 package org.bremersee.data.ldaptive;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -24,6 +25,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.validation.constraints.NotNull;
+import org.bremersee.data.ldaptive.transcoder.ByteValueUtils;
 import org.ldaptive.AttributeModification;
 import org.ldaptive.AttributeModification.Type;
 import org.ldaptive.LdapAttribute;
@@ -146,7 +148,8 @@ public interface LdaptiveEntryMapper<T> extends LdapEntryMapper<T> {
       @Nullable final LdapEntry ldapEntry,
       @NotNull final String name,
       final ValueTranscoder<T> valueTranscoder) {
-    return new LinkedHashSet<>(getAttributeValues(ldapEntry, name, valueTranscoder));
+    final Collection<T> values = getAttributeValues(ldapEntry, name, valueTranscoder);
+    return values instanceof LinkedHashSet ? (Set<T>) values : new LinkedHashSet<>(values);
   }
 
   /**
@@ -162,7 +165,72 @@ public interface LdaptiveEntryMapper<T> extends LdapEntryMapper<T> {
       @Nullable final LdapEntry ldapEntry,
       @NotNull final String name,
       final ValueTranscoder<T> valueTranscoder) {
-    return new ArrayList<>(getAttributeValues(ldapEntry, name, valueTranscoder));
+    final Collection<T> values = getAttributeValues(ldapEntry, name, valueTranscoder);
+    return values instanceof ArrayList ? (List<T>) values : new ArrayList<>(values);
+  }
+
+  /**
+   * Gets the first value of the attribute as int. The value is decoded directly from the raw bytes.
+   *
+   * @param ldapEntry the ldap entry
+   * @param name the attribute name
+   * @param defaultValue the default value, if the attribute does not exist
+   * @return the int value
+   */
+  static int getIntAttribute(
+      @Nullable final LdapEntry ldapEntry,
+      @NotNull final String name,
+      final int defaultValue) {
+    final byte[] value = getFirstBinaryValue(ldapEntry, name);
+    return ByteValueUtils.isBlank(value) ? defaultValue : ByteValueUtils.parseInt(value);
+  }
+
+  /**
+   * Gets the first value of the attribute as long. The value is decoded directly from the raw bytes.
+   *
+   * @param ldapEntry the ldap entry
+   * @param name the attribute name
+   * @param defaultValue the default value, if the attribute does not exist
+   * @return the long value
+   */
+  static long getLongAttribute(
+      @Nullable final LdapEntry ldapEntry,
+      @NotNull final String name,
+      final long defaultValue) {
+    final byte[] value = getFirstBinaryValue(ldapEntry, name);
+    return ByteValueUtils.isBlank(value) ? defaultValue : ByteValueUtils.parseLong(value);
+  }
+
+  /**
+   * Gets the first value of the attribute as boolean (ldap boolean syntax). The value is decoded directly from the
+   * raw bytes.
+   *
+   * @param ldapEntry the ldap entry
+   * @param name the attribute name
+   * @param defaultValue the default value, if the attribute does not exist or is not a boolean
+   * @return the boolean value
+   */
+  static boolean getBooleanAttribute(
+      @Nullable final LdapEntry ldapEntry,
+      @NotNull final String name,
+      final boolean defaultValue) {
+    final Boolean value = ByteValueUtils.parseBoolean(getFirstBinaryValue(ldapEntry, name));
+    return value != null ? value : defaultValue;
+  }
+
+  /**
+   * Gets the first raw value of the attribute.
+   *
+   * @param ldapEntry the ldap entry
+   * @param name the attribute name
+   * @return the raw value or {@code null}, if the attribute does not exist
+   */
+  @Nullable
+  static byte[] getFirstBinaryValue(
+      @Nullable final LdapEntry ldapEntry,
+      @NotNull final String name) {
+    final LdapAttribute attr = ldapEntry == null ? null : ldapEntry.getAttribute(name);
+    return attr != null && attr.size() > 0 ? attr.getBinaryValue() : null;
   }
 
   /**
@@ -396,6 +464,188 @@ public interface LdaptiveEntryMapper<T> extends LdapEntryMapper<T> {
     setAttributes(ldapEntry, name, newValues, attr.isBinary(), valueTranscoder, modifications);
   }
 
+  /**
+   * Sets the values of the attribute with the specified name by computing the minimal value modifications. In contrast
+   * to {@link #setAttributes(LdapEntry, String, Collection, boolean, ValueTranscoder, List)}, the existing values are
+   * not decoded: the new values are encoded once and compared with the raw bytes of the existing values by hashing.
+   * Instead of replacing the whole attribute, only the missing values are added and only the obsolete values are
+   * deleted. This is much cheaper for attributes with many values (like {@code member}).
+   *
+   * <p>The comparison is done byte by byte, the order of the values is ignored. So this strategy should only be used
+   * for unordered attributes with an equality matching rule.
+   *
+   * @param <T> the type of the domain object
+   * @param ldapEntry the ldap entry
+   * @param name the attribute name
+   * @param values the values of the attribute
+   * @param isBinary specifies whether the attribute value is binary or not
+   * @param valueTranscoder the value transcoder (can be null if values is also null)
+   * @param modifications the list of modifications
+   */
+  static <T> void setAttributesByDelta(
+      @NotNull final LdapEntry ldapEntry,
+      @NotNull final String name,
+      @Nullable final Collection<T> values,
+      final boolean isBinary,
+      final ValueTranscoder<T> valueTranscoder,
+      @NotNull final List<AttributeModification> modifications) {
+
+    final Set<ByteBuffer> newValues = encodeValues(values, valueTranscoder);
+    final LdapAttribute attr = ldapEntry.getAttribute(name);
+    if (attr == null) {
+      if (!newValues.isEmpty()) {
+        final LdapAttribute newAttr = createAttribute(name, isBinary, newValues);
+        ldapEntry.addAttributes(newAttr);
+        modifications.add(new AttributeModification(Type.ADD, newAttr));
+      }
+      return;
+    }
+    if (newValues.isEmpty()) {
+      ldapEntry.removeAttribute(name);
+      modifications.add(new AttributeModification(Type.DELETE, attr));
+      return;
+    }
+    final Set<ByteBuffer> oldValues = wrapValues(attr.getBinaryValues());
+    final Set<ByteBuffer> deletedValues = new LinkedHashSet<>(oldValues);
+    deletedValues.removeAll(newValues);
+    final Set<ByteBuffer> addedValues = new LinkedHashSet<>(newValues);
+    addedValues.removeAll(oldValues);
+    applyDelta(ldapEntry, attr, oldValues, addedValues, deletedValues, modifications);
+  }
+
+  /**
+   * Adds the specified values to the attribute with the specified name by computing the minimal value modifications.
+   * Values, that already exist, are not added again, and the existing values are not decoded (see {@link
+   * #setAttributesByDelta(LdapEntry, String, Collection, boolean, ValueTranscoder, List)}).
+   *
+   * @param <T> the type of the domain object
+   * @param ldapEntry the ldap entry
+   * @param name the attribute name
+   * @param values the attribute values
+   * @param isBinary specifies whether the attribute value is binary or not
+   * @param valueTranscoder the value transcoder
+   * @param modifications the list of modifications
+   */
+  static <T> void addAttributesByDelta(
+      @NotNull final LdapEntry ldapEntry,
+      @NotNull final String name,
+      @Nullable final Collection<T> values,
+      final boolean isBinary,
+      @NotNull final ValueTranscoder<T> valueTranscoder,
+      @NotNull final List<AttributeModification> modifications) {
+
+    final Set<ByteBuffer> addedValues = encodeValues(values, valueTranscoder);
+    if (addedValues.isEmpty()) {
+      return;
+    }
+    final LdapAttribute attr = ldapEntry.getAttribute(name);
+    if (attr == null) {
+      final LdapAttribute newAttr = createAttribute(name, isBinary, addedValues);
+      ldapEntry.addAttributes(newAttr);
+      modifications.add(new AttributeModification(Type.ADD, newAttr));
+      return;
+    }
+    final Set<ByteBuffer> oldValues = wrapValues(attr.getBinaryValues());
+    addedValues.removeAll(oldValues);
+    applyDelta(ldapEntry, attr, oldValues, addedValues, Collections.emptySet(), modifications);
+  }
+
+  /**
+   * Removes the specified values from the attribute with the specified name by computing the minimal value
+   * modifications. Only values, that exist, are deleted, and the existing values are not decoded (see {@link
+   * #setAttributesByDelta(LdapEntry, String, Collection, boolean, ValueTranscoder, List)}).
+   *
+   * @param <T> the type of the domain object
+   * @param ldapEntry the ldap entry
+   * @param name the name
+   * @param values the values
+   * @param valueTranscoder the value transcoder
+   * @param modifications the modifications
+   */
+  static <T> void removeAttributesByDelta(
+      @NotNull final LdapEntry ldapEntry,
+      @NotNull final String name,
+      @Nullable final Collection<T> values,
+      final ValueTranscoder<T> valueTranscoder,
+      @NotNull final List<AttributeModification> modifications) {
+
+    final LdapAttribute attr = ldapEntry.getAttribute(name);
+    if (attr == null || values == null || values.isEmpty()) {
+      return;
+    }
+    final Set<ByteBuffer> oldValues = wrapValues(attr.getBinaryValues());
+    final Set<ByteBuffer> deletedValues = encodeValues(values, valueTranscoder);
+    deletedValues.retainAll(oldValues);
+    applyDelta(ldapEntry, attr, oldValues, Collections.emptySet(), deletedValues, modifications);
+  }
+
+  private static <T> Set<ByteBuffer> encodeValues(
+      final Collection<T> values,
+      final ValueTranscoder<T> valueTranscoder) {
+    final Set<ByteBuffer> encodedValues = new LinkedHashSet<>();
+    if (values != null) {
+      for (T value : values) {
+        if (value != null && !(value instanceof CharSequence && ((CharSequence) value).length() == 0)) {
+          encodedValues.add(ByteBuffer.wrap(valueTranscoder.encodeBinaryValue(value)));
+        }
+      }
+    }
+    return encodedValues;
+  }
+
+  private static Set<ByteBuffer> wrapValues(final Collection<byte[]> values) {
+    final Set<ByteBuffer> wrappedValues = new LinkedHashSet<>();
+    for (byte[] value : values) {
+      wrappedValues.add(ByteBuffer.wrap(value));
+    }
+    return wrappedValues;
+  }
+
+  private static LdapAttribute createAttribute(
+      final String name,
+      final boolean isBinary,
+      final Collection<ByteBuffer> values) {
+    final LdapAttribute attr = new LdapAttribute();
+    attr.setBinary(isBinary);
+    attr.setName(name);
+    for (ByteBuffer value : values) {
+      attr.addBinaryValues(value.array());
+    }
+    return attr;
+  }
+
+  private static void applyDelta(
+      final LdapEntry ldapEntry,
+      final LdapAttribute attr,
+      final Set<ByteBuffer> oldValues,
+      final Set<ByteBuffer> addedValues,
+      final Set<ByteBuffer> deletedValues,
+      final List<AttributeModification> modifications) {
+
+    if (addedValues.isEmpty() && deletedValues.isEmpty()) {
+      return;
+    }
+    if (addedValues.isEmpty() && deletedValues.size() == oldValues.size()) {
+      ldapEntry.removeAttribute(attr.getName());
+      modifications.add(new AttributeModification(Type.DELETE, attr));
+      return;
+    }
+    if (!deletedValues.isEmpty()) {
+      modifications.add(new AttributeModification(
+          Type.DELETE,
+          createAttribute(attr.getName(), attr.isBinary(), deletedValues)));
+    }
+    if (!addedValues.isEmpty()) {
+      modifications.add(new AttributeModification(
+          Type.ADD,
+          createAttribute(attr.getName(), attr.isBinary(), addedValues)));
+    }
+    final Set<ByteBuffer> values = new LinkedHashSet<>(oldValues);
+    values.removeAll(deletedValues);
+    values.addAll(addedValues);
+    ldapEntry.addAttributes(createAttribute(attr.getName(), attr.isBinary(), values));
+  }
+
   /**
    * Create dn string.
    *
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.ldaptive.LdapException;
+import org.ldaptive.Result;
+import org.ldaptive.ResultCode;
+import org.ldaptive.SearchResponse;
+import org.springframework.lang.Nullable;
+
+/**
+ * The observation of one ldap operation: its type, the dn, the duration, the result code and the number of returned
+ * entries.
+ *
+ * @author Christian Bremer
+ */
+@Slf4j
+@ToString(exclude = {"start", "stopped"})
+public class LdaptiveObservation {
+
+  @Getter
+  private final OperationType operation;
+
+  @Getter
+  @Nullable
+  private final String dn;
+
+  private final long start;
+
+  private final AtomicBoolean stopped = new AtomicBoolean();
+
+  private final AtomicInteger entries = new AtomicInteger();
+
+  @Getter
+  private volatile long durationNanos;
+
+  @Getter
+  @Nullable
+  private volatile ResultCode resultCode;
+
+  @Getter
+  @Nullable
+  private volatile Throwable error;
+
+  private LdaptiveObservation(OperationType operation, @Nullable String dn) {
+    this.operation = operation;
+    this.dn = dn;
+    this.start = System.nanoTime();
+  }
+
+  /**
+   * Starts the observation of an operation.
+   *
+   * @param operation the operation
+   * @param dn the dn of the request (or the base dn of a search request)
+   * @return the observation
+   */
+  public static LdaptiveObservation start(OperationType operation, @Nullable String dn) {
+    return new LdaptiveObservation(operation, dn);
+  }
+
+  /**
+   * Counts a returned entry.
+   */
+  public void entry() {
+    entries.incrementAndGet();
+  }
+
+  /**
+   * Gets the number of returned entries.
+   *
+   * @return the number of returned entries
+   */
+  public int getEntries() {
+    return entries.get();
+  }
+
+  /**
+   * Gets the duration.
+   *
+   * @return the duration
+   */
+  public Duration getDuration() {
+    return Duration.ofNanos(durationNanos);
+  }
+
+  /**
+   * Stops the observation and notifies the observer. Only the first call has an effect.
+   *
+   * @param observer the observer
+   * @param result the result (can be {@code null}, if the operation failed)
+   * @param error the error (can be {@code null})
+   */
+  public void stop(LdaptiveObserver observer, @Nullable Result result, @Nullable Throwable error) {
+    if (!stopped.compareAndSet(false, true)) {
+      return;
+    }
+    this.durationNanos = System.nanoTime() - start;
+    if (result instanceof SearchResponse && ((SearchResponse) result).getEntries() != null) {
+      entries.set(((SearchResponse) result).getEntries().size());
+    }
+    if (result != null) {
+      this.resultCode = result.getResultCode();
+    } else if (error instanceof LdapException) {
+      this.resultCode = ((LdapException) error).getResultCode();
+    }
+    this.error = error;
+    try {
+      observer.observe(this);
+
+    } catch (RuntimeException e) {
+      log.warn("Observer {} failed.", observer, e);
+    }
+  }
+
+  /**
+   * The operation type.
+   */
+  public enum OperationType {
+
+    /**
+     * Add operation type.
+     */
+    ADD,
+
+    /**
+     * Bind operation type.
+     */
+    BIND,
+
+    /**
+     * Compare operation type.
+     */
+    COMPARE,
+
+    /**
+     * Delete operation type.
+     */
+    DELETE,
+
+    /**
+     * Modify operation type.
+     */
+    MODIFY,
+
+    /**
+     * Modify dn operation type.
+     */
+    MODIFY_DN,
+
+    /**
+     * Search operation type.
+     */
+    SEARCH,
+
+    /**
+     * Extended operation type.
+     */
+    EXTENDED
+  }
+
+}
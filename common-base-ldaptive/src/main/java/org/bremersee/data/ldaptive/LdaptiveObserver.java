@@ -0,0 +1,40 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive;
+
+/**
+ * The ldaptive observer is notified after every ldap operation of the ldaptive templates.
+ *
+ * @author Christian Bremer
+ */
+@FunctionalInterface
+public interface LdaptiveObserver {
+
+  /**
+   * The observer, that does nothing.
+   */
+  LdaptiveObserver NONE = observation -> {
+  };
+
+  /**
+   * Observes a finished operation. Implementations must be fast and must not throw exceptions.
+   *
+   * @param observation the observation
+   */
+  void observe(LdaptiveObservation observation);
+
+}
@@ -18,8 +18,12 @@ package org.bremersee.data.ldaptive;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 import javax.validation.constraints.NotNull;
 import org.ldaptive.AddRequest;
@@ -30,6 +34,7 @@ import org.ldaptive.DeleteRequest;
 import org.ldaptive.LdapEntry;
 import org.ldaptive.ModifyDnRequest;
 import org.ldaptive.ModifyRequest;
+import org.ldaptive.ReturnAttributes;
 import org.ldaptive.SearchRequest;
 import org.ldaptive.SearchResponse;
 import org.ldaptive.extended.ExtendedRequest;
@@ -216,6 +221,49 @@ public interface LdaptiveOperations {
     return exists(entryMapper.mapDn(domainObject));
   }
 
+  /**
+   * Checks the existence of all given distinguished names. The distinguished names are grouped by their parent and
+   * every group is looked up with one search (see {@link DnBatch}), so checking thousands of distinguished names takes
+   * only a few searches.
+   *
+   * @param dns the distinguished names
+   * @return the existence by distinguished name (in the order of the given distinguished names)
+   */
+  default Map<String, Boolean> existsAll(@Nullable Collection<String> dns) {
+    Set<String> foundDns = new HashSet<>();
+    for (DnBatch batch : DnBatch.of(dns, DnBatch.DEFAULT_MAX_SIZE)) {
+      for (LdapEntry entry : findAll(batch.toSearchRequest(ReturnAttributes.NONE.value()))) {
+        foundDns.addAll(batch.getRequestedDns(entry.getDn()));
+      }
+    }
+    return DnBatch.toExistsMap(dns, foundDns);
+  }
+
+  /**
+   * Finds all entries of the given distinguished names. The distinguished names are grouped by their parent and every
+   * group is looked up with one search (see {@link DnBatch}).
+   *
+   * @param <T> the type of the domain object
+   * @param dns the distinguished names
+   * @param entryMapper the entry mapper
+   * @return the domain objects by distinguished name (in the order of the given distinguished names without the
+   *     ones, that do not exist)
+   */
+  default <T> Map<String, T> findAllByDn(
+      @Nullable Collection<String> dns,
+      @NotNull LdaptiveEntryMapper<T> entryMapper) {
+    Map<String, T> found = new HashMap<>();
+    for (DnBatch batch : DnBatch.of(dns, DnBatch.DEFAULT_MAX_SIZE)) {
+      for (LdapEntry entry : findAll(batch.toSearchRequest())) {
+        T domainObject = entryMapper.map(entry);
+        if (domainObject != null) {
+          batch.getRequestedDns(entry.getDn()).forEach(dn -> found.put(dn, domainObject));
+        }
+      }
+    }
+    return DnBatch.toResultMap(dns, found);
+  }
+
   /**
    * Save t.
    *
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.ToString;
+
+/**
+ * The statistics of a connection pool: the checkouts (with their wait time), the validations and the prunes.
+ *
+ * @author Christian Bremer
+ */
+@ToString
+public class LdaptivePoolStatistics {
+
+  private final LongAdder checkouts = new LongAdder();
+
+  private final LongAdder checkoutFailures = new LongAdder();
+
+  private final LongAdder checkoutTime = new LongAdder();
+
+  private final AtomicLong maxCheckoutTime = new AtomicLong();
+
+  private final LongAdder validations = new LongAdder();
+
+  private final LongAdder validationFailures = new LongAdder();
+
+  private final LongAdder prunes = new LongAdder();
+
+  /**
+   * Records a checkout.
+   *
+   * @param nanos the wait time in nanoseconds
+   * @param success specifies whether a connection was returned or not
+   */
+  public void recordCheckout(long nanos, boolean success) {
+    checkouts.increment();
+    checkoutTime.add(nanos);
+    maxCheckoutTime.accumulateAndGet(nanos, Math::max);
+    if (!success) {
+      checkoutFailures.increment();
+    }
+  }
+
+  /**
+   * Records a validation.
+   *
+   * @param success specifies whether the connection is valid or not
+   */
+  public void recordValidation(boolean success) {
+    validations.increment();
+    if (!success) {
+      validationFailures.increment();
+    }
+  }
+
+  /**
+   * Records a pruned connection.
+   */
+  public void recordPrune() {
+    prunes.increment();
+  }
+
+  /**
+   * Gets the number of checkouts.
+   *
+   * @return the number of checkouts
+   */
+  public long getCheckouts() {
+    return checkouts.sum();
+  }
+
+  /**
+   * Gets the number of failed checkouts.
+   *
+   * @return the number of failed checkouts
+   */
+  public long getCheckoutFailures() {
+    return checkoutFailures.sum();
+  }
+
+  /**
+   * Gets the total wait time of all checkouts in nanoseconds.
+   *
+   * @return the total checkout time
+   */
+  public long getCheckoutTimeNanos() {
+    return checkoutTime.sum();
+  }
+
+  /**
+   * Gets the maximum wait time of a checkout in nanoseconds.
+   *
+   * @return the maximum checkout time
+   */
+  public long getMaxCheckoutTimeNanos() {
+    return maxCheckoutTime.get();
+  }
+
+  /**
+   * Gets the number of validations.
+   *
+   * @return the number of validations
+   */
+  public long getValidations() {
+    return validations.sum();
+  }
+
+  /**
+   * Gets the number of failed validations.
+   *
+   * @return the number of failed validations
+   */
+  public long getValidationFailures() {
+    return validationFailures.sum();
+  }
+
+  /**
+   * Gets the number of pruned connections.
+   *
+   * @return the number of pruned connections
+   */
+  public long getPrunes() {
+    return prunes.sum();
+  }
+
+}
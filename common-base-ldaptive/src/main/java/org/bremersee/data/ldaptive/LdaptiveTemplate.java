@@ -18,6 +18,7 @@ package org.bremersee.data.ldaptive;
 
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
+import org.bremersee.data.ldaptive.LdaptiveObservation.OperationType;
 import org.bremersee.exception.ServiceException;
 import org.ldaptive.AddOperation;
 import org.ldaptive.AddRequest;
@@ -45,6 +46,7 @@ import org.ldaptive.ResultCode;
 import org.ldaptive.SearchOperation;
 import org.ldaptive.SearchRequest;
 import org.ldaptive.SearchResponse;
+import org.ldaptive.SimpleBindRequest;
 import org.ldaptive.extended.ExtendedOperation;
 import org.ldaptive.extended.ExtendedRequest;
 import org.ldaptive.extended.ExtendedResponse;
@@ -72,16 +74,32 @@ public class LdaptiveTemplate implements LdaptiveOperations, Cloneable {
 
   private final ConnectionFactory connectionFactory;
 
+  private final ConnectionFactory readConnectionFactory;
+
   private ErrorHandler errorHandler = new DefaultLdaptiveErrorHandler();
 
+  private LdaptiveObserver observer = LdaptiveObserver.NONE;
+
   /**
    * Instantiates a new ldap template.
    *
    * @param connectionFactory the connection factory
    */
   public LdaptiveTemplate(ConnectionFactory connectionFactory) {
+    this(connectionFactory, null);
+  }
+
+  /**
+   * Instantiates a new ldap template with a separate connection factory for searches and compare operations (for
+   * example of read only replicas). All other operations are executed with the (primary) connection factory.
+   *
+   * @param connectionFactory the (primary) connection factory
+   * @param readConnectionFactory the read connection factory (can be {@code null})
+   */
+  public LdaptiveTemplate(ConnectionFactory connectionFactory, ConnectionFactory readConnectionFactory) {
     Assert.notNull(connectionFactory, "Connection factory must not be null.");
     this.connectionFactory = connectionFactory;
+    this.readConnectionFactory = readConnectionFactory != null ? readConnectionFactory : connectionFactory;
   }
 
   @Override
@@ -89,6 +107,15 @@ public class LdaptiveTemplate implements LdaptiveOperations, Cloneable {
     return connectionFactory;
   }
 
+  /**
+   * Gets the connection factory, that is used for searches and compare operations.
+   *
+   * @return the read connection factory
+   */
+  public ConnectionFactory getReadConnectionFactory() {
+    return readConnectionFactory;
+  }
+
   /**
    * Sets error handler.
    *
@@ -101,7 +128,27 @@ public class LdaptiveTemplate implements LdaptiveOperations, Cloneable {
   }
 
   /**
-   * Returns a new instance of this ldaptive template with the same connection factory and error handler.
+   * Sets the observer, that is notified after every operation.
+   *
+   * @param observer the observer
+   */
+  public void setObserver(final LdaptiveObserver observer) {
+    if (observer != null) {
+      this.observer = observer;
+    }
+  }
+
+  /**
+   * Gets the observer.
+   *
+   * @return the observer
+   */
+  public LdaptiveObserver getObserver() {
+    return observer;
+  }
+
+  /**
+   * Returns a new instance of this ldaptive template with the same connection factories and error handler.
    *
    * @return a new instance of this ldaptive template
    */
@@ -112,22 +159,50 @@ public class LdaptiveTemplate implements LdaptiveOperations, Cloneable {
   }
 
   /**
-   * Returns a new instance of this ldaptive template with the same connection factory and the given error handler.
+   * Returns a new instance of this ldaptive template with the same connection factories and observer and the given
+   * error handler.
    *
    * @param errorHandler the new error handler
    * @return the new instance of the ldaptive template
    */
   public LdaptiveTemplate clone(final ErrorHandler errorHandler) {
+    final LdaptiveTemplate template = new LdaptiveTemplate(connectionFactory, readConnectionFactory);
+    template.setErrorHandler(errorHandler);
+    template.setObserver(observer);
+    return template;
+  }
+
+  /**
+   * Returns an instance of this ldaptive template with the same error handler and observer, that executes all
+   * operations (also searches and compare operations) with the primary connection factory. If there is no separate
+   * read connection factory, this template is returned.
+   *
+   * @return the ldaptive template of the primary connection factory
+   */
+  public LdaptiveTemplate primary() {
+    if (readConnectionFactory == connectionFactory) {
+      return this;
+    }
     final LdaptiveTemplate template = new LdaptiveTemplate(connectionFactory);
     template.setErrorHandler(errorHandler);
+    template.setObserver(observer);
     return template;
   }
 
-  private <Q extends Request, S extends Result> S execute(Operation<Q, S> operation, Q request) {
+  private <Q extends Request, S extends Result> S execute(
+      OperationType operationType,
+      String dn,
+      Operation<Q, S> operation,
+      Q request) {
+
+    LdaptiveObservation observation = LdaptiveObservation.start(operationType, dn);
     try {
-      return operation.execute(request);
+      S result = operation.execute(request);
+      observation.stop(observer, result, null);
+      return result;
 
     } catch (Exception e) {
+      observation.stop(observer, null, e);
       errorHandler.handleError(e);
       return null;
     }
@@ -136,6 +211,8 @@ public class LdaptiveTemplate implements LdaptiveOperations, Cloneable {
   @Override
   public void add(AddRequest request) {
     execute(
+        OperationType.ADD,
+        request.getDn(),
         AddOperation.builder()
             .factory(getConnectionFactory())
             .throwIf(ResultPredicate.NOT_SUCCESS)
@@ -145,7 +222,8 @@ public class LdaptiveTemplate implements LdaptiveOperations, Cloneable {
 
   @Override
   public boolean bind(BindRequest request) {
-    return Optional.ofNullable(execute(new BindOperation(getConnectionFactory()), request))
+    String dn = request instanceof SimpleBindRequest ? ((SimpleBindRequest) request).getDn() : null;
+    return Optional.ofNullable(execute(OperationType.BIND, dn, new BindOperation(getConnectionFactory()), request))
         .map(BindResponse::isSuccess)
         .orElse(false);
   }
@@ -153,8 +231,10 @@ public class LdaptiveTemplate implements LdaptiveOperations, Cloneable {
   @Override
   public boolean compare(CompareRequest request) {
     return Optional.ofNullable(execute(
+        OperationType.COMPARE,
+        request.getDn(),
         CompareOperation.builder()
-            .factory(getConnectionFactory())
+            .factory(getReadConnectionFactory())
             .throwIf(NOT_COMPARE_RESULT)
             .build(),
         request))
@@ -165,6 +245,8 @@ public class LdaptiveTemplate implements LdaptiveOperations, Cloneable {
   @Override
   public void delete(DeleteRequest request) {
     execute(
+        OperationType.DELETE,
+        request.getDn(),
         DeleteOperation.builder()
             .factory(getConnectionFactory())
             .throwIf(NOT_DELETE_RESULT)
@@ -175,6 +257,8 @@ public class LdaptiveTemplate implements LdaptiveOperations, Cloneable {
   @Override
   public ExtendedResponse executeExtension(ExtendedRequest request) {
     return execute(
+        OperationType.EXTENDED,
+        null,
         ExtendedOperation.builder()
             .factory(getConnectionFactory())
             .throwIf(ResultPredicate.NOT_SUCCESS)
@@ -186,6 +270,8 @@ public class LdaptiveTemplate implements LdaptiveOperations, Cloneable {
   public void modify(ModifyRequest request) {
     if (request.getModifications() != null && request.getModifications().length > 0) {
       execute(
+          OperationType.MODIFY,
+          request.getDn(),
           ModifyOperation.builder()
               .factory(getConnectionFactory())
               .throwIf(ResultPredicate.NOT_SUCCESS)
@@ -197,6 +283,8 @@ public class LdaptiveTemplate implements LdaptiveOperations, Cloneable {
   @Override
   public void modifyDn(ModifyDnRequest request) {
     execute(
+        OperationType.MODIFY_DN,
+        request.getOldDn(),
         ModifyDnOperation.builder()
             .factory(getConnectionFactory())
             .throwIf(ResultPredicate.NOT_SUCCESS)
@@ -207,8 +295,10 @@ public class LdaptiveTemplate implements LdaptiveOperations, Cloneable {
   @Override
   public SearchResponse search(SearchRequest request) {
     return execute(
+        OperationType.SEARCH,
+        request.getBaseDn(),
         SearchOperation.builder()
-            .factory(getConnectionFactory())
+            .factory(getReadConnectionFactory())
             .throwIf(NOT_FIND_RESULT)
             .build(),
         request);
@@ -216,15 +306,18 @@ public class LdaptiveTemplate implements LdaptiveOperations, Cloneable {
 
   @Override
   public boolean exists(String dn) {
+    LdaptiveObservation observation = LdaptiveObservation.start(OperationType.SEARCH, dn);
     try {
       SearchResponse response = SearchOperation.builder()
-          .factory(getConnectionFactory())
+          .factory(getReadConnectionFactory())
           .throwIf(NOT_FIND_RESULT)
           .build()
           .execute(SearchRequest.objectScopeSearchRequest(dn));
+      observation.stop(observer, response, null);
       return response.isSuccess();
 
     } catch (LdapException e) {
+      observation.stop(observer, null, e);
       errorHandler.handleError(e);
       return false;
     }
@@ -235,6 +328,8 @@ public class LdaptiveTemplate implements LdaptiveOperations, Cloneable {
 
     String dn = entryMapper.mapDn(domainObject);
     SearchResponse searchResponse = execute(
+        OperationType.SEARCH,
+        dn,
         SearchOperation.builder()
             .factory(getConnectionFactory())
             .throwIf(result -> result.getResultCode() != ResultCode.NO_SUCH_OBJECT
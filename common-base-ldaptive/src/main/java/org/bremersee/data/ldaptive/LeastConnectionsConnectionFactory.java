@@ -0,0 +1,148 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.ldaptive.Connection;
+import org.ldaptive.ConnectionConfig;
+import org.ldaptive.ConnectionFactory;
+import org.ldaptive.PooledConnectionFactory;
+import org.springframework.util.Assert;
+
+/**
+ * A connection factory, that balances the connections over several connection pools (normally one per ldap server).
+ * Every connection is taken from the pool with the fewest active connections. A pool, that fails to provide a
+ * connection, is excluded for the exclusion duration; if all pools are excluded, all of them are tried again.
+ *
+ * @author Christian Bremer
+ */
+@Slf4j
+@ToString(of = {"delegates", "exclusionDuration"})
+public class LeastConnectionsConnectionFactory implements ConnectionFactory {
+
+  private final List<PooledConnectionFactory> delegates;
+
+  private final Duration exclusionDuration;
+
+  private final Map<PooledConnectionFactory, Long> excludedUntil = new ConcurrentHashMap<>();
+
+  /**
+   * Instantiates a new least connections connection factory.
+   *
+   * @param delegates the connection pools
+   * @param exclusionDuration the duration, a failed pool is excluded
+   */
+  public LeastConnectionsConnectionFactory(List<PooledConnectionFactory> delegates, Duration exclusionDuration) {
+    Assert.notEmpty(delegates, "Connection pools must not be empty.");
+    Assert.notNull(exclusionDuration, "Exclusion duration must not be null.");
+    this.delegates = Collections.unmodifiableList(new ArrayList<>(delegates));
+    this.exclusionDuration = exclusionDuration;
+  }
+
+  /**
+   * Gets the connection pools.
+   *
+   * @return the connection pools
+   */
+  public List<PooledConnectionFactory> getDelegates() {
+    return delegates;
+  }
+
+  /**
+   * Returns the connection config of the first pool.
+   *
+   * @return the connection config of the first pool
+   */
+  @Override
+  public ConnectionConfig getConnectionConfig() {
+    return delegates.get(0).getConnectionConfig();
+  }
+
+  @Override
+  public Connection getConnection() {
+    List<PooledConnectionFactory> candidates = candidates();
+    RuntimeException error = null;
+    for (PooledConnectionFactory candidate : candidates) {
+      try {
+        Connection connection = candidate.getConnection();
+        excludedUntil.remove(candidate);
+        return connection;
+
+      } catch (RuntimeException e) {
+        log.warn("Getting connection from {} failed, excluding it for {}.",
+            candidate.getConnectionConfig().getLdapUrl(), exclusionDuration, e);
+        excludedUntil.put(candidate, System.currentTimeMillis() + exclusionDuration.toMillis());
+        error = e;
+      }
+    }
+    throw error;
+  }
+
+  /**
+   * Gets the pools, that are not excluded, ordered by their number of active connections. If all pools are
+   * excluded, all pools are returned.
+   *
+   * @return the candidates
+   */
+  List<PooledConnectionFactory> candidates() {
+    long now = System.currentTimeMillis();
+    List<PooledConnectionFactory> candidates = new ArrayList<>(delegates.size());
+    for (PooledConnectionFactory delegate : delegates) {
+      Long until = excludedUntil.get(delegate);
+      if (until == null || until <= now) {
+        candidates.add(delegate);
+      }
+    }
+    if (candidates.isEmpty()) {
+      candidates.addAll(delegates);
+    }
+    candidates.sort(Comparator.comparingInt(PooledConnectionFactory::activeCount));
+    return candidates;
+  }
+
+  /**
+   * Gets the number of connections, that are checked out of all pools.
+   *
+   * @return the number of active connections
+   */
+  public int activeCount() {
+    return delegates.stream().mapToInt(PooledConnectionFactory::activeCount).sum();
+  }
+
+  /**
+   * Gets the number of idle connections of all pools.
+   *
+   * @return the number of available connections
+   */
+  public int availableCount() {
+    return delegates.stream().mapToInt(PooledConnectionFactory::availableCount).sum();
+  }
+
+  @Override
+  public void close() {
+    delegates.forEach(PooledConnectionFactory::close);
+  }
+
+}
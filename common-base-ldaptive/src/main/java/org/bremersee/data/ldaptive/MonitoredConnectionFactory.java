@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.ldaptive.Connection;
+import org.ldaptive.ConnectionConfig;
+import org.ldaptive.ConnectionFactory;
+import org.ldaptive.PooledConnectionFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * A connection factory, that records the wait time of every connection checkout in the pool statistics and exposes
+ * the state of the pool, if the delegate is a {@link PooledConnectionFactory} or a
+ * {@link LeastConnectionsConnectionFactory}.
+ *
+ * @author Christian Bremer
+ */
+@ToString(of = {"delegate"})
+public class MonitoredConnectionFactory implements ConnectionFactory {
+
+  @Getter
+  private final ConnectionFactory delegate;
+
+  @Getter
+  private final LdaptivePoolStatistics statistics;
+
+  /**
+   * Instantiates a new monitored connection factory.
+   *
+   * @param delegate the delegate
+   * @param statistics the statistics
+   */
+  public MonitoredConnectionFactory(ConnectionFactory delegate, LdaptivePoolStatistics statistics) {
+    Assert.notNull(delegate, "Connection factory must not be null.");
+    Assert.notNull(statistics, "Statistics must not be null.");
+    this.delegate = delegate;
+    this.statistics = statistics;
+  }
+
+  @Override
+  public ConnectionConfig getConnectionConfig() {
+    return delegate.getConnectionConfig();
+  }
+
+  @Override
+  public Connection getConnection() {
+    long start = System.nanoTime();
+    boolean success = false;
+    try {
+      Connection connection = delegate.getConnection();
+      success = true;
+      return connection;
+
+    } finally {
+      statistics.recordCheckout(System.nanoTime() - start, success);
+    }
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  /**
+   * Gets the number of connections, that are checked out of the pool.
+   *
+   * @return the number of active connections or {@code null}, if the delegate is not pooled
+   */
+  @Nullable
+  public Integer getActiveCount() {
+    if (delegate instanceof PooledConnectionFactory) {
+      return ((PooledConnectionFactory) delegate).activeCount();
+    }
+    if (delegate instanceof LeastConnectionsConnectionFactory) {
+      return ((LeastConnectionsConnectionFactory) delegate).activeCount();
+    }
+    return null;
+  }
+
+  /**
+   * Gets the number of idle connections in the pool.
+   *
+   * @return the number of available connections or {@code null}, if the delegate is not pooled
+   */
+  @Nullable
+  public Integer getAvailableCount() {
+    if (delegate instanceof PooledConnectionFactory) {
+      return ((PooledConnectionFactory) delegate).availableCount();
+    }
+    if (delegate instanceof LeastConnectionsConnectionFactory) {
+      return ((LeastConnectionsConnectionFactory) delegate).availableCount();
+    }
+    return null;
+  }
+
+}
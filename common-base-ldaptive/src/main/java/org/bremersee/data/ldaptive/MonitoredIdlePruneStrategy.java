@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive;
+
+import java.time.Duration;
+import org.ldaptive.pool.IdlePruneStrategy;
+import org.ldaptive.pool.PooledConnectionProxy;
+
+/**
+ * An idle prune strategy, that records every pruned connection in the pool statistics.
+ *
+ * @author Christian Bremer
+ */
+public class MonitoredIdlePruneStrategy extends IdlePruneStrategy {
+
+  private final LdaptivePoolStatistics statistics;
+
+  /**
+   * Instantiates a new monitored idle prune strategy.
+   *
+   * @param period the prune period
+   * @param idle the idle time
+   * @param statistics the statistics
+   */
+  public MonitoredIdlePruneStrategy(Duration period, Duration idle, LdaptivePoolStatistics statistics) {
+    super(period, idle);
+    this.statistics = statistics;
+  }
+
+  @Override
+  public Boolean apply(PooledConnectionProxy connection) {
+    Boolean prune = super.apply(connection);
+    if (Boolean.TRUE.equals(prune)) {
+      statistics.recordPrune();
+    }
+    return prune;
+  }
+
+}
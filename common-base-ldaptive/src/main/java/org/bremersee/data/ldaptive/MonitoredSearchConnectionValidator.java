@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive;
+
+import java.time.Duration;
+import org.ldaptive.Connection;
+import org.ldaptive.SearchConnectionValidator;
+import org.ldaptive.SearchRequest;
+
+/**
+ * A search connection validator, that records every validation in the pool statistics.
+ *
+ * @author Christian Bremer
+ */
+public class MonitoredSearchConnectionValidator extends SearchConnectionValidator {
+
+  private final LdaptivePoolStatistics statistics;
+
+  /**
+   * Instantiates a new monitored search connection validator.
+   *
+   * @param period the validation period
+   * @param timeout the validation timeout
+   * @param searchRequest the search request
+   * @param statistics the statistics
+   */
+  public MonitoredSearchConnectionValidator(
+      Duration period,
+      Duration timeout,
+      SearchRequest searchRequest,
+      LdaptivePoolStatistics statistics) {
+    super(period, timeout, searchRequest);
+    this.statistics = statistics;
+  }
+
+  @Override
+  public Boolean apply(Connection connection) {
+    Boolean valid = super.apply(connection);
+    statistics.recordValidation(Boolean.TRUE.equals(valid));
+    return valid;
+  }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.ldaptive.transcode.ValueTranscoder;
+
+/**
+ * Maps a field of a domain class, that is annotated with {@link LdaptiveEntry}, to an ldap attribute.
+ *
+ * <p>Fields, that are not private, are accessed directly by the generated mapper, otherwise the getter and setter
+ * are used. Single values and {@link java.util.Collection}, {@link java.util.List} or {@link java.util.Set} of values
+ * of type {@code String}, {@code Boolean}, {@code Short}, {@code Integer}, {@code Long}, {@code Float},
+ * {@code Double}, {@code BigInteger}, {@code UUID}, {@code ZonedDateTime} (generalized time) and {@code byte[]} are
+ * supported out of the box; other types require a {@link #transcoder()}.
+ *
+ * @author Christian Bremer
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface LdaptiveAttribute {
+
+  /**
+   * The name of the ldap attribute. If it is empty, the name of the field is used.
+   *
+   * @return the name of the ldap attribute
+   */
+  String value() default "";
+
+  /**
+   * Specifies whether this attribute is the relative distinguished name.
+   *
+   * @return {@code true} if this attribute is the relative distinguished name, otherwise {@code false}
+   */
+  boolean rdn() default false;
+
+  /**
+   * Specifies whether the attribute is binary. Attributes of type {@code byte[]} are always binary.
+   *
+   * @return {@code true} if the attribute is binary, otherwise {@code false}
+   */
+  boolean binary() default false;
+
+  /**
+   * Specifies whether the attribute is only read from the ldap entry and never written (like operational
+   * attributes).
+   *
+   * @return {@code true} if the attribute is read only, otherwise {@code false}
+   */
+  boolean readOnly() default false;
+
+  /**
+   * Specifies whether the modifications of a multi valued attribute are computed as delta (see {@link
+   * org.bremersee.data.ldaptive.LdaptiveEntryMapper#setAttributesByDelta}) instead of replacing all values.
+   *
+   * @return {@code true} if the modifications are computed as delta, otherwise {@code false}
+   */
+  boolean delta() default false;
+
+  /**
+   * The value transcoder. It must have a public no-argument constructor. The default ({@link ValueTranscoder}
+   * itself) means, that the value transcoder is derived from the type of the field.
+   *
+   * @return the value transcoder class
+   */
+  @SuppressWarnings("rawtypes")
+  Class<? extends ValueTranscoder> transcoder() default ValueTranscoder.class;
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a domain class, for which the ldaptive annotation processor generates an implementation of the {@link
+ * org.bremersee.data.ldaptive.LdaptiveEntryMapper} at compile time. The generated mapper has the name of the domain
+ * class with the suffix {@code LdaptiveEntryMapper} and is placed in the same package.
+ *
+ * <p>Only fields, that are annotated with {@link LdaptiveAttribute}, are mapped. Exactly one of them must be the
+ * relative distinguished name. The domain class must have a no-argument constructor, that is not private.
+ *
+ * @author Christian Bremer
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface LdaptiveEntry {
+
+  /**
+   * The object classes of the ldap entry.
+   *
+   * @return the object classes
+   */
+  String[] objectClasses() default {};
+
+  /**
+   * The default base dn. If it is empty, the generated mapper has only a constructor with the base dn as argument.
+   *
+   * @return the base dn
+   */
+  String baseDn() default "";
+
+}
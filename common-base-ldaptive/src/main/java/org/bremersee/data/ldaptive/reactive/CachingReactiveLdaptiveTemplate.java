@@ -0,0 +1,175 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive.reactive;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+import org.bremersee.data.ldaptive.LdaptiveEntryCache;
+import org.bremersee.data.ldaptive.LdaptiveEntryMapper;
+import org.ldaptive.AddRequest;
+import org.ldaptive.BindRequest;
+import org.ldaptive.CompareRequest;
+import org.ldaptive.ConnectionFactory;
+import org.ldaptive.DeleteRequest;
+import org.ldaptive.LdapEntry;
+import org.ldaptive.ModifyDnRequest;
+import org.ldaptive.ModifyRequest;
+import org.ldaptive.Result;
+import org.ldaptive.SearchRequest;
+import org.ldaptive.control.util.CookieManager;
+import org.ldaptive.extended.ExtendedRequest;
+import org.ldaptive.extended.ExtendedResponse;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The caching reactive ldaptive template decorates other reactive ldaptive operations with a read through {@link
+ * LdaptiveEntryCache}. Object scope searches are answered from the cache, all write operations that are executed by
+ * this template evict the affected entries. Within the replication delay of the cache after a write, the written
+ * entry is read with the primary connection factory of a {@link ReactiveLdaptiveTemplate} delegate and it is not
+ * cached.
+ *
+ * @author Christian Bremer
+ */
+@ToString
+public class CachingReactiveLdaptiveTemplate implements ReactiveLdaptiveOperations {
+
+  @Getter(AccessLevel.PROTECTED)
+  private final ReactiveLdaptiveOperations delegate;
+
+  @Getter
+  private final LdaptiveEntryCache cache;
+
+  /**
+   * Instantiates a new caching reactive ldaptive template.
+   *
+   * @param delegate the reactive ldaptive operations that will be decorated
+   * @param cache the entry cache
+   */
+  public CachingReactiveLdaptiveTemplate(ReactiveLdaptiveOperations delegate, LdaptiveEntryCache cache) {
+    Assert.notNull(delegate, "Reactive ldaptive operations must not be null.");
+    Assert.notNull(cache, "Entry cache must not be null.");
+    this.delegate = delegate;
+    this.cache = cache;
+  }
+
+  @Override
+  public ConnectionFactory getConnectionFactory() {
+    return delegate.getConnectionFactory();
+  }
+
+  @Override
+  public Mono<Result> add(AddRequest addRequest) {
+    return delegate.add(addRequest)
+        .doFinally(signalType -> cache.evict(addRequest.getDn()));
+  }
+
+  @Override
+  public Mono<Boolean> bind(BindRequest bindRequest) {
+    return delegate.bind(bindRequest);
+  }
+
+  @Override
+  public Mono<Boolean> compare(CompareRequest compareRequest) {
+    return Mono.defer(() -> cache.isRecentlyEvicted(compareRequest.getDn())
+        ? primary().compare(compareRequest)
+        : delegate.compare(compareRequest));
+  }
+
+  @Override
+  public Mono<Result> delete(DeleteRequest deleteRequest) {
+    return delegate.delete(deleteRequest)
+        .doFinally(signalType -> cache.evict(deleteRequest.getDn()));
+  }
+
+  @Override
+  public Mono<ExtendedResponse> executeExtension(ExtendedRequest request) {
+    return delegate.executeExtension(request);
+  }
+
+  @Override
+  public Mono<Result> modify(ModifyRequest modifyRequest) {
+    return delegate.modify(modifyRequest)
+        .doFinally(signalType -> cache.evict(modifyRequest.getDn()));
+  }
+
+  @Override
+  public Mono<Result> modifyDn(ModifyDnRequest modifyDnRequest) {
+    return delegate.modifyDn(modifyDnRequest)
+        .doFinally(signalType -> cache.evict(modifyDnRequest.getOldDn()));
+  }
+
+  @Override
+  public Mono<LdapEntry> findOne(SearchRequest searchRequest) {
+    if (!LdaptiveEntryCache.isCacheable(searchRequest)) {
+      return delegate.findOne(searchRequest);
+    }
+    return Mono.defer(() -> {
+      if (cache.isRecentlyEvicted(searchRequest.getBaseDn())) {
+        return primary().findOne(searchRequest);
+      }
+      return cache.get(searchRequest.getBaseDn(), searchRequest.getReturnAttributes())
+          .map(Mono::just)
+          .orElseGet(() -> {
+            long generation = cache.generation();
+            return delegate.findOne(searchRequest)
+                .doOnNext(entry -> cache.put(searchRequest.getReturnAttributes(), entry, generation));
+          });
+    });
+  }
+
+  @Override
+  public Flux<LdapEntry> findAll(SearchRequest searchRequest) {
+    if (!LdaptiveEntryCache.isCacheable(searchRequest)) {
+      return delegate.findAll(searchRequest);
+    }
+    return findOne(searchRequest).flux();
+  }
+
+  @Override
+  public Flux<LdapEntry> syncChanges(SearchRequest searchRequest, CookieManager cookieManager) {
+    return delegate.syncChanges(searchRequest, cookieManager)
+        .doOnNext(ldapEntry -> cache.evict(ldapEntry.getDn()));
+  }
+
+  @Override
+  public Flux<LdapEntry> persistentSearch(SearchRequest searchRequest, boolean changesOnly) {
+    return delegate.persistentSearch(searchRequest, changesOnly)
+        .doOnNext(ldapEntry -> cache.evict(ldapEntry.getDn()));
+  }
+
+  /**
+   * Gets the operations, that read from the primary server. These are the operations of the primary connection
+   * factory of a {@link ReactiveLdaptiveTemplate} delegate, otherwise the delegate itself.
+   *
+   * @return the operations, that read from the primary server
+   */
+  protected ReactiveLdaptiveOperations primary() {
+    return delegate instanceof ReactiveLdaptiveTemplate ? ((ReactiveLdaptiveTemplate) delegate).primary() : delegate;
+  }
+
+  @Override
+  public <T> Mono<T> save(T domainObject, LdaptiveEntryMapper<T> entryMapper) {
+    // The modifications must be computed against the current entry of the server, so the lookup is not cached.
+    String dn = entryMapper.mapDn(domainObject);
+    return delegate.save(domainObject, entryMapper)
+        .doFinally(signalType -> cache.evict(dn));
+  }
+
+}
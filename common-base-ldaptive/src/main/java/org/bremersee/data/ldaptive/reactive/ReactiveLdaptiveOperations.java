@@ -1,10 +1,16 @@
 package org.bremersee.data.ldaptive.reactive;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import javax.validation.constraints.NotNull;
+import org.bremersee.data.ldaptive.DnBatch;
 import org.bremersee.data.ldaptive.LdaptiveEntryMapper;
 import org.ldaptive.AddRequest;
 import org.ldaptive.BindRequest;
@@ -15,7 +21,9 @@ import org.ldaptive.LdapEntry;
 import org.ldaptive.ModifyDnRequest;
 import org.ldaptive.ModifyRequest;
 import org.ldaptive.Result;
+import org.ldaptive.ReturnAttributes;
 import org.ldaptive.SearchRequest;
+import org.ldaptive.control.util.CookieManager;
 import org.ldaptive.extended.ExtendedRequest;
 import org.ldaptive.extended.ExtendedResponse;
 import org.ldaptive.extended.PasswordModifyRequest;
@@ -165,6 +173,41 @@ public interface ReactiveLdaptiveOperations {
         .map(ldapEntry -> Objects.requireNonNull(entryMapper.map(ldapEntry)));
   }
 
+  /**
+   * Listens for the changes of the entries, that are found by the search request, with content synchronization
+   * (syncrepl, RFC 4533) in refresh and persist mode. The flux emits the entries of the initial refresh (only the
+   * changes since the cookie, if the cookie manager has one) and then every change. The sync state control of an
+   * entry tells whether it was added, modified, deleted or is present.
+   *
+   * <p>The flux does not complete. If the connection is lost, the search is started again with backoff and resumes
+   * with the last cookie of the cookie manager. The search holds one connection of the connection factory as long as
+   * the flux is subscribed. The default implementation emits an {@link UnsupportedOperationException}.
+   *
+   * @param searchRequest the search request
+   * @param cookieManager the cookie manager, that stores the resume cookie
+   * @return the flux of changed entries
+   */
+  default Flux<LdapEntry> syncChanges(@NotNull SearchRequest searchRequest, @NotNull CookieManager cookieManager) {
+    return Flux.error(new UnsupportedOperationException("Content synchronization is not supported."));
+  }
+
+  /**
+   * Listens for the changes of the entries, that are found by the search request, with a persistent search. The
+   * entry change notification control of an entry tells the kind of change. Persistent searches can not be resumed,
+   * so changes, that happen while the connection is lost, are missed.
+   *
+   * <p>The flux does not complete. If the connection is lost, the search is started again with backoff. The search
+   * holds one connection of the connection factory as long as the flux is subscribed. The default implementation
+   * emits an {@link UnsupportedOperationException}.
+   *
+   * @param searchRequest the search request
+   * @param changesOnly specifies whether only changes should be returned or the found entries, too
+   * @return the flux of changed entries
+   */
+  default Flux<LdapEntry> persistentSearch(@NotNull SearchRequest searchRequest, boolean changesOnly) {
+    return Flux.error(new UnsupportedOperationException("Persistent search is not supported."));
+  }
+
   /**
    * Exists.
    *
@@ -194,6 +237,53 @@ public interface ReactiveLdaptiveOperations {
     return exists(entryMapper.mapDn(domainObject));
   }
 
+  /**
+   * Checks the existence of all given distinguished names. The distinguished names are grouped by their parent and
+   * every group is looked up with one search (see {@link DnBatch}); up to {@link DnBatch#DEFAULT_CONCURRENCY}
+   * searches are executed concurrently.
+   *
+   * @param dns the distinguished names
+   * @return the existence by distinguished name (in the order of the given distinguished names)
+   */
+  default Mono<Map<String, Boolean>> existsAll(@Nullable Collection<String> dns) {
+    return Flux.fromIterable(DnBatch.of(dns, DnBatch.DEFAULT_MAX_SIZE))
+        .flatMap(batch -> findAll(batch.toSearchRequest(ReturnAttributes.NONE.value()))
+                .flatMapIterable(entry -> batch.getRequestedDns(entry.getDn())),
+            DnBatch.DEFAULT_CONCURRENCY)
+        .collect(Collectors.toSet())
+        .map(foundDns -> DnBatch.toExistsMap(dns, foundDns));
+  }
+
+  /**
+   * Finds all entries of the given distinguished names. The distinguished names are grouped by their parent and every
+   * group is looked up with one search (see {@link DnBatch}); up to {@link DnBatch#DEFAULT_CONCURRENCY} searches are
+   * executed concurrently.
+   *
+   * @param <T> the type of the domain object
+   * @param dns the distinguished names
+   * @param entryMapper the entry mapper
+   * @return the domain objects by distinguished name (in the order of the given distinguished names without the
+   *     ones, that do not exist)
+   */
+  default <T> Mono<Map<String, T>> findAllByDn(
+      @Nullable Collection<String> dns,
+      @NotNull LdaptiveEntryMapper<T> entryMapper) {
+    return Flux.fromIterable(DnBatch.of(dns, DnBatch.DEFAULT_MAX_SIZE))
+        .flatMap(batch -> findAll(batch.toSearchRequest())
+                .flatMapIterable(entry -> {
+                  T domainObject = entryMapper.map(entry);
+                  List<Map.Entry<String, T>> found = new ArrayList<>();
+                  if (domainObject != null) {
+                    batch.getRequestedDns(entry.getDn())
+                        .forEach(dn -> found.add(new SimpleImmutableEntry<>(dn, domainObject)));
+                  }
+                  return found;
+                }),
+            DnBatch.DEFAULT_CONCURRENCY)
+        .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+        .map(found -> DnBatch.toResultMap(dns, found));
+  }
+
   /**
    * Save.
    *
@@ -2,13 +2,20 @@ package org.bremersee.data.ldaptive.reactive;
 
 import static org.ldaptive.handler.ResultPredicate.NOT_SUCCESS;
 
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
 import org.bremersee.data.ldaptive.DefaultLdaptiveErrorHandler;
 import org.bremersee.data.ldaptive.LdaptiveEntryMapper;
 import org.bremersee.data.ldaptive.LdaptiveErrorHandler;
+import org.bremersee.data.ldaptive.LdaptiveObservation;
+import org.bremersee.data.ldaptive.LdaptiveObservation.OperationType;
+import org.bremersee.data.ldaptive.LdaptiveObserver;
 import org.bremersee.data.ldaptive.LdaptiveTemplate;
 import org.bremersee.exception.ServiceException;
 import org.ldaptive.AddOperation;
@@ -30,15 +37,28 @@ import org.ldaptive.ModifyRequest;
 import org.ldaptive.Result;
 import org.ldaptive.ResultCode;
 import org.ldaptive.SearchOperation;
+import org.ldaptive.SearchOperationHandle;
 import org.ldaptive.SearchRequest;
+import org.ldaptive.control.PersistentSearchChangeType;
+import org.ldaptive.control.PersistentSearchRequestControl;
+import org.ldaptive.control.SyncDoneControl;
+import org.ldaptive.control.SyncRequestControl;
+import org.ldaptive.control.SyncStateControl;
+import org.ldaptive.control.util.CookieManager;
 import org.ldaptive.extended.ExtendedOperation;
 import org.ldaptive.extended.ExtendedRequest;
 import org.ldaptive.extended.ExtendedResponse;
+import org.ldaptive.extended.IntermediateResponse;
+import org.ldaptive.extended.SyncInfoMessage;
+import org.ldaptive.handler.ExceptionHandler;
+import org.ldaptive.handler.IntermediateResponseHandler;
+import org.ldaptive.handler.LdapEntryHandler;
 import org.ldaptive.handler.ResultHandler;
 import org.ldaptive.handler.ResultPredicate;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 /**
  * The reactive ldaptive template.
@@ -57,17 +77,45 @@ public class ReactiveLdaptiveTemplate implements ReactiveLdaptiveOperations, Clo
 
   private static final ResultPredicate NOT_FIND_RESULT = NOT_DELETE_RESULT;
 
+  private static final Set<ResultCode> RECONNECTABLE_RESULT_CODES = EnumSet.of(
+      ResultCode.BUSY,
+      ResultCode.UNAVAILABLE,
+      ResultCode.SERVER_DOWN,
+      ResultCode.CONNECT_ERROR,
+      ResultCode.E_SYNC_REFRESH_REQUIRED);
+
   private final ConnectionFactory connectionFactory;
 
+  private final ConnectionFactory readConnectionFactory;
+
   private LdaptiveErrorHandler errorHandler = new DefaultLdaptiveErrorHandler();
 
+  private LdaptiveObserver observer = LdaptiveObserver.NONE;
+
+  private Duration changeFeedMinBackoff = Duration.ofSeconds(1L);
+
+  private Duration changeFeedMaxBackoff = Duration.ofMinutes(1L);
+
   /**
    * Instantiates a new Reactive ldaptive template.
    *
    * @param connectionFactory the connection factory
    */
   public ReactiveLdaptiveTemplate(ConnectionFactory connectionFactory) {
+    this(connectionFactory, null);
+  }
+
+  /**
+   * Instantiates a new reactive ldaptive template with a separate connection factory for searches and compare
+   * operations (for example of read only replicas). All other operations are executed with the (primary) connection
+   * factory.
+   *
+   * @param connectionFactory the (primary) connection factory
+   * @param readConnectionFactory the read connection factory (can be {@code null})
+   */
+  public ReactiveLdaptiveTemplate(ConnectionFactory connectionFactory, ConnectionFactory readConnectionFactory) {
     this.connectionFactory = connectionFactory;
+    this.readConnectionFactory = readConnectionFactory != null ? readConnectionFactory : connectionFactory;
   }
 
   @Override
@@ -75,6 +123,15 @@ public class ReactiveLdaptiveTemplate implements ReactiveLdaptiveOperations, Clo
     return connectionFactory;
   }
 
+  /**
+   * Gets the connection factory, that is used for searches and compare operations.
+   *
+   * @return the read connection factory
+   */
+  public ConnectionFactory getReadConnectionFactory() {
+    return readConnectionFactory;
+  }
+
   /**
    * Sets error handler.
    *
@@ -87,7 +144,43 @@ public class ReactiveLdaptiveTemplate implements ReactiveLdaptiveOperations, Clo
   }
 
   /**
-   * Returns a new instance of this ldaptive template with the same connection factory and error handler.
+   * Sets the observer, that is notified after every operation.
+   *
+   * @param observer the observer
+   */
+  public void setObserver(LdaptiveObserver observer) {
+    if (observer != null) {
+      this.observer = observer;
+    }
+  }
+
+  /**
+   * Gets the observer.
+   *
+   * @return the observer
+   */
+  public LdaptiveObserver getObserver() {
+    return observer;
+  }
+
+  /**
+   * Sets the backoff of the change feeds ({@link #syncChanges(SearchRequest, CookieManager)} and {@link
+   * #persistentSearch(SearchRequest, boolean)}), that is used to restart the search after the connection is lost.
+   *
+   * @param minBackoff the min backoff (default is one second)
+   * @param maxBackoff the max backoff (default is one minute)
+   */
+  public void setChangeFeedBackoff(Duration minBackoff, Duration maxBackoff) {
+    if (minBackoff != null && !minBackoff.isNegative() && !minBackoff.isZero()) {
+      this.changeFeedMinBackoff = minBackoff;
+    }
+    if (maxBackoff != null && maxBackoff.compareTo(this.changeFeedMinBackoff) >= 0) {
+      this.changeFeedMaxBackoff = maxBackoff;
+    }
+  }
+
+  /**
+   * Returns a new instance of this ldaptive template with the same connection factories and error handler.
    *
    * @return a new instance of this ldaptive template
    */
@@ -98,29 +191,68 @@ public class ReactiveLdaptiveTemplate implements ReactiveLdaptiveOperations, Clo
   }
 
   /**
-   * Returns a new instance of this ldaptive template with the same connection factory and the given error handler.
+   * Returns a new instance of this ldaptive template with the same connection factories and observer and the given
+   * error handler.
    *
    * @param errorHandler the new error handler
    * @return the new instance of the ldaptive template
    */
   public ReactiveLdaptiveTemplate clone(final LdaptiveErrorHandler errorHandler) {
+    final ReactiveLdaptiveTemplate template = new ReactiveLdaptiveTemplate(connectionFactory, readConnectionFactory);
+    template.setErrorHandler(errorHandler);
+    template.setObserver(observer);
+    template.setChangeFeedBackoff(changeFeedMinBackoff, changeFeedMaxBackoff);
+    return template;
+  }
+
+  /**
+   * Returns an instance of this ldaptive template with the same error handler and observer, that executes all
+   * operations (also searches and compare operations) with the primary connection factory. If there is no separate
+   * read connection factory, this template is returned.
+   *
+   * @return the ldaptive template of the primary connection factory
+   */
+  public ReactiveLdaptiveTemplate primary() {
+    if (readConnectionFactory == connectionFactory) {
+      return this;
+    }
     final ReactiveLdaptiveTemplate template = new ReactiveLdaptiveTemplate(connectionFactory);
     template.setErrorHandler(errorHandler);
+    template.setObserver(observer);
+    template.setChangeFeedBackoff(changeFeedMinBackoff, changeFeedMaxBackoff);
     return template;
   }
 
+  private ResultHandler observeResult(LdaptiveObservation observation, ResultHandler resultHandler) {
+    return result -> {
+      observation.stop(observer, result, null);
+      resultHandler.accept(result);
+    };
+  }
+
+  private ExceptionHandler observeException(LdaptiveObservation observation, ExceptionHandler exceptionHandler) {
+    return ldapException -> {
+      observation.stop(observer, null, ldapException);
+      exceptionHandler.accept(ldapException);
+    };
+  }
+
   @Override
   public Mono<Result> add(AddRequest addRequest) {
     CompletableFuture<Result> future = new CompletableFuture<>();
+    LdaptiveObservation observation = LdaptiveObservation.start(OperationType.ADD, addRequest.getDn());
     try {
       AddOperation.builder()
           .factory(connectionFactory)
-          .onResult(new FutureAwareResultHandler<>(future, NOT_SUCCESS, errorHandler, r -> r))
-          .onException(ldapException -> future.completeExceptionally(errorHandler.map(ldapException)))
+          .onResult(observeResult(observation,
+              new FutureAwareResultHandler<>(future, NOT_SUCCESS, errorHandler, r -> r)))
+          .onException(observeException(observation,
+              ldapException -> future.completeExceptionally(errorHandler.map(ldapException))))
           .build()
           .send(addRequest);
 
     } catch (LdapException e) {
+      observation.stop(observer, null, e);
       future.completeExceptionally(errorHandler.map(e));
     }
     return Mono.fromFuture(future);
@@ -149,22 +281,27 @@ public class ReactiveLdaptiveTemplate implements ReactiveLdaptiveOperations, Clo
     // Bind requests are synchronous
     LdaptiveTemplate template = new LdaptiveTemplate(getConnectionFactory());
     template.setErrorHandler(errorHandler);
+    template.setObserver(observer);
     return Mono.just(template.bind(bindRequest));
   }
 
   @Override
   public Mono<Boolean> compare(CompareRequest compareRequest) {
     CompletableFuture<Boolean> future = new CompletableFuture<>();
+    LdaptiveObservation observation = LdaptiveObservation.start(OperationType.COMPARE, compareRequest.getDn());
     try {
       CompareOperation.builder()
-          .factory(connectionFactory)
+          .factory(readConnectionFactory)
           .onCompare(future::complete) // this will be only called, if the result is COMPARE_TRUE or COMPARE_FALSE
-          .onResult(new FutureAwareResultHandler<>(future, NOT_COMPARE_RESULT, errorHandler, Result::isSuccess))
-          .onException(ldapException -> future.completeExceptionally(errorHandler.map(ldapException)))
+          .onResult(observeResult(observation,
+              new FutureAwareResultHandler<>(future, NOT_COMPARE_RESULT, errorHandler, Result::isSuccess)))
+          .onException(observeException(observation,
+              ldapException -> future.completeExceptionally(errorHandler.map(ldapException))))
           .build()
           .send(compareRequest);
 
     } catch (LdapException e) {
+      observation.stop(observer, null, e);
       future.completeExceptionally(errorHandler.map(e));
     }
     return Mono.fromFuture(future);
@@ -173,16 +310,20 @@ public class ReactiveLdaptiveTemplate implements ReactiveLdaptiveOperations, Clo
   @Override
   public Mono<Result> delete(DeleteRequest deleteRequest) {
     CompletableFuture<Result> future = new CompletableFuture<>();
+    LdaptiveObservation observation = LdaptiveObservation.start(OperationType.DELETE, deleteRequest.getDn());
     try {
       DeleteOperation.builder()
           .factory(connectionFactory)
-          .onResult(new FutureAwareResultHandler<>(future, NOT_DELETE_RESULT, errorHandler, r -> r))
-          .onException(ldapException -> future.completeExceptionally(errorHandler.map(ldapException)))
+          .onResult(observeResult(observation,
+              new FutureAwareResultHandler<>(future, NOT_DELETE_RESULT, errorHandler, r -> r)))
+          .onException(observeException(observation,
+              ldapException -> future.completeExceptionally(errorHandler.map(ldapException))))
           .build()
           .send(deleteRequest)
           .await();
 
     } catch (LdapException e) {
+      observation.stop(observer, null, e);
       future.completeExceptionally(errorHandler.map(e));
     }
     return Mono.fromFuture(future);
@@ -192,6 +333,7 @@ public class ReactiveLdaptiveTemplate implements ReactiveLdaptiveOperations, Clo
   public Mono<ExtendedResponse> executeExtension(ExtendedRequest request) {
 
     CompletableFuture<ExtendedResponse> future = new CompletableFuture<>();
+    LdaptiveObservation observation = LdaptiveObservation.start(OperationType.EXTENDED, null);
     try {
       ExtendedOperation.builder()
           .factory(connectionFactory)
@@ -200,16 +342,18 @@ public class ReactiveLdaptiveTemplate implements ReactiveLdaptiveOperations, Clo
               .responseValue(value)
               .resultCode(ResultCode.SUCCESS)
               .build()))
-          .onResult(new FutureAwareResultHandler<>(
+          .onResult(observeResult(observation, new FutureAwareResultHandler<>(
               future,
               NOT_SUCCESS,
               errorHandler,
-              r -> ExtendedResponse.builder().resultCode(r.getResultCode()).build()))
-          .onException(ldapException -> future.completeExceptionally(errorHandler.map(ldapException)))
+              r -> ExtendedResponse.builder().resultCode(r.getResultCode()).build())))
+          .onException(observeException(observation,
+              ldapException -> future.completeExceptionally(errorHandler.map(ldapException))))
           .build()
           .send(request);
 
     } catch (LdapException e) {
+      observation.stop(observer, null, e);
       future.completeExceptionally(errorHandler.map(e));
     }
     return Mono.fromFuture(future);
@@ -218,15 +362,19 @@ public class ReactiveLdaptiveTemplate implements ReactiveLdaptiveOperations, Clo
   @Override
   public Mono<Result> modify(ModifyRequest modifyRequest) {
     CompletableFuture<Result> future = new CompletableFuture<>();
+    LdaptiveObservation observation = LdaptiveObservation.start(OperationType.MODIFY, modifyRequest.getDn());
     try {
       ModifyOperation.builder()
           .factory(connectionFactory)
-          .onResult(new FutureAwareResultHandler<>(future, NOT_SUCCESS, errorHandler, r -> r))
-          .onException(ldapException -> future.completeExceptionally(errorHandler.map(ldapException)))
+          .onResult(observeResult(observation,
+              new FutureAwareResultHandler<>(future, NOT_SUCCESS, errorHandler, r -> r)))
+          .onException(observeException(observation,
+              ldapException -> future.completeExceptionally(errorHandler.map(ldapException))))
           .build()
           .send(modifyRequest);
 
     } catch (LdapException e) {
+      observation.stop(observer, null, e);
       future.completeExceptionally(errorHandler.map(e));
     }
     return Mono.fromFuture(future);
@@ -242,15 +390,19 @@ public class ReactiveLdaptiveTemplate implements ReactiveLdaptiveOperations, Clo
   @Override
   public Mono<Result> modifyDn(ModifyDnRequest modifyDnRequest) {
     CompletableFuture<Result> future = new CompletableFuture<>();
+    LdaptiveObservation observation = LdaptiveObservation.start(OperationType.MODIFY_DN, modifyDnRequest.getOldDn());
     try {
       ModifyDnOperation.builder()
           .factory(connectionFactory)
-          .onResult(new FutureAwareResultHandler<>(future, NOT_SUCCESS, errorHandler, r -> r))
-          .onException(ldapException -> future.completeExceptionally(errorHandler.map(ldapException)))
+          .onResult(observeResult(observation,
+              new FutureAwareResultHandler<>(future, NOT_SUCCESS, errorHandler, r -> r)))
+          .onException(observeException(observation,
+              ldapException -> future.completeExceptionally(errorHandler.map(ldapException))))
           .build()
           .send(modifyDnRequest);
 
     } catch (LdapException e) {
+      observation.stop(observer, null, e);
       future.completeExceptionally(errorHandler.map(e));
     }
     return Mono.fromFuture(future);
@@ -258,20 +410,29 @@ public class ReactiveLdaptiveTemplate implements ReactiveLdaptiveOperations, Clo
 
   @Override
   public Mono<LdapEntry> findOne(SearchRequest searchRequest) {
+    return findOne(searchRequest, readConnectionFactory);
+  }
+
+  private Mono<LdapEntry> findOne(SearchRequest searchRequest, ConnectionFactory factory) {
     CompletableFuture<LdapEntry> future = new CompletableFuture<>();
+    LdaptiveObservation observation = LdaptiveObservation.start(OperationType.SEARCH, searchRequest.getBaseDn());
     try {
       SearchOperation.builder()
-          .factory(connectionFactory)
+          .factory(factory)
           .onEntry(ldapEntry -> {
+            observation.entry();
             future.complete(ldapEntry);
             return ldapEntry;
           })
-          .onResult(new FutureAwareResultHandler<>(future, NOT_FIND_RESULT, errorHandler, null))
-          .onException(ldapException -> future.obtrudeException(errorHandler.map(ldapException)))
+          .onResult(observeResult(observation,
+              new FutureAwareResultHandler<>(future, NOT_FIND_RESULT, errorHandler, null)))
+          .onException(observeException(observation,
+              ldapException -> future.obtrudeException(errorHandler.map(ldapException))))
           .build()
           .send(searchRequest);
 
     } catch (LdapException e) {
+      observation.stop(observer, null, e);
       future.completeExceptionally(errorHandler.map(e));
     }
     return Mono.fromFuture(future);
@@ -280,27 +441,177 @@ public class ReactiveLdaptiveTemplate implements ReactiveLdaptiveOperations, Clo
   @Override
   public Flux<LdapEntry> findAll(SearchRequest searchRequest) {
     return Flux.create((FluxSink<LdapEntry> fluxSink) -> {
+      LdaptiveObservation observation = LdaptiveObservation.start(OperationType.SEARCH, searchRequest.getBaseDn());
       try {
         SearchOperation.builder()
-            .factory(connectionFactory)
+            .factory(readConnectionFactory)
             .onEntry(ldapEntry -> {
+              observation.entry();
               fluxSink.next(ldapEntry);
               return ldapEntry;
             })
-            .onResult(new FluxSinkAwareResultHandler<>(fluxSink, NOT_FIND_RESULT, errorHandler))
-            .onException(ldapException -> fluxSink.error(errorHandler.map(ldapException)))
+            .onResult(observeResult(observation,
+                new FluxSinkAwareResultHandler<>(fluxSink, NOT_FIND_RESULT, errorHandler)))
+            .onException(observeException(observation,
+                ldapException -> fluxSink.error(errorHandler.map(ldapException))))
             .build()
             .send(searchRequest);
 
       } catch (LdapException e) {
+        observation.stop(observer, null, e);
         fluxSink.error(errorHandler.map(e));
       }
     });
   }
 
+  @Override
+  public Flux<LdapEntry> syncChanges(SearchRequest searchRequest, CookieManager cookieManager) {
+    return withReconnect(Flux.defer(() -> {
+      SearchRequest request = SearchRequest.copy(searchRequest);
+      request.setControls(new SyncRequestControl(
+          SyncRequestControl.Mode.REFRESH_AND_PERSIST, cookieManager.readCookie(), false, true));
+      return listen(
+          request,
+          ldapEntry -> {
+            SyncStateControl syncState = (SyncStateControl) ldapEntry.getControl(SyncStateControl.OID);
+            if (syncState != null && syncState.getCookie() != null) {
+              cookieManager.writeCookie(syncState.getCookie());
+            }
+          },
+          response -> {
+            if (response instanceof SyncInfoMessage && ((SyncInfoMessage) response).getCookie() != null) {
+              cookieManager.writeCookie(((SyncInfoMessage) response).getCookie());
+            }
+          },
+          result -> {
+            SyncDoneControl syncDone = (SyncDoneControl) result.getControl(SyncDoneControl.OID);
+            if (syncDone != null && syncDone.getCookie() != null) {
+              cookieManager.writeCookie(syncDone.getCookie());
+            }
+            if (result.getResultCode() == ResultCode.E_SYNC_REFRESH_REQUIRED) {
+              log.info("Server requires a full refresh of sync search (base dn = {}), dropping cookie.",
+                  request.getBaseDn());
+              cookieManager.writeCookie(null);
+            }
+          });
+    }));
+  }
+
+  @Override
+  public Flux<LdapEntry> persistentSearch(SearchRequest searchRequest, boolean changesOnly) {
+    return withReconnect(Flux.defer(() -> {
+      SearchRequest request = SearchRequest.copy(searchRequest);
+      request.setControls(new PersistentSearchRequestControl(
+          EnumSet.allOf(PersistentSearchChangeType.class), changesOnly, true, true));
+      return listen(request, ldapEntry -> {}, response -> {}, result -> {});
+    }));
+  }
+
+  private Flux<LdapEntry> withReconnect(Flux<LdapEntry> changeFeed) {
+    return changeFeed
+        .repeatWhen(completed -> completed.delayElements(changeFeedMinBackoff))
+        .retryWhen(Retry.backoff(Long.MAX_VALUE, changeFeedMinBackoff)
+            .maxBackoff(changeFeedMaxBackoff)
+            .transientErrors(true)
+            .filter(ReactiveLdaptiveTemplate::isReconnectable)
+            .doBeforeRetry(signal -> log.warn("Change feed failed, reconnecting (attempt = {}).",
+                signal.totalRetriesInARow() + 1, signal.failure())));
+  }
+
+  /**
+   * Determines whether the change feed should be started again after the given error. This is the case, if the
+   * connection is lost or the server is busy or if the server requires a full refresh of a content synchronization.
+   *
+   * @param throwable the error
+   * @return {@code true} if the change feed should be started again, otherwise {@code false}
+   */
+  private static boolean isReconnectable(Throwable throwable) {
+    for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+      if (cause instanceof LdapException) {
+        return RECONNECTABLE_RESULT_CODES.contains(((LdapException) cause).getResultCode());
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Executes a long living search. The entries are not collected in the search response, they are only emitted.
+   * Change feeds are not observed, because their duration and number of entries are not comparable with the ones
+   * of a search.
+   *
+   * @param searchRequest the search request with the change notification control
+   * @param entryConsumer the entry consumer, that is called before the entry is emitted
+   * @param intermediateConsumer the intermediate response consumer
+   * @param resultConsumer the result consumer, that is called before the flux is completed or terminated with an
+   *     error
+   * @return the flux of changed entries
+   */
+  private Flux<LdapEntry> listen(
+      SearchRequest searchRequest,
+      Consumer<LdapEntry> entryConsumer,
+      Consumer<IntermediateResponse> intermediateConsumer,
+      Consumer<Result> resultConsumer) {
+
+    return Flux.create((FluxSink<LdapEntry> fluxSink) -> {
+      try {
+        Runnable abandon = sendChangeFeedSearch(
+            searchRequest,
+            ldapEntry -> {
+              entryConsumer.accept(ldapEntry);
+              fluxSink.next(ldapEntry);
+              return null;
+            },
+            intermediateConsumer::accept,
+            result -> {
+              resultConsumer.accept(result);
+              if (result.isSuccess()) {
+                fluxSink.complete();
+              } else {
+                fluxSink.error(errorHandler.map(new LdapException(result)));
+              }
+            },
+            ldapException -> fluxSink.error(errorHandler.map(ldapException)));
+        fluxSink.onCancel(abandon::run);
+
+      } catch (LdapException e) {
+        fluxSink.error(errorHandler.map(e));
+      }
+    });
+  }
+
+  /**
+   * Sends the search request of a change feed with the primary connection factory.
+   *
+   * @param searchRequest the search request with the change notification control
+   * @param entryHandler the entry handler
+   * @param intermediateResponseHandler the intermediate response handler
+   * @param resultHandler the result handler
+   * @param exceptionHandler the exception handler
+   * @return the action, that abandons the search
+   * @throws LdapException if the search can not be sent
+   */
+  protected Runnable sendChangeFeedSearch(
+      SearchRequest searchRequest,
+      LdapEntryHandler entryHandler,
+      IntermediateResponseHandler intermediateResponseHandler,
+      ResultHandler resultHandler,
+      ExceptionHandler exceptionHandler) throws LdapException {
+
+    SearchOperationHandle handle = SearchOperation.builder()
+        .factory(connectionFactory)
+        .onEntry(entryHandler)
+        .onIntermediate(intermediateResponseHandler)
+        .onResult(resultHandler)
+        .onException(exceptionHandler)
+        .build()
+        .send(searchRequest);
+    return handle::abandon;
+  }
+
   @Override
   public <T> Mono<T> save(T domainObject, LdaptiveEntryMapper<T> entryMapper) {
-    return findOne(SearchRequest.objectScopeSearchRequest(entryMapper.mapDn(domainObject)))
+    // the lookup is executed with the primary connection factory, because replicas may be behind
+    return findOne(SearchRequest.objectScopeSearchRequest(entryMapper.mapDn(domainObject)), connectionFactory)
         .flatMap(entry -> modify(domainObject, entry, entryMapper))
         .switchIfEmpty(add(domainObject, entryMapper));
   }
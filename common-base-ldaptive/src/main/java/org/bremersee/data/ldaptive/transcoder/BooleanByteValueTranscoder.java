@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive.transcoder;
+
+import lombok.ToString;
+import org.ldaptive.transcode.AbstractStringValueTranscoder;
+
+/**
+ * The boolean value transcoder of the ldap boolean syntax ({@code TRUE} or {@code FALSE}), that decodes the raw
+ * attribute value directly (without creating a string). Other values are decoded to {@code null}.
+ *
+ * @author Christian Bremer
+ */
+@ToString
+public class BooleanByteValueTranscoder extends AbstractStringValueTranscoder<Boolean> {
+
+  @Override
+  public Boolean decodeStringValue(String value) {
+    if ("TRUE".equalsIgnoreCase(value)) {
+      return Boolean.TRUE;
+    }
+    if ("FALSE".equalsIgnoreCase(value)) {
+      return Boolean.FALSE;
+    }
+    return null;
+  }
+
+  @Override
+  public Boolean decodeBinaryValue(byte[] value) {
+    return ByteValueUtils.parseBoolean(value);
+  }
+
+  @Override
+  public String encodeStringValue(Boolean value) {
+    return Boolean.TRUE.equals(value) ? "TRUE" : "FALSE";
+  }
+
+  @Override
+  public byte[] encodeBinaryValue(Boolean value) {
+    return ByteValueUtils.formatBoolean(Boolean.TRUE.equals(value));
+  }
+
+  @Override
+  public Class<Boolean> getType() {
+    return Boolean.class;
+  }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive.transcoder;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Utilities to decode and encode ldap attribute values directly from and to their raw bytes without creating
+ * intermediate strings.
+ *
+ * @author Christian Bremer
+ */
+public abstract class ByteValueUtils {
+
+  private static final byte[] TRUE = "TRUE".getBytes(StandardCharsets.US_ASCII);
+
+  private static final byte[] FALSE = "FALSE".getBytes(StandardCharsets.US_ASCII);
+
+  private ByteValueUtils() {
+  }
+
+  /**
+   * Determines whether the value is {@code null}, empty or contains only white spaces.
+   *
+   * @param value the value
+   * @return {@code true} if the value is blank, otherwise {@code false}
+   */
+  public static boolean isBlank(byte[] value) {
+    if (value == null) {
+      return true;
+    }
+    for (byte b : value) {
+      if (!isWhitespace(b)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Parses an integer value, that is encoded as ascii digits (leading and trailing white spaces are ignored).
+   *
+   * @param value the value
+   * @return the integer value
+   * @throws NumberFormatException if the value is not an integer
+   */
+  public static int parseInt(byte[] value) {
+    long result = parseLong(value);
+    if (result < Integer.MIN_VALUE || result > Integer.MAX_VALUE) {
+      throw numberFormatException(value);
+    }
+    return (int) result;
+  }
+
+  /**
+   * Parses a long value, that is encoded as ascii digits (leading and trailing white spaces are ignored).
+   *
+   * @param value the value
+   * @return the long value
+   * @throws NumberFormatException if the value is not a long
+   */
+  public static long parseLong(byte[] value) {
+    if (value == null) {
+      throw new NumberFormatException("Value must not be null.");
+    }
+    int start = 0;
+    int end = value.length;
+    while (start < end && isWhitespace(value[start])) {
+      start++;
+    }
+    while (end > start && isWhitespace(value[end - 1])) {
+      end--;
+    }
+    boolean negative = false;
+    if (start < end && (value[start] == '-' || value[start] == '+')) {
+      negative = value[start] == '-';
+      start++;
+    }
+    if (start == end) {
+      throw numberFormatException(value);
+    }
+    // accumulate negatively, so that Long.MIN_VALUE can be parsed, too
+    long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+    long multiplyLimit = limit / 10L;
+    long result = 0L;
+    for (int i = start; i < end; i++) {
+      int digit = value[i] - '0';
+      if (digit < 0 || digit > 9 || result < multiplyLimit) {
+        throw numberFormatException(value);
+      }
+      result *= 10L;
+      if (result < limit + digit) {
+        throw numberFormatException(value);
+      }
+      result -= digit;
+    }
+    return negative ? result : -result;
+  }
+
+  /**
+   * Parses a boolean value of the ldap boolean syntax ({@code TRUE} or {@code FALSE}, case is ignored).
+   *
+   * @param value the value
+   * @return the boolean value or {@code null}, if the value is neither {@code TRUE} nor {@code FALSE}
+   */
+  public static Boolean parseBoolean(byte[] value) {
+    if (equalsIgnoreCase(TRUE, value)) {
+      return Boolean.TRUE;
+    }
+    if (equalsIgnoreCase(FALSE, value)) {
+      return Boolean.FALSE;
+    }
+    return null;
+  }
+
+  /**
+   * Encodes the long value as ascii digits.
+   *
+   * @param value the value
+   * @return the ascii digits
+   */
+  public static byte[] formatLong(long value) {
+    if (value == Long.MIN_VALUE) {
+      return Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+    }
+    boolean negative = value < 0L;
+    long remaining = negative ? -value : value;
+    int length = negative ? 2 : 1;
+    for (long n = remaining; n >= 10L; n /= 10L) {
+      length++;
+    }
+    byte[] result = new byte[length];
+    for (int i = length - 1; i >= (negative ? 1 : 0); i--) {
+      result[i] = (byte) ('0' + (remaining % 10L));
+      remaining /= 10L;
+    }
+    if (negative) {
+      result[0] = '-';
+    }
+    return result;
+  }
+
+  /**
+   * Encodes the boolean value of the ldap boolean syntax.
+   *
+   * @param value the value
+   * @return {@code TRUE} or {@code FALSE}
+   */
+  public static byte[] formatBoolean(boolean value) {
+    return value ? TRUE.clone() : FALSE.clone();
+  }
+
+  /**
+   * Reads an unsigned number of the given length in little endian byte order.
+   *
+   * @param value the value
+   * @param offset the offset
+   * @param length the number of bytes
+   * @return the number
+   */
+  static long readLittleEndian(byte[] value, int offset, int length) {
+    long result = 0L;
+    for (int i = length - 1; i >= 0; i--) {
+      result = (result << 8) | (value[offset + i] & 0xFFL);
+    }
+    return result;
+  }
+
+  /**
+   * Reads an unsigned number of the given length in big endian byte order.
+   *
+   * @param value the value
+   * @param offset the offset
+   * @param length the number of bytes
+   * @return the number
+   */
+  static long readBigEndian(byte[] value, int offset, int length) {
+    long result = 0L;
+    for (int i = 0; i < length; i++) {
+      result = (result << 8) | (value[offset + i] & 0xFFL);
+    }
+    return result;
+  }
+
+  /**
+   * Writes the number in little endian byte order.
+   *
+   * @param number the number
+   * @param destination the destination
+   * @param offset the offset
+   * @param length the number of bytes
+   */
+  static void writeLittleEndian(long number, byte[] destination, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      destination[offset + i] = (byte) (number >>> (8 * i));
+    }
+  }
+
+  /**
+   * Writes the number in big endian byte order.
+   *
+   * @param number the number
+   * @param destination the destination
+   * @param offset the offset
+   * @param length the number of bytes
+   */
+  static void writeBigEndian(long number, byte[] destination, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      destination[offset + length - 1 - i] = (byte) (number >>> (8 * i));
+    }
+  }
+
+  private static boolean equalsIgnoreCase(byte[] upperCaseExpected, byte[] value) {
+    if (value == null || value.length != upperCaseExpected.length) {
+      return false;
+    }
+    for (int i = 0; i < value.length; i++) {
+      byte b = value[i];
+      if (b >= 'a' && b <= 'z') {
+        b -= 32;
+      }
+      if (b != upperCaseExpected[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isWhitespace(byte b) {
+    return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+  }
+
+  private static NumberFormatException numberFormatException(byte[] value) {
+    return new NumberFormatException("Value '" + new String(value, StandardCharsets.UTF_8) + "' is not a number.");
+  }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive.transcoder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import lombok.ToString;
+import org.ldaptive.transcode.ValueTranscoder;
+
+/**
+ * The value transcoder of the generalized time syntax (RFC 4517, like {@code 20210301120000.5Z} or {@code
+ * 2021030112+0100}). The raw value is parsed directly, without creating a string and without a date time formatter.
+ * Values are encoded in UTC.
+ *
+ * @author Christian Bremer
+ */
+@ToString
+public class GeneralizedTimeByteValueTranscoder implements ValueTranscoder<ZonedDateTime> {
+
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+  private static final long NANOS_PER_MINUTE = 60L * NANOS_PER_SECOND;
+
+  private static final long NANOS_PER_HOUR = 60L * NANOS_PER_MINUTE;
+
+  @Override
+  public ZonedDateTime decodeStringValue(String value) {
+    return decodeBinaryValue(value.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  @Override
+  public ZonedDateTime decodeBinaryValue(byte[] value) {
+    if (value == null || value.length < 10) {
+      throw illegalValue(value);
+    }
+    int year = digits(value, 0, 4);
+    int month = digits(value, 4, 2);
+    int day = digits(value, 6, 2);
+    int hour = digits(value, 8, 2);
+    int minute = 0;
+    int second = 0;
+    long fractionUnit = NANOS_PER_HOUR;
+    int pos = 10;
+    if (isDigit(value, pos)) {
+      minute = digits(value, pos, 2);
+      fractionUnit = NANOS_PER_MINUTE;
+      pos += 2;
+      if (isDigit(value, pos)) {
+        second = digits(value, pos, 2);
+        fractionUnit = NANOS_PER_SECOND;
+        pos += 2;
+      }
+    }
+    long nanos = 0L;
+    if (pos < value.length && (value[pos] == '.' || value[pos] == ',')) {
+      pos++;
+      long fraction = 0L;
+      long divisor = 1L;
+      int start = pos;
+      while (isDigit(value, pos)) {
+        if (pos - start < 9) {
+          fraction = fraction * 10L + (value[pos] - '0');
+          divisor *= 10L;
+        }
+        pos++;
+      }
+      if (pos == start) {
+        throw illegalValue(value);
+      }
+      nanos = fractionUnit == NANOS_PER_SECOND
+          ? fraction * (NANOS_PER_SECOND / divisor)
+          : Math.round(fractionUnit * ((double) fraction / divisor));
+    }
+    ZoneOffset offset = ZoneOffset.UTC;
+    if (pos < value.length) {
+      byte sign = value[pos++];
+      if (sign == '+' || sign == '-') {
+        int offsetHours = digits(value, pos, 2);
+        pos += 2;
+        int offsetMinutes = 0;
+        if (pos < value.length) {
+          offsetMinutes = digits(value, pos, 2);
+          pos += 2;
+        }
+        offset = sign == '+'
+            ? ZoneOffset.ofHoursMinutes(offsetHours, offsetMinutes)
+            : ZoneOffset.ofHoursMinutes(-offsetHours, -offsetMinutes);
+      } else if (sign != 'Z') {
+        throw illegalValue(value);
+      }
+    }
+    if (pos != value.length) {
+      throw illegalValue(value);
+    }
+    return ZonedDateTime.of(year, month, day, hour, minute, second, 0, offset).plusNanos(nanos);
+  }
+
+  @Override
+  public String encodeStringValue(ZonedDateTime value) {
+    return new String(encodeBinaryValue(value), StandardCharsets.US_ASCII);
+  }
+
+  @Override
+  public byte[] encodeBinaryValue(ZonedDateTime value) {
+    ZonedDateTime utc = value.withZoneSameInstant(ZoneOffset.UTC);
+    int nanos = utc.getNano();
+    int fractionDigits = 0;
+    if (nanos > 0) {
+      fractionDigits = 9;
+      while (nanos % 10 == 0) {
+        nanos /= 10;
+        fractionDigits--;
+      }
+    }
+    byte[] result = new byte[15 + (fractionDigits > 0 ? fractionDigits + 1 : 0)];
+    writeDigits(utc.getYear(), result, 0, 4);
+    writeDigits(utc.getMonthValue(), result, 4, 2);
+    writeDigits(utc.getDayOfMonth(), result, 6, 2);
+    writeDigits(utc.getHour(), result, 8, 2);
+    writeDigits(utc.getMinute(), result, 10, 2);
+    writeDigits(utc.getSecond(), result, 12, 2);
+    int pos = 14;
+    if (fractionDigits > 0) {
+      result[pos++] = '.';
+      writeDigits(nanos, result, pos, fractionDigits);
+      pos += fractionDigits;
+    }
+    result[pos] = 'Z';
+    return result;
+  }
+
+  @Override
+  public Class<ZonedDateTime> getType() {
+    return ZonedDateTime.class;
+  }
+
+  private static boolean isDigit(byte[] value, int pos) {
+    return pos < value.length && value[pos] >= '0' && value[pos] <= '9';
+  }
+
+  private static int digits(byte[] value, int pos, int length) {
+    int result = 0;
+    for (int i = pos; i < pos + length; i++) {
+      if (!isDigit(value, i)) {
+        throw illegalValue(value);
+      }
+      result = result * 10 + (value[i] - '0');
+    }
+    return result;
+  }
+
+  private static void writeDigits(int number, byte[] destination, int pos, int length) {
+    int remaining = number;
+    for (int i = pos + length - 1; i >= pos; i--) {
+      destination[i] = (byte) ('0' + remaining % 10);
+      remaining /= 10;
+    }
+  }
+
+  private static IllegalArgumentException illegalValue(byte[] value) {
+    return new IllegalArgumentException("Illegal generalized time: "
+        + (value != null ? new String(value, StandardCharsets.US_ASCII) : null));
+  }
+
+}
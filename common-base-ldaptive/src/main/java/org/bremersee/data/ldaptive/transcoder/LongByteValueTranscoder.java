@@ -0,0 +1,55 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive.transcoder;
+
+import lombok.ToString;
+import org.ldaptive.transcode.AbstractStringValueTranscoder;
+
+/**
+ * The long value transcoder, that decodes the raw attribute value directly (without creating a string). It can be
+ * used for large integers like {@code uSNChanged}.
+ *
+ * @author Christian Bremer
+ */
+@ToString
+public class LongByteValueTranscoder extends AbstractStringValueTranscoder<Long> {
+
+  @Override
+  public Long decodeStringValue(String value) {
+    return Long.valueOf(value.trim());
+  }
+
+  @Override
+  public Long decodeBinaryValue(byte[] value) {
+    return ByteValueUtils.parseLong(value);
+  }
+
+  @Override
+  public String encodeStringValue(Long value) {
+    return String.valueOf(value);
+  }
+
+  @Override
+  public byte[] encodeBinaryValue(Long value) {
+    return ByteValueUtils.formatLong(value);
+  }
+
+  @Override
+  public Class<Long> getType() {
+    return Long.class;
+  }
+}
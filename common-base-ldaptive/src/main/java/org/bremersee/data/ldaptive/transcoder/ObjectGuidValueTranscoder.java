@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive.transcoder;
+
+import java.util.UUID;
+import lombok.ToString;
+import org.ldaptive.transcode.ValueTranscoder;
+
+/**
+ * The value transcoder of the active directory attribute {@code objectGUID}. The raw value of the attribute consists
+ * of 16 bytes, the first three fields are stored in little endian byte order. The value is decoded directly into an
+ * {@link UUID}, whose string representation is the same as the one, that is shown by the active directory tools.
+ *
+ * @author Christian Bremer
+ */
+@ToString
+public class ObjectGuidValueTranscoder implements ValueTranscoder<UUID> {
+
+  /**
+   * The attribute name in an active directory controller.
+   */
+  public static final String ATTRIBUTE_NAME = "objectGUID";
+
+  private static final int LENGTH = 16;
+
+  @Override
+  public UUID decodeStringValue(String value) {
+    return UUID.fromString(value);
+  }
+
+  @Override
+  public UUID decodeBinaryValue(byte[] value) {
+    if (value == null || value.length != LENGTH) {
+      throw new IllegalArgumentException("Object GUID must have " + LENGTH + " bytes.");
+    }
+    long mostSigBits = ByteValueUtils.readLittleEndian(value, 0, 4) << 32
+        | ByteValueUtils.readLittleEndian(value, 4, 2) << 16
+        | ByteValueUtils.readLittleEndian(value, 6, 2);
+    long leastSigBits = ByteValueUtils.readBigEndian(value, 8, 8);
+    return new UUID(mostSigBits, leastSigBits);
+  }
+
+  @Override
+  public String encodeStringValue(UUID value) {
+    return value.toString();
+  }
+
+  @Override
+  public byte[] encodeBinaryValue(UUID value) {
+    byte[] result = new byte[LENGTH];
+    long mostSigBits = value.getMostSignificantBits();
+    ByteValueUtils.writeLittleEndian(mostSigBits >>> 32, result, 0, 4);
+    ByteValueUtils.writeLittleEndian(mostSigBits >>> 16, result, 4, 2);
+    ByteValueUtils.writeLittleEndian(mostSigBits, result, 6, 2);
+    ByteValueUtils.writeBigEndian(value.getLeastSignificantBits(), result, 8, 8);
+    return result;
+  }
+
+  @Override
+  public Class<UUID> getType() {
+    return UUID.class;
+  }
+}
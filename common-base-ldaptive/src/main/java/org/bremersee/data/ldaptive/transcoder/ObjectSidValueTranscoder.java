@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive.transcoder;
+
+import lombok.ToString;
+import org.ldaptive.transcode.ValueTranscoder;
+
+/**
+ * The value transcoder of security identifiers like the active directory attribute {@code objectSid}. The raw value
+ * is decoded directly into the string representation of the security identifier (like {@code
+ * S-1-5-21-3623811015-3361044348-30300820-1013}).
+ *
+ * @author Christian Bremer
+ */
+@ToString
+public class ObjectSidValueTranscoder implements ValueTranscoder<String> {
+
+  /**
+   * The attribute name in an active directory controller.
+   */
+  public static final String ATTRIBUTE_NAME = "objectSid";
+
+  private static final int HEADER_LENGTH = 8;
+
+  private static final int SUB_AUTHORITY_LENGTH = 4;
+
+  @Override
+  public String decodeStringValue(String value) {
+    return value;
+  }
+
+  @Override
+  public String decodeBinaryValue(byte[] value) {
+    if (value == null || value.length < HEADER_LENGTH) {
+      throw new IllegalArgumentException("Security identifier is too short.");
+    }
+    int count = value[1] & 0xFF;
+    if (value.length != HEADER_LENGTH + count * SUB_AUTHORITY_LENGTH) {
+      throw new IllegalArgumentException("Security identifier has an illegal length.");
+    }
+    StringBuilder sb = new StringBuilder(16 + count * 11)
+        .append("S-")
+        .append(value[0] & 0xFF)
+        .append('-')
+        .append(ByteValueUtils.readBigEndian(value, 2, 6));
+    for (int i = 0; i < count; i++) {
+      sb.append('-').append(ByteValueUtils.readLittleEndian(value, HEADER_LENGTH + i * SUB_AUTHORITY_LENGTH, 4));
+    }
+    return sb.toString();
+  }
+
+  @Override
+  public String encodeStringValue(String value) {
+    return value;
+  }
+
+  @Override
+  public byte[] encodeBinaryValue(String value) {
+    String[] parts = value != null ? value.split("-") : new String[0];
+    if (parts.length < 3 || !"S".equalsIgnoreCase(parts[0])) {
+      throw new IllegalArgumentException("Illegal security identifier: " + value);
+    }
+    int count = parts.length - 3;
+    byte[] result = new byte[HEADER_LENGTH + count * SUB_AUTHORITY_LENGTH];
+    result[0] = (byte) Integer.parseInt(parts[1]);
+    result[1] = (byte) count;
+    ByteValueUtils.writeBigEndian(Long.parseLong(parts[2]), result, 2, 6);
+    for (int i = 0; i < count; i++) {
+      ByteValueUtils.writeLittleEndian(
+          Long.parseLong(parts[3 + i]), result, HEADER_LENGTH + i * SUB_AUTHORITY_LENGTH, 4);
+    }
+    return result;
+  }
+
+  @Override
+  public Class<String> getType() {
+    return String.class;
+  }
+}
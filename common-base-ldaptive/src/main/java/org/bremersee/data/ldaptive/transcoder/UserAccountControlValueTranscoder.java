@@ -109,6 +109,13 @@ public class UserAccountControlValueTranscoder extends AbstractStringValueTransc
         : getUserAccountControlValue(true, 0);
   }
 
+  @Override
+  public Integer decodeBinaryValue(byte[] value) {
+    return ByteValueUtils.isBlank(value)
+        ? getUserAccountControlValue(true, 0)
+        : ByteValueUtils.parseInt(value);
+  }
+
   @Override
   public String encodeStringValue(Integer value) {
     return Optional.ofNullable(value)
@@ -116,6 +123,11 @@ public class UserAccountControlValueTranscoder extends AbstractStringValueTransc
         .orElseGet(() -> String.valueOf(getUserAccountControlValue(true, 0)));
   }
 
+  @Override
+  public byte[] encodeBinaryValue(Integer value) {
+    return ByteValueUtils.formatLong(Optional.ofNullable(value).orElseGet(() -> getUserAccountControlValue(true, 0)));
+  }
+
   @Override
   public Class<Integer> getType() {
     return Integer.class;
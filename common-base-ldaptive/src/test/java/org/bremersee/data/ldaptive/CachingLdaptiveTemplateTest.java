@@ -0,0 +1,198 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import org.bremersee.data.ldaptive.reactive.CachingReactiveLdaptiveTemplate;
+import org.bremersee.data.ldaptive.reactive.ReactiveLdaptiveOperations;
+import org.junit.jupiter.api.Test;
+import org.ldaptive.AttributeModification;
+import org.ldaptive.LdapAttribute;
+import org.ldaptive.LdapEntry;
+import org.ldaptive.ModifyRequest;
+import org.ldaptive.ResultCode;
+import org.ldaptive.SearchRequest;
+import org.ldaptive.SearchResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * The caching ldaptive template test.
+ *
+ * @author Christian Bremer
+ */
+class CachingLdaptiveTemplateTest {
+
+  private static final String DN = "cn=foo,ou=people,dc=example,dc=org";
+
+  private static LdapEntry entry() {
+    LdapEntry entry = new LdapEntry();
+    entry.setDn(DN);
+    entry.addAttributes(new LdapAttribute("cn", "foo"));
+    return entry;
+  }
+
+  private static SearchResponse response() {
+    return SearchResponse.builder()
+        .resultCode(ResultCode.SUCCESS)
+        .entry(entry())
+        .build();
+  }
+
+  /**
+   * Search is cached and evicted by modify.
+   */
+  @Test
+  void searchIsCachedAndEvictedByModify() {
+    LdaptiveOperations delegate = mock(LdaptiveOperations.class);
+    when(delegate.search(any(SearchRequest.class))).thenAnswer(invocation -> response());
+    CachingLdaptiveTemplate template = new CachingLdaptiveTemplate(
+        delegate, new LdaptiveEntryCache(Duration.ofMinutes(1L), 10));
+
+    SearchRequest request = SearchRequest.objectScopeSearchRequest(DN);
+    assertEquals(DN, template.search(request).getEntry().getDn());
+    assertEquals(DN, template.search(request).getEntry().getDn());
+    verify(delegate, times(1)).search(any(SearchRequest.class));
+
+    template.modify(new ModifyRequest(
+        DN, new AttributeModification(AttributeModification.Type.REPLACE, new LdapAttribute("sn", "bar"))));
+    template.search(request);
+    verify(delegate, times(2)).search(any(SearchRequest.class));
+  }
+
+  /**
+   * Exists is cached.
+   */
+  @Test
+  void existsIsCached() {
+    LdaptiveOperations delegate = mock(LdaptiveOperations.class);
+    when(delegate.exists(DN)).thenReturn(true);
+    CachingLdaptiveTemplate template = new CachingLdaptiveTemplate(
+        delegate, new LdaptiveEntryCache(Duration.ofMinutes(1L), 10));
+    assertTrue(template.exists(DN));
+    assertTrue(template.exists(DN));
+    verify(delegate, times(1)).exists(DN);
+  }
+
+  /**
+   * Within the replication delay after a write, the entry is read from the primary and it is not cached.
+   */
+  @Test
+  void readFromPrimaryAfterWrite() {
+    LdaptiveTemplate primary = mock(LdaptiveTemplate.class);
+    when(primary.search(any(SearchRequest.class))).thenAnswer(invocation -> response());
+    when(primary.exists(DN)).thenReturn(true);
+    LdaptiveTemplate delegate = mock(LdaptiveTemplate.class);
+    when(delegate.primary()).thenReturn(primary);
+    LdaptiveEntryCache cache = new LdaptiveEntryCache(Duration.ofMinutes(1L), 10, Duration.ofMinutes(1L));
+    CachingLdaptiveTemplate template = new CachingLdaptiveTemplate(delegate, cache);
+
+    template.modify(new ModifyRequest(
+        DN, new AttributeModification(AttributeModification.Type.REPLACE, new LdapAttribute("sn", "bar"))));
+    verify(delegate).modify(any(ModifyRequest.class));
+    SearchRequest request = SearchRequest.objectScopeSearchRequest(DN);
+    assertEquals(DN, template.search(request).getEntry().getDn());
+    assertTrue(template.exists(DN));
+    verify(primary).search(any(SearchRequest.class));
+    verify(primary).exists(DN);
+    verify(delegate, never()).search(any(SearchRequest.class));
+    verify(delegate, never()).exists(DN);
+    assertEquals(0, cache.size());
+  }
+
+  /**
+   * A search result is not cached, if the entry is evicted while the search is running.
+   */
+  @Test
+  void searchResultIsNotCachedAfterConcurrentEviction() {
+    LdaptiveEntryCache cache = new LdaptiveEntryCache(Duration.ofMinutes(1L), 10);
+    LdaptiveOperations delegate = mock(LdaptiveOperations.class);
+    when(delegate.search(any(SearchRequest.class))).thenAnswer(invocation -> {
+      cache.evict("ou=people,dc=example,dc=org");
+      return response();
+    });
+    CachingLdaptiveTemplate template = new CachingLdaptiveTemplate(delegate, cache);
+
+    SearchRequest request = SearchRequest.objectScopeSearchRequest(DN);
+    template.search(request);
+    template.search(request);
+    verify(delegate, times(2)).search(any(SearchRequest.class));
+    assertEquals(0, cache.size());
+  }
+
+  /**
+   * Reactive find one is cached and not put after concurrent eviction.
+   */
+  @Test
+  void reactiveFindOne() {
+    LdaptiveEntryCache cache = new LdaptiveEntryCache(Duration.ofMinutes(1L), 10);
+    ReactiveLdaptiveOperations delegate = mock(ReactiveLdaptiveOperations.class);
+    when(delegate.findOne(any(SearchRequest.class))).thenReturn(Mono.fromCallable(CachingLdaptiveTemplateTest::entry));
+    CachingReactiveLdaptiveTemplate template = new CachingReactiveLdaptiveTemplate(delegate, cache);
+
+    SearchRequest request = SearchRequest.objectScopeSearchRequest(DN);
+    StepVerifier.create(template.findOne(request).then(template.findOne(request)))
+        .assertNext(entry -> assertEquals(DN, entry.getDn()))
+        .verifyComplete();
+    verify(delegate, times(1)).findOne(any(SearchRequest.class));
+
+    cache.clear();
+    when(delegate.findOne(any(SearchRequest.class))).thenReturn(Mono.fromCallable(() -> {
+      cache.evict(DN);
+      return entry();
+    }));
+    StepVerifier.create(template.findOne(request))
+        .assertNext(entry -> assertEquals(DN, entry.getDn()))
+        .verifyComplete();
+    assertEquals(0, cache.size());
+  }
+
+  /**
+   * Changed entries of the change feed are evicted.
+   */
+  @Test
+  void changeFeedEvictsEntries() {
+    LdaptiveEntryCache cache = new LdaptiveEntryCache(Duration.ofMinutes(1L), 10);
+    cache.put(null, entry());
+    LdapEntry other = new LdapEntry();
+    other.setDn("cn=bar,ou=people,dc=example,dc=org");
+    cache.put(null, other);
+    ReactiveLdaptiveOperations delegate = mock(ReactiveLdaptiveOperations.class);
+    when(delegate.persistentSearch(any(SearchRequest.class), anyBoolean()))
+        .thenReturn(Flux.just(entry()));
+    CachingReactiveLdaptiveTemplate template = new CachingReactiveLdaptiveTemplate(delegate, cache);
+
+    StepVerifier.create(template.persistentSearch(new SearchRequest("dc=example,dc=org", "(cn=*)"), true))
+        .assertNext(entry -> assertEquals(DN, entry.getDn()))
+        .verifyComplete();
+    assertFalse(cache.get(DN, null).isPresent());
+    assertTrue(cache.get(other.getDn(), null).isPresent());
+  }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.ldaptive.ReturnAttributes;
+import org.ldaptive.SearchRequest;
+import org.ldaptive.SearchScope;
+
+/**
+ * The dn batch test.
+ *
+ * @author Christian Bremer
+ */
+class DnBatchTest {
+
+  /**
+   * Batches are grouped by parent.
+   */
+  @Test
+  void of() {
+    List<DnBatch> batches = DnBatch.of(Arrays.asList(
+        "uid=anna,ou=people,dc=example,dc=org",
+        "cn=developers,ou=groups,dc=example,dc=org",
+        "uid=hans, OU=People,dc=example,dc=org",
+        "cn=a+sn=b,ou=people,dc=example,dc=org",
+        "uid=gustav,ou=people,dc=example,dc=org"), 2);
+    assertEquals(4, batches.size());
+    assertEquals(
+        Arrays.asList("uid=anna,ou=people,dc=example,dc=org", "uid=hans, OU=People,dc=example,dc=org"),
+        batches.get(0).getDns());
+    assertEquals(Collections.singletonList("cn=developers,ou=groups,dc=example,dc=org"), batches.get(1).getDns());
+    assertNull(batches.get(2).getParentDn());
+    assertEquals(Collections.singletonList("uid=gustav,ou=people,dc=example,dc=org"), batches.get(3).getDns());
+    assertTrue(DnBatch.of(null, 10).isEmpty());
+  }
+
+  /**
+   * To search request.
+   */
+  @Test
+  void toSearchRequest() {
+    List<DnBatch> batches = DnBatch.of(Arrays.asList(
+        "cn=Doe\\, John,ou=people,dc=example,dc=org",
+        "cn=a*b,ou=people,dc=example,dc=org",
+        "cn=a+sn=b,ou=people,dc=example,dc=org"), 10);
+    SearchRequest request = batches.get(0).toSearchRequest(ReturnAttributes.NONE.value());
+    assertEquals("ou=people,dc=example,dc=org", request.getBaseDn());
+    assertEquals(SearchScope.ONELEVEL, request.getSearchScope());
+    assertEquals("(|(cn=Doe, John)(cn=a\\2ab))", batches.get(0).toFilter());
+
+    request = batches.get(1).toSearchRequest();
+    assertEquals("cn=a+sn=b,ou=people,dc=example,dc=org", request.getBaseDn());
+    assertEquals(SearchScope.OBJECT, request.getSearchScope());
+  }
+
+  /**
+   * Requested dns are found by the dns of the found entries.
+   */
+  @Test
+  void getRequestedDns() {
+    List<String> dns = Arrays.asList(
+        "uid=anna,ou=people,dc=example,dc=org",
+        "UID=Anna , ou=people, dc=example, dc=org",
+        "uid=hans,ou=people,dc=example,dc=org");
+    DnBatch batch = DnBatch.of(dns, 10).get(0);
+    assertEquals(dns.subList(0, 2), batch.getRequestedDns("uid=anna,ou=people,dc=example,dc=org"));
+    assertTrue(batch.getRequestedDns("uid=gustav,ou=people,dc=example,dc=org").isEmpty());
+
+    Map<String, Boolean> exists = DnBatch.toExistsMap(dns, new HashSet<>(dns.subList(0, 2)));
+    assertEquals(Arrays.asList(true, true, false), Arrays.asList(exists.values().toArray()));
+  }
+
+}
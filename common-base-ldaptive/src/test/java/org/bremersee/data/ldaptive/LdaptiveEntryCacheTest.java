@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.ldaptive.LdapAttribute;
+import org.ldaptive.LdapEntry;
+import org.ldaptive.SearchRequest;
+import org.ldaptive.SearchScope;
+
+/**
+ * The ldaptive entry cache test.
+ *
+ * @author Christian Bremer
+ */
+class LdaptiveEntryCacheTest {
+
+  private static LdapEntry entry(String dn) {
+    LdapEntry entry = new LdapEntry();
+    entry.setDn(dn);
+    entry.addAttributes(new LdapAttribute("cn", "foo"));
+    return entry;
+  }
+
+  /**
+   * Is cacheable.
+   */
+  @Test
+  void isCacheable() {
+    assertTrue(LdaptiveEntryCache.isCacheable(SearchRequest.objectScopeSearchRequest("cn=foo,dc=example,dc=org")));
+    assertFalse(LdaptiveEntryCache.isCacheable(SearchRequest.builder()
+        .dn("dc=example,dc=org")
+        .filter("(cn=foo)")
+        .scope(SearchScope.ONELEVEL)
+        .build()));
+    assertFalse(LdaptiveEntryCache.isCacheable(null));
+  }
+
+  /**
+   * Get and put.
+   */
+  @Test
+  void getAndPut() {
+    LdaptiveEntryCache cache = new LdaptiveEntryCache(Duration.ofMinutes(1), 10);
+    LdapEntry expected = entry("cn=foo,dc=example,dc=org");
+    cache.put(new String[]{"cn", "sn"}, expected);
+
+    LdapEntry actual = cache.get("CN=foo,dc=example,dc=org", new String[]{"sn", "cn"}).orElse(null);
+    assertEquals(expected.getDn(), actual.getDn());
+    assertEquals("foo", actual.getAttribute("cn").getStringValue());
+    assertNotSame(expected, actual);
+    assertFalse(cache.get("cn=foo,dc=example,dc=org", new String[]{"cn"}).isPresent());
+
+    actual.removeAttribute("cn");
+    assertTrue(cache.get("cn=foo,dc=example,dc=org", new String[]{"sn", "cn"})
+        .map(entry -> entry.getAttribute("cn") != null)
+        .orElse(false));
+  }
+
+  /**
+   * Evict.
+   */
+  @Test
+  void evict() {
+    LdaptiveEntryCache cache = new LdaptiveEntryCache(Duration.ofMinutes(1), 10);
+    cache.put(null, entry("ou=people,dc=example,dc=org"));
+    cache.put(null, entry("cn=foo,ou=people,dc=example,dc=org"));
+    cache.put(null, entry("cn=bar,ou=groups,dc=example,dc=org"));
+    assertEquals(3, cache.size());
+
+    cache.evict("ou=people,dc=example,dc=org");
+    assertEquals(1, cache.size());
+    assertTrue(cache.get("cn=bar,ou=groups,dc=example,dc=org", null).isPresent());
+
+    cache.clear();
+    assertEquals(0, cache.size());
+  }
+
+  /**
+   * Put is rejected after concurrent eviction.
+   */
+  @Test
+  void putIsRejectedAfterConcurrentEviction() {
+    LdaptiveEntryCache cache = new LdaptiveEntryCache(Duration.ofMinutes(1), 10);
+    long generation = cache.generation();
+    cache.evict("ou=people,dc=example,dc=org");
+    assertFalse(cache.put(null, entry("cn=foo,ou=people,dc=example,dc=org"), generation));
+    assertTrue(cache.put(null, entry("cn=bar,ou=groups,dc=example,dc=org"), generation));
+    assertTrue(cache.put(null, entry("cn=foo,ou=people,dc=example,dc=org"), cache.generation()));
+
+    generation = cache.generation();
+    cache.clear();
+    assertFalse(cache.put(null, entry("cn=bar,ou=groups,dc=example,dc=org"), generation));
+    assertEquals(0, cache.size());
+  }
+
+  /**
+   * Max size and time to live.
+   */
+  @Test
+  void maxSizeAndTimeToLive() {
+    LdaptiveEntryCache cache = new LdaptiveEntryCache(Duration.ofMinutes(1), 2);
+    cache.put(null, entry("cn=a,dc=example,dc=org"));
+    cache.put(null, entry("cn=b,dc=example,dc=org"));
+    cache.put(null, entry("cn=c,dc=example,dc=org"));
+    assertEquals(2, cache.size());
+    assertFalse(cache.get("cn=a,dc=example,dc=org", null).isPresent());
+
+    LdaptiveEntryCache expiringCache = new LdaptiveEntryCache(Duration.ofMillis(-1L), 2);
+    expiringCache.put(null, entry("cn=a,dc=example,dc=org"));
+    assertFalse(expiringCache.get("cn=a,dc=example,dc=org", null).isPresent());
+  }
+
+}
@@ -77,6 +77,23 @@ class LdaptiveEntryMapperTest {
         .getAttributeValue(entry, "na", STRING_TRANSCODER, null));
   }
 
+  /**
+   * Gets primitive attribute values.
+   */
+  @Test
+  void getPrimitiveAttributes() {
+    LdapEntry entry = new LdapEntry();
+    entry.addAttributes(new LdapAttribute("uidNumber", "1001"));
+    entry.addAttributes(new LdapAttribute("uSNChanged", "1234567890123"));
+    entry.addAttributes(new LdapAttribute("isDeleted", "TRUE"));
+    assertEquals(1001, LdaptiveEntryMapper.getIntAttribute(entry, "uidNumber", -1));
+    assertEquals(-1, LdaptiveEntryMapper.getIntAttribute(entry, "na", -1));
+    assertEquals(1234567890123L, LdaptiveEntryMapper.getLongAttribute(entry, "uSNChanged", 0L));
+    assertEquals(0L, LdaptiveEntryMapper.getLongAttribute(null, "uSNChanged", 0L));
+    assertTrue(LdaptiveEntryMapper.getBooleanAttribute(entry, "isDeleted", false));
+    assertFalse(LdaptiveEntryMapper.getBooleanAttribute(entry, "na", false));
+  }
+
   /**
    * Gets attribute values.
    */
@@ -363,6 +380,79 @@ class LdaptiveEntryMapperTest {
         modifications.get(0).getOperation());
   }
 
+  /**
+   * Sets attributes by delta.
+   */
+  @Test
+  void setAttributesByDelta() {
+    List<AttributeModification> modifications = new ArrayList<>();
+    LdapEntry entry = new LdapEntry();
+
+    // set values
+    LdaptiveEntryMapper.setAttributesByDelta(
+        entry, "foo", Arrays.asList("anna", "livia", ""), false, STRING_TRANSCODER, modifications);
+    assertEquals(2, entry.getAttribute("foo").size());
+    assertEquals(1, modifications.size());
+    assertEquals(Type.ADD, modifications.get(0).getOperation());
+    modifications.clear();
+
+    // same values in another order
+    LdaptiveEntryMapper.setAttributesByDelta(
+        entry, "foo", Arrays.asList("livia", "anna"), false, STRING_TRANSCODER, modifications);
+    assertTrue(modifications.isEmpty());
+
+    // change values
+    LdaptiveEntryMapper.setAttributesByDelta(
+        entry, "foo", Arrays.asList("anna", "hans"), false, STRING_TRANSCODER, modifications);
+    assertTrue(entry.getAttribute("foo").getStringValues().containsAll(Arrays.asList("anna", "hans")));
+    assertFalse(entry.getAttribute("foo").getStringValues().contains("livia"));
+    assertEquals(2, modifications.size());
+    assertEquals(Type.DELETE, modifications.get(0).getOperation());
+    assertEquals("livia", modifications.get(0).getAttribute().getStringValue());
+    assertEquals(Type.ADD, modifications.get(1).getOperation());
+    assertEquals("hans", modifications.get(1).getAttribute().getStringValue());
+    modifications.clear();
+
+    // remove all values
+    LdaptiveEntryMapper.setAttributesByDelta(
+        entry, "foo", null, false, STRING_TRANSCODER, modifications);
+    assertNull(entry.getAttribute("foo"));
+    assertEquals(1, modifications.size());
+    assertEquals(Type.DELETE, modifications.get(0).getOperation());
+  }
+
+  /**
+   * Add and remove attributes by delta.
+   */
+  @Test
+  void addAndRemoveAttributesByDelta() {
+    List<AttributeModification> modifications = new ArrayList<>();
+    LdapEntry entry = new LdapEntry();
+    entry.addAttributes(new LdapAttribute("foo", "anna", "livia"));
+
+    LdaptiveEntryMapper.addAttributesByDelta(
+        entry, "foo", Arrays.asList("livia", "hans"), false, STRING_TRANSCODER, modifications);
+    assertEquals(3, entry.getAttribute("foo").size());
+    assertEquals(1, modifications.size());
+    assertEquals(Type.ADD, modifications.get(0).getOperation());
+    assertEquals(1, modifications.get(0).getAttribute().size());
+    modifications.clear();
+
+    LdaptiveEntryMapper.removeAttributesByDelta(
+        entry, "foo", Arrays.asList("anna", "castorp"), STRING_TRANSCODER, modifications);
+    assertEquals(2, entry.getAttribute("foo").size());
+    assertEquals(1, modifications.size());
+    assertEquals(Type.DELETE, modifications.get(0).getOperation());
+    assertEquals("anna", modifications.get(0).getAttribute().getStringValue());
+    modifications.clear();
+
+    LdaptiveEntryMapper.removeAttributesByDelta(
+        entry, "foo", Arrays.asList("livia", "hans"), STRING_TRANSCODER, modifications);
+    assertNull(entry.getAttribute("foo"));
+    assertEquals(1, modifications.size());
+    assertEquals(Type.DELETE, modifications.get(0).getOperation());
+  }
+
   /**
    * Create dn.
    */
@@ -22,10 +22,16 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -39,6 +45,7 @@ import org.bremersee.exception.ServiceException;
 import org.junit.jupiter.api.Test;
 import org.ldaptive.AddRequest;
 import org.ldaptive.CompareRequest;
+import org.ldaptive.ConnectionFactory;
 import org.ldaptive.DeleteRequest;
 import org.ldaptive.FilterTemplate;
 import org.ldaptive.LdapAttribute;
@@ -219,6 +226,32 @@ class LdaptiveTemplateTest {
     assertFalse(entry.isPresent());
   }
 
+  /**
+   * Exists all and find all by dn.
+   */
+  @Test
+  void existsAllAndFindAllByDn() {
+    String unknown = "uid=" + UUID.randomUUID().toString().replace("-", "") + ",ou=people," + baseDn;
+    Collection<String> dns = Arrays.asList(
+        "uid=anna,ou=people," + baseDn,
+        "UID=hans, ou=people," + baseDn,
+        unknown,
+        "cn=developers,ou=groups," + baseDn,
+        "uid=gustav,ou=nowhere," + baseDn);
+    Map<String, Boolean> exists = ldaptiveTemplate.existsAll(dns);
+    assertEquals(5, exists.size());
+    assertTrue(exists.get("uid=anna,ou=people," + baseDn));
+    assertTrue(exists.get("UID=hans, ou=people," + baseDn));
+    assertFalse(exists.get(unknown));
+    assertTrue(exists.get("cn=developers,ou=groups," + baseDn));
+    assertFalse(exists.get("uid=gustav,ou=nowhere," + baseDn));
+
+    Map<String, Person> persons = ldaptiveTemplate.findAllByDn(dns, personMapper);
+    assertTrue(persons.containsKey("uid=anna,ou=people," + baseDn));
+    assertEquals("hans", persons.get("UID=hans, ou=people," + baseDn).getUid());
+    assertFalse(persons.containsKey(unknown));
+  }
+
   /**
    * Generate user password and bind.
    */
@@ -469,6 +502,32 @@ class LdaptiveTemplateTest {
     ldaptiveTemplate.delete(DeleteRequest.builder().dn(personMapper.mapDn(pr.get())).build());
   }
 
+  /**
+   * Searches are executed with the read connection factory, writes and the primary template use the primary one.
+   */
+  @Test
+  void readWriteRouting() {
+    ConnectionFactory connectionFactory = spy(ldaptiveTemplate.getConnectionFactory());
+    ConnectionFactory readConnectionFactory = spy(ldaptiveTemplate.getConnectionFactory());
+    LdaptiveTemplate template = new LdaptiveTemplate(connectionFactory, readConnectionFactory);
+    Group group = new Group();
+    group.setCn("developers");
+
+    assertTrue(template.exists(group, groupMapper));
+    verify(readConnectionFactory, atLeastOnce()).getConnection();
+    verify(connectionFactory, never()).getConnection();
+
+    clearInvocations(connectionFactory, readConnectionFactory);
+    template.delete(DeleteRequest.builder().dn("cn=na,ou=groups," + baseDn).build());
+    verify(connectionFactory, atLeastOnce()).getConnection();
+    verify(readConnectionFactory, never()).getConnection();
+
+    clearInvocations(connectionFactory, readConnectionFactory);
+    assertTrue(template.primary().exists(group, groupMapper));
+    verify(connectionFactory, atLeastOnce()).getConnection();
+    verify(readConnectionFactory, never()).getConnection();
+  }
+
   /**
    * Test clone.
    */
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.ldaptive.Connection;
+import org.ldaptive.ConnectionConfig;
+import org.ldaptive.PooledConnectionFactory;
+
+/**
+ * The least connections connection factory test.
+ *
+ * @author Christian Bremer
+ */
+class LeastConnectionsConnectionFactoryTest {
+
+  private static PooledConnectionFactory pool(String ldapUrl, int activeCount) {
+    PooledConnectionFactory pool = mock(PooledConnectionFactory.class);
+    when(pool.getConnectionConfig()).thenReturn(ConnectionConfig.builder().url(ldapUrl).build());
+    when(pool.activeCount()).thenReturn(activeCount);
+    when(pool.availableCount()).thenReturn(1);
+    return pool;
+  }
+
+  /**
+   * Get connection from pool with fewest active connections.
+   */
+  @Test
+  void getConnectionFromPoolWithFewestActiveConnections() {
+    PooledConnectionFactory busy = pool("ldap://busy:389", 5);
+    PooledConnectionFactory idle = pool("ldap://idle:389", 1);
+    Connection connection = mock(Connection.class);
+    when(idle.getConnection()).thenReturn(connection);
+
+    LeastConnectionsConnectionFactory factory = new LeastConnectionsConnectionFactory(
+        Arrays.asList(busy, idle), Duration.ofMinutes(1));
+    assertSame(connection, factory.getConnection());
+    assertEquals(6, factory.activeCount());
+    assertEquals(2, factory.availableCount());
+    assertEquals("ldap://busy:389", factory.getConnectionConfig().getLdapUrl());
+  }
+
+  /**
+   * Failed pool is excluded.
+   */
+  @Test
+  void failedPoolIsExcluded() {
+    PooledConnectionFactory failing = pool("ldap://failing:389", 0);
+    PooledConnectionFactory working = pool("ldap://working:389", 3);
+    Connection connection = mock(Connection.class);
+    when(failing.getConnection()).thenThrow(new IllegalStateException("Server is down."));
+    when(working.getConnection()).thenReturn(connection);
+
+    LeastConnectionsConnectionFactory factory = new LeastConnectionsConnectionFactory(
+        Arrays.asList(failing, working), Duration.ofMinutes(1));
+    assertSame(connection, factory.getConnection());
+    assertSame(connection, factory.getConnection());
+    verify(failing, times(1)).getConnection();
+    verify(working, times(2)).getConnection();
+  }
+
+  /**
+   * All pools are tried, if all are excluded.
+   */
+  @Test
+  void allPoolsAreTriedIfAllAreExcluded() {
+    PooledConnectionFactory failing = pool("ldap://failing:389", 0);
+    when(failing.getConnection()).thenThrow(new IllegalStateException("Server is down."));
+
+    LeastConnectionsConnectionFactory factory = new LeastConnectionsConnectionFactory(
+        Collections.singletonList(failing), Duration.ofMinutes(1));
+    assertThrows(IllegalStateException.class, factory::getConnection);
+    assertThrows(IllegalStateException.class, factory::getConnection);
+    verify(failing, times(2)).getConnection();
+  }
+
+}
@@ -16,16 +16,24 @@
 
 package org.bremersee.data.ldaptive;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.extern.slf4j.Slf4j;
 import org.bremersee.data.ldaptive.app.Group;
 import org.bremersee.data.ldaptive.app.GroupMapper;
@@ -46,11 +54,23 @@ import org.ldaptive.DeleteRequest;
 import org.ldaptive.FilterTemplate;
 import org.ldaptive.LdapAttribute;
 import org.ldaptive.LdapEntry;
+import org.ldaptive.LdapException;
 import org.ldaptive.ModifyDnRequest;
 import org.ldaptive.ModifyRequest;
+import org.ldaptive.ResultCode;
 import org.ldaptive.SearchRequest;
+import org.ldaptive.SearchResponse;
 import org.ldaptive.SearchScope;
 import org.ldaptive.SimpleBindRequest;
+import org.ldaptive.control.PersistentSearchRequestControl;
+import org.ldaptive.control.SyncRequestControl;
+import org.ldaptive.control.SyncStateControl;
+import org.ldaptive.control.util.CookieManager;
+import org.ldaptive.control.util.DefaultCookieManager;
+import org.ldaptive.handler.ExceptionHandler;
+import org.ldaptive.handler.IntermediateResponseHandler;
+import org.ldaptive.handler.LdapEntryHandler;
+import org.ldaptive.handler.ResultHandler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -255,6 +275,35 @@ class ReactiveLdaptiveTemplateTest {
         .verifyComplete();
   }
 
+  /**
+   * Exists all and find all by dn.
+   */
+  @Test
+  void existsAllAndFindAllByDn() {
+    String unknown = "uid=" + UUID.randomUUID().toString().replace("-", "") + ",ou=people," + baseDn;
+    List<String> dns = Arrays.asList(
+        "uid=anna,ou=people," + baseDn,
+        "uid=hans,ou=people," + baseDn,
+        unknown,
+        "cn=developers,ou=groups," + baseDn);
+    StepVerifier.create(ldaptiveTemplate.existsAll(dns))
+        .assertNext(exists -> {
+          assertEquals(4, exists.size());
+          assertTrue(exists.get("uid=anna,ou=people," + baseDn));
+          assertTrue(exists.get("uid=hans,ou=people," + baseDn));
+          assertFalse(exists.get(unknown));
+          assertTrue(exists.get("cn=developers,ou=groups," + baseDn));
+        })
+        .verifyComplete();
+
+    StepVerifier.create(ldaptiveTemplate.findAllByDn(dns.subList(0, 3), personMapper))
+        .assertNext(persons -> {
+          assertEquals(2, persons.size());
+          assertEquals("anna", persons.get("uid=anna,ou=people," + baseDn).getUid());
+        })
+        .verifyComplete();
+  }
+
   /**
    * Compare group.
    */
@@ -509,5 +558,167 @@ class ReactiveLdaptiveTemplateTest {
     assertNotNull(clone);
   }
 
-}
+  private static LdapEntry syncEntry(String dn, byte[] cookie) {
+    SyncStateControl syncState = mock(SyncStateControl.class);
+    when(syncState.getCookie()).thenReturn(cookie);
+    LdapEntry entry = mock(LdapEntry.class);
+    when(entry.getDn()).thenReturn(dn);
+    when(entry.getControl(SyncStateControl.OID)).thenReturn(syncState);
+    return entry;
+  }
+
+  private static byte[] cookie(SearchRequest searchRequest) {
+    return Arrays.stream(searchRequest.getControls())
+        .filter(control -> control instanceof SyncRequestControl)
+        .map(control -> ((SyncRequestControl) control).getCookie())
+        .findFirst()
+        .orElseThrow();
+  }
 
+  /**
+   * Sync changes stores the cookie and resumes with it after the connection is lost.
+   */
+  @Test
+  void syncChangesResumesWithCookie() {
+    byte[] first = "first".getBytes(StandardCharsets.UTF_8);
+    byte[] second = "second".getBytes(StandardCharsets.UTF_8);
+    ChangeFeedTemplate template = new ChangeFeedTemplate(
+        connectionFactory,
+        (entryHandler, resultHandler, exceptionHandler) -> {
+          entryHandler.apply(syncEntry("uid=anna,ou=people," + baseDn, first));
+          exceptionHandler.accept(new LdapException(ResultCode.CONNECT_ERROR, "Connection is lost."));
+        },
+        (entryHandler, resultHandler, exceptionHandler) -> entryHandler
+            .apply(syncEntry("uid=hans,ou=people," + baseDn, second)));
+    CookieManager cookieManager = new DefaultCookieManager();
+
+    StepVerifier.create(template.syncChanges(new SearchRequest(baseDn, "(uid=*)"), cookieManager))
+        .assertNext(entry -> assertEquals("uid=anna,ou=people," + baseDn, entry.getDn()))
+        .assertNext(entry -> assertEquals("uid=hans,ou=people," + baseDn, entry.getDn()))
+        .thenCancel()
+        .verify(Duration.ofSeconds(5L));
+    assertEquals(2, template.requests.size());
+    assertNull(cookie(template.requests.get(0)));
+    assertArrayEquals(first, cookie(template.requests.get(1)));
+    assertArrayEquals(second, cookieManager.readCookie());
+  }
+
+  /**
+   * Sync changes drops the cookie, if the server requires a full refresh.
+   */
+  @Test
+  void syncChangesDropsCookieIfRefreshIsRequired() {
+    byte[] outdated = "outdated".getBytes(StandardCharsets.UTF_8);
+    ChangeFeedTemplate template = new ChangeFeedTemplate(
+        connectionFactory,
+        (entryHandler, resultHandler, exceptionHandler) -> resultHandler.accept(SearchResponse.builder()
+            .resultCode(ResultCode.E_SYNC_REFRESH_REQUIRED)
+            .build()),
+        (entryHandler, resultHandler, exceptionHandler) -> entryHandler
+            .apply(syncEntry("uid=anna,ou=people," + baseDn, null)));
+    CookieManager cookieManager = new DefaultCookieManager(outdated);
+
+    StepVerifier.create(template.syncChanges(new SearchRequest(baseDn, "(uid=*)"), cookieManager))
+        .assertNext(entry -> assertEquals("uid=anna,ou=people," + baseDn, entry.getDn()))
+        .thenCancel()
+        .verify(Duration.ofSeconds(5L));
+    assertEquals(2, template.requests.size());
+    assertArrayEquals(outdated, cookie(template.requests.get(0)));
+    assertNull(cookie(template.requests.get(1)));
+    assertNull(cookieManager.readCookie());
+  }
+
+  /**
+   * A change feed is not started again after an error, that is not caused by the connection.
+   */
+  @Test
+  void changeFeedFailsWithoutReconnect() {
+    ChangeFeedTemplate template = new ChangeFeedTemplate(
+        connectionFactory,
+        (entryHandler, resultHandler, exceptionHandler) -> exceptionHandler
+            .accept(new LdapException(ResultCode.NO_SUCH_OBJECT, "Base dn does not exist.")));
+
+    StepVerifier.create(template.persistentSearch(new SearchRequest(baseDn, "(uid=*)"), true))
+        .expectError(LdaptiveException.class)
+        .verify(Duration.ofSeconds(5L));
+    assertEquals(1, template.requests.size());
+  }
+
+  /**
+   * A change feed abandons the search, when the subscription is cancelled.
+   */
+  @Test
+  void changeFeedIsAbandonedOnCancel() {
+    ChangeFeedTemplate template = new ChangeFeedTemplate(
+        connectionFactory,
+        (entryHandler, resultHandler, exceptionHandler) -> entryHandler
+            .apply(syncEntry("uid=anna,ou=people," + baseDn, null)));
+
+    StepVerifier.create(template.persistentSearch(new SearchRequest(baseDn, "(uid=*)"), true))
+        .expectNextCount(1L)
+        .thenCancel()
+        .verify(Duration.ofSeconds(5L));
+    assertEquals(1, template.requests.size());
+    assertTrue(Arrays.stream(template.requests.get(0).getControls())
+        .anyMatch(control -> control instanceof PersistentSearchRequestControl));
+    assertEquals(1, template.abandoned.get());
+  }
+
+  /**
+   * The answer of the server to a change feed search.
+   */
+  @FunctionalInterface
+  private interface ChangeFeedAnswer {
+
+    /**
+     * Answers the search.
+     *
+     * @param entryHandler the entry handler
+     * @param resultHandler the result handler
+     * @param exceptionHandler the exception handler
+     */
+    void answer(LdapEntryHandler entryHandler, ResultHandler resultHandler, ExceptionHandler exceptionHandler);
+  }
+
+  /**
+   * A template, whose change feed searches are answered by the test instead of the server.
+   */
+  private static class ChangeFeedTemplate extends ReactiveLdaptiveTemplate {
+
+    private final List<ChangeFeedAnswer> answers;
+
+    private final List<SearchRequest> requests = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger abandoned = new AtomicInteger();
+
+    /**
+     * Instantiates a new change feed template.
+     *
+     * @param connectionFactory the connection factory
+     * @param answers the answers of the searches; further searches are not answered
+     */
+    ChangeFeedTemplate(ConnectionFactory connectionFactory, ChangeFeedAnswer... answers) {
+      super(connectionFactory);
+      this.answers = Arrays.asList(answers);
+      setErrorHandler(new DefaultLdaptiveErrorHandler());
+      setChangeFeedBackoff(Duration.ofMillis(10L), Duration.ofMillis(50L));
+    }
+
+    @Override
+    protected Runnable sendChangeFeedSearch(
+        SearchRequest searchRequest,
+        LdapEntryHandler entryHandler,
+        IntermediateResponseHandler intermediateResponseHandler,
+        ResultHandler resultHandler,
+        ExceptionHandler exceptionHandler) {
+
+      int index = requests.size();
+      requests.add(searchRequest);
+      if (index < answers.size()) {
+        answers.get(index).answer(entryHandler, resultHandler, exceptionHandler);
+      }
+      return abandoned::incrementAndGet;
+    }
+  }
+
+}
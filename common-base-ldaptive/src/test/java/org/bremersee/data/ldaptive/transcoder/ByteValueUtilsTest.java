@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive.transcoder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The byte value utils test.
+ *
+ * @author Christian Bremer
+ */
+class ByteValueUtilsTest {
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Parse numbers.
+   */
+  @Test
+  void parseNumbers() {
+    assertEquals(0, ByteValueUtils.parseInt(bytes("0")));
+    assertEquals(42, ByteValueUtils.parseInt(bytes(" 42 ")));
+    assertEquals(-512, ByteValueUtils.parseInt(bytes("-512")));
+    assertEquals(Long.MAX_VALUE, ByteValueUtils.parseLong(bytes(String.valueOf(Long.MAX_VALUE))));
+    assertEquals(Long.MIN_VALUE, ByteValueUtils.parseLong(bytes(String.valueOf(Long.MIN_VALUE))));
+    assertThrows(NumberFormatException.class, () -> ByteValueUtils.parseInt(bytes("2147483648")));
+    assertThrows(NumberFormatException.class, () -> ByteValueUtils.parseLong(bytes("9223372036854775808")));
+    assertThrows(NumberFormatException.class, () -> ByteValueUtils.parseLong(bytes("-")));
+    assertThrows(NumberFormatException.class, () -> ByteValueUtils.parseLong(bytes("1a")));
+    assertThrows(NumberFormatException.class, () -> ByteValueUtils.parseLong(null));
+  }
+
+  /**
+   * Format numbers.
+   */
+  @Test
+  void formatNumbers() {
+    for (long value : new long[]{0L, 7L, -7L, 1234567890123L, Long.MIN_VALUE, Long.MAX_VALUE}) {
+      assertArrayEquals(bytes(String.valueOf(value)), ByteValueUtils.formatLong(value));
+    }
+  }
+
+  /**
+   * Parse and format booleans.
+   */
+  @Test
+  void booleans() {
+    assertEquals(Boolean.TRUE, ByteValueUtils.parseBoolean(bytes("true")));
+    assertEquals(Boolean.FALSE, ByteValueUtils.parseBoolean(bytes("FALSE")));
+    assertNull(ByteValueUtils.parseBoolean(bytes("yes")));
+    assertNull(ByteValueUtils.parseBoolean(null));
+    assertArrayEquals(bytes("TRUE"), ByteValueUtils.formatBoolean(true));
+    assertArrayEquals(bytes("FALSE"), ByteValueUtils.formatBoolean(false));
+  }
+
+  /**
+   * Is blank.
+   */
+  @Test
+  void isBlank() {
+    assertTrue(ByteValueUtils.isBlank(null));
+    assertTrue(ByteValueUtils.isBlank(bytes(" \t")));
+    assertFalse(ByteValueUtils.isBlank(bytes(" 1")));
+  }
+
+}
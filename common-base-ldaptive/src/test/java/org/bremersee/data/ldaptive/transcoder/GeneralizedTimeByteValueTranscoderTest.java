@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive.transcoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The generalized time byte value transcoder test.
+ *
+ * @author Christian Bremer
+ */
+class GeneralizedTimeByteValueTranscoderTest {
+
+  private final GeneralizedTimeByteValueTranscoder transcoder = new GeneralizedTimeByteValueTranscoder();
+
+  private ZonedDateTime decode(String value) {
+    return transcoder.decodeBinaryValue(value.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  /**
+   * Decode binary value.
+   */
+  @Test
+  void decodeBinaryValue() {
+    assertEquals(
+        ZonedDateTime.of(2021, 3, 1, 12, 0, 0, 0, ZoneOffset.UTC),
+        decode("20210301120000Z"));
+    assertEquals(
+        ZonedDateTime.of(2021, 3, 1, 12, 0, 0, 500_000_000, ZoneOffset.UTC),
+        decode("20210301120000.5Z"));
+    assertEquals(
+        ZonedDateTime.of(2021, 3, 1, 12, 0, 0, 0, ZoneOffset.ofHours(1)),
+        decode("2021030112+0100"));
+    assertEquals(
+        ZonedDateTime.of(2021, 3, 1, 12, 30, 15, 0, ZoneOffset.ofHoursMinutes(-1, -30)),
+        decode("202103011230,25-0130"));
+    assertThrows(IllegalArgumentException.class, () -> decode("2021030112x"));
+    assertThrows(IllegalArgumentException.class, () -> decode("20210301120000.Z"));
+    assertThrows(IllegalArgumentException.class, () -> decode("2021"));
+  }
+
+  /**
+   * Encode binary value.
+   */
+  @Test
+  void encodeBinaryValue() {
+    ZonedDateTime time = ZonedDateTime.of(2021, 3, 1, 12, 0, 0, 123_456_789, ZoneOffset.ofHours(2));
+    assertEquals("20210301100000.123456789Z", transcoder.encodeStringValue(time));
+    assertEquals(time.toInstant(), transcoder.decodeStringValue(transcoder.encodeStringValue(time)).toInstant());
+  }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive.transcoder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The object guid value transcoder test.
+ *
+ * @author Christian Bremer
+ */
+class ObjectGuidValueTranscoderTest {
+
+  private static final byte[] RAW_VALUE = {
+      0x33, 0x22, 0x11, 0x00, 0x55, 0x44, 0x77, 0x66,
+      (byte) 0x88, (byte) 0x99, (byte) 0xAA, (byte) 0xBB, (byte) 0xCC, (byte) 0xDD, (byte) 0xEE, (byte) 0xFF
+  };
+
+  private static final UUID GUID = UUID.fromString("00112233-4455-6677-8899-aabbccddeeff");
+
+  private final ObjectGuidValueTranscoder transcoder = new ObjectGuidValueTranscoder();
+
+  /**
+   * Decode binary value.
+   */
+  @Test
+  void decodeBinaryValue() {
+    assertEquals(GUID, transcoder.decodeBinaryValue(RAW_VALUE));
+    assertThrows(IllegalArgumentException.class, () -> transcoder.decodeBinaryValue(new byte[3]));
+  }
+
+  /**
+   * Encode binary value.
+   */
+  @Test
+  void encodeBinaryValue() {
+    assertArrayEquals(RAW_VALUE, transcoder.encodeBinaryValue(GUID));
+    assertEquals(GUID, transcoder.decodeStringValue(transcoder.encodeStringValue(GUID)));
+  }
+
+}
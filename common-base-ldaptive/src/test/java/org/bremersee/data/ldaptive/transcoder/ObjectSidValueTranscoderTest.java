@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.ldaptive.transcoder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The object sid value transcoder test.
+ *
+ * @author Christian Bremer
+ */
+class ObjectSidValueTranscoderTest {
+
+  private static final byte[] RAW_VALUE = {
+      1, 4, 0, 0, 0, 0, 0, 5,
+      21, 0, 0, 0,
+      1, 0, 0, 0,
+      2, 0, 0, 0,
+      (byte) 0xF5, 0x03, 0, (byte) 0xF0
+  };
+
+  private static final String SID = "S-1-5-21-1-2-4026532853";
+
+  private final ObjectSidValueTranscoder transcoder = new ObjectSidValueTranscoder();
+
+  /**
+   * Decode binary value.
+   */
+  @Test
+  void decodeBinaryValue() {
+    assertEquals(SID, transcoder.decodeBinaryValue(RAW_VALUE));
+    assertThrows(IllegalArgumentException.class, () -> transcoder.decodeBinaryValue(new byte[]{1, 4, 0}));
+    assertThrows(IllegalArgumentException.class,
+        () -> transcoder.decodeBinaryValue(new byte[]{1, 4, 0, 0, 0, 0, 0, 5}));
+  }
+
+  /**
+   * Encode binary value.
+   */
+  @Test
+  void encodeBinaryValue() {
+    assertArrayEquals(RAW_VALUE, transcoder.encodeBinaryValue(SID));
+    assertThrows(IllegalArgumentException.class, () -> transcoder.encodeBinaryValue("X-1"));
+  }
+
+}
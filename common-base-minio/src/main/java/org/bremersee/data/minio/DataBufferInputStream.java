@@ -0,0 +1,203 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.util.Assert;
+
+/**
+ * An input stream, that reads the data buffers of a publisher. The publisher is subscribed with a bounded demand, so
+ * that at most {@code prefetch} data buffers are held in memory. Reading blocks until the next data buffer is
+ * available, so the stream must not be read on a non-blocking thread. The stream may be closed by another thread
+ * while a read is blocked; the read fails then with an {@link IOException}.
+ *
+ * @author Christian Bremer
+ */
+class DataBufferInputStream extends InputStream implements Subscriber<DataBuffer> {
+
+  private static final Object COMPLETE = new Object();
+
+  private static final Object CLOSED = new Object();
+
+  private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+
+  /**
+   * Guards the current data buffer, so that it is never released while a read is in progress.
+   */
+  private final Object lock = new Object();
+
+  private final int prefetch;
+
+  private volatile Subscription subscription;
+
+  private volatile boolean closed;
+
+  private DataBuffer current;
+
+  private boolean done;
+
+  /**
+   * Instantiates a new data buffer input stream.
+   *
+   * @param content the content
+   * @param prefetch the number of data buffers, that are requested in advance
+   */
+  DataBufferInputStream(Publisher<? extends DataBuffer> content, int prefetch) {
+    Assert.notNull(content, "Content must not be null.");
+    Assert.isTrue(prefetch > 0, "Prefetch must be greater than zero.");
+    this.prefetch = prefetch;
+    content.subscribe(this);
+  }
+
+  @Override
+  public void onSubscribe(Subscription subscription) {
+    this.subscription = subscription;
+    subscription.request(prefetch);
+  }
+
+  @Override
+  public void onNext(DataBuffer dataBuffer) {
+    if (closed) {
+      DataBufferUtils.release(dataBuffer);
+      return;
+    }
+    queue.offer(dataBuffer);
+    if (closed) {
+      discardDataBuffers();
+    }
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    queue.offer(throwable);
+  }
+
+  @Override
+  public void onComplete() {
+    queue.offer(COMPLETE);
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] b = new byte[1];
+    return read(b, 0, 1) == -1 ? -1 : (b[0] & 0xff);
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (closed) {
+      throw new IOException("Stream closed.");
+    }
+    if (len == 0) {
+      return 0;
+    }
+    while (true) {
+      synchronized (lock) {
+        if (closed) {
+          throw new IOException("Stream closed.");
+        }
+        if (current != null && current.readableByteCount() > 0) {
+          int count = Math.min(len, current.readableByteCount());
+          current.read(b, off, count);
+          return count;
+        }
+        if (current != null) {
+          DataBufferUtils.release(current);
+          current = null;
+          subscription.request(1);
+        }
+      }
+      if (done) {
+        return -1;
+      }
+      takeNext();
+    }
+  }
+
+  @Override
+  public int available() {
+    synchronized (lock) {
+      return current != null ? current.readableByteCount() : 0;
+    }
+  }
+
+  private void takeNext() throws IOException {
+    Object next;
+    try {
+      next = queue.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Reading data buffer was interrupted.");
+    }
+    if (next == CLOSED) {
+      throw new IOException("Stream closed.");
+    } else if (next == COMPLETE) {
+      done = true;
+    } else if (next instanceof Throwable) {
+      done = true;
+      throw new IOException("Reading data buffer failed.", (Throwable) next);
+    } else {
+      synchronized (lock) {
+        if (closed) {
+          DataBufferUtils.release((DataBuffer) next);
+          throw new IOException("Stream closed.");
+        }
+        current = (DataBuffer) next;
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    Subscription s = subscription;
+    if (s != null) {
+      s.cancel();
+    }
+    discardDataBuffers();
+    queue.offer(CLOSED);
+    synchronized (lock) {
+      if (current != null) {
+        DataBufferUtils.release(current);
+        current = null;
+      }
+    }
+  }
+
+  private void discardDataBuffers() {
+    queue.removeIf(next -> {
+      if (next instanceof DataBuffer) {
+        DataBufferUtils.release((DataBuffer) next);
+        return true;
+      }
+      return false;
+    });
+  }
+
+}
@@ -40,6 +40,9 @@ public class DefaultMinioErrorHandler extends AbstractMinioErrorHandler {
 
   @Override
   public MinioException map(Throwable t) {
+    if (t instanceof MinioException) {
+      return (MinioException) t;
+    }
     if (t instanceof IllegalArgumentException) {
       return new MinioException(
           400,
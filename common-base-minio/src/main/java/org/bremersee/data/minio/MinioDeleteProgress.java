@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The progress of a bulk delete.
+ *
+ * @author Christian Bremer
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class MinioDeleteProgress {
+
+  private final long processed;
+
+  private final long failed;
+
+  /**
+   * Instantiates a new minio delete progress.
+   *
+   * @param processed the number of processed objects
+   * @param failed the number of objects, that could not be deleted
+   */
+  public MinioDeleteProgress(long processed, long failed) {
+    this.processed = processed;
+    this.failed = failed;
+  }
+
+  /**
+   * Gets the number of deleted objects.
+   *
+   * @return the number of deleted objects
+   */
+  public long getDeleted() {
+    return processed - failed;
+  }
+
+}
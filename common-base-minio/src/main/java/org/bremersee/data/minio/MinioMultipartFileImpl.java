@@ -24,13 +24,15 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.Optional;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
+import org.bremersee.web.multipart.FileTransferUtils;
 import org.springframework.lang.NonNull;
 import org.springframework.util.Assert;
 import org.springframework.util.FileCopyUtils;
@@ -41,10 +43,10 @@ import org.springframework.util.FileCopyUtils;
  * @author Christian Bremer
  */
 @ToString(
-    exclude = {"minioOperations", "etag", "size", "objectStatus"},
+    exclude = {"minioOperations", "etag", "size", "objectStatus", "rangedDownloader", "statCache"},
     doNotUseGetters = true)
 @EqualsAndHashCode(
-    exclude = {"minioOperations", "etag", "size", "objectStatus"},
+    exclude = {"minioOperations", "etag", "size", "objectStatus", "rangedDownloader", "statCache"},
     doNotUseGetters = true)
 public class MinioMultipartFileImpl implements MinioMultipartFile {
 
@@ -67,6 +69,10 @@ public class MinioMultipartFileImpl implements MinioMultipartFile {
 
   private StatObjectResponse objectStatus;
 
+  private RangedDownloader rangedDownloader;
+
+  private MinioStatCache statCache;
+
   /**
    * Instantiates a new minio multipart file.
    *
@@ -137,6 +143,26 @@ public class MinioMultipartFileImpl implements MinioMultipartFile {
     this.size = item.size();
   }
 
+  /**
+   * Sets the ranged downloader. If it is present, objects, that are larger than one chunk, are downloaded with
+   * concurrent ranged requests.
+   *
+   * @param rangedDownloader the ranged downloader
+   */
+  public void setRangedDownloader(RangedDownloader rangedDownloader) {
+    this.rangedDownloader = rangedDownloader;
+  }
+
+  /**
+   * Sets the stat cache. If it is present, the object status is taken from the cache as long as it is not expired and
+   * its etag matches the etag of this file (if the etag is known).
+   *
+   * @param statCache the stat cache
+   */
+  public void setStatCache(MinioStatCache statCache) {
+    this.statCache = statCache;
+  }
+
   /**
    * Gets object status.
    *
@@ -144,16 +170,22 @@ public class MinioMultipartFileImpl implements MinioMultipartFile {
    */
   protected StatObjectResponse getObjectStatus() {
     if (objectStatus == null) {
-      objectStatus = minioOperations.statObject(StatObjectArgs.builder()
-          .region(region)
-          .bucket(bucket)
-          .object(name)
-          .versionId(versionId)
-          .build());
+      objectStatus = statCache != null
+          ? statCache.get(bucket, name, versionId, etag, this::statObject)
+          : statObject();
     }
     return objectStatus;
   }
 
+  private StatObjectResponse statObject() {
+    return minioOperations.statObject(StatObjectArgs.builder()
+        .region(region)
+        .bucket(bucket)
+        .object(name)
+        .versionId(versionId)
+        .build());
+  }
+
   @NonNull
   @Override
   public String getName() {
@@ -198,6 +230,9 @@ public class MinioMultipartFileImpl implements MinioMultipartFile {
     if (isEmpty()) {
       return new ByteArrayInputStream(new byte[0]);
     }
+    if (isRanged()) {
+      return rangedDownloader.openStream(this, getSize());
+    }
     return minioOperations.getObject(GetObjectArgs.builder()
         .region(region)
         .bucket(bucket)
@@ -208,7 +243,18 @@ public class MinioMultipartFileImpl implements MinioMultipartFile {
 
   @Override
   public void transferTo(@NonNull File dest) throws IOException, IllegalStateException {
-    FileCopyUtils.copy(getInputStream(), Files.newOutputStream(dest.toPath()));
+    if (isRanged()) {
+      try (FileChannel channel = FileChannel.open(dest.toPath(),
+          StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        rangedDownloader.download(this, getSize(), channel);
+      }
+      return;
+    }
+    FileTransferUtils.copy(getInputStream(), dest.toPath());
+  }
+
+  private boolean isRanged() {
+    return rangedDownloader != null && rangedDownloader.isRanged(getSize());
   }
 
   @Override
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import io.minio.CloseableIterator;
+import io.minio.ListenBucketNotificationArgs;
+import io.minio.Result;
+import io.minio.messages.Event;
+import io.minio.messages.NotificationRecords;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.bremersee.data.minio.MinioObjectEvent.Type;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Listens to the notifications of a bucket on a dedicated thread and publishes them as {@link MinioObjectEvent}s.
+ * If the connection fails or is closed by the server, the listener reconnects with an exponential backoff and
+ * publishes an event of type {@link Type#RECONNECTED}, because the events of the gap are lost. This event is also
+ * published, if the first connection succeeds after failed attempts.
+ *
+ * <p>Caches of object status can subscribe to the events, for example:
+ * <pre>{@code
+ * MinioNotificationListener listener = new MinioNotificationListener(minioOperations, null, "my-bucket");
+ * listener.addListener(statCache::evict);
+ * listener.start();
+ * }</pre>
+ *
+ * @author Christian Bremer
+ */
+@Slf4j
+@ToString(of = {"region", "bucket", "prefix", "suffix", "reconnectDelay", "maxReconnectDelay"})
+public class MinioNotificationListener implements AutoCloseable {
+
+  /**
+   * The default events, that are listened to.
+   */
+  public static final String[] DEFAULT_EVENTS = {"s3:ObjectCreated:*", "s3:ObjectRemoved:*"};
+
+  /**
+   * The default delay of the first reconnect.
+   */
+  public static final Duration DEFAULT_RECONNECT_DELAY = Duration.ofSeconds(1L);
+
+  /**
+   * The default maximum delay of a reconnect.
+   */
+  public static final Duration DEFAULT_MAX_RECONNECT_DELAY = Duration.ofMinutes(1L);
+
+  private final MinioOperations minio;
+
+  @Getter
+  private final String region;
+
+  @Getter
+  private final String bucket;
+
+  private final List<Consumer<MinioObjectEvent>> listeners = new CopyOnWriteArrayList<>();
+
+  private String prefix = "";
+
+  private String suffix = "";
+
+  private String[] events = DEFAULT_EVENTS;
+
+  private Duration reconnectDelay = DEFAULT_RECONNECT_DELAY;
+
+  private Duration maxReconnectDelay = DEFAULT_MAX_RECONNECT_DELAY;
+
+  private volatile boolean running;
+
+  private volatile Thread thread;
+
+  private CloseableIterator<Result<NotificationRecords>> connection;
+
+  /**
+   * Instantiates a new minio notification listener.
+   *
+   * @param minioOperations the minio operations
+   * @param region the region
+   * @param bucket the bucket
+   */
+  public MinioNotificationListener(MinioOperations minioOperations, @Nullable String region, String bucket) {
+    Assert.notNull(minioOperations, "Minio operations must not be null.");
+    Assert.hasText(bucket, "Bucket must be present.");
+    this.minio = minioOperations;
+    this.region = region;
+    this.bucket = bucket;
+  }
+
+  /**
+   * Sets the prefix of the object names, that are listened to.
+   *
+   * @param prefix the prefix
+   */
+  public void setPrefix(String prefix) {
+    if (prefix != null) {
+      this.prefix = prefix;
+    }
+  }
+
+  /**
+   * Sets the suffix of the object names, that are listened to.
+   *
+   * @param suffix the suffix
+   */
+  public void setSuffix(String suffix) {
+    if (suffix != null) {
+      this.suffix = suffix;
+    }
+  }
+
+  /**
+   * Sets the events, that are listened to.
+   *
+   * @param events the events
+   */
+  public void setEvents(String... events) {
+    if (events != null && events.length > 0) {
+      this.events = events.clone();
+    }
+  }
+
+  /**
+   * Sets the delay of the first reconnect. The delay is doubled with every failed reconnect up to the maximum
+   * reconnect delay.
+   *
+   * @param reconnectDelay the reconnect delay
+   * @param maxReconnectDelay the max reconnect delay
+   */
+  public void setReconnectDelay(Duration reconnectDelay, Duration maxReconnectDelay) {
+    if (reconnectDelay != null && !reconnectDelay.isNegative() && !reconnectDelay.isZero()) {
+      this.reconnectDelay = reconnectDelay;
+    }
+    if (maxReconnectDelay != null && maxReconnectDelay.compareTo(this.reconnectDelay) >= 0) {
+      this.maxReconnectDelay = maxReconnectDelay;
+    }
+  }
+
+  /**
+   * Adds a listener. It is called on the thread of this notification listener and must not block.
+   *
+   * @param listener the listener
+   */
+  public void addListener(Consumer<MinioObjectEvent> listener) {
+    if (listener != null) {
+      listeners.add(listener);
+    }
+  }
+
+  /**
+   * Removes a listener.
+   *
+   * @param listener the listener
+   */
+  public void removeListener(Consumer<MinioObjectEvent> listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Determines whether the listener is running.
+   *
+   * @return {@code true} if the listener is running, otherwise {@code false}
+   */
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * Starts listening on a dedicated daemon thread.
+   */
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    Thread listenerThread = new Thread(this::listen, "minio-notifications-" + bucket);
+    listenerThread.setDaemon(true);
+    thread = listenerThread;
+    listenerThread.start();
+  }
+
+  /**
+   * Stops listening.
+   */
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    closeQuietly(connection);
+    connection = null;
+    Thread listenerThread = thread;
+    thread = null;
+    if (listenerThread != null) {
+      listenerThread.interrupt();
+    }
+  }
+
+  @Override
+  public void close() {
+    stop();
+  }
+
+  /**
+   * Determines whether the calling thread is the thread of the current run. A thread of a stopped run ends, even if
+   * the listener was started again in the meantime.
+   *
+   * @return {@code true} if the calling thread is the thread of the current run, otherwise {@code false}
+   */
+  private boolean isCurrentRun() {
+    return thread == Thread.currentThread();
+  }
+
+  private void listen() {
+    long delay = reconnectDelay.toMillis();
+    // every connection after the first attempt is a reconnect, even if the first attempt failed
+    boolean reconnect = false;
+    while (isCurrentRun()) {
+      try (CloseableIterator<Result<NotificationRecords>> iterator = minio.listenBucketNotification(
+          ListenBucketNotificationArgs.builder()
+              .region(region)
+              .bucket(bucket)
+              .prefix(prefix)
+              .suffix(suffix)
+              .events(events)
+              .build())) {
+        if (!setConnection(iterator)) {
+          return;
+        }
+        if (reconnect) {
+          log.info("Listening to notifications of bucket {} is reconnected.", bucket);
+          publish(new MinioObjectEvent(Type.RECONNECTED, bucket, null, null, null));
+        }
+        delay = reconnectDelay.toMillis();
+        while (isCurrentRun() && iterator.hasNext()) {
+          NotificationRecords records = iterator.next().get();
+          for (Event event : records.events()) {
+            publish(MinioObjectEvent.from(event));
+          }
+        }
+
+      } catch (Exception e) {
+        if (isCurrentRun()) {
+          log.warn("Listening to notifications of bucket {} failed, reconnecting in {} ms.", bucket, delay, e);
+        }
+
+      } finally {
+        clearConnection();
+      }
+      reconnect = true;
+      if (isCurrentRun()) {
+        try {
+          Thread.sleep(delay);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        delay = Math.min(delay * 2L, maxReconnectDelay.toMillis());
+      }
+    }
+  }
+
+  private synchronized boolean setConnection(CloseableIterator<Result<NotificationRecords>> iterator) {
+    if (!isCurrentRun()) {
+      return false;
+    }
+    connection = iterator;
+    return true;
+  }
+
+  private synchronized void clearConnection() {
+    if (isCurrentRun()) {
+      connection = null;
+    }
+  }
+
+  private void publish(MinioObjectEvent event) {
+    for (Consumer<MinioObjectEvent> listener : listeners) {
+      try {
+        listener.accept(event);
+
+      } catch (RuntimeException e) {
+        log.error("Listener of minio object events failed on event {}.", event, e);
+      }
+    }
+  }
+
+  private static void closeQuietly(@Nullable CloseableIterator<?> iterator) {
+    if (iterator != null) {
+      try {
+        iterator.close();
+      } catch (Exception e) {
+        log.debug("Closing notification connection failed.", e);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import io.minio.messages.Event;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.lang.Nullable;
+
+/**
+ * An event of an object, that is published by the {@link MinioNotificationListener}.
+ *
+ * @author Christian Bremer
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class MinioObjectEvent {
+
+  /**
+   * The type of the event.
+   */
+  public enum Type {
+
+    /**
+     * An object was created or overwritten.
+     */
+    CREATED,
+
+    /**
+     * An object was removed.
+     */
+    REMOVED,
+
+    /**
+     * Any other event of an object.
+     */
+    OTHER,
+
+    /**
+     * The listener has reconnected. Events, that occurred while it was disconnected, are lost, so caches should be
+     * cleared.
+     */
+    RECONNECTED
+  }
+
+  private final Type type;
+
+  private final String bucket;
+
+  private final String objectName;
+
+  private final String versionId;
+
+  private final String etag;
+
+  /**
+   * Instantiates a new minio object event.
+   *
+   * @param type the type
+   * @param bucket the bucket
+   * @param objectName the object name
+   * @param versionId the version id
+   * @param etag the etag
+   */
+  public MinioObjectEvent(
+      Type type,
+      String bucket,
+      @Nullable String objectName,
+      @Nullable String versionId,
+      @Nullable String etag) {
+    this.type = type;
+    this.bucket = bucket;
+    this.objectName = objectName;
+    this.versionId = versionId;
+    this.etag = etag;
+  }
+
+  /**
+   * Creates a minio object event from a bucket notification.
+   *
+   * @param event the bucket notification
+   * @return the minio object event
+   */
+  static MinioObjectEvent from(Event event) {
+    String eventType = event.eventType() != null ? event.eventType().name() : "";
+    Type type;
+    if (eventType.startsWith("OBJECT_CREATED")) {
+      type = Type.CREATED;
+    } else if (eventType.startsWith("OBJECT_REMOVED")) {
+      type = Type.REMOVED;
+    } else {
+      type = Type.OTHER;
+    }
+    return new MinioObjectEvent(
+        type,
+        event.bucketName(),
+        event.objectName(),
+        event.objectVersionId(),
+        event.etag());
+  }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import java.util.Collections;
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.lang.Nullable;
+
+/**
+ * A page of objects, that is fetched with a cursor. The cursor is the name of the last listed object; it is passed
+ * as {@code startAfter} to fetch the next page.
+ *
+ * @param <T> the type of the objects
+ * @author Christian Bremer
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class MinioObjectPage<T extends MinioObjectInfo> {
+
+  private final List<T> content;
+
+  private final String nextStartAfter;
+
+  /**
+   * Instantiates a new minio object page.
+   *
+   * @param content the content
+   * @param nextStartAfter the cursor of the next page or {@code null}, if this is the last page
+   */
+  public MinioObjectPage(List<T> content, @Nullable String nextStartAfter) {
+    this.content = content != null ? Collections.unmodifiableList(content) : Collections.emptyList();
+    this.nextStartAfter = nextStartAfter;
+  }
+
+  /**
+   * Determines whether there is a next page.
+   *
+   * @return {@code true} if there is a next page, otherwise {@code false}
+   */
+  public boolean hasNext() {
+    return nextStartAfter != null;
+  }
+
+}
@@ -78,6 +78,7 @@ import io.minio.messages.LifecycleConfiguration;
 import io.minio.messages.NotificationConfiguration;
 import io.minio.messages.NotificationRecords;
 import io.minio.messages.ObjectLockConfiguration;
+import io.minio.messages.Part;
 import io.minio.messages.ReplicationConfiguration;
 import io.minio.messages.Retention;
 import io.minio.messages.SseConfiguration;
@@ -1159,6 +1160,87 @@ public interface MinioOperations {
     return execute(minioClient -> minioClient.copyObject(args));
   }
 
+  /**
+   * Creates a multipart upload.
+   *
+   * <pre>Example:{@code
+   * String uploadId = minioOperations.createMultipartUpload(
+   *     null, "my-bucketname", "my-objectname", "application/octet-stream");
+   * Part part = minioOperations.uploadPart(null, "my-bucketname", "my-objectname", uploadId, 1, data);
+   * minioOperations.completeMultipartUpload(
+   *     null, "my-bucketname", "my-objectname", uploadId, new Part[]{part});
+   * }</pre>
+   *
+   * @param region the region
+   * @param bucket the bucket
+   * @param object the object name
+   * @param contentType the content type
+   * @return the upload id
+   * @see MultipartMinioClient#createMultipartUpload(String, String, String, String)
+   */
+  default String createMultipartUpload(String region, String bucket, String object, String contentType) {
+    return execute(minioClient -> MultipartMinioClient.of(minioClient)
+        .createMultipartUpload(region, bucket, object, contentType));
+  }
+
+  /**
+   * Uploads a part of a multipart upload.
+   *
+   * @param region the region
+   * @param bucket the bucket
+   * @param object the object name
+   * @param uploadId the upload id
+   * @param partNumber the part number, starting with 1
+   * @param data the data of the part
+   * @return the uploaded part
+   * @see MultipartMinioClient#uploadPart(String, String, String, String, int, byte[])
+   */
+  default Part uploadPart(
+      String region,
+      String bucket,
+      String object,
+      String uploadId,
+      int partNumber,
+      byte[] data) {
+    return execute(minioClient -> MultipartMinioClient.of(minioClient)
+        .uploadPart(region, bucket, object, uploadId, partNumber, data));
+  }
+
+  /**
+   * Completes a multipart upload.
+   *
+   * @param region the region
+   * @param bucket the bucket
+   * @param object the object name
+   * @param uploadId the upload id
+   * @param parts the uploaded parts in ascending order of their part numbers
+   * @return the object write response
+   * @see MultipartMinioClient#completeMultipartUpload(String, String, String, String, Part[])
+   */
+  default ObjectWriteResponse completeMultipartUpload(
+      String region,
+      String bucket,
+      String object,
+      String uploadId,
+      Part[] parts) {
+    return execute(minioClient -> MultipartMinioClient.of(minioClient)
+        .completeMultipartUpload(region, bucket, object, uploadId, parts));
+  }
+
+  /**
+   * Aborts a multipart upload; the server removes the uploaded parts.
+   *
+   * @param region the region
+   * @param bucket the bucket
+   * @param object the object name
+   * @param uploadId the upload id
+   * @see MultipartMinioClient#abortMultipartUpload(String, String, String, String)
+   */
+  default void abortMultipartUpload(String region, String bucket, String object, String uploadId) {
+    execute((MinioClientCallbackWithoutResult) minioClient -> MultipartMinioClient.of(minioClient)
+        .abortMultipartUpload(region, bucket, object, uploadId));
+  }
+
   /**
    * Gets retention configuration of an object.
    *
@@ -19,10 +19,14 @@ package org.bremersee.data.minio;
 import io.minio.ObjectWriteResponse;
 import io.minio.http.Method;
 import io.minio.messages.DeleteError;
+import java.io.InputStream;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import org.springframework.lang.Nullable;
@@ -80,6 +84,20 @@ public interface MinioRepository {
       @Nullable MultipartFile multipartFile,
       @NotNull DeleteMode deleteMode);
 
+  /**
+   * Save content of unknown length. The content is uploaded in parts, that are uploaded concurrently, so it must not
+   * be spooled to disk before. The content stream is not closed.
+   *
+   * @param id the id
+   * @param content the content
+   * @param contentType the content type; if it is {@code null}, {@code application/octet-stream} will be used
+   * @return the write response
+   */
+  ObjectWriteResponse save(
+      @NotNull MinioObjectId id,
+      @NotNull InputStream content,
+      @Nullable String contentType);
+
   /**
    * Checks whether an object with the specified name exists or not.
    *
@@ -96,6 +114,23 @@ public interface MinioRepository {
    */
   Optional<MinioMultipartFile> findOne(@NotNull MinioObjectId id);
 
+  /**
+   * Checks concurrently whether the objects with the specified IDs exist or not.
+   *
+   * @param ids the IDs
+   * @return the existence of every id (in the order of the given collection)
+   */
+  Map<MinioObjectId, Boolean> existsAll(@Nullable Collection<? extends MinioObjectId> ids);
+
+  /**
+   * Finds concurrently the objects with the specified IDs. Other than {@code findAll(String)} this is not a listing,
+   * but one status request per id, so it scales with the number of concurrent requests.
+   *
+   * @param ids the IDs
+   * @return the found objects (in the order of the given collection); IDs, that do not exist, are missing
+   */
+  Map<MinioObjectId, MinioMultipartFile> findAllById(@Nullable Collection<? extends MinioObjectId> ids);
+
   /**
    * Find all objects.
    *
@@ -113,6 +148,90 @@ public interface MinioRepository {
    */
   List<MinioMultipartFile> findAll(String prefix);
 
+  /**
+   * Streams all objects. The listing is fetched lazily page by page, while the stream is consumed, so the memory
+   * usage does not depend on the number of objects. Other than {@link #findAll(String)}, errors are not ignored but
+   * thrown as {@link MinioException}.
+   *
+   * @return the stream of objects
+   */
+  default Stream<MinioMultipartFile> streamAll() {
+    return streamAll(null);
+  }
+
+  /**
+   * Streams all objects. The listing is fetched lazily page by page, while the stream is consumed, so the memory
+   * usage does not depend on the number of objects. Other than {@link #findAll(String)}, errors are not ignored but
+   * thrown as {@link MinioException}.
+   *
+   * @param prefix the prefix
+   * @return the stream of objects
+   */
+  Stream<MinioMultipartFile> streamAll(@Nullable String prefix);
+
+  /**
+   * Find one page of objects. The page contains the current versions of the objects only, even if versioning is
+   * enabled, because the cursor is an object name and cannot point between two versions of the same object.
+   *
+   * @param prefix the prefix
+   * @param startAfter the cursor of the page, that is the name of the last object of the previous page; {@code null}
+   *     returns the first page
+   * @param maxKeys the maximum number of listed keys of the page
+   * @return the page
+   */
+  MinioObjectPage<MinioMultipartFile> findPage(@Nullable String prefix, @Nullable String startAfter, int maxKeys);
+
+  /**
+   * Loads the status of the given files concurrently, so that reading their content type, etag or last modification
+   * time does not cost one request per file afterwards. This is useful before rendering a page of objects, that was
+   * returned by {@link #findPage(String, String, int)}. Files, whose status cannot be loaded, are ignored.
+   *
+   * @param files the files
+   */
+  void prefetchStatus(@Nullable Collection<? extends MinioMultipartFile> files);
+
+  /**
+   * Copies the object on the server, the content is not transferred through the application. Objects, that are
+   * larger than {@link MinioRepositoryImpl#MAX_COPY_SIZE}, are copied with a multipart copy.
+   *
+   * @param source the source
+   * @param targetName the name of the target object
+   * @return the object write response
+   */
+  ObjectWriteResponse copy(@NotNull MinioObjectId source, @NotEmpty String targetName);
+
+  /**
+   * Moves the object on the server, that is a server side copy and the deletion of the source.
+   *
+   * @param source the source
+   * @param targetName the name of the target object
+   * @return the object write response
+   */
+  ObjectWriteResponse move(@NotNull MinioObjectId source, @NotEmpty String targetName);
+
+  /**
+   * Concatenates the objects on the server. Every source except the last one must be at least 5 MiB large.
+   *
+   * @param sources the sources
+   * @param targetName the name of the target object
+   * @param contentType the content type of the target object
+   * @return the object write response
+   */
+  ObjectWriteResponse compose(
+      @NotEmpty List<? extends MinioObjectId> sources,
+      @NotEmpty String targetName,
+      @Nullable String contentType);
+
+  /**
+   * Moves concurrently all objects, whose names start with the given prefix, to the new prefix. The new prefix must
+   * not start with the old one.
+   *
+   * @param prefix the prefix
+   * @param newPrefix the new prefix
+   * @return the number of moved objects
+   */
+  long moveAll(@NotEmpty String prefix, @NotEmpty String newPrefix);
+
   /**
    * Delete.
    *
@@ -128,6 +247,34 @@ public interface MinioRepository {
    */
   List<DeleteError> deleteAll(Collection<MinioObjectId> ids);
 
+  /**
+   * Deletes all objects of the given stream. The stream is consumed lazily in batches of
+   * {@link MinioRepositoryImpl#MAX_DELETE_BATCH_SIZE} objects, that are deleted concurrently, so the memory usage
+   * does not depend on the number of objects.
+   *
+   * @param ids the IDs
+   * @param errorListener the listener, that is called for every object, that could not be deleted
+   * @param progressListener the listener, that is called after every batch
+   * @return the final progress
+   */
+  MinioDeleteProgress deleteAll(
+      @Nullable Stream<? extends MinioObjectId> ids,
+      @Nullable Consumer<DeleteError> errorListener,
+      @Nullable Consumer<MinioDeleteProgress> progressListener);
+
+  /**
+   * Deletes all objects (and all their versions, if versioning is enabled), whose names start with the given prefix.
+   *
+   * @param prefix the prefix
+   * @param errorListener the listener, that is called for every object, that could not be deleted
+   * @param progressListener the listener, that is called after every batch
+   * @return the final progress
+   */
+  MinioDeleteProgress deleteAllByPrefix(
+      @NotEmpty String prefix,
+      @Nullable Consumer<DeleteError> errorListener,
+      @Nullable Consumer<MinioDeleteProgress> progressListener);
+
   /**
    * Gets presigned object url.
    *
@@ -17,6 +17,10 @@
 package org.bremersee.data.minio;
 
 import io.minio.BucketExistsArgs;
+import io.minio.ComposeObjectArgs;
+import io.minio.ComposeSource;
+import io.minio.CopyObjectArgs;
+import io.minio.CopySource;
 import io.minio.GetBucketVersioningArgs;
 import io.minio.GetPresignedObjectUrlArgs;
 import io.minio.ListObjectsArgs;
@@ -43,13 +47,30 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 import org.bremersee.exception.ServiceException;
 import org.bremersee.web.multipart.FileAwareMultipartFile;
 import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -58,8 +79,37 @@ import org.springframework.web.multipart.MultipartFile;
  *
  * @author Christian Bremer
  */
+@Slf4j
 public class MinioRepositoryImpl implements MinioRepository {
 
+  /**
+   * The default number of concurrent status requests of the bulk operations.
+   */
+  public static final int DEFAULT_STAT_PARALLELISM = 8;
+
+  /**
+   * The default number of concurrent delete requests of the bulk delete.
+   */
+  public static final int DEFAULT_DELETE_PARALLELISM = 4;
+
+  /**
+   * The maximum number of objects, that can be deleted with one request.
+   */
+  public static final int MAX_DELETE_BATCH_SIZE = 1000;
+
+  /**
+   * The default number of concurrent copy requests of {@link #moveAll(String, String)}.
+   */
+  public static final int DEFAULT_COPY_PARALLELISM = 8;
+
+  /**
+   * The maximum size of an object, that can be copied with one copy request (5 GiB); larger objects are copied with a
+   * multipart copy.
+   */
+  public static final long MAX_COPY_SIZE = 5L * 1024L * 1024L * 1024L;
+
+  private static final String USER_METADATA_PREFIX = "x-amz-meta-";
+
   private final MinioOperations minio;
 
   @Getter
@@ -72,6 +122,22 @@ public class MinioRepositoryImpl implements MinioRepository {
 
   private final Duration presignedObjectUrlDuration;
 
+  private MultipartUploader multipartUploader;
+
+  private boolean defaultMultipartUploader = true;
+
+  private RangedDownloader rangedDownloader;
+
+  private MinioStatCache statCache;
+
+  private int statParallelism = DEFAULT_STAT_PARALLELISM;
+
+  private int deleteParallelism = DEFAULT_DELETE_PARALLELISM;
+
+  private int copyParallelism = DEFAULT_COPY_PARALLELISM;
+
+  private Executor executor = MinioTaskExecutor.shared();
+
   /**
    * Instantiates a new minio repository.
    *
@@ -95,8 +161,9 @@ public class MinioRepositoryImpl implements MinioRepository {
     this.bucket = bucket;
     this.enableVersioning = enableVersioning;
     this.presignedObjectUrlDuration = validateDuration(presignedObjectUrlDuration);
+    this.multipartUploader = new MultipartUploader(minioOperations);
     if (create) {
-      createBucket();
+      createBucket(minio, region, bucket, enableVersioning);
     }
   }
 
@@ -127,14 +194,117 @@ public class MinioRepositoryImpl implements MinioRepository {
         presignedObjectUrlDuration);
   }
 
-  private static Duration validateDuration(Duration presignedObjectUrlDuration) {
+  /**
+   * Sets the multipart uploader, that is used for content of unknown length and for files, that are larger than
+   * one part.
+   *
+   * @param multipartUploader the multipart uploader
+   */
+  public void setMultipartUploader(MultipartUploader multipartUploader) {
+    if (multipartUploader != null) {
+      this.multipartUploader = multipartUploader;
+      this.defaultMultipartUploader = false;
+    }
+  }
+
+  /**
+   * Sets the ranged downloader. If it is present, the found multipart files download large objects with concurrent
+   * ranged requests.
+   *
+   * @param rangedDownloader the ranged downloader
+   */
+  public void setRangedDownloader(RangedDownloader rangedDownloader) {
+    this.rangedDownloader = rangedDownloader;
+  }
+
+  /**
+   * Sets the stat cache. If it is present, the found multipart files take their status from it and the repository
+   * evicts the objects, that it changes.
+   *
+   * @param statCache the stat cache
+   */
+  public void setStatCache(MinioStatCache statCache) {
+    this.statCache = statCache;
+  }
+
+  /**
+   * Sets the maximum number of concurrent status requests of the bulk operations ({@link #existsAll(Collection)},
+   * {@link #findAllById(Collection)} and {@link #prefetchStatus(Collection)}).
+   *
+   * @param statParallelism the stat parallelism
+   */
+  public void setStatParallelism(int statParallelism) {
+    if (statParallelism > 0) {
+      this.statParallelism = statParallelism;
+    }
+  }
+
+  /**
+   * Sets the maximum number of concurrent delete requests of the bulk delete.
+   *
+   * @param deleteParallelism the delete parallelism
+   */
+  public void setDeleteParallelism(int deleteParallelism) {
+    if (deleteParallelism > 0) {
+      this.deleteParallelism = deleteParallelism;
+    }
+  }
+
+  /**
+   * Sets the maximum number of concurrent copy requests of {@link #moveAll(String, String)}.
+   *
+   * @param copyParallelism the copy parallelism
+   */
+  public void setCopyParallelism(int copyParallelism) {
+    if (copyParallelism > 0) {
+      this.copyParallelism = copyParallelism;
+    }
+  }
+
+  /**
+   * Sets the executor of the bulk operations, for example a {@link MinioTaskExecutor}. Unless a multipart uploader
+   * is set, the parts of the uploads are uploaded by this executor, too. The executor is not closed by this
+   * repository. If no executor is set, the {@link MinioTaskExecutor#shared() shared} minio task executor is used.
+   *
+   * @param executor the executor
+   */
+  public void setExecutor(Executor executor) {
+    if (executor != null) {
+      this.executor = executor;
+      if (defaultMultipartUploader) {
+        this.multipartUploader = new MultipartUploader(
+            minio, MultipartUploader.DEFAULT_PART_SIZE, MultipartUploader.DEFAULT_PARALLELISM, executor);
+      }
+    }
+  }
+
+  /**
+   * Validates the duration of a presigned object url.
+   *
+   * @param presignedObjectUrlDuration the presigned object url duration
+   * @return the given duration or one day, if the given duration is not valid
+   */
+  static Duration validateDuration(Duration presignedObjectUrlDuration) {
     return Optional.ofNullable(presignedObjectUrlDuration)
         .filter(duration -> duration.toMillis() > 1000L * 30L
             && duration.toMillis() < 1000L * 60L * 60L * 24L * 7L)
         .orElseGet(() -> Duration.of(1L, ChronoUnit.DAYS));
   }
 
-  private void createBucket() {
+  /**
+   * Creates the bucket, if it does not exist, and sets the versioning status.
+   *
+   * @param minio the minio operations
+   * @param region the region
+   * @param bucket the bucket
+   * @param enableVersioning the enable versioning
+   */
+  static void createBucket(
+      MinioOperations minio,
+      String region,
+      String bucket,
+      boolean enableVersioning) {
+
     if (!minio.bucketExists(BucketExistsArgs.builder().bucket(bucket).build())) {
       minio.makeBucket(MakeBucketArgs.builder()
           .region(region)
@@ -189,15 +359,18 @@ public class MinioRepositoryImpl implements MinioRepository {
         .filter(file -> !file.isEmpty())
         .map(file -> {
           try (InputStream in = file.getInputStream()) {
-            ObjectWriteResponse response = minio.putObject(PutObjectArgs.builder()
-                .contentType(StringUtils.hasText(file.getContentType())
-                    ? file.getContentType()
-                    : MediaType.APPLICATION_OCTET_STREAM_VALUE)
-                .stream(in, file.getSize(), -1)
-                .region(region)
-                .bucket(bucket)
-                .object(id.getName())
-                .build());
+            ObjectWriteResponse response = file.getSize() > multipartUploader.getPartSize()
+                ? multipartUploader.upload(region, bucket, id.getName(), file.getContentType(), in)
+                : minio.putObject(PutObjectArgs.builder()
+                    .contentType(StringUtils.hasText(file.getContentType())
+                        ? file.getContentType()
+                        : MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                    .stream(in, file.getSize(), -1)
+                    .region(region)
+                    .bucket(bucket)
+                    .object(id.getName())
+                    .build());
+            evict(id);
             if (DeleteMode.ON_SUCCESS == deleteMode) {
               FileAwareMultipartFile.delete(file);
             }
@@ -214,6 +387,13 @@ public class MinioRepositoryImpl implements MinioRepository {
         });
   }
 
+  @Override
+  public ObjectWriteResponse save(MinioObjectId id, InputStream content, String contentType) {
+    ObjectWriteResponse response = multipartUploader.upload(region, bucket, id.getName(), contentType, content);
+    evict(id);
+    return response;
+  }
+
   @Override
   public boolean exists(MinioObjectId id) {
     return minio.objectExists(StatObjectArgs.builder()
@@ -227,13 +407,14 @@ public class MinioRepositoryImpl implements MinioRepository {
   @Override
   public Optional<MinioMultipartFile> findOne(MinioObjectId id) {
     try {
-      StatObjectResponse objectStat = minio.statObject(StatObjectArgs.builder()
-          .region(region)
-          .bucket(bucket)
-          .object(id.getName())
-          .versionId(id.getVersionId())
-          .build());
-      return Optional.of(new MinioMultipartFileImpl(minio, region, objectStat));
+      StatObjectResponse objectStat = statObject(id);
+      if (statCache != null) {
+        statCache.put(bucket, id.getName(), id.getVersionId(), objectStat);
+      }
+      MinioMultipartFileImpl file = new MinioMultipartFileImpl(minio, region, objectStat);
+      file.setRangedDownloader(rangedDownloader);
+      file.setStatCache(statCache);
+      return Optional.of(file);
 
     } catch (MinioException e) {
       if (404 == e.status()) {
@@ -243,31 +424,310 @@ public class MinioRepositoryImpl implements MinioRepository {
     }
   }
 
+  @Override
+  public Map<MinioObjectId, Boolean> existsAll(Collection<? extends MinioObjectId> ids) {
+    List<MinioObjectId> idList = distinct(ids);
+    Boolean[] results = new Boolean[idList.size()];
+    forEachConcurrently(idList, (id, index) -> results[index] = exists(id));
+    Map<MinioObjectId, Boolean> map = new LinkedHashMap<>();
+    for (int i = 0; i < results.length; i++) {
+      map.put(idList.get(i), results[i]);
+    }
+    return map;
+  }
+
+  @Override
+  public Map<MinioObjectId, MinioMultipartFile> findAllById(Collection<? extends MinioObjectId> ids) {
+    List<MinioObjectId> idList = distinct(ids);
+    MinioMultipartFile[] results = new MinioMultipartFile[idList.size()];
+    forEachConcurrently(idList, (id, index) -> results[index] = findOne(id).orElse(null));
+    Map<MinioObjectId, MinioMultipartFile> map = new LinkedHashMap<>();
+    for (int i = 0; i < results.length; i++) {
+      if (results[i] != null) {
+        map.put(idList.get(i), results[i]);
+      }
+    }
+    return map;
+  }
+
+  private static List<MinioObjectId> distinct(Collection<? extends MinioObjectId> ids) {
+    return ids == null ? Collections.emptyList() : new ArrayList<>(new LinkedHashSet<>(ids));
+  }
+
   @Override
   public List<MinioMultipartFile> findAll(String prefix) {
-    Iterable<Result<Item>> results = minio.listObjects(ListObjectsArgs.builder()
+    List<MinioMultipartFile> fileList = new ArrayList<>();
+    for (Result<Item> result : listObjects(prefix, null, null, enableVersioning)) {
+      try {
+        toFile(result.get()).ifPresent(fileList::add);
+
+      } catch (Exception e) {
+        log.warn("Listing an object of bucket {} failed, it is ignored.", bucket, e);
+      }
+    }
+    return fileList;
+  }
+
+  @Override
+  public Stream<MinioMultipartFile> streamAll(String prefix) {
+    return StreamSupport.stream(listObjects(prefix, null, null, enableVersioning).spliterator(), false)
+        .map(result -> minio.execute(minioClient -> result.get()))
+        .map(this::toFile)
+        .flatMap(Optional::stream);
+  }
+
+  @Override
+  public MinioObjectPage<MinioMultipartFile> findPage(String prefix, String startAfter, int maxKeys) {
+    Assert.isTrue(maxKeys > 0, "Max keys must be greater than zero.");
+    Iterator<Result<Item>> results = listObjects(prefix, startAfter, maxKeys + 1, false).iterator();
+    List<MinioMultipartFile> content = new ArrayList<>();
+    String lastName = null;
+    for (int i = 0; i < maxKeys && results.hasNext(); i++) {
+      Result<Item> result = results.next();
+      Item item = minio.execute(minioClient -> result.get());
+      lastName = item.objectName();
+      toFile(item).ifPresent(content::add);
+    }
+    return new MinioObjectPage<>(content, results.hasNext() ? lastName : null);
+  }
+
+  private Iterable<Result<Item>> listObjects(
+      String prefix,
+      String startAfter,
+      Integer maxKeys,
+      boolean includeVersions) {
+
+    ListObjectsArgs.Builder builder = ListObjectsArgs.builder()
         .region(region)
         .bucket(bucket)
-        .includeVersions(enableVersioning)
+        .includeVersions(includeVersions)
         .recursive(true)
         .prefix(prefix)
-        .build());
-    List<MinioMultipartFile> fileList = new ArrayList<>();
-    for (Result<Item> result : results) {
+        .startAfter(startAfter);
+    if (maxKeys != null) {
+      builder.maxKeys(maxKeys);
+    }
+    return minio.listObjects(builder.build());
+  }
+
+  private Optional<MinioMultipartFile> toFile(Item item) {
+    if (item.isDir() || item.isDeleteMarker()) {
+      return Optional.empty();
+    }
+    MinioMultipartFileImpl file = new MinioMultipartFileImpl(
+        getMinioOperations(),
+        region,
+        bucket,
+        item);
+    file.setRangedDownloader(rangedDownloader);
+    file.setStatCache(statCache);
+    return Optional.of(file);
+  }
+
+  @Override
+  public void prefetchStatus(Collection<? extends MinioMultipartFile> files) {
+    if (files == null || files.isEmpty()) {
+      return;
+    }
+    forEachConcurrently(new ArrayList<>(files), (file, index) -> {
       try {
-        Item item = result.get();
-        if (!item.isDir() && !item.isDeleteMarker()) {
-          fileList.add(new MinioMultipartFileImpl(
-              getMinioOperations(),
-              region,
-              bucket,
-              item));
+        if (file instanceof MinioMultipartFileImpl) {
+          ((MinioMultipartFileImpl) file).getObjectStatus();
+        } else {
+          file.getContentType();
         }
-      } catch (Exception ignored) {
-        // ignored
+
+      } catch (RuntimeException e) {
+        log.debug("Prefetching status of object {} failed, it is ignored.", file.getName(), e);
       }
+    });
+  }
+
+  /**
+   * Executes the action for every element of the list with at most {@code statParallelism} concurrent calls.
+   *
+   * @param list the list
+   * @param action the action, that gets the element and its index
+   * @param <T> the element type
+   */
+  private <T> void forEachConcurrently(List<T> list, ObjIntConsumer<T> action) {
+    forEachConcurrently(
+        IntStream.range(0, list.size()).iterator(),
+        Math.min(statParallelism, list.size()),
+        index -> action.accept(list.get(index), index));
+  }
+
+  /**
+   * Executes the action for every element of the iterator with at most the given number of concurrent calls. The
+   * iterator is consumed lazily and the calling thread is one of the workers. If an action fails, the remaining
+   * elements are skipped and the first exception is thrown after all running actions are finished.
+   *
+   * @param iterator the iterator
+   * @param parallelism the maximum number of concurrent calls
+   * @param action the action
+   * @param <T> the element type
+   */
+  private <T> void forEachConcurrently(Iterator<T> iterator, int parallelism, Consumer<T> action) {
+    AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    Runnable worker = () -> {
+      while (failure.get() == null) {
+        try {
+          T element;
+          synchronized (iterator) {
+            if (!iterator.hasNext()) {
+              return;
+            }
+            element = iterator.next();
+          }
+          action.accept(element);
+
+        } catch (RuntimeException e) {
+          failure.compareAndSet(null, e);
+        }
+      }
+    };
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[Math.max(parallelism - 1, 0)];
+    for (int i = 0; i < futures.length; i++) {
+      futures[i] = CompletableFuture.runAsync(worker, executor);
+    }
+    worker.run();
+    CompletableFuture.allOf(futures).join();
+    if (failure.get() != null) {
+      throw failure.get();
     }
-    return fileList;
+  }
+
+  @Override
+  public ObjectWriteResponse copy(MinioObjectId source, String targetName) {
+    StatObjectResponse status = statObject(source);
+    return copy(source, status.size(), status, targetName);
+  }
+
+  private StatObjectResponse statObject(MinioObjectId id) {
+    return minio.statObject(StatObjectArgs.builder()
+        .region(region)
+        .bucket(bucket)
+        .object(id.getName())
+        .versionId(id.getVersionId())
+        .build());
+  }
+
+  private ObjectWriteResponse copy(
+      MinioObjectId source,
+      long size,
+      @Nullable StatObjectResponse status,
+      String targetName) {
+
+    Assert.hasText(targetName, "Target name must be present.");
+    ObjectWriteResponse response;
+    if (size > MAX_COPY_SIZE) {
+      log.debug("Copying object {} of {} bytes with a multipart copy.", source.getName(), size);
+      StatObjectResponse sourceStatus = status != null ? status : statObject(source);
+      response = minio.composeObject(ComposeObjectArgs.builder()
+          .region(region)
+          .bucket(bucket)
+          .object(targetName)
+          .headers(getCopyHeaders(sourceStatus))
+          .sources(Collections.singletonList(ComposeSource.builder()
+              .region(region)
+              .bucket(bucket)
+              .object(source.getName())
+              .versionId(source.getVersionId())
+              .build()))
+          .build());
+      evict(MinioObjectId.from(targetName));
+    } else {
+      response = minio.copyObject(CopyObjectArgs.builder()
+          .region(region)
+          .bucket(bucket)
+          .object(targetName)
+          .source(CopySource.builder()
+              .region(region)
+              .bucket(bucket)
+              .object(source.getName())
+              .versionId(source.getVersionId())
+              .build())
+          .build());
+      evict(MinioObjectId.from(targetName));
+    }
+    return response;
+  }
+
+  /**
+   * Gets the headers of a multipart copy. A composed object gets the headers of the compose request only, so the
+   * content type and the user metadata are taken from the source.
+   *
+   * @param status the status of the source
+   * @return the headers
+   */
+  private static Map<String, String> getCopyHeaders(StatObjectResponse status) {
+    Map<String, String> headers = new LinkedHashMap<>();
+    headers.put("Content-Type", StringUtils.hasText(status.contentType())
+        ? status.contentType()
+        : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+    for (String name : status.headers().names()) {
+      if (name.toLowerCase(Locale.ROOT).startsWith(USER_METADATA_PREFIX)) {
+        headers.put(name, status.headers().get(name));
+      }
+    }
+    return headers;
+  }
+
+  @Override
+  public ObjectWriteResponse move(MinioObjectId source, String targetName) {
+    Assert.isTrue(!source.getName().equals(targetName), "Source and target must be different.");
+    ObjectWriteResponse response = copy(source, targetName);
+    delete(source);
+    return response;
+  }
+
+  @Override
+  public ObjectWriteResponse compose(List<? extends MinioObjectId> sources, String targetName, String contentType) {
+    Assert.notEmpty(sources, "Sources must not be empty.");
+    Assert.hasText(targetName, "Target name must be present.");
+    ObjectWriteResponse response = minio.composeObject(ComposeObjectArgs.builder()
+        .region(region)
+        .bucket(bucket)
+        .object(targetName)
+        .headers(Collections.singletonMap("Content-Type", StringUtils.hasText(contentType)
+            ? contentType
+            : MediaType.APPLICATION_OCTET_STREAM_VALUE))
+        .sources(sources.stream()
+            .map(source -> ComposeSource.builder()
+                .region(region)
+                .bucket(bucket)
+                .object(source.getName())
+                .versionId(source.getVersionId())
+                .build())
+            .collect(Collectors.toList()))
+        .build());
+    evict(MinioObjectId.from(targetName));
+    return response;
+  }
+
+  @Override
+  public long moveAll(String prefix, String newPrefix) {
+    Assert.hasText(prefix, "Prefix must be present.");
+    Assert.hasText(newPrefix, "New prefix must be present.");
+    Assert.isTrue(!newPrefix.startsWith(prefix), "New prefix must not start with the prefix.");
+    Iterator<Item> items = StreamSupport
+        .stream(minio.listObjects(ListObjectsArgs.builder()
+            .region(region)
+            .bucket(bucket)
+            .recursive(true)
+            .prefix(prefix)
+            .build()).spliterator(), false)
+        .map(result -> minio.execute(minioClient -> result.get()))
+        .filter(item -> !item.isDir())
+        .iterator();
+    AtomicLong moved = new AtomicLong();
+    forEachConcurrently(items, copyParallelism, item -> {
+      MinioObjectId source = MinioObjectId.from(item.objectName());
+      copy(source, item.size(), null, newPrefix + item.objectName().substring(prefix.length()));
+      delete(source);
+      moved.incrementAndGet();
+    });
+    return moved.get();
   }
 
   @Override
@@ -278,30 +738,96 @@ public class MinioRepositoryImpl implements MinioRepository {
         .object(id.getName())
         .versionId(id.getVersionId())
         .build());
+    evict(id);
   }
 
   @Override
   public List<DeleteError> deleteAll(Collection<MinioObjectId> ids) {
-
     if (ids == null || ids.isEmpty()) {
       return Collections.emptyList();
     }
-    Iterable<Result<DeleteError>> errors = minio.removeObjects(RemoveObjectsArgs.builder()
-        .region(region)
-        .bucket(bucket)
-        .objects(ids.stream()
-            .map(id -> new DeleteObject(id.getName(), id.getVersionId()))
-            .collect(Collectors.toSet()))
-        .build());
     List<DeleteError> errorList = new ArrayList<>();
-    for (Result<DeleteError> error : errors) {
-      try {
-        errorList.add(error.get());
-      } catch (Exception ignored) {
-        // ignored
+    deleteAll(ids.stream(), errorList::add, null);
+    return errorList;
+  }
+
+  @Override
+  public MinioDeleteProgress deleteAll(
+      Stream<? extends MinioObjectId> ids,
+      Consumer<DeleteError> errorListener,
+      Consumer<MinioDeleteProgress> progressListener) {
+
+    if (ids == null) {
+      return new MinioDeleteProgress(0L, 0L);
+    }
+    Iterator<? extends MinioObjectId> idIterator = ids.iterator();
+    Iterator<List<MinioObjectId>> batches = new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return idIterator.hasNext();
+      }
+
+      @Override
+      public List<MinioObjectId> next() {
+        List<MinioObjectId> batch = new ArrayList<>();
+        while (batch.size() < MAX_DELETE_BATCH_SIZE && idIterator.hasNext()) {
+          batch.add(idIterator.next());
+        }
+        return batch;
       }
+    };
+    long[] counts = new long[2];
+    forEachConcurrently(batches, deleteParallelism, batch -> {
+      List<DeleteError> errors = new ArrayList<>();
+      Iterable<Result<DeleteError>> results = minio.removeObjects(RemoveObjectsArgs.builder()
+          .region(region)
+          .bucket(bucket)
+          .objects(batch.stream()
+              .map(id -> new DeleteObject(id.getName(), id.getVersionId()))
+              .collect(Collectors.toList()))
+          .build());
+      for (Result<DeleteError> result : results) {
+        DeleteError error = minio.execute(minioClient -> result.get());
+        if (error != null) {
+          errors.add(error);
+        }
+      }
+      batch.forEach(this::evict);
+      synchronized (counts) {
+        counts[0] += batch.size();
+        counts[1] += errors.size();
+        if (errorListener != null) {
+          errors.forEach(errorListener);
+        }
+        if (progressListener != null) {
+          progressListener.accept(new MinioDeleteProgress(counts[0], counts[1]));
+        }
+      }
+    });
+    synchronized (counts) {
+      return new MinioDeleteProgress(counts[0], counts[1]);
+    }
+  }
+
+  @Override
+  public MinioDeleteProgress deleteAllByPrefix(
+      String prefix,
+      Consumer<DeleteError> errorListener,
+      Consumer<MinioDeleteProgress> progressListener) {
+
+    Assert.hasText(prefix, "Prefix must be present.");
+    Stream<MinioObjectId> ids = StreamSupport
+        .stream(listObjects(prefix, null, null, enableVersioning).spliterator(), false)
+        .map(result -> minio.execute(minioClient -> result.get()))
+        .filter(item -> !item.isDir())
+        .map(item -> MinioObjectId.from(item.objectName(), item.versionId()));
+    return deleteAll(ids, errorListener, progressListener);
+  }
+
+  private void evict(MinioObjectId id) {
+    if (statCache != null) {
+      statCache.evict(bucket, id.getName());
     }
-    return errorList;
   }
 
   @Override
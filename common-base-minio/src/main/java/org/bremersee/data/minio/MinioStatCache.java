@@ -0,0 +1,284 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import io.minio.StatObjectResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import lombok.ToString;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * A bounded least recently used cache of object status, whose entries expire after a time to live. An entry is
+ * also invalid, if the caller knows the current etag of the object (for example from a listing) and it differs
+ * from the cached one.
+ *
+ * <p>The entries are grouped by object, so that all versions of an object are evicted at once. A status, that was
+ * loaded while the object was evicted, is not cached, because it may be stale; loads of other objects are not
+ * affected.
+ *
+ * @author Christian Bremer
+ */
+@ToString(of = {"timeToLive", "maxSize"})
+public class MinioStatCache {
+
+  /**
+   * The default time to live.
+   */
+  public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5L);
+
+  /**
+   * The default max size.
+   */
+  public static final int DEFAULT_MAX_SIZE = 10000;
+
+  private final Duration timeToLive;
+
+  private final int maxSize;
+
+  private final LinkedHashMap<String, Map<String, CachedStatus>> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+  private final Map<String, Loads> loads = new HashMap<>();
+
+  private int size;
+
+  /**
+   * Instantiates a new minio stat cache with default time to live and max size.
+   */
+  public MinioStatCache() {
+    this(DEFAULT_TIME_TO_LIVE, DEFAULT_MAX_SIZE);
+  }
+
+  /**
+   * Instantiates a new minio stat cache.
+   *
+   * @param timeToLive the time to live
+   * @param maxSize the max size
+   */
+  public MinioStatCache(Duration timeToLive, int maxSize) {
+    Assert.notNull(timeToLive, "Time to live must not be null.");
+    Assert.isTrue(maxSize > 0, "Max size must be greater than zero.");
+    this.timeToLive = timeToLive;
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Gets the cached object status.
+   *
+   * @param bucket the bucket
+   * @param object the object name
+   * @param versionId the version id
+   * @param etag the current etag of the object, if it is known
+   * @return the object status or {@code null}, if it is not cached, expired or has another etag
+   */
+  @Nullable
+  public StatObjectResponse get(String bucket, String object, @Nullable String versionId, @Nullable String etag) {
+    String key = key(bucket, object);
+    synchronized (cache) {
+      Map<String, CachedStatus> versions = cache.get(key);
+      CachedStatus value = versions != null ? versions.get(versionKey(versionId)) : null;
+      if (value == null) {
+        return null;
+      }
+      if (System.currentTimeMillis() > value.expiresAt
+          || (etag != null && !Objects.equals(normalize(etag), normalize(value.status.etag())))) {
+        versions.remove(versionKey(versionId));
+        size--;
+        if (versions.isEmpty()) {
+          cache.remove(key);
+        }
+        return null;
+      }
+      return value.status;
+    }
+  }
+
+  /**
+   * Gets the cached object status or loads and caches it. The loaded status is not cached, if the object was
+   * evicted while it was loaded.
+   *
+   * @param bucket the bucket
+   * @param object the object name
+   * @param versionId the version id
+   * @param etag the current etag of the object, if it is known
+   * @param loader the loader
+   * @return the object status
+   */
+  public StatObjectResponse get(
+      String bucket,
+      String object,
+      @Nullable String versionId,
+      @Nullable String etag,
+      Supplier<StatObjectResponse> loader) {
+
+    String key = key(bucket, object);
+    Loads objectLoads;
+    long loadGeneration;
+    synchronized (cache) {
+      StatObjectResponse status = get(bucket, object, versionId, etag);
+      if (status != null) {
+        return status;
+      }
+      objectLoads = loads.computeIfAbsent(key, k -> new Loads());
+      objectLoads.count++;
+      loadGeneration = objectLoads.generation;
+    }
+    try {
+      StatObjectResponse status = loader.get();
+      synchronized (cache) {
+        if (objectLoads.generation == loadGeneration) {
+          put(bucket, object, versionId, status);
+        }
+      }
+      return status;
+
+    } finally {
+      synchronized (cache) {
+        if (--objectLoads.count == 0) {
+          loads.remove(key);
+        }
+      }
+    }
+  }
+
+  /**
+   * Puts the object status into the cache.
+   *
+   * @param bucket the bucket
+   * @param object the object name
+   * @param versionId the version id, that was requested
+   * @param status the object status
+   */
+  public void put(String bucket, String object, @Nullable String versionId, @Nullable StatObjectResponse status) {
+    if (status == null || timeToLive.toMillis() <= 0L) {
+      return;
+    }
+    CachedStatus value = new CachedStatus(status, System.currentTimeMillis() + timeToLive.toMillis());
+    synchronized (cache) {
+      Map<String, CachedStatus> versions = cache.computeIfAbsent(key(bucket, object), key -> new HashMap<>());
+      if (versions.put(versionKey(versionId), value) == null) {
+        size++;
+      }
+      Iterator<Map<String, CachedStatus>> eldest = cache.values().iterator();
+      while (size > maxSize && eldest.hasNext()) {
+        size -= eldest.next().size();
+        eldest.remove();
+      }
+    }
+  }
+
+  /**
+   * Removes the status of all versions of the object.
+   *
+   * @param bucket the bucket
+   * @param object the object name
+   */
+  public void evict(String bucket, String object) {
+    String key = key(bucket, object);
+    synchronized (cache) {
+      Loads objectLoads = loads.get(key);
+      if (objectLoads != null) {
+        objectLoads.generation++;
+      }
+      Map<String, CachedStatus> versions = cache.remove(key);
+      if (versions != null) {
+        size -= versions.size();
+      }
+    }
+  }
+
+  /**
+   * Removes the status of the object of the event. If the event is of type
+   * {@link MinioObjectEvent.Type#RECONNECTED}, all entries are removed, because events might have been lost. This
+   * method can be added as listener to a {@link MinioNotificationListener}.
+   *
+   * @param event the event
+   */
+  public void evict(MinioObjectEvent event) {
+    if (event == null) {
+      return;
+    }
+    if (event.getType() == MinioObjectEvent.Type.RECONNECTED || event.getObjectName() == null) {
+      clear();
+    } else {
+      evict(event.getBucket(), event.getObjectName());
+    }
+  }
+
+  /**
+   * Removes all entries.
+   */
+  public void clear() {
+    synchronized (cache) {
+      loads.values().forEach(objectLoads -> objectLoads.generation++);
+      cache.clear();
+      size = 0;
+    }
+  }
+
+  /**
+   * Returns the number of cached entries (including expired ones, that are not removed yet).
+   *
+   * @return the number of cached entries
+   */
+  public int size() {
+    synchronized (cache) {
+      return size;
+    }
+  }
+
+  private static String key(String bucket, String object) {
+    return bucket + '/' + object;
+  }
+
+  private static String versionKey(@Nullable String versionId) {
+    return versionId != null ? versionId : "";
+  }
+
+  private static String normalize(@Nullable String etag) {
+    return etag != null ? etag.replace("\"", "") : null;
+  }
+
+  /**
+   * The running loads of an object. The generation is incremented, when the object is evicted.
+   */
+  private static class Loads {
+
+    private int count;
+
+    private long generation;
+  }
+
+  private static class CachedStatus {
+
+    private final StatObjectResponse status;
+
+    private final long expiresAt;
+
+    private CachedStatus(StatObjectResponse status, long expiresAt) {
+      this.status = status;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+}
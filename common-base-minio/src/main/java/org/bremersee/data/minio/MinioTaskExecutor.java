@@ -0,0 +1,157 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.Assert;
+
+/**
+ * A bounded executor of concurrent minio calls. It has at most {@code poolSize} threads and queues at most {@code
+ * queueCapacity} calls; further calls are executed by the calling thread. Idle threads are released after one
+ * minute.
+ *
+ * <p>The executor must be closed, when it is not needed anymore. If it is a spring bean, this is done by the
+ * application context. The {@link #shared() shared} executor, that is the default of the uploader, the downloader and
+ * the repositories, is never closed; its threads are daemon threads and are released, when they are idle.
+ *
+ * @author Christian Bremer
+ */
+@Slf4j
+@ToString(of = {"poolSize", "queueCapacity"})
+public class MinioTaskExecutor implements Executor, AutoCloseable {
+
+  /**
+   * The default pool size.
+   */
+  public static final int DEFAULT_POOL_SIZE = 16;
+
+  /**
+   * The default queue capacity.
+   */
+  public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 30L;
+
+  private final AtomicInteger threadCounter = new AtomicInteger();
+
+  @Getter
+  private final int poolSize;
+
+  @Getter
+  private final int queueCapacity;
+
+  private final ThreadPoolExecutor executor;
+
+  /**
+   * Gets the shared executor with default pool size and queue capacity. It is created on first use and must not be
+   * closed.
+   *
+   * @return the shared executor
+   */
+  public static MinioTaskExecutor shared() {
+    return SharedHolder.INSTANCE;
+  }
+
+  /**
+   * Instantiates a new minio task executor with default pool size and queue capacity.
+   */
+  public MinioTaskExecutor() {
+    this(DEFAULT_POOL_SIZE, DEFAULT_QUEUE_CAPACITY);
+  }
+
+  /**
+   * Instantiates a new minio task executor.
+   *
+   * @param poolSize the maximum number of threads
+   * @param queueCapacity the maximum number of queued calls
+   */
+  public MinioTaskExecutor(int poolSize, int queueCapacity) {
+    Assert.isTrue(poolSize > 0, "Pool size must be greater than zero.");
+    Assert.isTrue(queueCapacity > 0, "Queue capacity must be greater than zero.");
+    this.poolSize = poolSize;
+    this.queueCapacity = queueCapacity;
+    this.executor = new ThreadPoolExecutor(
+        poolSize,
+        poolSize,
+        60L,
+        TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(queueCapacity),
+        runnable -> {
+          Thread thread = new Thread(runnable, "minio-worker-" + threadCounter.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        (runnable, pool) -> {
+          if (pool.isShutdown()) {
+            throw new RejectedExecutionException("Minio task executor is closed.");
+          }
+          runnable.run();
+        });
+    this.executor.allowCoreThreadTimeOut(true);
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    executor.execute(command);
+  }
+
+  /**
+   * Determines whether this executor is closed.
+   *
+   * @return {@code true} if this executor is closed, otherwise {@code false}
+   */
+  public boolean isClosed() {
+    return executor.isShutdown();
+  }
+
+  /**
+   * Closes this executor. Running and queued calls are completed, new calls are rejected.
+   */
+  @Override
+  public void close() {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        log.warn("Minio task executor did not terminate within {} seconds.", SHUTDOWN_TIMEOUT_SECONDS);
+        executor.shutdownNow();
+      }
+
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static class SharedHolder {
+
+    private static final MinioTaskExecutor INSTANCE = new MinioTaskExecutor() {
+      @Override
+      public void close() {
+        log.debug("The shared minio task executor is not closed.");
+      }
+    };
+  }
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import io.minio.MinioClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.UploadPartResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.InsufficientDataException;
+import io.minio.errors.InternalException;
+import io.minio.errors.InvalidResponseException;
+import io.minio.errors.ServerException;
+import io.minio.errors.XmlParserException;
+import io.minio.messages.Part;
+import java.io.IOException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * A minio client, that exposes the calls of the S3 multipart upload (create, upload part, complete and abort), so
+ * that parts can be uploaded concurrently into one object without temporary part objects.
+ *
+ * @author Christian Bremer
+ */
+public class MultipartMinioClient extends MinioClient {
+
+  /**
+   * Instantiates a new multipart minio client, that shares the configuration and the http client of the given
+   * client.
+   *
+   * @param client the client
+   */
+  public MultipartMinioClient(MinioClient client) {
+    super(client);
+  }
+
+  /**
+   * Returns the given client, if it is a multipart minio client, otherwise a multipart minio client, that shares
+   * the configuration of the given client.
+   *
+   * @param client the client
+   * @return the multipart minio client
+   */
+  public static MultipartMinioClient of(MinioClient client) {
+    return client instanceof MultipartMinioClient ? (MultipartMinioClient) client : new MultipartMinioClient(client);
+  }
+
+  /**
+   * Creates a multipart upload.
+   *
+   * @param region the region
+   * @param bucket the bucket
+   * @param object the object name
+   * @param contentType the content type
+   * @return the upload id
+   * @throws InsufficientDataException the insufficient data exception
+   * @throws InternalException the internal exception
+   * @throws InvalidKeyException the invalid key exception
+   * @throws IOException the io exception
+   * @throws NoSuchAlgorithmException the no such algorithm exception
+   * @throws XmlParserException the xml parser exception
+   * @throws ErrorResponseException the error response exception
+   * @throws InvalidResponseException the invalid response exception
+   * @throws ServerException the server exception
+   */
+  public String createMultipartUpload(String region, String bucket, String object, String contentType)
+      throws InsufficientDataException, InternalException, InvalidKeyException, IOException,
+      NoSuchAlgorithmException, XmlParserException, ErrorResponseException, InvalidResponseException,
+      ServerException {
+
+    Multimap<String, String> headers = HashMultimap.create();
+    headers.put("Content-Type", contentType);
+    return createMultipartUpload(bucket, region, object, headers, null).result().uploadId();
+  }
+
+  /**
+   * Uploads a part of a multipart upload.
+   *
+   * @param region the region
+   * @param bucket the bucket
+   * @param object the object name
+   * @param uploadId the upload id
+   * @param partNumber the part number, starting with 1
+   * @param data the data of the part
+   * @return the uploaded part
+   * @throws InsufficientDataException the insufficient data exception
+   * @throws InternalException the internal exception
+   * @throws InvalidKeyException the invalid key exception
+   * @throws IOException the io exception
+   * @throws NoSuchAlgorithmException the no such algorithm exception
+   * @throws XmlParserException the xml parser exception
+   * @throws ErrorResponseException the error response exception
+   * @throws InvalidResponseException the invalid response exception
+   * @throws ServerException the server exception
+   */
+  public Part uploadPart(
+      String region,
+      String bucket,
+      String object,
+      String uploadId,
+      int partNumber,
+      byte[] data)
+      throws InsufficientDataException, InternalException, InvalidKeyException, IOException,
+      NoSuchAlgorithmException, XmlParserException, ErrorResponseException, InvalidResponseException,
+      ServerException {
+
+    UploadPartResponse response = uploadPart(
+        bucket, region, object, data, data.length, uploadId, partNumber, null, null);
+    return new Part(response.partNumber(), response.etag());
+  }
+
+  /**
+   * Completes a multipart upload.
+   *
+   * @param region the region
+   * @param bucket the bucket
+   * @param object the object name
+   * @param uploadId the upload id
+   * @param parts the uploaded parts in ascending order of their part numbers
+   * @return the object write response
+   * @throws InsufficientDataException the insufficient data exception
+   * @throws InternalException the internal exception
+   * @throws InvalidKeyException the invalid key exception
+   * @throws IOException the io exception
+   * @throws NoSuchAlgorithmException the no such algorithm exception
+   * @throws XmlParserException the xml parser exception
+   * @throws ErrorResponseException the error response exception
+   * @throws InvalidResponseException the invalid response exception
+   * @throws ServerException the server exception
+   */
+  public ObjectWriteResponse completeMultipartUpload(
+      String region,
+      String bucket,
+      String object,
+      String uploadId,
+      Part[] parts)
+      throws InsufficientDataException, InternalException, InvalidKeyException, IOException,
+      NoSuchAlgorithmException, XmlParserException, ErrorResponseException, InvalidResponseException,
+      ServerException {
+
+    return completeMultipartUpload(bucket, region, object, uploadId, parts, null, null);
+  }
+
+  /**
+   * Aborts a multipart upload; the server removes the uploaded parts.
+   *
+   * @param region the region
+   * @param bucket the bucket
+   * @param object the object name
+   * @param uploadId the upload id
+   * @throws InsufficientDataException the insufficient data exception
+   * @throws InternalException the internal exception
+   * @throws InvalidKeyException the invalid key exception
+   * @throws IOException the io exception
+   * @throws NoSuchAlgorithmException the no such algorithm exception
+   * @throws XmlParserException the xml parser exception
+   * @throws ErrorResponseException the error response exception
+   * @throws InvalidResponseException the invalid response exception
+   * @throws ServerException the server exception
+   */
+  public void abortMultipartUpload(String region, String bucket, String object, String uploadId)
+      throws InsufficientDataException, InternalException, InvalidKeyException, IOException,
+      NoSuchAlgorithmException, XmlParserException, ErrorResponseException, InvalidResponseException,
+      ServerException {
+
+    abortMultipartUpload(bucket, region, object, uploadId, null, null);
+  }
+
+}
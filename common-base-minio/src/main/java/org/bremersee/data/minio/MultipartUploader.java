@@ -0,0 +1,250 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import io.minio.messages.Part;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.bremersee.exception.ServiceException;
+import org.springframework.http.MediaType;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Uploads a stream of unknown length with a multipart upload, whose parts are uploaded concurrently. The server
+ * assembles the object of the parts, when the upload is completed; if the upload fails, it is aborted, so the server
+ * discards the uploaded parts.
+ *
+ * <p>At most {@code parallelism + 2} parts are held in memory. A stream, that is smaller than one part, is uploaded
+ * with a single put.
+ *
+ * @author Christian Bremer
+ */
+@Slf4j
+@ToString(of = {"partSize", "parallelism"})
+public class MultipartUploader {
+
+  /**
+   * The minimum part size (5 MiB).
+   */
+  public static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+  /**
+   * The default part size (16 MiB).
+   */
+  public static final int DEFAULT_PART_SIZE = 16 * 1024 * 1024;
+
+  /**
+   * The default number of parts, that are uploaded concurrently.
+   */
+  public static final int DEFAULT_PARALLELISM = 4;
+
+  /**
+   * The maximum number of parts.
+   */
+  static final int MAX_PARTS = 10000;
+
+  private final MinioOperations minio;
+
+  @Getter
+  private final int partSize;
+
+  @Getter
+  private final int parallelism;
+
+  private final Executor executor;
+
+  /**
+   * Instantiates a new multipart uploader with default part size and parallelism. The parts are uploaded by the
+   * {@link MinioTaskExecutor#shared() shared} minio task executor.
+   *
+   * @param minioOperations the minio operations
+   */
+  public MultipartUploader(MinioOperations minioOperations) {
+    this(minioOperations, DEFAULT_PART_SIZE, DEFAULT_PARALLELISM, null);
+  }
+
+  /**
+   * Instantiates a new multipart uploader.
+   *
+   * @param minioOperations the minio operations
+   * @param partSize the part size; must be at least {@link #MIN_PART_SIZE}
+   * @param parallelism the number of parts, that are uploaded concurrently
+   * @param executor the executor, that uploads the parts, for example a {@link MinioTaskExecutor}; if it is
+   *     {@code null}, the {@link MinioTaskExecutor#shared() shared} minio task executor is used
+   */
+  public MultipartUploader(
+      MinioOperations minioOperations,
+      int partSize,
+      int parallelism,
+      Executor executor) {
+
+    Assert.notNull(minioOperations, "Minio operations must not be null.");
+    Assert.isTrue(partSize >= MIN_PART_SIZE, "Part size must be at least " + MIN_PART_SIZE + " bytes.");
+    Assert.isTrue(parallelism > 0, "Parallelism must be greater than zero.");
+    this.minio = minioOperations;
+    this.partSize = partSize;
+    this.parallelism = parallelism;
+    this.executor = executor != null ? executor : MinioTaskExecutor.shared();
+  }
+
+  /**
+   * Uploads the content. The content stream is not closed.
+   *
+   * @param region the region
+   * @param bucket the bucket
+   * @param object the object name
+   * @param contentType the content type; if it is empty, {@code application/octet-stream} will be used
+   * @param content the content
+   * @return the object write response
+   */
+  public ObjectWriteResponse upload(
+      String region,
+      String bucket,
+      String object,
+      String contentType,
+      InputStream content) {
+
+    String type = StringUtils.hasText(contentType) ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    byte[] first = readPart(content);
+    byte[] second = first.length < partSize ? new byte[0] : readPart(content);
+    if (second.length == 0) {
+      return minio.putObject(PutObjectArgs.builder()
+          .contentType(type)
+          .stream(new ByteArrayInputStream(first), first.length, -1)
+          .region(region)
+          .bucket(bucket)
+          .object(object)
+          .build());
+    }
+
+    String uploadId = minio.createMultipartUpload(region, bucket, object, type);
+    List<CompletableFuture<Part>> futures = new ArrayList<>();
+    Semaphore permits = new Semaphore(parallelism);
+    AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    try {
+      byte[] part = first;
+      byte[] next = second;
+      while (part.length > 0 && failure.get() == null) {
+        if (futures.size() == MAX_PARTS) {
+          throw ServiceException.badRequest("Object is too large, it has more than " + MAX_PARTS + " parts.");
+        }
+        acquire(permits);
+        int partNumber = futures.size() + 1;
+        byte[] data = part;
+        futures.add(CompletableFuture.supplyAsync(() -> {
+          try {
+            return failure.get() == null
+                ? minio.uploadPart(region, bucket, object, uploadId, partNumber, data)
+                : null;
+
+          } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+            throw e;
+
+          } finally {
+            permits.release();
+          }
+        }, executor));
+        part = next;
+        next = part.length > 0 ? readPart(content) : new byte[0];
+      }
+      List<Part> parts = await(futures);
+      if (failure.get() != null) {
+        throw failure.get();
+      }
+      parts.sort(Comparator.comparingInt(Part::partNumber));
+      log.debug("Completing upload of object {} with {} parts.", object, parts.size());
+      return minio.completeMultipartUpload(region, bucket, object, uploadId, parts.toArray(new Part[0]));
+
+    } catch (RuntimeException e) {
+      awaitQuietly(futures);
+      abort(region, bucket, object, uploadId);
+      throw e;
+    }
+  }
+
+  private byte[] readPart(InputStream content) {
+    try {
+      return content.readNBytes(partSize);
+
+    } catch (IOException e) {
+      throw ServiceException.internalServerError("Reading part of object failed.", e);
+    }
+  }
+
+  private static void acquire(Semaphore permits) {
+    try {
+      permits.acquire();
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw ServiceException.internalServerError("Upload of object was interrupted.", e);
+    }
+  }
+
+  private static List<Part> await(List<CompletableFuture<Part>> futures) {
+    try {
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+      List<Part> parts = new ArrayList<>(futures.size());
+      for (CompletableFuture<Part> future : futures) {
+        parts.add(future.join());
+      }
+      return parts;
+
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private static void awaitQuietly(List<CompletableFuture<Part>> futures) {
+    for (CompletableFuture<Part> future : futures) {
+      try {
+        future.join();
+      } catch (RuntimeException ignored) {
+        // already handled
+      }
+    }
+  }
+
+  private void abort(String region, String bucket, String object, String uploadId) {
+    try {
+      minio.abortMultipartUpload(region, bucket, object, uploadId);
+
+    } catch (RuntimeException e) {
+      log.warn("Aborting multipart upload {} of object {} failed.", uploadId, object, e);
+    }
+  }
+
+}
@@ -0,0 +1,424 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import io.minio.GetObjectArgs;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.bremersee.exception.ServiceException;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Downloads an object with concurrent ranged GET requests. A range, whose download fails, is resumed at the last
+ * received byte up to {@code maxAttempts} times.
+ *
+ * <p>Every ranged request is conditional on the etag of the object, so all ranges belong to the same object; if the
+ * object was replaced in the meantime (412 precondition failed), the whole download fails.
+ *
+ * @author Christian Bremer
+ */
+@Slf4j
+@ToString(of = {"chunkSize", "parallelism", "maxAttempts"})
+public class RangedDownloader {
+
+  /**
+   * The default chunk size (8 MiB).
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
+  /**
+   * The default number of ranges, that are downloaded concurrently.
+   */
+  public static final int DEFAULT_PARALLELISM = 4;
+
+  /**
+   * The default number of attempts to download a range.
+   */
+  public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+  private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+  private final MinioOperations minio;
+
+  @Getter
+  private final int chunkSize;
+
+  @Getter
+  private final int parallelism;
+
+  @Getter
+  private final int maxAttempts;
+
+  private final Executor executor;
+
+  /**
+   * Instantiates a new ranged downloader with default values. The ranges are downloaded by the {@link
+   * MinioTaskExecutor#shared() shared} minio task executor.
+   *
+   * @param minioOperations the minio operations
+   */
+  public RangedDownloader(MinioOperations minioOperations) {
+    this(minioOperations, DEFAULT_CHUNK_SIZE, DEFAULT_PARALLELISM, DEFAULT_MAX_ATTEMPTS, null);
+  }
+
+  /**
+   * Instantiates a new ranged downloader.
+   *
+   * @param minioOperations the minio operations
+   * @param chunkSize the size of one range
+   * @param parallelism the number of ranges, that are downloaded concurrently
+   * @param maxAttempts the number of attempts to download a range
+   * @param executor the executor, that downloads the ranges, for example a {@link MinioTaskExecutor}; if it is
+   *     {@code null}, the {@link MinioTaskExecutor#shared() shared} minio task executor is used
+   */
+  public RangedDownloader(
+      MinioOperations minioOperations,
+      int chunkSize,
+      int parallelism,
+      int maxAttempts,
+      Executor executor) {
+
+    Assert.notNull(minioOperations, "Minio operations must not be null.");
+    Assert.isTrue(chunkSize > 0, "Chunk size must be greater than zero.");
+    Assert.isTrue(parallelism > 0, "Parallelism must be greater than zero.");
+    Assert.isTrue(maxAttempts > 0, "Max attempts must be greater than zero.");
+    this.minio = minioOperations;
+    this.chunkSize = chunkSize;
+    this.parallelism = parallelism;
+    this.maxAttempts = maxAttempts;
+    this.executor = executor != null ? executor : MinioTaskExecutor.shared();
+  }
+
+  /**
+   * Determines whether an object of the given size should be downloaded in ranges.
+   *
+   * @param size the size of the object
+   * @return {@code true} if the object is larger than one chunk, otherwise {@code false}
+   */
+  public boolean isRanged(long size) {
+    return size > chunkSize;
+  }
+
+  /**
+   * Downloads the object into the given file channel. Every range is written at its position, so the ranges can
+   * arrive in any order.
+   *
+   * @param object the object info
+   * @param size the size of the object
+   * @param channel the file channel
+   * @throws IOException if writing into the file channel fails
+   */
+  public void download(MinioObjectInfo object, long size, FileChannel channel) throws IOException {
+    AtomicLong nextOffset = new AtomicLong();
+    RangeStreams streams = new RangeStreams();
+    List<CompletableFuture<Void>> workers = new ArrayList<>();
+    int workerCount = (int) Math.min(parallelism, (size + chunkSize - 1) / chunkSize);
+    for (int i = 0; i < workerCount; i++) {
+      workers.add(CompletableFuture.runAsync(() -> {
+        long offset;
+        while (!streams.isClosed() && (offset = nextOffset.getAndAdd(chunkSize)) < size) {
+          long length = Math.min(chunkSize, size - offset);
+          long position = offset;
+          readRange(object, offset, length, streams, (buffer, count, received) -> {
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, count);
+            long pos = position + received;
+            while (byteBuffer.hasRemaining()) {
+              pos += channel.write(byteBuffer, pos);
+            }
+          });
+        }
+      }, executor).whenComplete((result, error) -> {
+        if (error != null) {
+          streams.close();
+        }
+      }));
+    }
+    try {
+      CompletableFuture.allOf(workers.toArray(new CompletableFuture[0])).get();
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      streams.close();
+      throw new InterruptedIOException("Download of object was interrupted.");
+
+    } catch (ExecutionException e) {
+      throw unwrap(e.getCause());
+    }
+  }
+
+  /**
+   * Opens an input stream, that returns the object in order, while the following ranges are downloaded
+   * concurrently. At most {@code parallelism + 1} ranges are held in memory.
+   *
+   * @param object the object info
+   * @param size the size of the object
+   * @return the input stream
+   */
+  public InputStream openStream(MinioObjectInfo object, long size) {
+    return new RangedInputStream(object, size);
+  }
+
+  private void readRange(
+      MinioObjectInfo object,
+      long offset,
+      long length,
+      RangeStreams streams,
+      RangeWriter writer) {
+
+    long received = 0L;
+    int attempt = 0;
+    byte[] buffer = new byte[(int) Math.min(COPY_BUFFER_SIZE, length)];
+    while (received < length) {
+      attempt++;
+      GetObjectArgs.Builder args = GetObjectArgs.builder()
+          .region(object.getRegion())
+          .bucket(object.getBucket())
+          .object(object.getName())
+          .versionId(object.getVersionId())
+          .offset(offset + received)
+          .length(length - received);
+      if (StringUtils.hasText(object.getEtag())) {
+        args = args.matchETag(object.getEtag());
+      }
+      try (InputStream in = streams.open(minio.getObject(args.build()))) {
+        int count;
+        while (received < length
+            && (count = in.read(buffer, 0, (int) Math.min(buffer.length, length - received))) != -1) {
+          writer.write(buffer, count, received);
+          received += count;
+        }
+        if (received < length) {
+          throw new IOException("Range ended prematurely at " + (offset + received) + ".");
+        }
+
+      } catch (IOException | RuntimeException e) {
+        if (streams.isClosed()) {
+          throw ServiceException.internalServerError("Download of object was closed.", e);
+        }
+        if (attempt >= maxAttempts || isPreconditionFailed(e)) {
+          throw unwrap(e);
+        }
+        log.warn("Downloading range of object {} failed at {} (attempt {} of {}), resuming.",
+            object.getName(), offset + received, attempt, maxAttempts, e);
+      }
+    }
+  }
+
+  private static boolean isPreconditionFailed(Exception e) {
+    return e instanceof MinioException && ((MinioException) e).status() == 412;
+  }
+
+  private static RuntimeException unwrap(Throwable t) {
+    Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+    if (cause instanceof RuntimeException) {
+      return (RuntimeException) cause;
+    }
+    return ServiceException.internalServerError("Downloading object failed.", cause);
+  }
+
+  /**
+   * Consumes the bytes of a range.
+   */
+  private interface RangeWriter {
+
+    /**
+     * Writes the bytes.
+     *
+     * @param buffer the buffer
+     * @param count the number of bytes in the buffer
+     * @param received the number of bytes of the range, that were received before
+     * @throws IOException if writing fails
+     */
+    void write(byte[] buffer, int count, long received) throws IOException;
+  }
+
+  /**
+   * The input streams of the ranged requests, that are open. Closing it closes these streams, so that blocked reads
+   * return, and every stream, that is opened afterwards.
+   */
+  private static class RangeStreams {
+
+    private final Set<InputStream> streams = new HashSet<>();
+
+    private boolean closed;
+
+    /**
+     * Registers the input stream of a ranged request.
+     *
+     * @param in the input stream
+     * @return the registered input stream, that unregisters itself, when it is closed
+     * @throws IOException if the range streams are closed
+     */
+    synchronized InputStream open(InputStream in) throws IOException {
+      if (closed) {
+        in.close();
+        throw new IOException("Download of object was closed.");
+      }
+      streams.add(in);
+      return new FilterInputStream(in) {
+        @Override
+        public void close() throws IOException {
+          remove(in);
+          super.close();
+        }
+      };
+    }
+
+    private synchronized void remove(InputStream in) {
+      streams.remove(in);
+    }
+
+    /**
+     * Determines whether the range streams are closed.
+     *
+     * @return {@code true} if the range streams are closed, otherwise {@code false}
+     */
+    synchronized boolean isClosed() {
+      return closed;
+    }
+
+    /**
+     * Closes all open input streams.
+     */
+    void close() {
+      List<InputStream> open;
+      synchronized (this) {
+        closed = true;
+        open = new ArrayList<>(streams);
+        streams.clear();
+      }
+      for (InputStream in : open) {
+        try {
+          in.close();
+
+        } catch (IOException e) {
+          log.debug("Closing range stream failed.", e);
+        }
+      }
+    }
+  }
+
+  private class RangedInputStream extends InputStream {
+
+    private final MinioObjectInfo object;
+
+    private final long size;
+
+    private final Deque<CompletableFuture<byte[]>> window = new ArrayDeque<>();
+
+    private final RangeStreams streams = new RangeStreams();
+
+    private long nextOffset;
+
+    private byte[] current = new byte[0];
+
+    private int position;
+
+    private boolean closed;
+
+    private RangedInputStream(MinioObjectInfo object, long size) {
+      this.object = object;
+      this.size = size;
+      fillWindow();
+    }
+
+    private void fillWindow() {
+      while (window.size() < parallelism && nextOffset < size) {
+        long offset = nextOffset;
+        int length = (int) Math.min(chunkSize, size - offset);
+        nextOffset += length;
+        window.addLast(CompletableFuture.supplyAsync(() -> {
+          byte[] data = new byte[length];
+          readRange(object, offset, length, streams,
+              (buffer, count, received) -> System.arraycopy(buffer, 0, data, (int) received, count));
+          return data;
+        }, executor));
+      }
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] b = new byte[1];
+      return read(b, 0, 1) == -1 ? -1 : (b[0] & 0xff);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (closed) {
+        throw new IOException("Stream closed.");
+      }
+      if (len == 0) {
+        return 0;
+      }
+      while (position >= current.length) {
+        CompletableFuture<byte[]> next = window.pollFirst();
+        if (next == null) {
+          return -1;
+        }
+        fillWindow();
+        try {
+          current = next.get();
+          position = 0;
+
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Reading range was interrupted.");
+
+        } catch (ExecutionException e) {
+          throw new IOException("Reading range failed.", e.getCause());
+        }
+      }
+      int count = Math.min(len, current.length - position);
+      System.arraycopy(current, position, b, off, count);
+      position += count;
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return current.length - position;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+      streams.close();
+      window.clear();
+      current = new byte[0];
+    }
+  }
+
+}
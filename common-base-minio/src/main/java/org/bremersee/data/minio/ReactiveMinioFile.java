@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+/**
+ * The reactive counterpart of the {@link MinioMultipartFile}. The status of the object is fetched before the file is
+ * emitted, so the accessors never block; the content is only available as a flux of data buffers.
+ *
+ * @author Christian Bremer
+ */
+public interface ReactiveMinioFile extends MinioObjectInfo {
+
+  /**
+   * Gets content type.
+   *
+   * @return the content type
+   */
+  String getContentType();
+
+  /**
+   * Gets size.
+   *
+   * @return the size
+   */
+  long getSize();
+
+  /**
+   * Determines whether the object is empty.
+   *
+   * @return {@code true} if the object is empty, otherwise {@code false}
+   */
+  default boolean isEmpty() {
+    return getSize() <= 0L;
+  }
+
+  /**
+   * Downloads the content of the object.
+   *
+   * @return the content
+   */
+  default Flux<DataBuffer> getContent() {
+    return getContent(new DefaultDataBufferFactory(), ReactiveMinioRepository.DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Downloads the content of the object.
+   *
+   * @param bufferFactory the buffer factory
+   * @param bufferSize the buffer size
+   * @return the content
+   */
+  Flux<DataBuffer> getContent(DataBufferFactory bufferFactory, int bufferSize);
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import io.minio.GetObjectArgs;
+import io.minio.StatObjectResponse;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+
+/**
+ * The reactive minio file implementation.
+ *
+ * @author Christian Bremer
+ */
+@Getter
+@ToString(exclude = {"minio"})
+@EqualsAndHashCode(exclude = {"minio", "etag", "contentType", "size", "lastModified"})
+public class ReactiveMinioFileImpl implements ReactiveMinioFile {
+
+  private final String region;
+
+  private final String bucket;
+
+  private final String name;
+
+  private final String versionId;
+
+  private final String etag;
+
+  private final String contentType;
+
+  private final long size;
+
+  private final OffsetDateTime lastModified;
+
+  @Getter(AccessLevel.NONE)
+  private final ReactiveMinioOperations minio;
+
+  /**
+   * Instantiates a new reactive minio file.
+   *
+   * @param reactiveMinioOperations the reactive minio operations
+   * @param region the region
+   * @param objectStatus the object status
+   */
+  public ReactiveMinioFileImpl(
+      ReactiveMinioOperations reactiveMinioOperations,
+      String region,
+      StatObjectResponse objectStatus) {
+
+    Assert.notNull(reactiveMinioOperations, "Reactive minio operations must not be null.");
+    Assert.notNull(objectStatus, "Object status must not be null.");
+    this.minio = reactiveMinioOperations;
+    this.region = region;
+    this.bucket = objectStatus.bucket();
+    this.name = objectStatus.object();
+    this.versionId = objectStatus.versionId();
+    this.etag = objectStatus.etag();
+    this.contentType = objectStatus.contentType();
+    this.size = objectStatus.size();
+    this.lastModified = Optional.ofNullable(objectStatus.lastModified())
+        .map(time -> OffsetDateTime.ofInstant(time.toInstant(), ZoneOffset.UTC))
+        .orElse(null);
+  }
+
+  @Override
+  public Flux<DataBuffer> getContent(DataBufferFactory bufferFactory, int bufferSize) {
+    if (isEmpty()) {
+      return Flux.empty();
+    }
+    return minio.getObject(
+        GetObjectArgs.builder()
+            .region(region)
+            .bucket(bucket)
+            .object(name)
+            .versionId(versionId)
+            .build(),
+        bufferFactory,
+        bufferSize);
+  }
+
+}
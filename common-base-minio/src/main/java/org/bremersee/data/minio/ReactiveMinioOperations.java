@@ -0,0 +1,278 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import io.minio.BucketExistsArgs;
+import io.minio.CopyObjectArgs;
+import io.minio.GetBucketVersioningArgs;
+import io.minio.GetObjectArgs;
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.ListBucketsArgs;
+import io.minio.ListObjectsArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveBucketArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.SetBucketVersioningArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.messages.Bucket;
+import io.minio.messages.DeleteError;
+import io.minio.messages.Item;
+import io.minio.messages.VersioningConfiguration;
+import javax.validation.constraints.NotNull;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The reactive counterpart of the {@link MinioOperations}. The calls of the blocking minio client are executed on a
+ * dedicated scheduler, so they never block the calling thread.
+ *
+ * @author Christian Bremer
+ */
+@Validated
+public interface ReactiveMinioOperations {
+
+  /**
+   * The minimum part size of a multipart upload (5 MiB).
+   */
+  long MIN_PART_SIZE = 5L * 1024L * 1024L;
+
+  /**
+   * Gets the blocking minio operations, that are used by this reactive operations.
+   *
+   * @return the minio operations
+   */
+  @NotNull
+  MinioOperations getMinioOperations();
+
+  /**
+   * Execute minio client callback on the scheduler of this operations.
+   *
+   * @param <T> the type of the result
+   * @param callback the callback
+   * @return the result; will be empty, if the callback returns {@code null}
+   */
+  <T> Mono<T> execute(@NotNull MinioClientCallback<T> callback);
+
+  /**
+   * Execute minio client callback, that returns lazy results, on the scheduler of this operations. The results are
+   * fetched as they are requested.
+   *
+   * @param <T> the type of the results
+   * @param callback the callback
+   * @return the results
+   */
+  <T> Flux<T> executeMany(@NotNull MinioClientCallback<Iterable<Result<T>>> callback);
+
+  // Bucket operations
+
+  /**
+   * Lists bucket information of all buckets.
+   *
+   * @return the buckets
+   */
+  default Flux<Bucket> listBuckets() {
+    return execute(minioClient -> minioClient.listBuckets()).flatMapMany(Flux::fromIterable);
+  }
+
+  /**
+   * Lists bucket information of all buckets.
+   *
+   * @param args {@link ListBucketsArgs} object.
+   * @return the buckets
+   */
+  default Flux<Bucket> listBuckets(ListBucketsArgs args) {
+    return execute(minioClient -> minioClient.listBuckets(args)).flatMapMany(Flux::fromIterable);
+  }
+
+  /**
+   * Checks if a bucket exists.
+   *
+   * @param args {@link BucketExistsArgs} object.
+   * @return {@code true} if the bucket exists, otherwise {@code false}
+   */
+  default Mono<Boolean> bucketExists(BucketExistsArgs args) {
+    return execute(minioClient -> minioClient.bucketExists(args));
+  }
+
+  /**
+   * Creates a bucket with region and object lock.
+   *
+   * @param args object with bucket name, region and lock functionality
+   * @return an empty mono
+   */
+  default Mono<Void> makeBucket(MakeBucketArgs args) {
+    return execute((MinioClientCallbackWithoutResult) minioClient -> minioClient.makeBucket(args)).then();
+  }
+
+  /**
+   * Removes an empty bucket.
+   *
+   * @param args {@link RemoveBucketArgs} object.
+   * @return an empty mono
+   */
+  default Mono<Void> removeBucket(RemoveBucketArgs args) {
+    return execute((MinioClientCallbackWithoutResult) minioClient -> minioClient.removeBucket(args)).then();
+  }
+
+  /**
+   * Gets versioning configuration of a bucket.
+   *
+   * @param args {@link GetBucketVersioningArgs} object.
+   * @return the versioning configuration
+   */
+  default Mono<VersioningConfiguration> getBucketVersioning(GetBucketVersioningArgs args) {
+    return execute(minioClient -> minioClient.getBucketVersioning(args));
+  }
+
+  /**
+   * Sets versioning configuration of a bucket.
+   *
+   * @param args {@link SetBucketVersioningArgs} object.
+   * @return an empty mono
+   */
+  default Mono<Void> setBucketVersioning(SetBucketVersioningArgs args) {
+    return execute((MinioClientCallbackWithoutResult) minioClient -> minioClient.setBucketVersioning(args))
+        .then();
+  }
+
+  /**
+   * Lists objects information optionally with versions of a bucket.
+   *
+   * @param args instance of {@link ListObjectsArgs}
+   * @return the items
+   */
+  default Flux<Item> listObjects(ListObjectsArgs args) {
+    return executeMany(minioClient -> minioClient.listObjects(args));
+  }
+
+  // Object operations
+
+  /**
+   * Uploads data from a stream to an object.
+   *
+   * @param args {@link PutObjectArgs} object.
+   * @return the object write response
+   */
+  default Mono<ObjectWriteResponse> putObject(PutObjectArgs args) {
+    return execute(minioClient -> minioClient.putObject(args));
+  }
+
+  /**
+   * Uploads the data buffers of the given publisher to an object. The data buffers are not staged on disk; if the
+   * object size is unknown ({@code -1}), the minio client buffers at most one part in memory.
+   *
+   * @param args the put object args builder; the stream of the builder is set by this method
+   * @param content the content
+   * @param objectSize the object size or {@code -1}, if the size is unknown
+   * @param partSize the part size or {@code -1}; must be at least {@link #MIN_PART_SIZE}, if the object size is
+   *     unknown
+   * @return the object write response
+   */
+  Mono<ObjectWriteResponse> putObject(
+      @NotNull PutObjectArgs.Builder args,
+      @NotNull Publisher<? extends DataBuffer> content,
+      long objectSize,
+      long partSize);
+
+  /**
+   * Gets data of an object as data buffers. The object is read, while the data buffers are requested.
+   *
+   * @param args {@link GetObjectArgs} object.
+   * @param bufferFactory the buffer factory
+   * @param bufferSize the size of the data buffers
+   * @return the data buffers
+   */
+  Flux<DataBuffer> getObject(
+      @NotNull GetObjectArgs args,
+      @NotNull DataBufferFactory bufferFactory,
+      int bufferSize);
+
+  /**
+   * Gets information of an object.
+   *
+   * @param args {@link StatObjectArgs} object.
+   * @return the object status
+   */
+  default Mono<StatObjectResponse> statObject(StatObjectArgs args) {
+    return execute(minioClient -> minioClient.statObject(args));
+  }
+
+  /**
+   * Check whether an object exists or not.
+   *
+   * @param args {@link StatObjectArgs} object.
+   * @return {@code true} if the object exists, otherwise {@code false}
+   */
+  default Mono<Boolean> objectExists(StatObjectArgs args) {
+    return statObject(args)
+        .map(response -> true)
+        .onErrorResume(
+            e -> e instanceof MinioException && 404 == ((MinioException) e).status(),
+            e -> Mono.just(false))
+        .defaultIfEmpty(false);
+  }
+
+  /**
+   * Creates an object by server-side copying data from another object.
+   *
+   * @param args {@link CopyObjectArgs} object.
+   * @return the object write response
+   */
+  default Mono<ObjectWriteResponse> copyObject(CopyObjectArgs args) {
+    return execute(minioClient -> minioClient.copyObject(args));
+  }
+
+  /**
+   * Removes an object.
+   *
+   * @param args {@link RemoveObjectArgs} object.
+   * @return an empty mono
+   */
+  default Mono<Void> removeObject(RemoveObjectArgs args) {
+    return execute((MinioClientCallbackWithoutResult) minioClient -> minioClient.removeObject(args)).then();
+  }
+
+  /**
+   * Removes multiple objects.
+   *
+   * @param args {@link RemoveObjectsArgs} object.
+   * @return the delete errors
+   */
+  default Flux<DeleteError> removeObjects(RemoveObjectsArgs args) {
+    return executeMany(minioClient -> minioClient.removeObjects(args));
+  }
+
+  /**
+   * Gets presigned URL of an object for HTTP method, expiry time and custom request parameters.
+   *
+   * @param args {@link GetPresignedObjectUrlArgs} object.
+   * @return the presigned url
+   */
+  default Mono<String> getPresignedObjectUrl(GetPresignedObjectUrlArgs args) {
+    return execute(minioClient -> minioClient.getPresignedObjectUrl(args));
+  }
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import io.minio.ObjectWriteResponse;
+import io.minio.http.Method;
+import io.minio.messages.DeleteError;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Consumer;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.lang.Nullable;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The reactive counterpart of the {@link MinioRepository}.
+ *
+ * @author Christian Bremer
+ */
+@Validated
+public interface ReactiveMinioRepository {
+
+  /**
+   * The default size of the data buffers of a download.
+   */
+  int DEFAULT_BUFFER_SIZE = 8192;
+
+  /**
+   * Gets reactive minio operations.
+   *
+   * @return the reactive minio operations
+   */
+  @NotNull
+  ReactiveMinioOperations getReactiveMinioOperations();
+
+  /**
+   * Gets region.
+   *
+   * @return the region
+   */
+  String getRegion();
+
+  /**
+   * Gets bucket.
+   *
+   * @return the bucket
+   */
+  @NotEmpty
+  String getBucket();
+
+  /**
+   * Is versioning enabled boolean.
+   *
+   * @return the boolean
+   */
+  boolean isVersioningEnabled();
+
+  /**
+   * Save file part.
+   *
+   * @param id the id
+   * @param filePart the file part
+   * @return the write response; will be empty, if the file part is {@code null}
+   */
+  default Mono<ObjectWriteResponse> save(@NotNull MinioObjectId id, @Nullable FilePart filePart) {
+    if (filePart == null) {
+      return Mono.empty();
+    }
+    return save(id, filePart.content(), filePart.headers().getContentType());
+  }
+
+  /**
+   * Save content of unknown size. The content is uploaded in parts, that are uploaded concurrently, and is not
+   * staged on disk.
+   *
+   * @param id the id
+   * @param content the content
+   * @param contentType the content type; if it is {@code null}, {@code application/octet-stream} will be used
+   * @return the write response
+   */
+  Mono<ObjectWriteResponse> save(
+      @NotNull MinioObjectId id,
+      @NotNull Publisher<? extends DataBuffer> content,
+      @Nullable MediaType contentType);
+
+  /**
+   * Checks whether an object with the specified name exists or not.
+   *
+   * @param id the id
+   * @return {@code true} if the object exists, otherwise {@code false}
+   */
+  Mono<Boolean> exists(@NotNull MinioObjectId id);
+
+  /**
+   * Find one. The status of the object is fetched before the file is emitted.
+   *
+   * @param id the id
+   * @return the file; will be empty, if the object does not exist
+   */
+  Mono<ReactiveMinioFile> findOne(@NotNull MinioObjectId id);
+
+  /**
+   * Downloads the content of an object.
+   *
+   * @param id the id
+   * @return the content
+   */
+  default Flux<DataBuffer> download(@NotNull MinioObjectId id) {
+    return download(id, new DefaultDataBufferFactory(), DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Downloads the content of an object.
+   *
+   * @param id the id
+   * @param bufferFactory the buffer factory
+   * @param bufferSize the buffer size
+   * @return the content
+   */
+  Flux<DataBuffer> download(
+      @NotNull MinioObjectId id,
+      @NotNull DataBufferFactory bufferFactory,
+      int bufferSize);
+
+  /**
+   * Find all objects. The listing is fetched lazily page by page, while the objects are requested. The status of
+   * every object is fetched concurrently before the file is emitted.
+   *
+   * @return the objects
+   */
+  default Flux<ReactiveMinioFile> findAll() {
+    return findAll(null);
+  }
+
+  /**
+   * Find all objects.
+   *
+   * @param prefix the prefix
+   * @return the objects
+   */
+  Flux<ReactiveMinioFile> findAll(String prefix);
+
+  /**
+   * Find one page of objects. The page contains the current versions of the objects only, even if versioning is
+   * enabled, because the cursor is an object name and cannot point between two versions of the same object.
+   *
+   * @param prefix the prefix
+   * @param startAfter the cursor of the page, that is the name of the last object of the previous page; {@code null}
+   *     returns the first page
+   * @param maxKeys the maximum number of listed keys of the page
+   * @return the page
+   */
+  Mono<MinioObjectPage<ReactiveMinioFile>> findPage(@Nullable String prefix, @Nullable String startAfter, int maxKeys);
+
+  /**
+   * Delete.
+   *
+   * @param id the id
+   * @return an empty mono
+   */
+  Mono<Void> delete(@NotNull MinioObjectId id);
+
+  /**
+   * Delete all objects.
+   *
+   * @param ids the IDs
+   * @return the delete errors
+   */
+  Flux<DeleteError> deleteAll(Collection<MinioObjectId> ids);
+
+  /**
+   * Deletes all objects of the given publisher. The IDs are deleted concurrently in batches of
+   * {@link MinioRepositoryImpl#MAX_DELETE_BATCH_SIZE} objects.
+   *
+   * @param ids the IDs
+   * @param progressListener the listener, that is called after every batch
+   * @return the delete errors
+   */
+  Flux<DeleteError> deleteAll(
+      @Nullable Publisher<? extends MinioObjectId> ids,
+      @Nullable Consumer<MinioDeleteProgress> progressListener);
+
+  /**
+   * Deletes all objects (and all their versions, if versioning is enabled), whose names start with the given prefix.
+   *
+   * @param prefix the prefix
+   * @param progressListener the listener, that is called after every batch
+   * @return the delete errors
+   */
+  Flux<DeleteError> deleteAllByPrefix(
+      @NotEmpty String prefix,
+      @Nullable Consumer<MinioDeleteProgress> progressListener);
+
+  /**
+   * Gets presigned object url.
+   *
+   * @param id the id
+   * @param method the method
+   * @return the presigned object url
+   */
+  default Mono<String> getPresignedObjectUrl(@NotNull MinioObjectId id, @NotNull Method method) {
+    return getPresignedObjectUrl(id, method, null);
+  }
+
+  /**
+   * Gets presigned object url.
+   *
+   * @param id the id
+   * @param method the method
+   * @param duration the duration
+   * @return the presigned object url
+   */
+  Mono<String> getPresignedObjectUrl(
+      @NotNull MinioObjectId id,
+      @NotNull Method method,
+      @Nullable Duration duration);
+
+}
@@ -0,0 +1,385 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import io.minio.GetObjectArgs;
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.ListObjectsArgs;
+import io.minio.MinioClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.RemoveObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.StatObjectArgs;
+import io.minio.http.Method;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Item;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The reactive minio repository implementation.
+ *
+ * @author Christian Bremer
+ */
+public class ReactiveMinioRepositoryImpl implements ReactiveMinioRepository {
+
+  private static final int UPLOAD_PREFETCH = 16;
+
+  private final ReactiveMinioOperations minio;
+
+  @Getter
+  private final String region;
+
+  @Getter
+  private final String bucket;
+
+  private final boolean enableVersioning;
+
+  private final Duration presignedObjectUrlDuration;
+
+  private MultipartUploader multipartUploader;
+
+  private boolean defaultMultipartUploader = true;
+
+  private int deleteParallelism = MinioRepositoryImpl.DEFAULT_DELETE_PARALLELISM;
+
+  private int statParallelism = MinioRepositoryImpl.DEFAULT_STAT_PARALLELISM;
+
+  /**
+   * Instantiates a new reactive minio repository. If the bucket should be created, it is created blocking, so this
+   * constructor should be called at startup.
+   *
+   * @param reactiveMinioOperations the reactive minio operations
+   * @param region the region
+   * @param bucket the bucket
+   * @param enableVersioning the enable versioning
+   * @param create the create
+   * @param presignedObjectUrlDuration the presigned object url duration
+   */
+  public ReactiveMinioRepositoryImpl(
+      ReactiveMinioOperations reactiveMinioOperations,
+      String region,
+      String bucket,
+      boolean enableVersioning,
+      boolean create,
+      Duration presignedObjectUrlDuration) {
+
+    this.minio = reactiveMinioOperations;
+    this.region = region;
+    this.bucket = bucket;
+    this.enableVersioning = enableVersioning;
+    this.presignedObjectUrlDuration = MinioRepositoryImpl.validateDuration(presignedObjectUrlDuration);
+    this.multipartUploader = new MultipartUploader(reactiveMinioOperations.getMinioOperations());
+    if (create) {
+      MinioRepositoryImpl.createBucket(minio.getMinioOperations(), region, bucket, enableVersioning);
+    }
+  }
+
+  /**
+   * Instantiates a new reactive minio repository.
+   *
+   * @param minioClient the minio client
+   * @param region the region
+   * @param bucket the bucket
+   * @param enableVersioning the enable versioning
+   * @param create the create
+   * @param presignedObjectUrlDuration the presigned object url duration
+   */
+  public ReactiveMinioRepositoryImpl(
+      MinioClient minioClient,
+      String region,
+      String bucket,
+      boolean enableVersioning,
+      boolean create,
+      Duration presignedObjectUrlDuration) {
+
+    this(
+        new ReactiveMinioTemplate(minioClient),
+        region,
+        bucket,
+        enableVersioning,
+        create,
+        presignedObjectUrlDuration);
+  }
+
+  /**
+   * Sets the multipart uploader, that uploads the parts of saved content concurrently.
+   *
+   * @param multipartUploader the multipart uploader
+   */
+  public void setMultipartUploader(MultipartUploader multipartUploader) {
+    if (multipartUploader != null) {
+      this.multipartUploader = multipartUploader;
+      this.defaultMultipartUploader = false;
+    }
+  }
+
+  /**
+   * Sets the executor, that uploads the parts of saved content, for example a {@link MinioTaskExecutor}. It is not
+   * used, if a multipart uploader is set. The executor is not closed by this repository. If no executor is set, the
+   * {@link MinioTaskExecutor#shared() shared} minio task executor is used.
+   *
+   * @param executor the executor
+   */
+  public void setExecutor(Executor executor) {
+    if (executor != null && defaultMultipartUploader) {
+      this.multipartUploader = new MultipartUploader(
+          minio.getMinioOperations(),
+          MultipartUploader.DEFAULT_PART_SIZE,
+          MultipartUploader.DEFAULT_PARALLELISM,
+          executor);
+    }
+  }
+
+  /**
+   * Sets the maximum number of concurrent delete requests of the bulk delete.
+   *
+   * @param deleteParallelism the delete parallelism
+   */
+  public void setDeleteParallelism(int deleteParallelism) {
+    if (deleteParallelism > 0) {
+      this.deleteParallelism = deleteParallelism;
+    }
+  }
+
+  /**
+   * Sets the maximum number of concurrent status requests of the objects, that are found by {@link
+   * #findAll(String)} and {@link #findPage(String, String, int)}.
+   *
+   * @param statParallelism the stat parallelism
+   */
+  public void setStatParallelism(int statParallelism) {
+    if (statParallelism > 0) {
+      this.statParallelism = statParallelism;
+    }
+  }
+
+  @Override
+  public ReactiveMinioOperations getReactiveMinioOperations() {
+    return minio;
+  }
+
+  @Override
+  public boolean isVersioningEnabled() {
+    return enableVersioning;
+  }
+
+  @Override
+  public Mono<ObjectWriteResponse> save(
+      MinioObjectId id,
+      Publisher<? extends DataBuffer> content,
+      MediaType contentType) {
+
+    String type = contentType != null ? contentType.toString() : null;
+    return Mono.using(
+        () -> new DataBufferInputStream(content, UPLOAD_PREFETCH),
+        in -> minio.execute(minioClient -> multipartUploader.upload(region, bucket, id.getName(), type, in)),
+        DataBufferInputStream::close);
+  }
+
+  @Override
+  public Mono<Boolean> exists(MinioObjectId id) {
+    return minio.objectExists(StatObjectArgs.builder()
+        .region(region)
+        .bucket(bucket)
+        .object(id.getName())
+        .versionId(id.getVersionId())
+        .build());
+  }
+
+  @Override
+  public Mono<ReactiveMinioFile> findOne(MinioObjectId id) {
+    return findOne(id.getName(), id.getVersionId());
+  }
+
+  private Mono<ReactiveMinioFile> findOne(String name, String versionId) {
+    return minio
+        .statObject(StatObjectArgs.builder()
+            .region(region)
+            .bucket(bucket)
+            .object(name)
+            .versionId(versionId)
+            .build())
+        .map(objectStat -> (ReactiveMinioFile) new ReactiveMinioFileImpl(minio, region, objectStat))
+        .onErrorResume(
+            e -> e instanceof MinioException && 404 == ((MinioException) e).status(),
+            e -> Mono.empty());
+  }
+
+  @Override
+  public Flux<DataBuffer> download(MinioObjectId id, DataBufferFactory bufferFactory, int bufferSize) {
+    return minio.getObject(
+        GetObjectArgs.builder()
+            .region(region)
+            .bucket(bucket)
+            .object(id.getName())
+            .versionId(id.getVersionId())
+            .build(),
+        bufferFactory,
+        bufferSize);
+  }
+
+  @Override
+  public Flux<ReactiveMinioFile> findAll(String prefix) {
+    return minio
+        .listObjects(ListObjectsArgs.builder()
+            .region(region)
+            .bucket(bucket)
+            .includeVersions(enableVersioning)
+            .recursive(true)
+            .prefix(prefix)
+            .build())
+        .filter(this::isFile)
+        .flatMapSequential(this::toFile, statParallelism);
+  }
+
+  @Override
+  public Mono<MinioObjectPage<ReactiveMinioFile>> findPage(String prefix, String startAfter, int maxKeys) {
+    Assert.isTrue(maxKeys > 0, "Max keys must be greater than zero.");
+    return minio
+        .listObjects(ListObjectsArgs.builder()
+            .region(region)
+            .bucket(bucket)
+            .includeVersions(false)
+            .recursive(true)
+            .prefix(prefix)
+            .startAfter(startAfter)
+            .maxKeys(maxKeys + 1)
+            .build())
+        .take(maxKeys + 1)
+        .collectList()
+        .flatMap(items -> {
+          List<Item> pageItems = items.size() > maxKeys ? items.subList(0, maxKeys) : items;
+          String nextStartAfter = items.size() > maxKeys ? pageItems.get(maxKeys - 1).objectName() : null;
+          return Flux.fromIterable(pageItems)
+              .filter(this::isFile)
+              .flatMapSequential(this::toFile, statParallelism)
+              .collectList()
+              .map(content -> new MinioObjectPage<>(content, nextStartAfter));
+        });
+  }
+
+  private boolean isFile(Item item) {
+    return !item.isDir() && !item.isDeleteMarker();
+  }
+
+  private Mono<ReactiveMinioFile> toFile(Item item) {
+    // an object, that is deleted after it was listed, is skipped
+    return findOne(item.objectName(), item.versionId());
+  }
+
+  @Override
+  public Mono<Void> delete(MinioObjectId id) {
+    return minio.removeObject(RemoveObjectArgs.builder()
+        .region(region)
+        .bucket(bucket)
+        .object(id.getName())
+        .versionId(id.getVersionId())
+        .build());
+  }
+
+  @Override
+  public Flux<DeleteError> deleteAll(Collection<MinioObjectId> ids) {
+    if (ids == null || ids.isEmpty()) {
+      return Flux.empty();
+    }
+    return deleteAll(Flux.fromIterable(ids), null);
+  }
+
+  @Override
+  public Flux<DeleteError> deleteAll(
+      Publisher<? extends MinioObjectId> ids,
+      Consumer<MinioDeleteProgress> progressListener) {
+
+    if (ids == null) {
+      return Flux.empty();
+    }
+    return Flux.defer(() -> {
+      long[] counts = new long[2];
+      return Flux.from(ids)
+          .buffer(MinioRepositoryImpl.MAX_DELETE_BATCH_SIZE)
+          .flatMap(batch -> minio
+              .removeObjects(RemoveObjectsArgs.builder()
+                  .region(region)
+                  .bucket(bucket)
+                  .objects(batch.stream()
+                      .map(id -> new DeleteObject(id.getName(), id.getVersionId()))
+                      .collect(Collectors.toList()))
+                  .build())
+              .collectList()
+              .flatMapIterable(errors -> {
+                synchronized (counts) {
+                  counts[0] += batch.size();
+                  counts[1] += errors.size();
+                  if (progressListener != null) {
+                    progressListener.accept(new MinioDeleteProgress(counts[0], counts[1]));
+                  }
+                }
+                return errors;
+              }), deleteParallelism);
+    });
+  }
+
+  @Override
+  public Flux<DeleteError> deleteAllByPrefix(
+      String prefix,
+      Consumer<MinioDeleteProgress> progressListener) {
+
+    Assert.hasText(prefix, "Prefix must be present.");
+    return deleteAll(
+        minio
+            .listObjects(ListObjectsArgs.builder()
+                .region(region)
+                .bucket(bucket)
+                .includeVersions(enableVersioning)
+                .recursive(true)
+                .prefix(prefix)
+                .build())
+            .filter(item -> !item.isDir())
+            .map(item -> MinioObjectId.from(item.objectName(), item.versionId())),
+        progressListener);
+  }
+
+  @Override
+  public Mono<String> getPresignedObjectUrl(MinioObjectId id, Method method, Duration duration) {
+    Duration expiry = duration != null
+        ? MinioRepositoryImpl.validateDuration(duration)
+        : presignedObjectUrlDuration;
+    return minio.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+        .expiry((int) expiry.toSeconds())
+        .method(method)
+        .region(region)
+        .bucket(bucket)
+        .object(id.getName())
+        .versionId(id.getVersionId())
+        .build());
+  }
+
+}
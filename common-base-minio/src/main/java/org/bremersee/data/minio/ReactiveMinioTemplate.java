@@ -0,0 +1,121 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import io.minio.GetObjectArgs;
+import io.minio.MinioClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import io.minio.Result;
+import java.util.Collections;
+import java.util.Optional;
+import lombok.Getter;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The reactive minio template. It executes the calls of the given blocking {@link MinioOperations} on a scheduler,
+ * that is intended for blocking tasks, so that the error handling of the blocking operations applies, too.
+ *
+ * @author Christian Bremer
+ */
+public class ReactiveMinioTemplate implements ReactiveMinioOperations {
+
+  private static final int UPLOAD_PREFETCH = 4;
+
+  private final MinioOperations minioOperations;
+
+  @Getter
+  private final Scheduler scheduler;
+
+  /**
+   * Instantiates a new reactive minio template, that uses the bounded elastic scheduler of reactor.
+   *
+   * @param minioClient the minio client
+   */
+  public ReactiveMinioTemplate(MinioClient minioClient) {
+    this(new MinioTemplate(minioClient), null);
+  }
+
+  /**
+   * Instantiates a new reactive minio template.
+   *
+   * @param minioOperations the blocking minio operations
+   * @param scheduler the scheduler; if it is {@code null}, the bounded elastic scheduler of reactor will be used
+   */
+  public ReactiveMinioTemplate(MinioOperations minioOperations, Scheduler scheduler) {
+    Assert.notNull(minioOperations, "Minio operations must not be null.");
+    this.minioOperations = minioOperations;
+    this.scheduler = scheduler != null ? scheduler : Schedulers.boundedElastic();
+  }
+
+  @Override
+  public MinioOperations getMinioOperations() {
+    return minioOperations;
+  }
+
+  @Override
+  public <T> Mono<T> execute(MinioClientCallback<T> callback) {
+    return Mono.fromCallable(() -> minioOperations.execute(callback))
+        .subscribeOn(scheduler);
+  }
+
+  @Override
+  public <T> Flux<T> executeMany(MinioClientCallback<Iterable<Result<T>>> callback) {
+    return Flux.defer(() -> Flux.fromIterable(Optional.ofNullable(minioOperations.execute(callback))
+        .orElseGet(Collections::emptyList)))
+        .handle((Result<T> result, SynchronousSink<T> sink) -> {
+          T value = minioOperations.execute(minioClient -> result.get());
+          if (value != null) {
+            sink.next(value);
+          }
+        })
+        .subscribeOn(scheduler);
+  }
+
+  @Override
+  public Mono<ObjectWriteResponse> putObject(
+      PutObjectArgs.Builder args,
+      Publisher<? extends DataBuffer> content,
+      long objectSize,
+      long partSize) {
+
+    return Mono.using(
+        () -> new DataBufferInputStream(content, UPLOAD_PREFETCH),
+        in -> execute(minioClient -> minioClient.putObject(args.stream(in, objectSize, partSize).build())),
+        DataBufferInputStream::close);
+  }
+
+  @Override
+  public Flux<DataBuffer> getObject(GetObjectArgs args, DataBufferFactory bufferFactory, int bufferSize) {
+    return DataBufferUtils
+        .readInputStream(
+            () -> minioOperations.getObject(args),
+            bufferFactory,
+            bufferSize)
+        .subscribeOn(scheduler);
+  }
+
+}
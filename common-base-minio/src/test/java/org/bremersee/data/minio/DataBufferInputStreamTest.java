@@ -0,0 +1,103 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.util.FileCopyUtils;
+import reactor.core.publisher.Flux;
+
+/**
+ * The data buffer input stream test.
+ *
+ * @author Christian Bremer
+ */
+class DataBufferInputStreamTest {
+
+  private static final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+  private static DataBuffer buffer(String value) {
+    return bufferFactory.wrap(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Read all data buffers.
+   *
+   * @throws IOException the io exception
+   */
+  @Test
+  void read() throws IOException {
+    DataBufferInputStream in = new DataBufferInputStream(
+        Flux.just(buffer("Hello "), buffer("minio"), buffer("!")), 1);
+    assertEquals("Hello minio!", new String(FileCopyUtils.copyToByteArray(in), StandardCharsets.UTF_8));
+  }
+
+  /**
+   * The error of the publisher is thrown by read.
+   */
+  @Test
+  void readError() {
+    DataBufferInputStream in = new DataBufferInputStream(
+        Flux.concat(Flux.just(buffer("Hello")), Flux.error(new IllegalStateException("Upload failed."))), 1);
+    IOException e = assertThrows(IOException.class, () -> FileCopyUtils.copyToByteArray(in));
+    assertTrue(e.getCause() instanceof IllegalStateException);
+  }
+
+  /**
+   * Close wakes up a blocked read and cancels the subscription.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  void closeWhileReadIsBlocked() throws Exception {
+    AtomicBoolean cancelled = new AtomicBoolean();
+    DataBufferInputStream in = new DataBufferInputStream(
+        Flux.<DataBuffer>never().doOnCancel(() -> cancelled.set(true)), 1);
+    CompletableFuture<Thread> reader = new CompletableFuture<>();
+    CompletableFuture<Integer> read = CompletableFuture.supplyAsync(() -> {
+      reader.complete(Thread.currentThread());
+      try {
+        return in.read(new byte[8], 0, 8);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    Thread thread = reader.get(5L, TimeUnit.SECONDS);
+    long end = System.currentTimeMillis() + 5000L;
+    while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < end) {
+      Thread.sleep(10L);
+    }
+
+    in.close();
+    ExecutionException e = assertThrows(ExecutionException.class, () -> read.get(5L, TimeUnit.SECONDS));
+    assertTrue(e.getCause().getCause() instanceof IOException);
+    assertTrue(cancelled.get());
+    assertThrows(IOException.class, in::read);
+  }
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.minio.CloseableIterator;
+import io.minio.ListenBucketNotificationArgs;
+import io.minio.Result;
+import io.minio.messages.Event;
+import io.minio.messages.EventType;
+import io.minio.messages.NotificationRecords;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.bremersee.data.minio.MinioObjectEvent.Type;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The minio notification listener test.
+ *
+ * @author Christian Bremer
+ */
+class MinioNotificationListenerTest {
+
+  private static Event event(EventType eventType, String objectName) {
+    Event event = mock(Event.class);
+    when(event.eventType()).thenReturn(eventType);
+    when(event.bucketName()).thenReturn("bucket");
+    when(event.objectName()).thenReturn(objectName);
+    when(event.etag()).thenReturn("1234");
+    return event;
+  }
+
+  private static CloseableIterator<Result<NotificationRecords>> iterator(
+      Iterator<Result<NotificationRecords>> delegate,
+      CountDownLatch closed) {
+
+    return new CloseableIterator<>() {
+      @Override
+      public boolean hasNext() {
+        if (delegate.hasNext()) {
+          return true;
+        }
+        try {
+          closed.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return false;
+      }
+
+      @Override
+      public Result<NotificationRecords> next() {
+        return delegate.next();
+      }
+
+      @Override
+      public void close() {
+        closed.countDown();
+      }
+    };
+  }
+
+  /**
+   * Listen with reconnect.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  void listenWithReconnect() throws Exception {
+    List<Event> notifications = Arrays.asList(
+        event(EventType.OBJECT_CREATED_PUT, "a.txt"),
+        event(EventType.OBJECT_REMOVED_DELETE, "b.txt"));
+    NotificationRecords records = mock(NotificationRecords.class);
+    when(records.events()).thenReturn(notifications);
+    CountDownLatch firstClosed = new CountDownLatch(1);
+    firstClosed.countDown();
+    CountDownLatch secondClosed = new CountDownLatch(1);
+
+    MinioOperations operations = mock(MinioOperations.class);
+    when(operations.listenBucketNotification(any(ListenBucketNotificationArgs.class)))
+        .thenThrow(new MinioException(503, "MINIO_UNAVAILABLE", "Service unavailable.", null))
+        .thenReturn(iterator(Collections.singletonList(new Result<>(records)).iterator(), firstClosed))
+        .thenReturn(iterator(Collections.emptyIterator(), secondClosed));
+
+    List<MinioObjectEvent> events = Collections.synchronizedList(new ArrayList<>());
+    MinioStatCache statCache = new MinioStatCache();
+    MinioNotificationListener listener = new MinioNotificationListener(operations, null, "bucket");
+    listener.setReconnectDelay(Duration.ofMillis(10L), Duration.ofMillis(50L));
+    listener.addListener(events::add);
+    listener.addListener(statCache::evict);
+    listener.start();
+    assertTrue(listener.isRunning());
+
+    long timeout = System.currentTimeMillis() + 5000L;
+    while (events.size() < 4 && System.currentTimeMillis() < timeout) {
+      TimeUnit.MILLISECONDS.sleep(10L);
+    }
+    assertEquals(
+        Arrays.asList(Type.RECONNECTED, Type.CREATED, Type.REMOVED, Type.RECONNECTED),
+        events.stream().map(MinioObjectEvent::getType).collect(Collectors.toList()));
+    assertEquals("a.txt", events.get(1).getObjectName());
+    assertEquals("bucket", events.get(2).getBucket());
+
+    listener.close();
+    assertFalse(listener.isRunning());
+    assertTrue(secondClosed.await(5L, TimeUnit.SECONDS));
+  }
+
+  /**
+   * Stop and start leaves only the thread of the new run.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  void restart() throws Exception {
+    CountDownLatch firstClosed = new CountDownLatch(1);
+    CountDownLatch secondClosed = new CountDownLatch(1);
+    CountDownLatch connected = new CountDownLatch(2);
+    MinioOperations operations = mock(MinioOperations.class);
+    when(operations.listenBucketNotification(any(ListenBucketNotificationArgs.class)))
+        .thenAnswer(invocation -> {
+          connected.countDown();
+          return iterator(Collections.emptyIterator(), firstClosed);
+        })
+        .thenAnswer(invocation -> {
+          connected.countDown();
+          return iterator(Collections.emptyIterator(), secondClosed);
+        });
+
+    MinioNotificationListener listener = new MinioNotificationListener(operations, null, "restart");
+    listener.setReconnectDelay(Duration.ofMillis(10L), Duration.ofMillis(50L));
+    listener.start();
+    long timeout = System.currentTimeMillis() + 5000L;
+    while (connected.getCount() > 1L && System.currentTimeMillis() < timeout) {
+      TimeUnit.MILLISECONDS.sleep(10L);
+    }
+    listener.stop();
+    listener.start();
+    assertTrue(connected.await(5L, TimeUnit.SECONDS));
+    assertTrue(firstClosed.await(5L, TimeUnit.SECONDS));
+    while (listenerThreads() > 1L && System.currentTimeMillis() < timeout) {
+      TimeUnit.MILLISECONDS.sleep(10L);
+    }
+    assertEquals(1L, listenerThreads());
+
+    listener.close();
+    assertTrue(secondClosed.await(5L, TimeUnit.SECONDS));
+  }
+
+  private static long listenerThreads() {
+    return Thread.getAllStackTraces().keySet().stream()
+        .filter(thread -> thread.isAlive() && "minio-notifications-restart".equals(thread.getName()))
+        .count();
+  }
+
+}
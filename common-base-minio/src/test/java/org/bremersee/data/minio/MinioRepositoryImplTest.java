@@ -20,13 +20,17 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.minio.BucketExistsArgs;
+import io.minio.ComposeObjectArgs;
+import io.minio.CopyObjectArgs;
 import io.minio.GetBucketVersioningArgs;
 import io.minio.GetPresignedObjectUrlArgs;
 import io.minio.ListObjectsArgs;
@@ -48,16 +52,24 @@ import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import org.bremersee.web.multipart.FileAwareMultipartFile;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.http.MediaType;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -241,6 +253,198 @@ class MinioRepositoryImplTest {
     verify(minioOperations).listObjects(any(ListObjectsArgs.class));
   }
 
+  /**
+   * Stream all and find page.
+   */
+  @Test
+  void streamAllAndFindPage() {
+    MinioOperations operations = mock(MinioOperations.class);
+    List<Result<Item>> results = new ArrayList<>();
+    for (String objectName : Arrays.asList("a.txt", "b.txt", "c.txt")) {
+      Item item = mock(Item.class);
+      when(item.objectName()).thenReturn(objectName);
+      when(item.size()).thenReturn(size);
+      results.add(new Result<>(item));
+    }
+    when(operations.listObjects(any(ListObjectsArgs.class))).thenReturn(results);
+    when(operations.execute(any())).thenAnswer(invocation -> ((MinioClientCallback<?>) invocation.getArgument(0))
+        .doWithMinioClient(null));
+    MinioRepository pagingRepository = new MinioRepositoryImpl(
+        operations, null, bucket, false, false, Duration.ofDays(1L));
+
+    assertEquals(
+        Arrays.asList("a.txt", "b.txt", "c.txt"),
+        pagingRepository.streamAll().map(MinioMultipartFile::getName).collect(Collectors.toList()));
+
+    MinioObjectPage<MinioMultipartFile> page = pagingRepository.findPage(null, null, 2);
+    assertEquals(2, page.getContent().size());
+    assertTrue(page.hasNext());
+    assertEquals("b.txt", page.getNextStartAfter());
+
+    page = pagingRepository.findPage(null, null, 3);
+    assertEquals(3, page.getContent().size());
+    assertFalse(page.hasNext());
+  }
+
+  /**
+   * Find page lists the current versions only, even if versioning is enabled.
+   */
+  @Test
+  void findPageIgnoresVersions() {
+    MinioOperations operations = mock(MinioOperations.class);
+    when(operations.listObjects(any(ListObjectsArgs.class))).thenReturn(Collections.emptyList());
+    MinioRepository versionedRepository = new MinioRepositoryImpl(
+        operations, null, bucket, true, false, Duration.ofDays(1L));
+
+    MinioObjectPage<MinioMultipartFile> page = versionedRepository.findPage(null, "a.txt", 2);
+    assertTrue(page.getContent().isEmpty());
+    assertFalse(page.hasNext());
+    ArgumentCaptor<ListObjectsArgs> args = ArgumentCaptor.forClass(ListObjectsArgs.class);
+    verify(operations).listObjects(args.capture());
+    assertFalse(args.getValue().includeVersions());
+  }
+
+  /**
+   * Exists all and find all by id.
+   */
+  @Test
+  void existsAllAndFindAllById() {
+    MinioOperations operations = mock(MinioOperations.class);
+    when(operations.objectExists(any(StatObjectArgs.class)))
+        .thenAnswer(invocation -> ((StatObjectArgs) invocation.getArgument(0)).object().startsWith("a"));
+    when(operations.statObject(any(StatObjectArgs.class))).thenAnswer(invocation -> {
+      StatObjectArgs args = invocation.getArgument(0);
+      if (!args.object().startsWith("a")) {
+        throw new MinioException(404, "NoSuchKey", "Object does not exist.", null);
+      }
+      return new StatObjectResponse(Headers.of("ETag", etag), bucket, null, args.object());
+    });
+    MinioRepositoryImpl bulkRepository = new MinioRepositoryImpl(
+        operations, null, bucket, false, false, Duration.ofDays(1L));
+    bulkRepository.setStatParallelism(3);
+
+    List<MinioObjectId> ids = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      ids.add(MinioObjectId.from((i % 2 == 0 ? "a" : "b") + i + ".txt"));
+    }
+    Map<MinioObjectId, Boolean> exists = bulkRepository.existsAll(ids);
+    assertEquals(ids, new ArrayList<>(exists.keySet()));
+    ids.forEach(id -> assertEquals(id.getName().startsWith("a"), exists.get(id)));
+
+    Map<MinioObjectId, MinioMultipartFile> files = bulkRepository.findAllById(ids);
+    assertEquals(10, files.size());
+    files.forEach((id, file) -> assertEquals(id.getName(), file.getName()));
+
+    assertTrue(bulkRepository.existsAll(null).isEmpty());
+    assertTrue(bulkRepository.findAllById(Collections.emptyList()).isEmpty());
+  }
+
+  /**
+   * Prefetch status with stat cache.
+   */
+  @Test
+  void prefetchStatusWithStatCache() {
+    MinioOperations operations = mock(MinioOperations.class);
+    List<Result<Item>> results = new ArrayList<>();
+    for (String objectName : Arrays.asList("a.txt", "b.txt", "c.txt")) {
+      Item item = mock(Item.class);
+      when(item.objectName()).thenReturn(objectName);
+      when(item.etag()).thenReturn(etag);
+      when(item.size()).thenReturn(size);
+      results.add(new Result<>(item));
+    }
+    when(operations.listObjects(any(ListObjectsArgs.class))).thenReturn(results);
+    when(operations.execute(any())).thenAnswer(invocation -> ((MinioClientCallback<?>) invocation.getArgument(0))
+        .doWithMinioClient(null));
+    when(operations.statObject(any(StatObjectArgs.class))).thenAnswer(invocation -> {
+      StatObjectArgs args = invocation.getArgument(0);
+      return new StatObjectResponse(
+          Headers.of("Content-Type", MediaType.TEXT_PLAIN_VALUE, "ETag", etag), bucket, null, args.object());
+    });
+    MinioRepositoryImpl cachingRepository = new MinioRepositoryImpl(
+        operations, null, bucket, false, false, Duration.ofDays(1L));
+    cachingRepository.setStatCache(new MinioStatCache(Duration.ofMinutes(1L), 10));
+    cachingRepository.setStatParallelism(2);
+
+    MinioObjectPage<MinioMultipartFile> page = cachingRepository.findPage(null, null, 3);
+    cachingRepository.prefetchStatus(page.getContent());
+    verify(operations, times(3)).statObject(any(StatObjectArgs.class));
+    page.getContent().forEach(file -> assertEquals(MediaType.TEXT_PLAIN_VALUE, file.getContentType()));
+
+    page = cachingRepository.findPage(null, null, 3);
+    page.getContent().forEach(file -> assertEquals(MediaType.TEXT_PLAIN_VALUE, file.getContentType()));
+    verify(operations, times(3)).statObject(any(StatObjectArgs.class));
+
+    cachingRepository.delete(MinioObjectId.from("a.txt"));
+    page = cachingRepository.findPage(null, null, 3);
+    cachingRepository.prefetchStatus(page.getContent());
+    verify(operations, times(4)).statObject(any(StatObjectArgs.class));
+  }
+
+  /**
+   * Copy, move and compose.
+   */
+  @Test
+  void copyMoveAndCompose() {
+    MinioOperations operations = mock(MinioOperations.class);
+    when(operations.statObject(any(StatObjectArgs.class))).thenAnswer(invocation -> {
+      StatObjectArgs args = invocation.getArgument(0);
+      long length = args.object().startsWith("huge") ? MinioRepositoryImpl.MAX_COPY_SIZE + 1L : size;
+      return new StatObjectResponse(
+          Headers.of(
+              "Content-Type", MediaType.TEXT_PLAIN_VALUE,
+              "Content-Length", String.valueOf(length),
+              "X-Amz-Meta-Owner", "anna"),
+          bucket, null, args.object());
+    });
+    List<String> targets = Collections.synchronizedList(new ArrayList<>());
+    when(operations.copyObject(any(CopyObjectArgs.class))).thenAnswer(invocation -> {
+      CopyObjectArgs args = invocation.getArgument(0);
+      targets.add(args.source().object() + ">" + args.object());
+      return new ObjectWriteResponse(Headers.of(), bucket, null, args.object(), etag, null);
+    });
+    when(operations.composeObject(any(ComposeObjectArgs.class))).thenAnswer(invocation -> {
+      ComposeObjectArgs args = invocation.getArgument(0);
+      return new ObjectWriteResponse(Headers.of(), bucket, null, args.object(), etag, null);
+    });
+    when(operations.execute(any())).thenAnswer(invocation -> ((MinioClientCallback<?>) invocation.getArgument(0))
+        .doWithMinioClient(null));
+    List<Result<Item>> results = new ArrayList<>();
+    for (String objectName : Arrays.asList("old/a.txt", "old/sub/b.txt", "old/c.txt")) {
+      Item item = mock(Item.class);
+      when(item.objectName()).thenReturn(objectName);
+      when(item.size()).thenReturn(size);
+      results.add(new Result<>(item));
+    }
+    when(operations.listObjects(any(ListObjectsArgs.class))).thenReturn(results);
+    MinioRepositoryImpl copyRepository = new MinioRepositoryImpl(
+        operations, null, bucket, false, false, Duration.ofDays(1L));
+
+    assertEquals("b.txt", copyRepository.copy(MinioObjectId.from("a.txt"), "b.txt").object());
+    assertEquals("huge-copy.bin", copyRepository.copy(MinioObjectId.from("huge.bin"), "huge-copy.bin").object());
+    verify(operations, times(1)).copyObject(any(CopyObjectArgs.class));
+    ArgumentCaptor<ComposeObjectArgs> composeArgs = ArgumentCaptor.forClass(ComposeObjectArgs.class);
+    verify(operations, times(1)).composeObject(composeArgs.capture());
+    assertEquals(MediaType.TEXT_PLAIN_VALUE, composeArgs.getValue().headers().get("Content-Type").iterator().next());
+    assertEquals("anna", composeArgs.getValue().headers().get("X-Amz-Meta-Owner").iterator().next());
+    verify(operations, times(2)).statObject(any(StatObjectArgs.class));
+
+    assertEquals("c.txt", copyRepository.move(MinioObjectId.from("a.txt"), "c.txt").object());
+    verify(operations, times(1)).removeObject(any(RemoveObjectArgs.class));
+    assertThrows(IllegalArgumentException.class, () -> copyRepository.move(MinioObjectId.from("a.txt"), "a.txt"));
+
+    assertEquals("d.txt", copyRepository.compose(
+        Arrays.asList(MinioObjectId.from("a.txt"), MinioObjectId.from("b.txt")), "d.txt", null).object());
+    verify(operations, times(2)).composeObject(any(ComposeObjectArgs.class));
+
+    targets.clear();
+    assertEquals(3L, copyRepository.moveAll("old/", "new/"));
+    assertTrue(targets.containsAll(Arrays.asList(
+        "old/a.txt>new/a.txt", "old/sub/b.txt>new/sub/b.txt", "old/c.txt>new/c.txt")));
+    verify(operations, times(4)).removeObject(any(RemoveObjectArgs.class));
+    assertThrows(IllegalArgumentException.class, () -> copyRepository.moveAll("old/", "old/new/"));
+  }
+
   /**
    * Delete.
    */
@@ -261,6 +465,82 @@ class MinioRepositoryImplTest {
     verify(minioOperations).removeObjects(any(RemoveObjectsArgs.class));
   }
 
+  /**
+   * Delete all in batches.
+   */
+  @Test
+  void deleteAllInBatches() {
+    MinioOperations operations = mock(MinioOperations.class);
+    when(operations.removeObjects(any(RemoveObjectsArgs.class))).thenAnswer(invocation -> {
+      List<Result<DeleteError>> errors = new ArrayList<>();
+      ((RemoveObjectsArgs) invocation.getArgument(0)).objects().forEach(object -> {
+        if (errors.isEmpty()) {
+          errors.add(new Result<>(new DeleteError()));
+        }
+      });
+      return errors;
+    });
+    when(operations.execute(any())).thenAnswer(invocation -> ((MinioClientCallback<?>) invocation.getArgument(0))
+        .doWithMinioClient(null));
+    List<Result<Item>> results = new ArrayList<>();
+    for (int i = 0; i < 1500; i++) {
+      Item item = mock(Item.class);
+      when(item.objectName()).thenReturn("folder/file-" + i);
+      results.add(new Result<>(item));
+    }
+    when(operations.listObjects(any(ListObjectsArgs.class))).thenReturn(results);
+    MinioRepositoryImpl batchRepository = new MinioRepositoryImpl(
+        operations, null, bucket, false, false, Duration.ofDays(1L));
+    batchRepository.setDeleteParallelism(2);
+
+    List<DeleteError> errors = new ArrayList<>();
+    List<MinioDeleteProgress> progress = new ArrayList<>();
+    MinioDeleteProgress result = batchRepository.deleteAll(
+        IntStream.range(0, 2500).mapToObj(i -> MinioObjectId.from("file-" + i)),
+        errors::add,
+        progress::add);
+    assertEquals(new MinioDeleteProgress(2500L, 3L), result);
+    assertEquals(3, errors.size());
+    assertEquals(3, progress.size());
+    verify(operations, times(3)).removeObjects(any(RemoveObjectsArgs.class));
+
+    result = batchRepository.deleteAllByPrefix("folder/", null, null);
+    assertEquals(1500L, result.getProcessed());
+    assertEquals(1498L, result.getDeleted());
+    verify(operations, times(5)).removeObjects(any(RemoveObjectsArgs.class));
+  }
+
+  /**
+   * Delete all with concurrent batches.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  void deleteAllConcurrently() throws Exception {
+    MinioOperations operations = mock(MinioOperations.class);
+    CountDownLatch started = new CountDownLatch(2);
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    when(operations.removeObjects(any(RemoveObjectsArgs.class))).thenAnswer(invocation -> {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      started.countDown();
+      started.await(5L, TimeUnit.SECONDS);
+      inFlight.decrementAndGet();
+      return Collections.emptyList();
+    });
+    try (MinioTaskExecutor executor = new MinioTaskExecutor(2, 2)) {
+      MinioRepositoryImpl batchRepository = new MinioRepositoryImpl(
+          operations, null, bucket, false, false, Duration.ofDays(1L));
+      batchRepository.setDeleteParallelism(2);
+      batchRepository.setExecutor(executor);
+      MinioDeleteProgress result = batchRepository.deleteAll(
+          IntStream.range(0, 2500).mapToObj(i -> MinioObjectId.from("file-" + i)), null, null);
+      assertEquals(new MinioDeleteProgress(2500L, 0L), result);
+    }
+    assertEquals(2, maxInFlight.get());
+    verify(operations, times(3)).removeObjects(any(RemoveObjectsArgs.class));
+  }
+
   /**
    * Gets presigned object url.
    */
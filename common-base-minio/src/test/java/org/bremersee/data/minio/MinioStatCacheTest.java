@@ -0,0 +1,151 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.minio.StatObjectResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.Headers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The minio stat cache test.
+ *
+ * @author Christian Bremer
+ */
+class MinioStatCacheTest {
+
+  private static StatObjectResponse status(String object, String etag) {
+    return new StatObjectResponse(Headers.of("ETag", "\"" + etag + "\""), "bucket", null, object);
+  }
+
+  /**
+   * Get.
+   */
+  @Test
+  void get() {
+    AtomicInteger counter = new AtomicInteger();
+    MinioStatCache cache = new MinioStatCache(Duration.ofMinutes(1L), 10);
+    StatObjectResponse first = cache.get("bucket", "a.txt", null, null, () -> {
+      counter.incrementAndGet();
+      return status("a.txt", "1");
+    });
+    StatObjectResponse second = cache.get("bucket", "a.txt", null, "1", () -> {
+      counter.incrementAndGet();
+      return status("a.txt", "1");
+    });
+    assertSame(first, second);
+    assertEquals(1, counter.get());
+
+    StatObjectResponse third = cache.get("bucket", "a.txt", null, "2", () -> {
+      counter.incrementAndGet();
+      return status("a.txt", "2");
+    });
+    assertEquals("2", third.etag().replace("\"", ""));
+    assertEquals(2, counter.get());
+  }
+
+  /**
+   * Versions are cached separately.
+   */
+  @Test
+  void versionsAreCachedSeparately() {
+    MinioStatCache cache = new MinioStatCache(Duration.ofMinutes(1L), 10);
+    cache.put("bucket", "a.txt", null, status("a.txt", "1"));
+    cache.put("bucket", "a.txt", "v1", status("a.txt", "1"));
+    cache.put("bucket", "a.txt.bak", null, status("a.txt.bak", "1"));
+    assertEquals(3, cache.size());
+    assertNull(cache.get("bucket", "a.txt", "v2", null));
+
+    cache.evict("bucket", "a.txt");
+    assertEquals(1, cache.size());
+    assertNotNull(cache.get("bucket", "a.txt.bak", null, null));
+
+    cache.clear();
+    assertEquals(0, cache.size());
+  }
+
+  /**
+   * A status, that is loaded while the object is evicted, is not cached.
+   */
+  @Test
+  void evictWhileLoading() {
+    MinioStatCache cache = new MinioStatCache(Duration.ofMinutes(1L), 10);
+    StatObjectResponse loaded = cache.get("bucket", "a.txt", null, null, () -> {
+      cache.evict("bucket", "a.txt");
+      return status("a.txt", "1");
+    });
+    assertNotNull(loaded);
+    assertEquals(0, cache.size());
+    assertNull(cache.get("bucket", "a.txt", null, null));
+
+    cache.get("bucket", "a.txt", null, null, () -> status("a.txt", "2"));
+    assertEquals(1, cache.size());
+
+    // evicting another object or a failed load does not affect the load
+    cache.get("bucket", "b.txt", null, null, () -> {
+      cache.evict("bucket", "a.txt");
+      return status("b.txt", "1");
+    });
+    assertNotNull(cache.get("bucket", "b.txt", null, null));
+    assertThrows(IllegalStateException.class, () -> cache.get("bucket", "c.txt", null, null, () -> {
+      throw new IllegalStateException("Stat failed.");
+    }));
+    cache.get("bucket", "c.txt", null, null, () -> status("c.txt", "1"));
+    assertNotNull(cache.get("bucket", "c.txt", null, null));
+  }
+
+  /**
+   * Max size and time to live.
+   */
+  @Test
+  void maxSizeAndTimeToLive() {
+    MinioStatCache cache = new MinioStatCache(Duration.ofMinutes(1L), 2);
+    cache.put("bucket", "a.txt", null, status("a.txt", "1"));
+    cache.put("bucket", "b.txt", null, status("b.txt", "1"));
+    cache.put("bucket", "c.txt", null, status("c.txt", "1"));
+    assertEquals(2, cache.size());
+    assertNull(cache.get("bucket", "a.txt", null, null));
+
+    MinioStatCache disabled = new MinioStatCache(Duration.ZERO, 2);
+    disabled.put("bucket", "a.txt", null, status("a.txt", "1"));
+    assertEquals(0, disabled.size());
+  }
+
+  /**
+   * Evict by event.
+   */
+  @Test
+  void evictByEvent() {
+    MinioStatCache cache = new MinioStatCache(Duration.ofMinutes(1L), 10);
+    cache.put("bucket", "a.txt", null, status("a.txt", "1"));
+    cache.put("bucket", "b.txt", null, status("b.txt", "1"));
+    cache.evict(new MinioObjectEvent(MinioObjectEvent.Type.CREATED, "bucket", "a.txt", null, "2"));
+    assertNull(cache.get("bucket", "a.txt", null, null));
+    assertEquals(1, cache.size());
+
+    cache.evict(new MinioObjectEvent(MinioObjectEvent.Type.RECONNECTED, "bucket", null, null, null));
+    assertEquals(0, cache.size());
+  }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import io.minio.messages.Part;
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.Headers;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * The multipart uploader test.
+ *
+ * @author Christian Bremer
+ */
+class MultipartUploaderTest {
+
+  private static final String bucket = "testbucket";
+
+  private static final String name = "large.bin";
+
+  private static final String uploadId = "upload-id";
+
+  private static ObjectWriteResponse response(String object) {
+    return new ObjectWriteResponse(Headers.of(Collections.emptyMap()), bucket, null, object, "etag", null);
+  }
+
+  private static ByteArrayInputStream content(int size) {
+    return new ByteArrayInputStream(new byte[size]);
+  }
+
+  /**
+   * Upload small content.
+   */
+  @Test
+  void uploadSmallContent() {
+    MinioOperations minio = mock(MinioOperations.class);
+    when(minio.putObject(any(PutObjectArgs.class))).thenReturn(response(name));
+    MultipartUploader uploader = new MultipartUploader(minio);
+    ObjectWriteResponse response = uploader.upload(null, bucket, name, null, content(10));
+    assertEquals(name, response.object());
+    verify(minio, times(1)).putObject(any(PutObjectArgs.class));
+    verify(minio, never()).createMultipartUpload(any(), anyString(), anyString(), anyString());
+  }
+
+  /**
+   * Upload large content.
+   */
+  @Test
+  void uploadLargeContent() {
+    MinioOperations minio = mock(MinioOperations.class);
+    when(minio.createMultipartUpload(any(), anyString(), anyString(), anyString())).thenReturn(uploadId);
+    when(minio.uploadPart(any(), anyString(), anyString(), anyString(), anyInt(), any(byte[].class)))
+        .thenAnswer(invocation -> new Part(invocation.getArgument(4), "etag" + invocation.getArgument(4)));
+    when(minio.completeMultipartUpload(any(), anyString(), anyString(), anyString(), any(Part[].class)))
+        .thenReturn(response(name));
+    MinioTaskExecutor executor = new MinioTaskExecutor(2, 2);
+    try {
+      MultipartUploader uploader = new MultipartUploader(minio, MultipartUploader.MIN_PART_SIZE, 2, executor);
+      ObjectWriteResponse response = uploader.upload(
+          null, bucket, name, "application/octet-stream", content(2 * MultipartUploader.MIN_PART_SIZE + 1));
+      assertEquals(name, response.object());
+    } finally {
+      executor.close();
+    }
+    verify(minio, never()).putObject(any(PutObjectArgs.class));
+    verify(minio, times(3)).uploadPart(any(), anyString(), anyString(), anyString(), anyInt(), any(byte[].class));
+    ArgumentCaptor<Part[]> parts = ArgumentCaptor.forClass(Part[].class);
+    verify(minio).completeMultipartUpload(
+        isNull(), eq(bucket), eq(name), eq(uploadId), parts.capture());
+    assertArrayEquals(
+        new int[]{1, 2, 3},
+        Arrays.stream(parts.getValue()).mapToInt(Part::partNumber).toArray());
+    verify(minio, never()).abortMultipartUpload(any(), anyString(), anyString(), anyString());
+  }
+
+  /**
+   * Upload fails and aborts the multipart upload.
+   */
+  @Test
+  void uploadFails() {
+    MinioOperations minio = mock(MinioOperations.class);
+    when(minio.createMultipartUpload(any(), anyString(), anyString(), anyString())).thenReturn(uploadId);
+    AtomicInteger counter = new AtomicInteger();
+    when(minio.uploadPart(any(), anyString(), anyString(), anyString(), anyInt(), any(byte[].class)))
+        .thenAnswer(invocation -> {
+          if (counter.incrementAndGet() == 2) {
+            throw new MinioException(500, "MINIO_IO_ERROR", "Upload failed.", null);
+          }
+          return new Part(invocation.getArgument(4), "etag");
+        });
+    MultipartUploader uploader = new MultipartUploader(minio, MultipartUploader.MIN_PART_SIZE, 1, null);
+    assertThrows(MinioException.class, () -> uploader.upload(
+        null, bucket, name, null, content(3 * MultipartUploader.MIN_PART_SIZE)));
+    verify(minio, never()).completeMultipartUpload(any(), anyString(), anyString(), anyString(), any(Part[].class));
+    verify(minio, times(1)).abortMultipartUpload(null, bucket, name, uploadId);
+  }
+
+}
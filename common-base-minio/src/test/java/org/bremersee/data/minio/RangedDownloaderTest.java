@@ -0,0 +1,208 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.minio.GetObjectArgs;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * The ranged downloader test.
+ *
+ * @author Christian Bremer
+ */
+class RangedDownloaderTest {
+
+  private static final int SIZE = 1000;
+
+  private static final byte[] data = new byte[SIZE];
+
+  static {
+    new Random(7L).nextBytes(data);
+  }
+
+  private static MinioObjectInfo objectInfo() {
+    MinioObjectInfo objectInfo = mock(MinioObjectInfo.class);
+    when(objectInfo.getBucket()).thenReturn("testbucket");
+    when(objectInfo.getName()).thenReturn("backup.bin");
+    return objectInfo;
+  }
+
+  /**
+   * Creates minio operations, whose second ranged request breaks after a few bytes.
+   *
+   * @return the minio operations
+   */
+  private static MinioOperations minioOperations() {
+    AtomicInteger counter = new AtomicInteger();
+    MinioOperations minio = mock(MinioOperations.class);
+    when(minio.getObject(any(GetObjectArgs.class))).thenAnswer(invocation -> {
+      GetObjectArgs args = invocation.getArgument(0);
+      int offset = args.offset().intValue();
+      int length = args.length().intValue();
+      if (counter.incrementAndGet() == 2) {
+        return new InputStream() {
+          private int position = offset;
+
+          @Override
+          public int read() throws IOException {
+            if (position < offset + 5) {
+              return data[position++] & 0xff;
+            }
+            throw new IOException("Connection reset.");
+          }
+        };
+      }
+      return new ByteArrayInputStream(data, offset, length);
+    });
+    return minio;
+  }
+
+  /**
+   * Open stream.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  void openStream() throws Exception {
+    RangedDownloader downloader = new RangedDownloader(minioOperations(), 70, 3, 3, null);
+    try (InputStream in = downloader.openStream(objectInfo(), SIZE)) {
+      assertArrayEquals(data, in.readAllBytes());
+    }
+  }
+
+  /**
+   * Download into file channel.
+   *
+   * @param tmpDir the tmp dir
+   * @throws Exception the exception
+   */
+  @Test
+  void download(@TempDir Path tmpDir) throws Exception {
+    RangedDownloader downloader = new RangedDownloader(minioOperations(), 70, 3, 3, null);
+    Path file = tmpDir.resolve("backup.bin");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      downloader.download(objectInfo(), SIZE, channel);
+    }
+    assertArrayEquals(data, Files.readAllBytes(file));
+  }
+
+  /**
+   * Download fails after max attempts.
+   *
+   * @param tmpDir the tmp dir
+   */
+  @Test
+  void downloadFails(@TempDir Path tmpDir) {
+    MinioOperations minio = mock(MinioOperations.class);
+    when(minio.getObject(any(GetObjectArgs.class)))
+        .thenThrow(new MinioException(503, "MINIO_UNAVAILABLE", "Service unavailable.", null));
+    RangedDownloader downloader = new RangedDownloader(minio, 70, 3, 2, null);
+    Path file = tmpDir.resolve("backup.bin");
+    assertThrows(MinioException.class, () -> {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+        downloader.download(objectInfo(), SIZE, channel);
+      }
+    });
+  }
+
+  /**
+   * Download fails without further attempts, if the object was changed.
+   *
+   * @param tmpDir the tmp dir
+   */
+  @Test
+  void downloadFailsIfObjectChanged(@TempDir Path tmpDir) {
+    MinioObjectInfo objectInfo = objectInfo();
+    when(objectInfo.getEtag()).thenReturn("etag");
+    MinioOperations minio = mock(MinioOperations.class);
+    when(minio.getObject(any(GetObjectArgs.class)))
+        .thenThrow(new MinioException(412, "MINIO_PRECONDITION_FAILED", "Precondition failed.", null));
+    RangedDownloader downloader = new RangedDownloader(minio, 70, 1, 3, null);
+    Path file = tmpDir.resolve("backup.bin");
+    MinioException exception = assertThrows(MinioException.class, () -> {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+        downloader.download(objectInfo, SIZE, channel);
+      }
+    });
+    assertEquals(412, exception.status());
+    ArgumentCaptor<GetObjectArgs> args = ArgumentCaptor.forClass(GetObjectArgs.class);
+    verify(minio, times(1)).getObject(args.capture());
+    assertEquals("etag", args.getValue().matchETag());
+  }
+
+  /**
+   * Close closes the open range streams.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  void closeClosesOpenRanges() throws Exception {
+    CountDownLatch opened = new CountDownLatch(1);
+    CountDownLatch closed = new CountDownLatch(1);
+    MinioOperations minio = mock(MinioOperations.class);
+    when(minio.getObject(any(GetObjectArgs.class))).thenAnswer(invocation -> {
+      opened.countDown();
+      return new InputStream() {
+        @Override
+        public int read() throws IOException {
+          try {
+            closed.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          throw new IOException("Stream closed.");
+        }
+
+        @Override
+        public void close() {
+          closed.countDown();
+        }
+      };
+    });
+    try (MinioTaskExecutor executor = new MinioTaskExecutor(1, 1)) {
+      RangedDownloader downloader = new RangedDownloader(minio, 70, 1, 3, executor);
+      InputStream in = downloader.openStream(objectInfo(), SIZE);
+      assertTrue(opened.await(10L, TimeUnit.SECONDS));
+      in.close();
+      assertTrue(closed.await(10L, TimeUnit.SECONDS));
+    }
+  }
+
+}
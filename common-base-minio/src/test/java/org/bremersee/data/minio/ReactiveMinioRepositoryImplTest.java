@@ -0,0 +1,322 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.minio.BucketExistsArgs;
+import io.minio.GetBucketVersioningArgs;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.ListObjectsArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.Time;
+import io.minio.http.Method;
+import io.minio.messages.DeleteError;
+import io.minio.messages.Item;
+import io.minio.messages.VersioningConfiguration;
+import io.minio.messages.VersioningConfiguration.Status;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import okhttp3.Headers;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+/**
+ * The reactive minio repository implementation test.
+ *
+ * @author Christian Bremer
+ */
+class ReactiveMinioRepositoryImplTest {
+
+  private static final MinioClient minioClient = mock(MinioClient.class);
+
+  private static final String bucket = "testbucket";
+
+  private static final String name = "test.txt";
+
+  private static final String etag = "1234";
+
+  private static final String versionId = "5678";
+
+  private static final long size = 15L;
+
+  private static ReactiveMinioRepository repository;
+
+  /**
+   * Sets up.
+   *
+   * @throws Exception the exception
+   */
+  @BeforeAll
+  static void setUp() throws Exception {
+    when(minioClient.bucketExists(any(BucketExistsArgs.class))).thenReturn(false);
+
+    when(minioClient.getBucketVersioning(any(GetBucketVersioningArgs.class)))
+        .thenReturn(new VersioningConfiguration(Status.ENABLED, false));
+
+    when(minioClient.putObject(any(PutObjectArgs.class))).thenAnswer(invocation -> {
+      PutObjectArgs args = invocation.getArgument(0);
+      assertEquals(MediaType.TEXT_PLAIN_VALUE, args.contentType());
+      assertEquals("Hello", new String(args.stream().readAllBytes(), StandardCharsets.UTF_8));
+      return new ObjectWriteResponse(
+          Headers.of(Collections.emptyMap()), bucket, null, name, etag, versionId);
+    });
+
+    Map<String, String> headers = new LinkedHashMap<>();
+    headers.put("Content-Type", MediaType.TEXT_PLAIN_VALUE);
+    headers.put("Last-Modified", ZonedDateTime.now().format(Time.HTTP_HEADER_DATE_FORMAT));
+    headers.put("Content-Length", String.valueOf(size));
+    headers.put("ETag", etag);
+    when(minioClient.statObject(any(StatObjectArgs.class))).thenReturn(new StatObjectResponse(
+        Headers.of(headers), bucket, null, name));
+
+    when(minioClient.getObject(any(GetObjectArgs.class))).thenAnswer(invocation -> new GetObjectResponse(
+        Headers.of(headers), bucket, null, name,
+        new ByteArrayInputStream("Hello".getBytes(StandardCharsets.UTF_8))));
+
+    Item dir = mock(Item.class);
+    when(dir.isDir()).thenReturn(true);
+    when(dir.objectName()).thenReturn("folder/");
+    Item item = mock(Item.class);
+    when(item.etag()).thenReturn(etag);
+    when(item.objectName()).thenReturn(name);
+    when(item.size()).thenReturn(size);
+    when(item.versionId()).thenReturn(versionId);
+    when(item.lastModified()).thenReturn(ZonedDateTime.now());
+    when(minioClient.listObjects(any(ListObjectsArgs.class)))
+        .thenReturn(Arrays.asList(new Result<>(dir), new Result<>(item)));
+
+    when(minioClient.removeObjects(any(RemoveObjectsArgs.class)))
+        .thenReturn(Collections.singletonList(new Result<>(new DeleteError())));
+
+    when(minioClient.getPresignedObjectUrl(any(GetPresignedObjectUrlArgs.class)))
+        .thenReturn("https://example.org/somewhere");
+
+    repository = new ReactiveMinioRepositoryImpl(
+        minioClient,
+        null,
+        bucket,
+        true,
+        true,
+        Duration.ofDays(1L));
+  }
+
+  /**
+   * Create bucket.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  void createBucket() throws Exception {
+    verify(minioClient).makeBucket(any(MakeBucketArgs.class));
+    assertEquals(bucket, repository.getBucket());
+    assertNull(repository.getRegion());
+  }
+
+  /**
+   * Save.
+   */
+  @Test
+  void save() {
+    StepVerifier
+        .create(repository.save(
+            MinioObjectId.from(name),
+            Flux.just(new DefaultDataBufferFactory().wrap("Hello".getBytes(StandardCharsets.UTF_8))),
+            MediaType.TEXT_PLAIN))
+        .assertNext(response -> {
+          assertEquals(name, response.object());
+          assertEquals(versionId, response.versionId());
+        })
+        .verifyComplete();
+  }
+
+  /**
+   * Exists.
+   */
+  @Test
+  void exists() {
+    StepVerifier.create(repository.exists(MinioObjectId.from(name)))
+        .expectNext(true)
+        .verifyComplete();
+  }
+
+  /**
+   * Find one.
+   */
+  @Test
+  void findOne() {
+    StepVerifier.create(repository.findOne(MinioObjectId.from(name)))
+        .assertNext(file -> {
+          assertEquals(name, file.getName());
+          assertEquals(etag, file.getEtag());
+          assertEquals(size, file.getSize());
+          assertEquals(MediaType.TEXT_PLAIN_VALUE, file.getContentType());
+          assertNotNull(file.getLastModified());
+          StepVerifier.create(DataBufferUtils.join(file.getContent()))
+              .assertNext(dataBuffer -> assertEquals("Hello", dataBuffer.toString(StandardCharsets.UTF_8)))
+              .verifyComplete();
+        })
+        .verifyComplete();
+  }
+
+  /**
+   * Download.
+   */
+  @Test
+  void download() {
+    StepVerifier.create(DataBufferUtils.join(repository.download(MinioObjectId.from(name))))
+        .assertNext(dataBuffer -> assertEquals("Hello", dataBuffer.toString(StandardCharsets.UTF_8)))
+        .verifyComplete();
+  }
+
+  /**
+   * Find all.
+   */
+  @Test
+  void findAll() {
+    StepVerifier.create(repository.findAll())
+        .assertNext(file -> {
+          assertFalse(file.isEmpty());
+          assertEquals(MediaType.TEXT_PLAIN_VALUE, file.getContentType());
+        })
+        .verifyComplete();
+  }
+
+  /**
+   * Find page.
+   */
+  @Test
+  void findPage() {
+    StepVerifier.create(repository.findPage(null, null, 1))
+        .assertNext(page -> {
+          assertTrue(page.getContent().isEmpty());
+          assertEquals("folder/", page.getNextStartAfter());
+        })
+        .verifyComplete();
+    StepVerifier.create(repository.findPage(null, null, 5))
+        .assertNext(page -> {
+          assertEquals(1, page.getContent().size());
+          assertFalse(page.hasNext());
+        })
+        .verifyComplete();
+  }
+
+  /**
+   * Delete all in batches.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  void deleteAllInBatches() throws Exception {
+    MinioClient client = mock(MinioClient.class);
+    when(client.removeObjects(any(RemoveObjectsArgs.class))).thenAnswer(invocation -> {
+      List<Result<DeleteError>> errors = new ArrayList<>();
+      ((RemoveObjectsArgs) invocation.getArgument(0)).objects().forEach(object -> {
+        if (errors.isEmpty()) {
+          errors.add(new Result<>(new DeleteError()));
+        }
+      });
+      return errors;
+    });
+    ReactiveMinioRepositoryImpl batchRepository = new ReactiveMinioRepositoryImpl(
+        client, null, bucket, false, false, Duration.ofDays(1L));
+    batchRepository.setDeleteParallelism(2);
+
+    List<MinioDeleteProgress> progress = new ArrayList<>();
+    StepVerifier
+        .create(batchRepository.deleteAll(
+            Flux.range(0, 2500).map(i -> MinioObjectId.from("file-" + i)),
+            progress::add))
+        .expectNextCount(3)
+        .verifyComplete();
+    verify(client, times(3)).removeObjects(any(RemoveObjectsArgs.class));
+    assertEquals(3, progress.size());
+    MinioDeleteProgress last = progress.stream()
+        .max(Comparator.comparingLong(MinioDeleteProgress::getProcessed))
+        .orElseThrow();
+    assertEquals(new MinioDeleteProgress(2500L, 3L), last);
+    assertEquals(2497L, last.getDeleted());
+  }
+
+  /**
+   * Delete.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  void delete() throws Exception {
+    StepVerifier.create(repository.delete(MinioObjectId.from(name, versionId)))
+        .verifyComplete();
+    verify(minioClient).removeObject(any(RemoveObjectArgs.class));
+  }
+
+  /**
+   * Delete all.
+   */
+  @Test
+  void deleteAll() {
+    StepVerifier.create(repository.deleteAll(Collections.singletonList(MinioObjectId.from(name))))
+        .expectNextCount(1)
+        .verifyComplete();
+    StepVerifier.create(repository.deleteAll(Collections.emptyList()))
+        .verifyComplete();
+  }
+
+  /**
+   * Gets presigned object url.
+   */
+  @Test
+  void getPresignedObjectUrl() {
+    StepVerifier.create(repository.getPresignedObjectUrl(MinioObjectId.from(name), Method.GET))
+        .expectNext("https://example.org/somewhere")
+        .verifyComplete();
+  }
+
+}
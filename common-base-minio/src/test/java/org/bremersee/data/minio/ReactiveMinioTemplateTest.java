@@ -0,0 +1,189 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.data.minio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.minio.BucketExistsArgs;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.ListObjectsArgs;
+import io.minio.MinioClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import io.minio.Result;
+import io.minio.StatObjectArgs;
+import io.minio.messages.Item;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+import okhttp3.Headers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+/**
+ * The reactive minio template test.
+ *
+ * @author Christian Bremer
+ */
+class ReactiveMinioTemplateTest {
+
+  private static final String BUCKET = "testbucket";
+
+  private static final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+  private MinioClient minioClient;
+
+  private ReactiveMinioTemplate template;
+
+  /**
+   * Sets up.
+   */
+  @BeforeEach
+  void setUp() {
+    minioClient = mock(MinioClient.class);
+    template = new ReactiveMinioTemplate(minioClient);
+  }
+
+  private static DataBuffer buffer(String value) {
+    return bufferFactory.wrap(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Bucket exists.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  void bucketExists() throws Exception {
+    when(minioClient.bucketExists(any(BucketExistsArgs.class))).thenReturn(true);
+    StepVerifier.create(template.bucketExists(BucketExistsArgs.builder().bucket(BUCKET).build()))
+        .expectNext(true)
+        .verifyComplete();
+  }
+
+  /**
+   * Object does not exist.
+   */
+  @Test
+  void objectDoesNotExist() {
+    ReactiveMinioTemplate notFoundTemplate = new ReactiveMinioTemplate(new MinioOperations() {
+      @Override
+      public <T> T execute(MinioClientCallback<T> callback) {
+        throw new MinioException(404, "NoSuchKey", "Object does not exist.", null);
+      }
+    }, null);
+    StepVerifier
+        .create(notFoundTemplate.objectExists(StatObjectArgs.builder().bucket(BUCKET).object("a.txt").build()))
+        .expectNext(false)
+        .verifyComplete();
+  }
+
+  /**
+   * List objects.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  void listObjects() throws Exception {
+    Item item = mock(Item.class);
+    when(item.objectName()).thenReturn("a.txt");
+    when(minioClient.listObjects(any(ListObjectsArgs.class)))
+        .thenReturn(Arrays.asList(new Result<>(item), new Result<>(item)));
+    StepVerifier.create(template.listObjects(ListObjectsArgs.builder().bucket(BUCKET).build()))
+        .expectNextCount(2)
+        .verifyComplete();
+  }
+
+  /**
+   * Put object from data buffers.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  void putObject() throws Exception {
+    AtomicReference<String> content = new AtomicReference<>();
+    when(minioClient.putObject(any(PutObjectArgs.class))).thenAnswer(invocation -> {
+      PutObjectArgs args = invocation.getArgument(0);
+      content.set(new String(args.stream().readAllBytes(), StandardCharsets.UTF_8));
+      return new ObjectWriteResponse(
+          Headers.of(Collections.emptyMap()), BUCKET, null, args.object(), "etag", null);
+    });
+    StepVerifier
+        .create(template.putObject(
+            PutObjectArgs.builder().bucket(BUCKET).object("a.txt"),
+            Flux.just(buffer("Hello "), buffer(""), buffer("reactive "), buffer("minio")),
+            -1,
+            ReactiveMinioOperations.MIN_PART_SIZE))
+        .assertNext(response -> assertEquals("a.txt", response.object()))
+        .verifyComplete();
+    assertEquals("Hello reactive minio", content.get());
+  }
+
+  /**
+   * Put object fails, if the content fails.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  void putObjectWithFailingContent() throws Exception {
+    when(minioClient.putObject(any(PutObjectArgs.class))).thenAnswer(invocation -> {
+      PutObjectArgs args = invocation.getArgument(0);
+      args.stream().readAllBytes();
+      return null;
+    });
+    StepVerifier
+        .create(template.putObject(
+            PutObjectArgs.builder().bucket(BUCKET).object("a.txt"),
+            Flux.concat(Flux.just(buffer("Hello")), Flux.error(new IllegalStateException("Broken"))),
+            -1,
+            ReactiveMinioOperations.MIN_PART_SIZE))
+        .verifyError(MinioException.class);
+  }
+
+  /**
+   * Get object as data buffers.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  void getObject() throws Exception {
+    byte[] value = "Hello reactive minio".getBytes(StandardCharsets.UTF_8);
+    when(minioClient.getObject(any(GetObjectArgs.class))).thenAnswer(invocation -> new GetObjectResponse(
+        Headers.of(Collections.emptyMap()), BUCKET, null, "a.txt", new ByteArrayInputStream(value)));
+    StepVerifier
+        .create(DataBufferUtils.join(template.getObject(
+            GetObjectArgs.builder().bucket(BUCKET).object("a.txt").build(),
+            bufferFactory,
+            4)))
+        .assertNext(dataBuffer -> assertEquals(
+            "Hello reactive minio",
+            dataBuffer.toString(StandardCharsets.UTF_8)))
+        .verifyComplete();
+  }
+
+}
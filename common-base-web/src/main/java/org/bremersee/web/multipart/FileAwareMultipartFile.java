@@ -23,7 +23,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.util.Optional;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -38,10 +37,14 @@ import org.springframework.web.multipart.MultipartFile;
 /**
  * The file aware multipart file.
  *
+ * <p>A temporary file, that was created by this multipart file, is moved on {@link #transferTo(File)}, if the
+ * destination is on the same file store, so it can be transferred only once. Otherwise the file is copied by the
+ * file system.
+ *
  * @author Christian Bremer
  */
-@EqualsAndHashCode(doNotUseGetters = true)
-@ToString(doNotUseGetters = true)
+@EqualsAndHashCode(doNotUseGetters = true, exclude = {"temporary"})
+@ToString(doNotUseGetters = true, exclude = {"temporary"})
 public class FileAwareMultipartFile implements MultipartFile {
 
   private final File file;
@@ -52,8 +55,11 @@ public class FileAwareMultipartFile implements MultipartFile {
 
   private final String contentType;
 
+  private final boolean temporary;
+
   private FileAwareMultipartFile() {
     this.file = null;
+    this.temporary = false;
     this.parameterName = null;
     this.originalFilename = null;
     this.contentType = null;
@@ -90,22 +96,22 @@ public class FileAwareMultipartFile implements MultipartFile {
   public FileAwareMultipartFile(MultipartFile multipartFile, File tmpDir) throws IOException {
     if (multipartFile == null) {
       this.file = null;
+      this.temporary = false;
       this.parameterName = null;
       this.originalFilename = null;
       this.contentType = null;
     } else {
       if (multipartFile.isEmpty()) {
         this.file = null;
+        this.temporary = false;
       } else {
         if (multipartFile instanceof FileAwareMultipartFile) {
           this.file = ((FileAwareMultipartFile) multipartFile).file;
+          this.temporary = false;
         } else {
           this.file = getTmpFile(getTmpDir(tmpDir));
-          FileCopyUtils.copy(
-              multipartFile.getInputStream(),
-              Files.newOutputStream(
-                  this.file.toPath(),
-                  StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+          this.temporary = true;
+          FileTransferUtils.copy(multipartFile.getInputStream(), this.file.toPath());
         }
       }
       this.parameterName = multipartFile.getName();
@@ -168,13 +174,11 @@ public class FileAwareMultipartFile implements MultipartFile {
       String contentType) throws IOException {
     if (inputStream != null) {
       this.file = getTmpFile(tmpDir);
-      FileCopyUtils.copy(
-          inputStream,
-          Files.newOutputStream(
-              this.file.toPath(),
-              StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+      this.temporary = true;
+      FileTransferUtils.copy(inputStream, this.file.toPath());
     } else {
       this.file = null;
+      this.temporary = false;
     }
     this.parameterName = parameterName;
     this.originalFilename = originalFilename;
@@ -195,6 +199,7 @@ public class FileAwareMultipartFile implements MultipartFile {
       String originalFilename,
       String contentType) {
     this.file = file != null ? file.toFile() : null;
+    this.temporary = false;
     this.parameterName = parameterName;
     this.originalFilename = originalFilename;
     this.contentType = contentType;
@@ -213,7 +218,17 @@ public class FileAwareMultipartFile implements MultipartFile {
       String parameterName,
       String originalFilename,
       String contentType) {
+    this(file, parameterName, originalFilename, contentType, false);
+  }
+
+  private FileAwareMultipartFile(
+      File file,
+      String parameterName,
+      String originalFilename,
+      String contentType,
+      boolean temporary) {
     this.file = file;
+    this.temporary = temporary;
     this.parameterName = parameterName;
     this.originalFilename = originalFilename;
     this.contentType = contentType;
@@ -228,6 +243,25 @@ public class FileAwareMultipartFile implements MultipartFile {
     return new FileAwareMultipartFile();
   }
 
+  /**
+   * Creates a file aware multipart file of a temporary file, that was created by the caller for this multipart file
+   * only. Like the temporary files, that are created by the multipart file itself, it is moved on {@link
+   * #transferTo(File)}, if the destination is on the same file store.
+   *
+   * @param file the temporary file
+   * @param parameterName the parameter name
+   * @param originalFilename the original filename
+   * @param contentType the content type
+   * @return the file aware multipart file
+   */
+  public static FileAwareMultipartFile temporary(
+      File file,
+      String parameterName,
+      String originalFilename,
+      String contentType) {
+    return new FileAwareMultipartFile(file, parameterName, originalFilename, contentType, file != null);
+  }
+
   /**
    * Delete.
    *
@@ -306,7 +340,10 @@ public class FileAwareMultipartFile implements MultipartFile {
   @Override
   public void transferTo(@NonNull File dest) throws IOException, IllegalStateException {
     if (isFileValid()) {
-      FileCopyUtils.copy(file, dest);
+      if (temporary && FileTransferUtils.moveIfSameFileStore(file.toPath(), dest.toPath())) {
+        return;
+      }
+      FileTransferUtils.copy(file.toPath(), dest.toPath());
     }
   }
 
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.web.multipart;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Utilities to transfer files without copying them through small heap buffers.
+ *
+ * @author Christian Bremer
+ */
+@Slf4j
+public abstract class FileTransferUtils {
+
+  /**
+   * The size of the direct buffer, that is used to copy a stream into a file (1 MiB).
+   */
+  public static final int DIRECT_BUFFER_SIZE = 1024 * 1024;
+
+  /**
+   * The maximum number of direct buffers, that are kept for reuse.
+   */
+  static final int MAX_POOLED_BUFFERS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+  private static final BlockingQueue<ByteBuffer> bufferPool = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
+
+  private FileTransferUtils() {
+  }
+
+  /**
+   * Moves the source file to the destination, if both are on the same file store. Otherwise nothing is done.
+   *
+   * @param source the source file
+   * @param dest the destination file
+   * @return {@code true} if the file was moved, otherwise {@code false}
+   */
+  public static boolean moveIfSameFileStore(Path source, Path dest) {
+    try {
+      Path destDir = dest.toAbsolutePath().getParent();
+      if (destDir == null || !Files.getFileStore(source).equals(Files.getFileStore(destDir))) {
+        return false;
+      }
+      Files.move(source, dest, StandardCopyOption.REPLACE_EXISTING);
+      return true;
+
+    } catch (IOException e) {
+      log.debug("Moving file {} to {} failed, it will be copied.", source, dest, e);
+      return false;
+    }
+  }
+
+  /**
+   * Copies the source file to the destination with {@link FileChannel#transferTo(long, long,
+   * java.nio.channels.WritableByteChannel)}, so that the operating system can copy the file without passing the data
+   * through user space.
+   *
+   * @param source the source file
+   * @param dest the destination file
+   * @return the number of copied bytes
+   * @throws IOException if copying fails
+   */
+  public static long copy(Path source, Path dest) throws IOException {
+    try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+        FileChannel out = FileChannel.open(dest,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      long size = in.size();
+      long position = 0L;
+      while (position < size) {
+        position += in.transferTo(position, size - position, out);
+      }
+      return position;
+    }
+  }
+
+  /**
+   * Copies the input stream into the destination file. A file input stream is transferred by its channel, any other
+   * stream is read into a large direct buffer, that is written, when it is full. The direct buffers are pooled, so
+   * they are not allocated on every call. The input stream is closed.
+   *
+   * @param source the input stream
+   * @param dest the destination file
+   * @return the number of copied bytes
+   * @throws IOException if copying fails
+   */
+  public static long copy(InputStream source, Path dest) throws IOException {
+    try (InputStream closeable = source;
+        FileChannel out = FileChannel.open(dest,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      if (closeable instanceof FileInputStream) {
+        FileChannel in = ((FileInputStream) closeable).getChannel();
+        long count = 0L;
+        long transferred;
+        while ((transferred = out.transferFrom(in, count, Long.MAX_VALUE)) > 0) {
+          count += transferred;
+        }
+        return count;
+      }
+      ReadableByteChannel in = Channels.newChannel(closeable);
+      ByteBuffer buffer = acquireBuffer();
+      try {
+        long count = 0L;
+        int read = 0;
+        while (read != -1) {
+          read = in.read(buffer);
+          if (read == -1 || !buffer.hasRemaining()) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+              count += out.write(buffer);
+            }
+            buffer.clear();
+          }
+        }
+        return count;
+
+      } finally {
+        releaseBuffer(buffer);
+      }
+    }
+  }
+
+  private static ByteBuffer acquireBuffer() {
+    ByteBuffer buffer = bufferPool.poll();
+    return buffer != null ? buffer : ByteBuffer.allocateDirect(DIRECT_BUFFER_SIZE);
+  }
+
+  private static void releaseBuffer(ByteBuffer buffer) {
+    buffer.clear();
+    if (!bufferPool.offer(buffer)) {
+      log.trace("Buffer pool is full, dropping direct buffer.");
+    }
+  }
+
+}
@@ -303,6 +303,79 @@ class FileAwareMultipartFileTest {
     }
   }
 
+  /**
+   * Transfer to moves the temporary file.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  void transferToMovesTemporaryFile() throws Exception {
+    byte[] content = "Hello".getBytes(StandardCharsets.UTF_8);
+    MultipartFile file = new FileAwareMultipartFile(
+        new ByteArrayInputStream(content),
+        "foo",
+        "bar.txt",
+        MediaType.TEXT_PLAIN_VALUE);
+    File source = file.getResource().getFile();
+    File destFile = new File(source.getParentFile(), source.getName() + ".moved");
+    try {
+      file.transferTo(destFile);
+      assertFalse(source.exists());
+      assertArrayEquals(content, FileCopyUtils.copyToByteArray(destFile));
+
+    } finally {
+      Files.deleteIfExists(source.toPath());
+      Files.deleteIfExists(destFile.toPath());
+    }
+  }
+
+  /**
+   * Transfer to moves a file, that was passed as temporary file.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  void transferToMovesPassedTemporaryFile() throws Exception {
+    byte[] content = "Hello".getBytes(StandardCharsets.UTF_8);
+    Path source = Files.createTempFile(Path.of(System.getProperty("java.io.tmpdir")), "junit", ".txt");
+    Path dest = source.resolveSibling(source.getFileName() + ".moved");
+    try {
+      Files.write(source, content);
+      MultipartFile file = FileAwareMultipartFile.temporary(
+          source.toFile(), "foo", "bar.txt", MediaType.TEXT_PLAIN_VALUE);
+      file.transferTo(dest.toFile());
+      assertFalse(Files.exists(source));
+      assertArrayEquals(content, Files.readAllBytes(dest));
+
+    } finally {
+      Files.deleteIfExists(source);
+      Files.deleteIfExists(dest);
+    }
+  }
+
+  /**
+   * Transfer to copies a file, that is not temporary.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  void transferToCopiesFile() throws Exception {
+    byte[] content = "Hello".getBytes(StandardCharsets.UTF_8);
+    Path source = Files.createTempFile(Path.of(System.getProperty("java.io.tmpdir")), "junit", ".txt");
+    Path dest = Files.createTempFile(Path.of(System.getProperty("java.io.tmpdir")), "junit", ".txt");
+    try {
+      Files.write(source, content);
+      MultipartFile file = new FileAwareMultipartFile(source, "foo", "bar.txt", MediaType.TEXT_PLAIN_VALUE);
+      file.transferTo(dest.toFile());
+      assertTrue(Files.exists(source));
+      assertArrayEquals(content, Files.readAllBytes(dest));
+
+    } finally {
+      Files.deleteIfExists(source);
+      Files.deleteIfExists(dest);
+    }
+  }
+
   /**
    * Equals and hash code.
    *
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bremersee.web.multipart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The file transfer utils test.
+ *
+ * @author Christian Bremer
+ */
+class FileTransferUtilsTest {
+
+  private static byte[] content() {
+    byte[] content = new byte[FileTransferUtils.DIRECT_BUFFER_SIZE * 2 + 17];
+    new Random(11L).nextBytes(content);
+    return content;
+  }
+
+  /**
+   * Copy stream.
+   *
+   * @param tmpDir the tmp dir
+   * @throws Exception the exception
+   */
+  @Test
+  void copyStream(@TempDir Path tmpDir) throws Exception {
+    byte[] content = content();
+    Path dest = tmpDir.resolve("stream.bin");
+    assertEquals(content.length, FileTransferUtils.copy(new ByteArrayInputStream(content), dest));
+    assertArrayEquals(content, Files.readAllBytes(dest));
+
+    Path fileDest = tmpDir.resolve("file-stream.bin");
+    assertEquals(content.length, FileTransferUtils.copy(new FileInputStream(dest.toFile()), fileDest));
+    assertArrayEquals(content, Files.readAllBytes(fileDest));
+  }
+
+  /**
+   * Copy file.
+   *
+   * @param tmpDir the tmp dir
+   * @throws Exception the exception
+   */
+  @Test
+  void copyFile(@TempDir Path tmpDir) throws Exception {
+    byte[] content = content();
+    Path source = Files.write(tmpDir.resolve("source.bin"), content);
+    Path dest = tmpDir.resolve("dest.bin");
+    assertEquals(content.length, FileTransferUtils.copy(source, dest));
+    assertArrayEquals(content, Files.readAllBytes(dest));
+    assertTrue(Files.exists(source));
+  }
+
+  /**
+   * Move if same file store.
+   *
+   * @param tmpDir the tmp dir
+   * @throws Exception the exception
+   */
+  @Test
+  void moveIfSameFileStore(@TempDir Path tmpDir) throws Exception {
+    byte[] content = content();
+    Path source = Files.write(tmpDir.resolve("source.bin"), content);
+    Path dest = tmpDir.resolve("moved.bin");
+    assertTrue(FileTransferUtils.moveIfSameFileStore(source, dest));
+    assertFalse(Files.exists(source));
+    assertArrayEquals(content, Files.readAllBytes(dest));
+  }
+
+}
@@ -89,7 +89,7 @@ public class MultipartFileBuilderImpl implements MultipartFileBuilder {
     }
     File file = newTmpFile();
     return filePart.transferTo(file)
-        .then(Mono.just(new FileAwareMultipartFile(
+        .then(Mono.just(FileAwareMultipartFile.temporary(
             file,
             filePart.name(),
             filePart.filename(),